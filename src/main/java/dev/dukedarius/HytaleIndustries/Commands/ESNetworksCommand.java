@@ -0,0 +1,59 @@
+package dev.dukedarius.HytaleIndustries.Commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESDiskHousingComponent;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESTopologyManager;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * /hi_esnets
+ * Lists the cached Energized Storage network topologies of the current world, with the number of
+ * topology walks run so far and how many per second were served from the cache instead, plus the
+ * disk write-back statistics.
+ */
+public class ESNetworksCommand extends AbstractPlayerCommand {
+
+    public ESNetworksCommand() {
+        super("hi_esnets", "List cached Energized Storage networks in this world.");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context,
+                           @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref,
+                           @Nonnull PlayerRef playerRef,
+                           @Nonnull World world) {
+        ESTopologyManager manager = HytaleIndustriesPlugin.INSTANCE.getEsTopologyManager();
+        List<ESTopologyManager.ESTopology> topologies = manager.getTopologies(world);
+
+        playerRef.sendMessage(Message.raw("ES networks in " + world.getName() + ": " + topologies.size()
+                + " (BFS runs: " + manager.getBfsRuns(world)
+                + ", BFS avoided/s: " + String.format("%.1f", manager.getBfsAvoidedPerSecond(world)) + ")"));
+        long flushes = ESDiskHousingComponent.getFlushCount();
+        long mutations = ESDiskHousingComponent.getFlushedMutationCount();
+        playerRef.sendMessage(Message.raw("  disk flushes: " + flushes + ", mutations coalesced: " + mutations
+                + (flushes > 0 ? String.format(" (%.1f per flush)", (double) mutations / flushes) : "")));
+        for (ESTopologyManager.ESTopology topology : topologies) {
+            long key = topology.getControllerKey();
+            String controller = topology.getControllerRef() == null ? "none"
+                    : "(" + ESTopologyManager.unpackX(key) + ", " + ESTopologyManager.unpackY(key)
+                    + ", " + ESTopologyManager.unpackZ(key) + ")";
+            playerRef.sendMessage(Message.raw("  #" + topology.getId()
+                    + " controller=" + controller
+                    + (topology.hasDuplicateController() ? " [duplicate]" : "")
+                    + " members=" + topology.getMemberCount()
+                    + " housings=" + topology.getHousingRefs().size()
+                    + " grids=" + topology.getGridCount()));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package dev.dukedarius.HytaleIndustries.Commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.dukedarius.HytaleIndustries.Energy.CableNetworkManager;
+import dev.dukedarius.HytaleIndustries.Energy.EnergyTelemetry;
+import dev.dukedarius.HytaleIndustries.Energy.EnergyTelemetry.Metric;
+import dev.dukedarius.HytaleIndustries.Energy.EnergyTelemetry.Resolution;
+import dev.dukedarius.HytaleIndustries.Energy.PowerUtils;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * /hi_energy
+ * Lists the cached power-cable networks of the current world with their telemetry: energy offered by the
+ * sources, transferred to the sinks, lost in the cables, held in attached storage and demanded but not supplied,
+ * for the last second and averaged over the last minute and hour. Flows are in HE per second.
+ */
+public class EnergyNetworksCommand extends AbstractPlayerCommand {
+
+    public EnergyNetworksCommand() {
+        super("hi_energy", "Show energy telemetry of the power-cable networks in this world.");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context,
+                           @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref,
+                           @Nonnull PlayerRef playerRef,
+                           @Nonnull World world) {
+        CableNetworkManager manager = HytaleIndustriesPlugin.INSTANCE.getCableNetworkManager();
+        List<CableNetworkManager.CableNetwork> networks = manager.getNetworks(world);
+
+        playerRef.sendMessage(Message.raw("Cable networks in " + world.getName() + ": " + networks.size()
+                + " (rebuilds so far: " + manager.getRebuildCount(world) + ")"));
+        for (CableNetworkManager.CableNetwork network : networks) {
+            EnergyTelemetry telemetry = network.getTelemetry();
+            playerRef.sendMessage(Message.raw("  #" + network.getId()
+                    + " cables=" + network.getCableCount()
+                    + " sources=" + network.getSourceCount()
+                    + " sinks=" + network.getSinks().size()
+                    + " lost last tick=" + PowerUtils.formatCompact(network.getLastLost())));
+            playerRef.sendMessage(Message.raw("    1s: " + latest(telemetry)));
+            playerRef.sendMessage(Message.raw("    1m: " + averaged(telemetry, Resolution.SECOND)));
+            playerRef.sendMessage(Message.raw("    1h: " + averaged(telemetry, Resolution.MINUTE)));
+        }
+    }
+
+    private static String latest(EnergyTelemetry telemetry) {
+        if (telemetry.getSampleCount(Resolution.SECOND) == 0) return "no samples yet";
+        return format(
+                telemetry.get(Resolution.SECOND, Metric.PRODUCED, 0),
+                telemetry.get(Resolution.SECOND, Metric.TRANSFERRED, 0),
+                telemetry.get(Resolution.SECOND, Metric.LOST, 0),
+                telemetry.get(Resolution.SECOND, Metric.STORED, 0),
+                telemetry.get(Resolution.SECOND, Metric.UNMET, 0));
+    }
+
+    /** The minute average is the mean of the per-second ring, the hour average the mean of the per-minute ring */
+    private static String averaged(EnergyTelemetry telemetry, Resolution source) {
+        if (telemetry.getSampleCount(source) == 0) return "no samples yet";
+        return format(
+                telemetry.average(source, Metric.PRODUCED),
+                telemetry.average(source, Metric.TRANSFERRED),
+                telemetry.average(source, Metric.LOST),
+                telemetry.average(source, Metric.STORED),
+                telemetry.average(source, Metric.UNMET));
+    }
+
+    private static String format(long produced, long transferred, long lost, long stored, long unmet) {
+        return "produced " + PowerUtils.formatCompact(produced) + "/s"
+                + ", transferred " + PowerUtils.formatCompact(transferred) + "/s"
+                + ", lost " + PowerUtils.formatCompact(lost) + "/s"
+                + ", stored " + PowerUtils.formatCompact(stored)
+                + ", unmet " + PowerUtils.formatCompact(unmet) + "/s";
+    }
+}
@@ -0,0 +1,42 @@
+package dev.dukedarius.HytaleIndustries.Commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Processing.MachineHibernation;
+
+import javax.annotation.Nonnull;
+
+/**
+ * /hi_machines
+ * Shows how many powered processing machines of the current world were ticked during the last second and how many
+ * are hibernating, with the hibernating share.
+ */
+public class MachinesCommand extends AbstractPlayerCommand {
+
+    public MachinesCommand() {
+        super("hi_machines", "Show awake and hibernating processing machines in this world.");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context,
+                           @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref,
+                           @Nonnull PlayerRef playerRef,
+                           @Nonnull World world) {
+        MachineHibernation hibernation = HytaleIndustriesPlugin.INSTANCE.getMachineHibernation();
+        int awake = hibernation.getAwakeCount(world);
+        int hibernating = hibernation.getHibernatingCount(world);
+        int total = awake + hibernating;
+        double share = total > 0 ? hibernating * 100.0 / total : 0.0;
+
+        playerRef.sendMessage(Message.raw(String.format("Processing machines in %s: %d awake, %d hibernating (%.1f%%)",
+                world.getName(), awake, hibernating, share)));
+    }
+}
@@ -0,0 +1,62 @@
+package dev.dukedarius.HytaleIndustries.Commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeConnectionResolver;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeExtractionScheduler;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeNetworkManager;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * /hi_pipenets
+ * Lists the cached item-pipe networks of the current world with their ids, pipe and endpoint counts and
+ * the extraction throughput each achieved over the last second, followed by how many extracting pipes are active
+ * or sleeping and the inventory adapter cache size and hit rate.
+ * Networks that have not been used since their last invalidation are not listed; they are rebuilt on demand.
+ */
+public class PipeNetworksCommand extends AbstractPlayerCommand {
+
+    public PipeNetworksCommand() {
+        super("hi_pipenets", "List cached item pipe networks in this world.");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context,
+                           @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref,
+                           @Nonnull PlayerRef playerRef,
+                           @Nonnull World world) {
+        PipeNetworkManager manager = HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager();
+        PipeExtractionScheduler scheduler = HytaleIndustriesPlugin.INSTANCE.getPipeExtractionScheduler();
+        List<PipeNetworkManager.PipeNetwork> networks = manager.getNetworks(world);
+
+        playerRef.sendMessage(Message.raw("Pipe networks in " + world.getName() + ": " + networks.size()
+                + " (rebuilds so far: " + manager.getRebuildCount(world) + ")"));
+        for (PipeNetworkManager.PipeNetwork network : networks) {
+            playerRef.sendMessage(Message.raw("  #" + network.getId()
+                    + " pipes=" + network.getPipeCount()
+                    + " endpoints=" + network.getEndpoints().size()
+                    + String.format(" throughput=%.1f items/s (%.1f ops/s, %d moved)",
+                            scheduler.getItemsPerSecond(world, network.getId()),
+                            scheduler.getOperationsPerSecond(world, network.getId()),
+                            scheduler.getTotalMoved(world, network.getId()))));
+        }
+        playerRef.sendMessage(Message.raw("Extracting pipes: " + scheduler.getActiveCount(world) + " active, "
+                + scheduler.getSleepingCount(world) + " sleeping"));
+        playerRef.sendMessage(Message.raw(String.format("Inventory adapter cache: %d positions, %.1f%% hit rate",
+                InventoryAdapters.getCachedCount(world), InventoryAdapters.getHitRate(world) * 100.0)));
+        PipeConnectionResolver resolver = HytaleIndustriesPlugin.INSTANCE.getPipeConnectionResolver();
+        playerRef.sendMessage(Message.raw("Connection resolver: " + resolver.getBatchCount() + " batches, "
+                + resolver.getResolvedCount() + " pipes resolved, " + resolver.getVariantSwapCount() + " variant swaps"));
+    }
+}
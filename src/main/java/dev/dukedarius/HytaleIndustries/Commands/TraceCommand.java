@@ -0,0 +1,112 @@
+package dev.dukedarius.HytaleIndustries.Commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * /hi_trace &lt;status|all|off|clear|dump|channel|channel:N&gt;
+ * Toggles tick-system trace channels and prints the most recent trace records. "channel:N" enables the channel
+ * and keeps one in every N of its events.
+ */
+public class TraceCommand extends AbstractPlayerCommand {
+
+    private static final int DUMP_LINES = 50;
+
+    private final RequiredArg<String> actionArg;
+
+    public TraceCommand() {
+        super("hi_trace", "Toggle tick tracing channels or dump recent trace records.");
+        this.actionArg = withRequiredArg("action", "status, all, off, clear, dump, <channel> or <channel>:<N>",
+                ArgTypes.STRING);
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context,
+                           @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref,
+                           @Nonnull PlayerRef playerRef,
+                           @Nonnull World world) {
+        String action = context.get(actionArg).trim().toLowerCase(Locale.ROOT);
+        switch (action) {
+            case "status" -> sendStatus(playerRef);
+            case "all" -> {
+                Tracer.setAllEnabled(true);
+                sendStatus(playerRef);
+            }
+            case "off" -> {
+                Tracer.setAllEnabled(false);
+                sendStatus(playerRef);
+            }
+            case "clear" -> {
+                Tracer.clear();
+                playerRef.sendMessage(Message.raw("Trace buffer cleared."));
+            }
+            case "dump" -> {
+                List<String> lines = Tracer.dump(DUMP_LINES);
+                playerRef.sendMessage(Message.raw("Last " + lines.size() + " of " + Tracer.getRecordedCount()
+                        + " trace records:"));
+                for (String line : lines) {
+                    playerRef.sendMessage(Message.raw("  " + line));
+                }
+            }
+            default -> toggleChannel(playerRef, action);
+        }
+    }
+
+    private static void toggleChannel(PlayerRef playerRef, String action) {
+        String name = action;
+        int sampling = -1;
+        int colon = action.indexOf(':');
+        if (colon >= 0) {
+            name = action.substring(0, colon);
+            try {
+                sampling = Integer.parseInt(action.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                playerRef.sendMessage(Message.raw("Invalid sample rate: " + action.substring(colon + 1)));
+                return;
+            }
+        }
+
+        Tracer.Channel channel;
+        try {
+            channel = Tracer.Channel.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            playerRef.sendMessage(Message.raw("Unknown trace channel: " + name));
+            sendStatus(playerRef);
+            return;
+        }
+
+        if (sampling > 0) {
+            Tracer.setSampling(channel, sampling);
+            Tracer.setEnabled(channel, true);
+        } else {
+            Tracer.setEnabled(channel, !Tracer.isEnabled(channel));
+        }
+        playerRef.sendMessage(Message.raw("Trace " + channel.name() + ": "
+                + (Tracer.isEnabled(channel) ? "on" : "off") + " (1 in " + Tracer.getSampling(channel) + ")"));
+    }
+
+    private static void sendStatus(PlayerRef playerRef) {
+        StringBuilder sb = new StringBuilder("Trace channels:");
+        for (Tracer.Channel channel : Tracer.Channel.values()) {
+            sb.append(' ').append(channel.name().toLowerCase(Locale.ROOT))
+                    .append(Tracer.isEnabled(channel) ? "=on" : "=off");
+            if (Tracer.getSampling(channel) > 1) sb.append("/").append(Tracer.getSampling(channel));
+        }
+        playerRef.sendMessage(Message.raw(sb.toString()));
+        playerRef.sendMessage(Message.raw("Records: " + Tracer.getRecordedCount()));
+    }
+}
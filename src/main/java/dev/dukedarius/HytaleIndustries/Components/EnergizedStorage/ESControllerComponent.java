@@ -2,17 +2,15 @@ package dev.dukedarius.HytaleIndustries.Components.EnergizedStorage;
 
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.Component;
-import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
-import java.util.ArrayList;
-import java.util.List;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESItemIndex;
 
 public class ESControllerComponent implements Component<ChunkStore> {
     public static final BuilderCodec<ESControllerComponent> CODEC = BuilderCodec.builder(
             ESControllerComponent.class, ESControllerComponent::new).build();
 
-    // transient cache — rebuilt every tick from connected Disk Housings
-    public transient List<ItemStack> itemIndex = new ArrayList<>();
+    // transient cache — the network's item index, kept current by disk housing deltas
+    public transient ESItemIndex itemIndex = ESItemIndex.EMPTY;
     public transient long totalStored;
     public transient long maxCapacity;
     public transient boolean networkOnline;
@@ -28,7 +26,7 @@ public class ESControllerComponent implements Component<ChunkStore> {
     @Override
     public ESControllerComponent clone() {
         ESControllerComponent copy = new ESControllerComponent();
-        copy.itemIndex = new ArrayList<>(this.itemIndex);
+        copy.itemIndex = this.itemIndex;
         copy.totalStored = this.totalStored;
         copy.maxCapacity = this.maxCapacity;
         copy.networkOnline = this.networkOnline;
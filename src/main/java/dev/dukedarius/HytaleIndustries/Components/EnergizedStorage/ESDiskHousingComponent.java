@@ -6,6 +6,8 @@ import com.hypixel.hytale.component.Component;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESItemIndex;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
 
 import org.bson.BsonArray;
 import org.bson.BsonDocument;
@@ -16,6 +18,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ESDiskHousingComponent implements Component<ChunkStore> {
     public static final int DISK_SLOT_COUNT = 8;
@@ -55,25 +58,41 @@ public class ESDiskHousingComponent implements Component<ChunkStore> {
     /** Transient priority from ESNetworkMemberComponent, set by findDiskHousings for sorting */
     public transient int cachedPriority = 0;
 
-    /** Per-disk item storage — unbounded list, each entry is a unique item type with total count as quantity */
-    @SuppressWarnings("unchecked")
-    public List<ItemStack>[] diskStorage = new ArrayList[DISK_SLOT_COUNT];
+    /** Per-disk item storage — one entry per unique item type (id + metadata) with total count as quantity */
+    public DiskStore[] diskStorage = new DiskStore[DISK_SLOT_COUNT];
+
+    /** Network item index receiving this housing's deltas, set while it belongs to a cached ES topology */
+    public transient ESItemIndex networkIndex = null;
 
     /** Tracks which slots had active disks last tick, to detect insert/remove transitions */
     public transient int lastSlotMask = 0;
-    /** Set true after first syncDiskSlotTransitions — prevents CODEC getter from wiping unloaded data */
-    public transient boolean dataLoaded = false;
+
+    /** Disks whose in-memory contents are newer than their ItemStack metadata */
+    private transient int dirtyMask = 0;
+    /** Mutations applied to each dirty disk since its last flush */
+    private transient int[] pendingMutations = new int[DISK_SLOT_COUNT];
+    /** Ticks since the last timed flush */
+    private transient int flushCounter = 0;
+    /** Disk windows open on this housing; while any is, mutations are written through so a disk taken out is current */
+    private transient int openWindows = 0;
 
     private static final String META_KEY = "ESStoredItems";
 
+    /** Dirty disks are written back to their metadata at most once per this many ticks */
+    public static final int FLUSH_INTERVAL_TICKS = 10;
+
+    private static final AtomicLong FLUSH_COUNT = new AtomicLong();
+    private static final AtomicLong FLUSHED_MUTATIONS = new AtomicLong();
+
     public ESDiskHousingComponent() {
-        for (int i = 0; i < DISK_SLOT_COUNT; i++) diskStorage[i] = new ArrayList<>();
+        for (int i = 0; i < DISK_SLOT_COUNT; i++) diskStorage[i] = new DiskStore();
     }
 
     /**
      * Call each tick to detect disk insertions/removals and sync metadata.
      * When a disk is inserted: load its stored items from ItemStack metadata.
-     * When a disk is removed: save stored items into the ItemStack metadata before it leaves.
+     * When a disk is removed: its contents were written to the ItemStack metadata before it could leave the slot
+     * (the disk window flushes when it opens and writes through while open, see onWindowOpened).
      */
     public void syncDiskSlotTransitions() {
         int currentMask = 0;
@@ -88,22 +107,29 @@ public class ESDiskHousingComponent implements Component<ChunkStore> {
             if (!wasActive && isActive) {
                 // Disk was just inserted — load items from its metadata
                 loadFromDiskMetadata(i);
+                if (networkIndex != null) networkIndex.onDiskLoaded(this, i);
             } else if (wasActive && !isActive) {
-                // Disk was just removed — items already saved (see saveToDiskMetadata)
+                // Disk was just removed — flush whatever is still pending while the stack can take it
+                if ((dirtyMask & (1 << i)) != 0 && !saveToDiskMetadata(i)) {
+                    HytaleIndustriesPlugin.LOGGER.atWarning().log(
+                            "[ESDisk] disk left slot %d before %d mutations were flushed", i, pendingMutations[i]);
+                }
+                dirtyMask &= ~(1 << i);
+                pendingMutations[i] = 0;
+                if (networkIndex != null) networkIndex.onDiskUnloaded(this, i);
                 diskStorage[i].clear();
             }
         }
         lastSlotMask = currentMask;
-        dataLoaded = true;
     }
 
-    /** Save items from diskStorage[slot] into the disk ItemStack's metadata */
-    public void saveToDiskMetadata(int slot) {
+    /** Save items from diskStorage[slot] into the disk ItemStack's metadata; false if the slot holds no disk */
+    public boolean saveToDiskMetadata(int slot) {
         ItemStack disk = diskSlots.getItemStack((short) slot);
-        if (disk == null || ItemStack.isEmpty(disk)) return;
+        if (disk == null || ItemStack.isEmpty(disk) || !isStorageDisk(disk.getItemId())) return false;
 
         BsonArray arr = new BsonArray();
-        for (ItemStack stored : diskStorage[slot]) {
+        for (ItemStack stored : diskStorage[slot].getItems()) {
             BsonDocument entry = new BsonDocument();
             entry.put("id", new BsonString(stored.getItemId()));
             entry.put("qty", new BsonInt64(stored.getQuantity()));
@@ -118,6 +144,7 @@ public class ESDiskHousingComponent implements Component<ChunkStore> {
         if (meta == null) meta = new BsonDocument();
         meta.put(META_KEY, arr);
         diskSlots.setItemStackForSlot((short) slot, disk.withMetadata(meta));
+        return true;
     }
 
     /** Load items from the disk ItemStack's metadata into diskStorage[slot] */
@@ -140,18 +167,81 @@ public class ESDiskHousingComponent implements Component<ChunkStore> {
                 if (entry.containsKey("meta")) {
                     restored = restored.withMetadata(entry.getDocument("meta"));
                 }
-                diskStorage[slot].add(restored);
+                diskStorage[slot].add(restored, restored.getQuantity());
             }
         } catch (Throwable ignored) {}
     }
 
-    /** Save ALL active disk slots to their metadata (call before housing breaks) */
+    /** Mark the disk slots in the given bitmask as changed; they are written back on the next flush */
+    private void markDirty(int slotMask) {
+        for (int i = 0; i < DISK_SLOT_COUNT; i++) {
+            if ((slotMask & (1 << i)) != 0) pendingMutations[i]++;
+        }
+        dirtyMask |= slotMask;
+        if (openWindows > 0) flushDirtyDisks();
+    }
+
+    /**
+     * A player opened the disk window: disks can now leave the slots at any moment, so bring their metadata up to
+     * date and write every later mutation through until the window closes.
+     */
+    public void onWindowOpened() {
+        openWindows++;
+        flushDirtyDisks();
+    }
+
+    public void onWindowClosed() {
+        if (openWindows > 0) openWindows--;
+    }
+
+    /**
+     * Call each tick; writes dirty disks back to their metadata once every FLUSH_INTERVAL_TICKS,
+     * so a burst of inserts/extracts costs one BSON rebuild per disk instead of one per operation.
+     */
+    public void tickPendingFlush() {
+        if (dirtyMask == 0) {
+            flushCounter = 0;
+            return;
+        }
+        if (++flushCounter >= FLUSH_INTERVAL_TICKS) flushDirtyDisks();
+    }
+
+    /** Write every dirty disk back to its metadata now */
+    public void flushDirtyDisks() {
+        if (dirtyMask != 0) saveDisksMetadata(dirtyMask);
+    }
+
+    /**
+     * Save every loaded disk to its metadata (call before the housing breaks or unloads). Disks whose contents were
+     * never loaded into diskStorage are skipped, so their metadata isn't overwritten with an empty store.
+     */
     public void saveAllDisksMetadata() {
+        saveDisksMetadata(lastSlotMask);
+    }
+
+    /** Save the active disks in the given bitmask to their metadata and clear their dirty state */
+    private void saveDisksMetadata(int slotMask) {
         for (int i = 0; i < DISK_SLOT_COUNT; i++) {
-            if (isDiskActive(i)) saveToDiskMetadata(i);
+            if ((slotMask & (1 << i)) == 0) continue;
+            if (isDiskActive(i)) {
+                saveToDiskMetadata(i);
+                if ((dirtyMask & (1 << i)) != 0) {
+                    FLUSH_COUNT.incrementAndGet();
+                    FLUSHED_MUTATIONS.addAndGet(pendingMutations[i]);
+                }
+            }
+            pendingMutations[i] = 0;
         }
+        dirtyMask &= ~slotMask;
+        if (dirtyMask == 0) flushCounter = 0;
     }
 
+    /** Number of disk metadata writes done by flushes, across all housings */
+    public static long getFlushCount() { return FLUSH_COUNT.get(); }
+
+    /** Number of insert/extract mutations folded into those flushes */
+    public static long getFlushedMutationCount() { return FLUSHED_MUTATIONS.get(); }
+
     public boolean isDiskActive(int slot) {
         ItemStack stack = diskSlots.getItemStack((short) slot);
         return stack != null && !ItemStack.isEmpty(stack) && DISK_CAPACITIES.containsKey(stack.getItemId());
@@ -180,9 +270,7 @@ public class ESDiskHousingComponent implements Component<ChunkStore> {
     }
 
     public long getDiskUsed(int disk) {
-        long total = 0;
-        for (ItemStack s : diskStorage[disk]) total += s.getQuantity();
-        return total;
+        return diskStorage[disk].getUsed();
     }
 
     public long getTotalCapacity() {
@@ -201,47 +289,36 @@ public class ESDiskHousingComponent implements Component<ChunkStore> {
         return total;
     }
 
-    /** Aggregate all items across all active disks, merging stackable entries */
+    /** Aggregate all items across all active disks, merging entries of the same id and metadata */
     public List<ItemStack> aggregateItems() {
-        List<ItemStack> result = new ArrayList<>();
+        DiskStore merged = new DiskStore();
         for (int d = 0; d < DISK_SLOT_COUNT; d++) {
             if (!isDiskActive(d)) continue;
-            for (ItemStack stack : diskStorage[d]) {
-                mergeInto(result, stack);
+            for (ItemStack stack : diskStorage[d].getItems()) {
+                merged.add(stack, stack.getQuantity());
             }
         }
-        return result;
+        return merged.getItems();
     }
 
     /** Insert an ItemStack preserving metadata. Returns amount actually inserted. */
     public int insertItem(ItemStack toInsert) {
         if (toInsert == null || ItemStack.isEmpty(toInsert)) return 0;
         int remaining = toInsert.getQuantity();
+        int touchedMask = 0;
         for (int d = 0; d < DISK_SLOT_COUNT && remaining > 0; d++) {
             if (!isDiskActive(d)) continue;
-            long used = getDiskUsed(d);
-            long space = getDiskCapacity(d) - used;
+            long space = getDiskCapacity(d) - diskStorage[d].getUsed();
             if (space <= 0) continue;
 
             int canInsert = (int) Math.min(remaining, space);
-
-            // Try to merge with existing entry of same type
-            boolean merged = false;
-            for (int e = 0; e < diskStorage[d].size(); e++) {
-                ItemStack existing = diskStorage[d].get(e);
-                if (existing.isStackableWith(toInsert)) {
-                    diskStorage[d].set(e, existing.withQuantity(existing.getQuantity() + canInsert));
-                    merged = true;
-                    break;
-                }
-            }
-            if (!merged) {
-                diskStorage[d].add(toInsert.withQuantity(canInsert));
-            }
+            diskStorage[d].add(toInsert, canInsert);
+            touchedMask |= (1 << d);
             remaining -= canInsert;
         }
+        markDirty(touchedMask);
         int inserted = toInsert.getQuantity() - remaining;
-        if (inserted > 0) saveAllDisksMetadata();
+        if (inserted > 0 && networkIndex != null) networkIndex.onInserted(this, toInsert, inserted);
         return inserted;
     }
 
@@ -249,26 +326,18 @@ public class ESDiskHousingComponent implements Component<ChunkStore> {
     public List<ItemStack> extractItem(String itemId, int amount) {
         List<ItemStack> extracted = new ArrayList<>();
         int remaining = amount;
+        int touchedMask = 0;
         for (int d = 0; d < DISK_SLOT_COUNT && remaining > 0; d++) {
             if (!isDiskActive(d)) continue;
-            var iter = diskStorage[d].iterator();
-            while (iter.hasNext() && remaining > 0) {
-                ItemStack stack = iter.next();
-                if (!itemId.equals(stack.getItemId())) continue;
-                int take = Math.min(remaining, stack.getQuantity());
-                extracted.add(stack.withQuantity(take));
-                int left = stack.getQuantity() - take;
-                if (left <= 0) {
-                    iter.remove();
-                } else {
-                    // Can't modify during iteration with iterator, use index
-                    int idx = diskStorage[d].indexOf(stack);
-                    if (idx >= 0) diskStorage[d].set(idx, stack.withQuantity(left));
-                }
-                remaining -= take;
-            }
+            int took = diskStorage[d].take(itemId, remaining, extracted);
+            if (took <= 0) continue;
+            touchedMask |= (1 << d);
+            remaining -= took;
+        }
+        markDirty(touchedMask);
+        if (networkIndex != null) {
+            for (ItemStack stack : extracted) networkIndex.onExtracted(this, stack);
         }
-        if (!extracted.isEmpty()) saveAllDisksMetadata();
         return extracted;
     }
 
@@ -276,31 +345,112 @@ public class ESDiskHousingComponent implements Component<ChunkStore> {
                     ESDiskHousingComponent.class, ESDiskHousingComponent::new)
             .append(new KeyedCodec<>("DiskSlots", SimpleItemContainer.CODEC),
                     (o, v) -> o.diskSlots = v != null ? v : new SimpleItemContainer((short) DISK_SLOT_COUNT),
-                    o -> { if (o.dataLoaded) o.saveAllDisksMetadata(); return o.diskSlots; })
+                    // Disk metadata is brought up to date on the world thread (timed flush, open windows, removal
+                    // and unload in ESDiskHousingBreakSystem); encoding only reads it
+                    o -> o.diskSlots)
             .add()
             .build();
 
     @Override
-    @SuppressWarnings("unchecked")
     public ESDiskHousingComponent clone() {
         ESDiskHousingComponent copy = new ESDiskHousingComponent();
         copy.diskSlots = (SimpleItemContainer) this.diskSlots.clone();
         for (int i = 0; i < DISK_SLOT_COUNT; i++) {
-            copy.diskStorage[i] = new ArrayList<>(this.diskStorage[i]);
+            copy.diskStorage[i] = this.diskStorage[i].copy();
         }
-        copy.dataLoaded = this.dataLoaded;
         copy.lastSlotMask = this.lastSlotMask;
+        copy.dirtyMask = this.dirtyMask;
+        copy.pendingMutations = this.pendingMutations.clone();
+        copy.flushCounter = this.flushCounter;
+        // networkIndex is not copied: ESItemIndex tracks housings by identity, so a copy only receives deltas once
+        // ESItemIndex.attach binds it when the topology is rebuilt
         return copy;
     }
 
-    private static void mergeInto(List<ItemStack> list, ItemStack stack) {
-        for (int i = 0; i < list.size(); i++) {
-            ItemStack existing = list.get(i);
-            if (existing.isStackableWith(stack)) {
-                list.set(i, existing.withQuantity(existing.getQuantity() + stack.getQuantity()));
-                return;
+    /**
+     * Items stored on a single disk, indexed by item id and then by metadata, with a running total.
+     * Insert, extract-by-id and used-space queries no longer scan every stored item type.
+     * Entries with no (or empty) metadata share the null metadata key.
+     */
+    public static final class DiskStore {
+        private final Map<String, Map<BsonDocument, ItemStack>> byItem = new LinkedHashMap<>();
+        private long used = 0;
+        private int typeCount = 0;
+
+        /** Add {@code quantity} of the given item (its id and metadata; its own quantity is ignored). */
+        public void add(ItemStack stack, int quantity) {
+            if (quantity <= 0) return;
+            Map<BsonDocument, ItemStack> variants = byItem.computeIfAbsent(stack.getItemId(), k -> new LinkedHashMap<>(2));
+            BsonDocument key = metaKey(stack);
+            ItemStack existing = variants.get(key);
+            if (existing != null) {
+                variants.put(key, existing.withQuantity(existing.getQuantity() + quantity));
+            } else {
+                variants.put(key, stack.withQuantity(quantity));
+                typeCount++;
             }
+            used += quantity;
+        }
+
+        /** Remove up to {@code amount} of the given item id (any metadata), appending what was taken to {@code out}. */
+        public int take(String itemId, int amount, List<ItemStack> out) {
+            Map<BsonDocument, ItemStack> variants = byItem.get(itemId);
+            if (variants == null || amount <= 0) return 0;
+            int taken = 0;
+            var iter = variants.entrySet().iterator();
+            while (iter.hasNext() && taken < amount) {
+                var entry = iter.next();
+                ItemStack stack = entry.getValue();
+                int take = Math.min(amount - taken, stack.getQuantity());
+                out.add(stack.withQuantity(take));
+                int left = stack.getQuantity() - take;
+                if (left <= 0) {
+                    iter.remove();
+                    typeCount--;
+                } else {
+                    entry.setValue(stack.withQuantity(left));
+                }
+                taken += take;
+            }
+            if (variants.isEmpty()) byItem.remove(itemId);
+            used -= taken;
+            return taken;
+        }
+
+        public long getUsed() { return used; }
+
+        public int getTypeCount() { return typeCount; }
+
+        public boolean isEmpty() { return typeCount == 0; }
+
+        /** Snapshot of all stored entries, each with its total quantity */
+        public List<ItemStack> getItems() {
+            List<ItemStack> result = new ArrayList<>(typeCount);
+            for (Map<BsonDocument, ItemStack> variants : byItem.values()) {
+                result.addAll(variants.values());
+            }
+            return result;
+        }
+
+        public void clear() {
+            byItem.clear();
+            used = 0;
+            typeCount = 0;
+        }
+
+        public DiskStore copy() {
+            DiskStore copy = new DiskStore();
+            for (var e : byItem.entrySet()) {
+                copy.byItem.put(e.getKey(), new LinkedHashMap<>(e.getValue()));
+            }
+            copy.used = used;
+            copy.typeCount = typeCount;
+            return copy;
+        }
+
+        private static BsonDocument metaKey(ItemStack stack) {
+            BsonDocument meta = stack.getMetadata();
+            return meta == null || meta.isEmpty() ? null : meta;
         }
-        list.add(stack);
     }
 }
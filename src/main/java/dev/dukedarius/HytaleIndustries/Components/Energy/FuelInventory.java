@@ -6,6 +6,7 @@ import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.Component;
 import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Utils.OfflineClock;
 
 public class FuelInventory implements Component<ChunkStore> {
     public static final BuilderCodec<FuelInventory> CODEC = BuilderCodec.builder(
@@ -20,11 +21,17 @@ public class FuelInventory implements Component<ChunkStore> {
                     (o, v) -> o.fuelValueRemaining = v,
                     o -> o.fuelValueRemaining)
             .add()
+            .append(new KeyedCodec<>("SavedAt", Codec.LONG),
+                    (o, v) -> o.savedAtMillis = v != null ? v : 0L,
+                    o -> OfflineClock.now())
+            .add()
             .build();
 
     public SimpleItemContainer fuelContainer = new SimpleItemContainer((short) 1);
     /** Remaining burn value on the currently burning item (fuelQuality units). */
     public double fuelValueRemaining = 0.0;
+    /** When the chunk was last saved, decoded for the catch-up on load; written as the save time, 0 once applied. */
+    public long savedAtMillis = 0L;
 
     @Override
     public FuelInventory clone() {
@@ -34,6 +41,7 @@ public class FuelInventory implements Component<ChunkStore> {
             copy.fuelContainer = cloned;
         }
         copy.fuelValueRemaining = this.fuelValueRemaining;
+        copy.savedAtMillis = this.savedAtMillis;
         return copy;
     }
 }
@@ -31,6 +31,8 @@ public class StoresHE implements Component<ChunkStore> {
     public long max;
     public long current;
     public boolean creative = false;
+    /** Value last written back by EnergyLedgerCommitSystem; not saved */
+    public transient long lastCommitted = Long.MIN_VALUE;
 
     /** Attempts to add energy and returns leftover. */
     public long addEnergy(long amount) {
@@ -43,7 +45,9 @@ public class StoresHE implements Component<ChunkStore> {
     @Override
     public StoresHE clone() {
         try {
-            return (StoresHE) super.clone();
+            StoresHE copy = (StoresHE) super.clone();
+            copy.lastCommitted = Long.MIN_VALUE;
+            return copy;
         } catch (CloneNotSupportedException e) {
             StoresHE copy = new StoresHE();
             copy.max = this.max;
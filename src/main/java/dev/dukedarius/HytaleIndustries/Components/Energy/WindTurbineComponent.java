@@ -5,6 +5,7 @@ import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.Component;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Utils.OfflineClock;
 
 public class WindTurbineComponent implements Component<ChunkStore> {
 
@@ -24,6 +25,10 @@ public class WindTurbineComponent implements Component<ChunkStore> {
                     (c, v) -> c.energyRemainder = v != null ? v : 0.0,
                     c -> c.energyRemainder)
             .add()
+            .append(new KeyedCodec<>("SavedAt", Codec.LONG),
+                    (c, v) -> c.savedAtMillis = v != null ? v : 0L,
+                    c -> OfflineClock.now())
+            .add()
             .build();
 
     public boolean initialized = false;
@@ -31,6 +36,8 @@ public class WindTurbineComponent implements Component<ChunkStore> {
     public double lastProductionPerSecond = 0.0;
     /** Fractional HE carried over between ticks when converting per-second to per-tick. */
     public double energyRemainder = 0.0;
+    /** When the chunk was last saved, decoded for the catch-up on load; written as the save time, 0 once applied. */
+    public long savedAtMillis = 0L;
 
     @Override
     public WindTurbineComponent clone() {
@@ -41,6 +48,7 @@ public class WindTurbineComponent implements Component<ChunkStore> {
             copy.initialized = this.initialized;
             copy.lastProductionPerSecond = this.lastProductionPerSecond;
             copy.energyRemainder = this.energyRemainder;
+            copy.savedAtMillis = this.savedAtMillis;
             return copy;
         }
     }
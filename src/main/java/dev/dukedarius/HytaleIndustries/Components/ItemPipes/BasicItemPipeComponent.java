@@ -12,8 +12,10 @@ import org.joml.Vector3ic;
 import com.hypixel.hytale.math.vector.Vector3iUtil;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Pipes.CompiledItemFilter;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class BasicItemPipeComponent implements Component<ChunkStore> {
 
@@ -49,6 +51,19 @@ public class BasicItemPipeComponent implements Component<ChunkStore> {
             )
             .addValidator(Validators.greaterThanOrEqual(0))
             .add()
+            .append(
+                    new KeyedCodec<>("Tier", new EnumCodec<>(Tier.class)),
+                    (o, v) -> o.tier = v,
+                    o -> o.tier
+            )
+            .add()
+            .append(
+                    new KeyedCodec<>("RoutingConfig", Codec.INTEGER),
+                    (o, v) -> o.routingConfig = v,
+                    o -> o.routingConfig
+            )
+            .addValidator(Validators.greaterThanOrEqual(0))
+            .add()
             // Per-side item filter configuration (applies to both extraction and insertion)
             .append(
                     new KeyedCodec<>("NorthFilterItems", Codec.STRING_ARRAY),
@@ -131,8 +146,20 @@ public class BasicItemPipeComponent implements Component<ChunkStore> {
     // 0 = Default, 1 = Extract, 2 = None
     private int sideConfig;
     
-    // Time accumulator for extraction (runs once per second)
+    // Time accumulator for extraction (one operation per tier period)
     private float secondsAccumulator;
+
+    // Throughput tier; null (older saves) means Basic
+    private Tier tier;
+
+    // Per-side routing mode for Extract sides: 2 bits per direction (RoutingMode ordinal)
+    private int routingConfig;
+
+    // Per-side filters compiled from the fields above; reset by setFilter, compiled on first use
+    private transient CompiledItemFilter[] compiledFilters = new CompiledItemFilter[6];
+
+    // Set once the accumulator has been given its staggered phase after load
+    private transient boolean staggered;
     
     // Bitmask for manually configured sides (prevents auto-restoration)
     private int manualConfigMask;
@@ -168,6 +195,9 @@ public class BasicItemPipeComponent implements Component<ChunkStore> {
         this.sideConfig = other.sideConfig;
         this.secondsAccumulator = other.secondsAccumulator;
         this.manualConfigMask = other.manualConfigMask;
+        this.tier = other.tier;
+        this.routingConfig = other.routingConfig;
+        this.compiledFilters = other.compiledFilters.clone();
 
         this.northFilterItems = cloneArray(other.northFilterItems);
         this.southFilterItems = cloneArray(other.southFilterItems);
@@ -208,11 +238,31 @@ public class BasicItemPipeComponent implements Component<ChunkStore> {
         this.secondsAccumulator = value;
     }
 
+    @Nonnull
+    public Tier getTier() {
+        return this.tier != null ? this.tier : Tier.Basic;
+    }
+
+    public void setTier(Tier tier) {
+        this.tier = tier;
+    }
+
+    public boolean isStaggered() {
+        return this.staggered;
+    }
+
+    public void setStaggered(boolean staggered) {
+        this.staggered = staggered;
+    }
+
     public void updateFrom(BasicItemPipeComponent other) {
         this.pipeState = other.pipeState;
         this.sideConfig = other.sideConfig;
         this.secondsAccumulator = other.secondsAccumulator;
         this.manualConfigMask = other.manualConfigMask;
+        this.tier = other.tier;
+        this.routingConfig = other.routingConfig;
+        this.compiledFilters = other.compiledFilters.clone();
 
         this.northFilterItems = cloneArray(other.northFilterItems);
         this.southFilterItems = cloneArray(other.southFilterItems);
@@ -247,6 +297,23 @@ public class BasicItemPipeComponent implements Component<ChunkStore> {
         return -1;
     }
 
+    public RoutingMode getRoutingMode(Vector3ic direction) {
+        int bitIndex = getBitIndex(direction);
+        if (bitIndex == -1) return RoutingMode.Nearest;
+
+        int v = (routingConfig >>> (bitIndex * 2)) & 0b11;
+        RoutingMode[] modes = RoutingMode.values();
+        return v < modes.length ? modes[v] : RoutingMode.Nearest;
+    }
+
+    public void setRoutingMode(Vector3ic direction, RoutingMode mode) {
+        int bitIndex = getBitIndex(direction);
+        if (bitIndex == -1) return;
+
+        int shift = bitIndex * 2;
+        routingConfig = (routingConfig & ~(0b11 << shift)) | (mode.ordinal() << shift);
+    }
+
     public ConnectionState getConnectionState(Vector3ic direction) {
         int bitIndex = getBitIndex(direction);
         if (bitIndex == -1) return ConnectionState.Default;
@@ -335,6 +402,89 @@ public class BasicItemPipeComponent implements Component<ChunkStore> {
         return src != null ? src.clone() : null;
     }
 
+    /**
+     * Extraction throughput: each operation moves up to {@code itemsPerOperation} items, and an extracting pipe
+     * runs {@code operationsPerSecond} operations per second. Upgrading a pipe to a tier consumes that tier's
+     * upgrade items from the player. The values below are defaults; the plugin's "pipe_tiers" config
+     * ({@link dev.dukedarius.HytaleIndustries.Pipes.PipeTierConfig}) overrides them at startup.
+     */
+    public enum Tier {
+        Basic(4, 1, null, 0),
+        Improved(8, 4, "Ingredient_Bar_Iron", 4),
+        Advanced(16, 8, "Ingredient_Bar_BlastSteel", 4);
+
+        private final int defaultItemsPerOperation;
+        private final int defaultOperationsPerSecond;
+        private final String defaultUpgradeItem;
+        private final int defaultUpgradeCost;
+        private volatile int itemsPerOperation;
+        private volatile int operationsPerSecond;
+        private volatile String upgradeItem;
+        private volatile int upgradeCost;
+
+        Tier(int itemsPerOperation, int operationsPerSecond, String upgradeItem, int upgradeCost) {
+            this.defaultItemsPerOperation = itemsPerOperation;
+            this.defaultOperationsPerSecond = operationsPerSecond;
+            this.defaultUpgradeItem = upgradeItem;
+            this.defaultUpgradeCost = upgradeCost;
+            this.itemsPerOperation = itemsPerOperation;
+            this.operationsPerSecond = operationsPerSecond;
+            this.upgradeItem = upgradeItem;
+            this.upgradeCost = upgradeCost;
+        }
+
+        /**
+         * Sets the tier's throughput and upgrade cost. Throughput values that are not positive, a missing upgrade
+         * item and a negative cost fall back to the defaults; a cost of 0 makes the upgrade free.
+         */
+        public void configure(int itemsPerOperation, int operationsPerSecond, String upgradeItem, int upgradeCost) {
+            this.itemsPerOperation = itemsPerOperation > 0 ? itemsPerOperation : defaultItemsPerOperation;
+            this.operationsPerSecond = operationsPerSecond > 0 ? operationsPerSecond : defaultOperationsPerSecond;
+            this.upgradeItem = upgradeItem != null && !upgradeItem.isBlank() ? upgradeItem : defaultUpgradeItem;
+            this.upgradeCost = upgradeCost >= 0 ? upgradeCost : defaultUpgradeCost;
+        }
+
+        public int getDefaultItemsPerOperation() { return defaultItemsPerOperation; }
+
+        public int getDefaultOperationsPerSecond() { return defaultOperationsPerSecond; }
+
+        public String getDefaultUpgradeItem() { return defaultUpgradeItem; }
+
+        public int getDefaultUpgradeCost() { return defaultUpgradeCost; }
+
+        /** Item consumed to upgrade a pipe to this tier, or null if no item is needed. */
+        @Nullable
+        public String getUpgradeItem() { return upgradeCost > 0 ? upgradeItem : null; }
+
+        /** How many {@link #getUpgradeItem() upgrade items} reaching this tier takes. */
+        public int getUpgradeCost() { return upgradeItem != null ? upgradeCost : 0; }
+
+        public int getItemsPerOperation() { return itemsPerOperation; }
+
+        public int getOperationsPerSecond() { return operationsPerSecond; }
+
+        public float getPeriodSeconds() { return 1.0f / operationsPerSecond; }
+
+        public int getItemsPerSecond() { return itemsPerOperation * operationsPerSecond; }
+
+        /** The tier a pipe of this tier upgrades to, or null at the highest tier. */
+        @Nullable
+        public Tier upgrade() { return ordinal() + 1 < values().length ? values()[ordinal() + 1] : null; }
+    }
+
+    /**
+     * How an Extract side picks among the network's destinations.
+     * Nearest: fewest pipe hops first. RoundRobin: rotate through destinations per transfer.
+     * Balanced: most free room for the item first.
+     */
+    public enum RoutingMode {
+        Nearest,
+        RoundRobin,
+        Balanced;
+
+        public RoutingMode next() { return values()[(ordinal() + 1) % values().length]; }
+    }
+
     public enum FilterMode {
         None,
         Whitelist,
@@ -385,6 +535,7 @@ public class BasicItemPipeComponent implements Component<ChunkStore> {
         if (idx == -1) return;
 
         String[] copy = cloneArray(items);
+        compiledFilters[idx] = null;
         switch (idx) {
             case 0 -> {
                 northFilterMode = mode;
@@ -413,32 +564,24 @@ public class BasicItemPipeComponent implements Component<ChunkStore> {
         }
     }
 
-    public boolean allowsItemForDirection(Vector3i direction, String itemId) {
+    /**
+     * The side's filter, compiled once after each change (exact ids, {@code prefix*} and {@code #tag} entries).
+     */
+    @Nonnull
+    public CompiledItemFilter getCompiledFilter(Vector3ic direction) {
         int idx = getBitIndex(direction);
-        if (idx == -1 || itemId == null) return true;
-
-        FilterMode mode = getFilterModeByIndex(idx);
-        String[] items = getFilterItemsByIndex(idx);
-
-        if (mode == null || mode == FilterMode.None) {
-            return true;
-        }
-
-        boolean listed = false;
-        if (items != null && items.length > 0) {
-            for (String id : items) {
-                if (itemId.equals(id)) {
-                    listed = true;
-                    break;
-                }
-            }
+        if (idx == -1) return CompiledItemFilter.NONE;
+        CompiledItemFilter filter = compiledFilters[idx];
+        if (filter == null) {
+            filter = CompiledItemFilter.compile(getFilterModeByIndex(idx), getFilterItemsByIndex(idx));
+            compiledFilters[idx] = filter;
         }
+        return filter;
+    }
 
-        return switch (mode) {
-            case Whitelist -> listed;
-            case Blacklist -> !listed;
-            case None -> true;
-        };
+    public boolean allowsItemForDirection(Vector3i direction, String itemId) {
+        if (itemId == null) return true;
+        return getCompiledFilter(direction).allows(itemId);
     }
 
     @Override
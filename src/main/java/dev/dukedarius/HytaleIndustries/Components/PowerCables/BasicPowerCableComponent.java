@@ -10,9 +10,11 @@ import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import com.hypixel.hytale.math.vector.Vector3iUtil;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Energy.CableNetworkManager;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class BasicPowerCableComponent implements Component<ChunkStore> {
 
@@ -58,6 +60,12 @@ public class BasicPowerCableComponent implements Component<ChunkStore> {
 
     private int manualConfigMask;
 
+    // Runtime only: the network this cable was last resolved into, the cable's packed position and whether it
+    // drives that network's transfer pass. Valid until the network is dropped.
+    private transient CableNetworkManager.CableNetwork cachedNetwork;
+    private transient long cachedKey;
+    private transient boolean driver;
+
     public BasicPowerCableComponent() {
         this(0, 0);
     }
@@ -100,6 +108,28 @@ public class BasicPowerCableComponent implements Component<ChunkStore> {
         this.secondsAccumulator = value;
     }
 
+    /**
+     * The network this cable was last resolved into, or null if there is none or it has since been dropped.
+     */
+    @Nullable
+    public CableNetworkManager.CableNetwork getCachedNetwork() {
+        return cachedNetwork != null && cachedNetwork.isValid() ? cachedNetwork : null;
+    }
+
+    public long getCachedKey() {
+        return cachedKey;
+    }
+
+    public boolean isDriver() {
+        return driver;
+    }
+
+    public void cacheNetwork(@Nullable CableNetworkManager.CableNetwork network, long key, boolean driver) {
+        this.cachedNetwork = network;
+        this.cachedKey = key;
+        this.driver = driver;
+    }
+
     public void updateFrom(BasicPowerCableComponent other) {
         this.pipeState = other.pipeState;
         this.sideConfig = other.sideConfig;
@@ -3,15 +3,16 @@ package dev.dukedarius.HytaleIndustries.Components.Processing;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
-import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.server.core.inventory.container.CombinedItemContainer;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
-import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Utils.OfflineClock;
 
 /**
  * Inventory component for the Alloy Smelter machine.
  * Holds two input slots and one output slot plus simple work tracking.
  */
-public class AlloySmelterInventory implements Component<ChunkStore> {
+public class AlloySmelterInventory extends ProcessingInventory {
 
     public static final BuilderCodec<AlloySmelterInventory> CODEC = BuilderCodec.builder(
                     AlloySmelterInventory.class,
@@ -37,6 +38,10 @@ public class AlloySmelterInventory implements Component<ChunkStore> {
                     (o, v) -> o.currentWork = v,
                     o -> o.currentWork)
             .add()
+            .append(new KeyedCodec<>("SavedAt", Codec.LONG),
+                    (o, v) -> o.savedAtMillis = v != null ? v : 0L,
+                    o -> OfflineClock.now())
+            .add()
             .build();
 
     // Two separate 1-slot input containers and one 1-slot output container
@@ -44,8 +49,38 @@ public class AlloySmelterInventory implements Component<ChunkStore> {
     public SimpleItemContainer inputB = new SimpleItemContainer((short) 1);
     public SimpleItemContainer output = new SimpleItemContainer((short) 1);
 
-    public float workRequired = 0f;
-    public float currentWork = 0f;
+    // Both inputs as one container for recipe matching, rebuilt only when an input container is replaced
+    private transient CombinedItemContainer combinedInput;
+    private transient SimpleItemContainer combinedA;
+    private transient SimpleItemContainer combinedB;
+
+    @Override
+    public void ensureContainers() {
+        if (inputA == null) {
+            inputA = new SimpleItemContainer((short) 1);
+        }
+        if (inputB == null) {
+            inputB = new SimpleItemContainer((short) 1);
+        }
+        if (output == null) {
+            output = new SimpleItemContainer((short) 1);
+        }
+    }
+
+    @Override
+    public ItemContainer getProcessingInput() {
+        if (combinedInput == null || combinedA != inputA || combinedB != inputB) {
+            combinedA = inputA;
+            combinedB = inputB;
+            combinedInput = new CombinedItemContainer(inputA, inputB);
+        }
+        return combinedInput;
+    }
+
+    @Override
+    public SimpleItemContainer getProcessingOutput() {
+        return output;
+    }
 
     @Override
     public AlloySmelterInventory clone() {
@@ -55,6 +90,7 @@ public class AlloySmelterInventory implements Component<ChunkStore> {
         copy.output = (SimpleItemContainer) this.output.clone();
         copy.workRequired = this.workRequired;
         copy.currentWork = this.currentWork;
+        copy.savedAtMillis = this.savedAtMillis;
         return copy;
     }
 }
@@ -0,0 +1,17 @@
+package dev.dukedarius.HytaleIndustries.Components.Processing;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+
+/**
+ * Tag on a powered processing machine that is blocked and excluded from its processing system's query.
+ * Added and removed by {@link dev.dukedarius.HytaleIndustries.Processing.MachineHibernation}; never saved, so a
+ * reloaded machine always starts awake.
+ */
+public class Hibernating implements Component<ChunkStore> {
+
+    @Override
+    public Hibernating clone() {
+        return new Hibernating();
+    }
+}
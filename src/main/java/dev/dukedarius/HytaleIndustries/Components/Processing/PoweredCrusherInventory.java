@@ -2,11 +2,11 @@ package dev.dukedarius.HytaleIndustries.Components.Processing;
 
 import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
-import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
-import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Utils.OfflineClock;
 
-public class PoweredCrusherInventory implements Component<ChunkStore> {
+public class PoweredCrusherInventory extends ProcessingInventory {
 
     public static final BuilderCodec<PoweredCrusherInventory> CODEC = BuilderCodec.builder(
                     PoweredCrusherInventory.class,
@@ -28,13 +28,34 @@ public class PoweredCrusherInventory implements Component<ChunkStore> {
                     (o, v) -> o.currentWork = v,
                     o -> o.currentWork)
             .add()
+            .append(new KeyedCodec<>("SavedAt", com.hypixel.hytale.codec.Codec.LONG),
+                    (o, v) -> o.savedAtMillis = v != null ? v : 0L,
+                    o -> OfflineClock.now())
+            .add()
             .build();
 
     public SimpleItemContainer input = new SimpleItemContainer((short) 1);
     public SimpleItemContainer output = new SimpleItemContainer((short) 1);
 
-    public float workRequired = 0f;
-    public float currentWork = 0f;
+    @Override
+    public void ensureContainers() {
+        if (input == null) {
+            input = new SimpleItemContainer((short) 1);
+        }
+        if (output == null) {
+            output = new SimpleItemContainer((short) 1);
+        }
+    }
+
+    @Override
+    public ItemContainer getProcessingInput() {
+        return input;
+    }
+
+    @Override
+    public SimpleItemContainer getProcessingOutput() {
+        return output;
+    }
 
     @Override
     public PoweredCrusherInventory clone() {
@@ -43,6 +64,7 @@ public class PoweredCrusherInventory implements Component<ChunkStore> {
         copy.output = (SimpleItemContainer) this.output.clone();
         copy.workRequired = this.workRequired;
         copy.currentWork = this.currentWork;
+        copy.savedAtMillis = this.savedAtMillis;
         return copy;
     }
 }
@@ -0,0 +1,38 @@
+package dev.dukedarius.HytaleIndustries.Components.Processing;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+
+/**
+ * Common state of the powered processing machines, driven by
+ * {@link dev.dukedarius.HytaleIndustries.Processing.ProcessingEngine}.
+ * Subclasses own the containers and their codecs; work progress and the save stamp are saved through the
+ * subclass codecs too.
+ */
+public abstract class ProcessingInventory implements Component<ChunkStore> {
+
+    public float workRequired = 0f;
+    public float currentWork = 0f;
+
+    /** When the chunk was last saved, decoded for the catch-up on load; subclass codecs write the save time */
+    public long savedAtMillis = 0L;
+
+    /** Crafts running in parallel in the current cycle; not saved, planned again after a load */
+    public transient int lanes = 0;
+
+    /** Consecutive ticks the machine could not make progress; drives hibernation */
+    public transient int blockedTicks = 0;
+
+    /** How long the next hibernation lasts before the machine checks on its own; 0 means the minimum */
+    public transient long nextSleepMillis = 0L;
+
+    /** Creates any container missing after decoding an old save. */
+    public abstract void ensureContainers();
+
+    /** All input slots, in the order recipes are matched against. */
+    public abstract ItemContainer getProcessingInput();
+
+    public abstract SimpleItemContainer getProcessingOutput();
+}
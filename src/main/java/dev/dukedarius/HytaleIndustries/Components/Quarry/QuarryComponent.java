@@ -87,6 +87,8 @@ public class QuarryComponent implements Component<com.hypixel.hytale.server.core
     public float efficiency = 1f;  // 1x by default; 2.0 halves HE usage
     public boolean gentle = false; // silk-touch style; 10x HE cost when true
     public boolean showArea = false;
+    /** Layer QuarrySystem already found occupied, so it doesn't look for empty layers to skip again; not saved */
+    public transient int skipCheckedY = UNSET;
 
     public int particleStartX = UNSET;
     public int particleStartY = UNSET;
@@ -106,6 +108,7 @@ public class QuarryComponent implements Component<com.hypixel.hytale.server.core
         currentX = UNSET;
         currentY = UNSET;
         currentZ = UNSET;
+        skipCheckedY = UNSET;
 
         // Also clear any in-flight particle animation.
         particleActive = false;
@@ -198,6 +201,7 @@ public class QuarryComponent implements Component<com.hypixel.hytale.server.core
         currentX = startX;
         currentY = startY;
         currentZ = startZ;
+        skipCheckedY = UNSET;
 
         currentStatus = QuarryStatus.ACTIVE;
     }
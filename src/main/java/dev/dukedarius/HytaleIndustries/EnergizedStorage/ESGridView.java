@@ -0,0 +1,211 @@
+package dev.dukedarius.HytaleIndustries.EnergizedStorage;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Virtualised, per-viewer view over an {@link ESItemIndex}: sorted, prefix-filtered and paged.
+ *
+ * The sorted list is only rebuilt when the sort mode changes, when item types appear/disappear, or (count sort
+ * only) when counts changed, at most once per {@link #COUNT_RESORT_INTERVAL_MS}; counts on the page are live
+ * regardless, only their order can lag that long. A search that extends the previous one filters the previous result instead of the
+ * whole network. Only the visible page is materialised, and {@link #diffPage} reports which of its slots changed
+ * since the last one sent, so the grid UI resends just those.
+ */
+public class ESGridView {
+
+    public static final int PAGE_SIZE = 54; // 9x6
+
+    /** Matches the grid UI's refresh period, so a busy network is re-sorted by count at most once per refresh */
+    public static final long COUNT_RESORT_INTERVAL_MS = 500L;
+
+    public enum SortMode {
+        COUNT("Count"), NAME("Name"), MOD("Mod");
+
+        private final String label;
+
+        SortMode(String label) { this.label = label; }
+
+        public String getLabel() { return label; }
+
+        public SortMode next() { return values()[(ordinal() + 1) % values().length]; }
+    }
+
+    private static final Comparator<ItemStack> BY_NAME =
+            Comparator.comparing(ItemStack::getItemId, String.CASE_INSENSITIVE_ORDER);
+    private static final Comparator<ItemStack> BY_COUNT =
+            Comparator.comparingInt(ItemStack::getQuantity).reversed().thenComparing(BY_NAME);
+    private static final Comparator<ItemStack> BY_MOD =
+            Comparator.comparing((ItemStack s) -> modOf(s.getItemId()), String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(BY_NAME);
+
+    private SortMode sortMode = SortMode.COUNT;
+    private String search = "";
+    private int page = 0;
+
+    // Sorted snapshot of every entry in the index
+    private ESItemIndex sortedIndex;
+    private SortMode sortedMode;
+    private long sortedVersion = -1;
+    private long sortedTypesVersion = -1;
+    private long sortedAtMillis;
+    private List<ItemStack> sorted = new ArrayList<>();
+
+    // Search result over the sorted snapshot
+    private List<ItemStack> filtered;
+    private String filteredSearch;
+
+    // Last page sent to the client; null entries are empty slots
+    private final ItemStack[] shown = new ItemStack[PAGE_SIZE];
+    private boolean shownValid = false;
+
+    @Nonnull
+    public SortMode getSortMode() { return sortMode; }
+
+    public void cycleSortMode() {
+        sortMode = sortMode.next();
+        page = 0;
+    }
+
+    @Nonnull
+    public String getSearch() { return search; }
+
+    public void setSearch(@Nullable String text) {
+        String normalized = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals(search)) return;
+        search = normalized;
+        page = 0;
+    }
+
+    public int getPage() { return page; }
+
+    public void nextPage() { page++; }
+
+    public void previousPage() { if (page > 0) page--; }
+
+    /** Number of pages for the current filter (at least 1). */
+    public int getPageCount(@Nonnull ESItemIndex index) {
+        int size = filter(index).size();
+        return Math.max(1, (size + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    /** Number of entries matching the current filter. */
+    public int getMatchCount(@Nonnull ESItemIndex index) {
+        return filter(index).size();
+    }
+
+    /** Forget what was sent, so the next diff reports every slot (after the page was rebuilt). */
+    public void invalidateShown() {
+        shownValid = false;
+    }
+
+    /** The stack last sent for a page slot, or null if that slot is empty. */
+    @Nullable
+    public ItemStack getShown(int slot) {
+        return slot >= 0 && slot < PAGE_SIZE ? shown[slot] : null;
+    }
+
+    /**
+     * Compute the visible page with live counts and return the indices of slots that differ from what was last
+     * sent. The returned slots are recorded as sent.
+     */
+    @Nonnull
+    public List<Integer> diffPage(@Nonnull ESItemIndex index) {
+        List<ItemStack> matches = filter(index);
+        int pageCount = Math.max(1, (matches.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        if (page >= pageCount) page = pageCount - 1;
+
+        List<Integer> changed = new ArrayList<>();
+        int start = page * PAGE_SIZE;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ItemStack next = null;
+            if (start + i < matches.size()) {
+                ItemStack entry = matches.get(start + i);
+                long count = index.getCount(entry);
+                if (count > 0) next = entry.withQuantity((int) Math.min(count, Integer.MAX_VALUE));
+            }
+            if (!shownValid || !sameSlot(shown[i], next)) {
+                shown[i] = next;
+                changed.add(i);
+            }
+        }
+        shownValid = true;
+        return changed;
+    }
+
+    private List<ItemStack> filter(ESItemIndex index) {
+        boolean resorted = resortIfNeeded(index);
+        if (search.isEmpty()) return sorted;
+        if (!resorted && filtered != null && search.equals(filteredSearch)) return filtered;
+
+        // Incremental: a longer query can only narrow the previous result
+        List<ItemStack> source = !resorted && filtered != null && filteredSearch != null
+                && search.startsWith(filteredSearch) ? filtered : sorted;
+        List<ItemStack> result = new ArrayList<>();
+        for (ItemStack stack : source) {
+            if (matches(stack.getItemId(), search)) result.add(stack);
+        }
+        filtered = result;
+        filteredSearch = search;
+        return filtered;
+    }
+
+    private boolean resortIfNeeded(ESItemIndex index) {
+        long now = System.currentTimeMillis();
+        boolean stale = index != sortedIndex
+                || sortMode != sortedMode
+                || index.getTypesVersion() != sortedTypesVersion
+                || (sortMode == SortMode.COUNT && index.getVersion() != sortedVersion
+                    && now - sortedAtMillis >= COUNT_RESORT_INTERVAL_MS);
+        if (!stale) return false;
+
+        List<ItemStack> items = index.getItems();
+        items.sort(switch (sortMode) {
+            case COUNT -> BY_COUNT;
+            case NAME -> BY_NAME;
+            case MOD -> BY_MOD;
+        });
+        sorted = items;
+        sortedIndex = index;
+        sortedMode = sortMode;
+        sortedVersion = index.getVersion();
+        sortedTypesVersion = index.getTypesVersion();
+        sortedAtMillis = now;
+        filtered = null;
+        filteredSearch = null;
+        return true;
+    }
+
+    /** Prefix match against the whole id or any of its '_' separated parts, case-insensitive. */
+    private static boolean matches(String itemId, String prefix) {
+        String id = itemId.toLowerCase(Locale.ROOT);
+        if (id.startsWith(prefix)) return true;
+        int from = 0;
+        int sep;
+        while ((sep = id.indexOf('_', from)) >= 0) {
+            if (id.startsWith(prefix, sep + 1)) return true;
+            from = sep + 1;
+        }
+        return false;
+    }
+
+    /** Items carry no owning-pack field; the id namespace before the first '_' stands in for the mod. */
+    private static String modOf(String itemId) {
+        int sep = itemId.indexOf('_');
+        return sep > 0 ? itemId.substring(0, sep) : itemId;
+    }
+
+    private static boolean sameSlot(@Nullable ItemStack a, @Nullable ItemStack b) {
+        if (a == null || b == null) return a == b;
+        return a.getQuantity() == b.getQuantity()
+                && a.getItemId().equals(b.getItemId())
+                && Objects.equals(a.getMetadata(), b.getMetadata());
+    }
+}
@@ -0,0 +1,225 @@
+package dev.dukedarius.HytaleIndustries.EnergizedStorage;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESDiskHousingComponent;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import org.bson.BsonDocument;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Network-wide index of the items stored in one ES network's disk housings.
+ *
+ * Each entry (item id + metadata) holds the network total and the housings holding it. The index lives as long
+ * as its {@link ESTopologyManager.ESTopology} and is kept current by deltas from {@link ESDiskHousingComponent}
+ * (insert/extract, disk loaded/unloaded) instead of being re-aggregated every tick. Capacity and used totals are
+ * cached alongside, so "does the network have room" and "how many of X" are constant-time queries.
+ */
+public class ESItemIndex {
+
+    /** Shared empty index for offline controllers; never attached to housings. */
+    public static final ESItemIndex EMPTY = new ESItemIndex();
+
+    private static final class Entry {
+        final ItemStack prototype;
+        long total;
+        final Reference2LongOpenHashMap<ESDiskHousingComponent> holders = new Reference2LongOpenHashMap<>(2);
+
+        Entry(ItemStack prototype) { this.prototype = prototype; }
+    }
+
+    private final Map<String, Map<BsonDocument, Entry>> byItem = new LinkedHashMap<>();
+    /** Capacity each attached housing contributes per loaded disk slot */
+    private final Map<ESDiskHousingComponent, long[]> slotCapacities = new IdentityHashMap<>();
+    private long totalStored = 0;
+    private long maxCapacity = 0;
+    private int typeCount = 0;
+    /** Bumped on every change to the index */
+    private long version = 0;
+    /** Bumped only when an entry (item type) appears or disappears */
+    private long typesVersion = 0;
+
+    /**
+     * Start tracking a housing: adds its loaded disks and routes its future deltas here.
+     */
+    public void attach(@Nonnull ESDiskHousingComponent housing) {
+        if (this == EMPTY || slotCapacities.containsKey(housing)) return;
+        if (housing.networkIndex != null && housing.networkIndex != this) housing.networkIndex.detach(housing);
+        slotCapacities.put(housing, new long[ESDiskHousingComponent.DISK_SLOT_COUNT]);
+        housing.networkIndex = this;
+        for (int slot = 0; slot < ESDiskHousingComponent.DISK_SLOT_COUNT; slot++) {
+            if ((housing.lastSlotMask & (1 << slot)) != 0) onDiskLoaded(housing, slot);
+        }
+    }
+
+    /**
+     * Stop tracking a housing and remove everything it contributed.
+     */
+    public void detach(@Nonnull ESDiskHousingComponent housing) {
+        long[] capacities = slotCapacities.get(housing);
+        if (capacities == null) return;
+        for (int slot = 0; slot < ESDiskHousingComponent.DISK_SLOT_COUNT; slot++) {
+            if (capacities[slot] > 0) onDiskUnloaded(housing, slot);
+        }
+        slotCapacities.remove(housing);
+        if (housing.networkIndex == this) housing.networkIndex = null;
+    }
+
+    /**
+     * Detach every housing; called when the owning topology is dropped.
+     */
+    public void detachAll() {
+        for (ESDiskHousingComponent housing : slotCapacities.keySet()) {
+            if (housing.networkIndex == this) housing.networkIndex = null;
+        }
+        slotCapacities.clear();
+        byItem.clear();
+        totalStored = 0;
+        maxCapacity = 0;
+        typeCount = 0;
+        version++;
+        typesVersion++;
+    }
+
+    /** A disk's contents were loaded into the housing's slot. */
+    public void onDiskLoaded(@Nonnull ESDiskHousingComponent housing, int slot) {
+        long[] capacities = slotCapacities.get(housing);
+        if (capacities == null) return;
+        maxCapacity -= capacities[slot];
+        capacities[slot] = housing.getDiskCapacity(slot);
+        maxCapacity += capacities[slot];
+        version++;
+        for (ItemStack stack : housing.diskStorage[slot].getItems()) {
+            add(housing, stack, stack.getQuantity());
+        }
+    }
+
+    /** A disk is leaving the housing's slot; its contents are still in diskStorage. */
+    public void onDiskUnloaded(@Nonnull ESDiskHousingComponent housing, int slot) {
+        long[] capacities = slotCapacities.get(housing);
+        if (capacities == null) return;
+        maxCapacity -= capacities[slot];
+        capacities[slot] = 0;
+        version++;
+        for (ItemStack stack : housing.diskStorage[slot].getItems()) {
+            remove(housing, stack, stack.getQuantity());
+        }
+    }
+
+    public void onInserted(@Nonnull ESDiskHousingComponent housing, @Nonnull ItemStack stack, int quantity) {
+        if (slotCapacities.containsKey(housing)) add(housing, stack, quantity);
+    }
+
+    public void onExtracted(@Nonnull ESDiskHousingComponent housing, @Nonnull ItemStack stack) {
+        if (slotCapacities.containsKey(housing)) remove(housing, stack, stack.getQuantity());
+    }
+
+    private void add(ESDiskHousingComponent housing, ItemStack stack, long quantity) {
+        if (quantity <= 0) return;
+        Map<BsonDocument, Entry> variants = byItem.computeIfAbsent(stack.getItemId(), k -> new LinkedHashMap<>(2));
+        BsonDocument key = metaKey(stack);
+        Entry entry = variants.get(key);
+        if (entry == null) {
+            entry = new Entry(stack.withQuantity(1));
+            variants.put(key, entry);
+            typeCount++;
+            typesVersion++;
+        }
+        entry.total += quantity;
+        entry.holders.addTo(housing, quantity);
+        totalStored += quantity;
+        version++;
+    }
+
+    private void remove(ESDiskHousingComponent housing, ItemStack stack, long quantity) {
+        if (quantity <= 0) return;
+        Map<BsonDocument, Entry> variants = byItem.get(stack.getItemId());
+        if (variants == null) return;
+        BsonDocument key = metaKey(stack);
+        Entry entry = variants.get(key);
+        if (entry == null) return;
+        long held = entry.holders.getLong(housing);
+        long removed = Math.min(held, quantity);
+        if (removed <= 0) return;
+        if (held - removed <= 0) entry.holders.removeLong(housing);
+        else entry.holders.put(housing, held - removed);
+        entry.total -= removed;
+        totalStored -= removed;
+        version++;
+        if (entry.total <= 0) {
+            variants.remove(key);
+            typeCount--;
+            typesVersion++;
+            if (variants.isEmpty()) byItem.remove(stack.getItemId());
+        }
+    }
+
+    /** Total stored across all variants (metadata) of an item id. */
+    public long getCount(@Nonnull String itemId) {
+        Map<BsonDocument, Entry> variants = byItem.get(itemId);
+        if (variants == null) return 0;
+        long total = 0;
+        for (Entry entry : variants.values()) total += entry.total;
+        return total;
+    }
+
+    /** Total stored of exactly this item (id + metadata). */
+    public long getCount(@Nonnull ItemStack stack) {
+        Map<BsonDocument, Entry> variants = byItem.get(stack.getItemId());
+        if (variants == null) return 0;
+        Entry entry = variants.get(metaKey(stack));
+        return entry != null ? entry.total : 0;
+    }
+
+    /** Housings holding any variant of the item id, highest priority first. */
+    @Nonnull
+    public List<ESDiskHousingComponent> getHolders(@Nonnull String itemId) {
+        Map<BsonDocument, Entry> variants = byItem.get(itemId);
+        if (variants == null) return Collections.emptyList();
+        List<ESDiskHousingComponent> result = new ArrayList<>(2);
+        for (Entry entry : variants.values()) {
+            for (ESDiskHousingComponent housing : entry.holders.keySet()) {
+                if (!result.contains(housing)) result.add(housing);
+            }
+        }
+        result.sort((a, b) -> Integer.compare(b.cachedPriority, a.cachedPriority));
+        return result;
+    }
+
+    /** Snapshot of every entry with its network total as quantity (clamped to int). */
+    @Nonnull
+    public List<ItemStack> getItems() {
+        List<ItemStack> result = new ArrayList<>(typeCount);
+        for (Map<BsonDocument, Entry> variants : byItem.values()) {
+            for (Entry entry : variants.values()) {
+                result.add(entry.prototype.withQuantity((int) Math.min(entry.total, Integer.MAX_VALUE)));
+            }
+        }
+        return result;
+    }
+
+    public int getTypeCount() { return typeCount; }
+
+    public long getVersion() { return version; }
+
+    public long getTypesVersion() { return typesVersion; }
+
+    public long getTotalStored() { return totalStored; }
+
+    public long getMaxCapacity() { return maxCapacity; }
+
+    public long getFreeSpace() { return Math.max(0, maxCapacity - totalStored); }
+
+    public boolean canAccept(long quantity) { return totalStored + quantity <= maxCapacity; }
+
+    private static BsonDocument metaKey(ItemStack stack) {
+        BsonDocument meta = stack.getMetadata();
+        return meta == null || meta.isEmpty() ? null : meta;
+    }
+}
@@ -0,0 +1,354 @@
+package dev.dukedarius.HytaleIndustries.EnergizedStorage;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESControllerComponent;
+import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESDiskHousingComponent;
+import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESNetworkMemberComponent;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.joml.Vector3i;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world cache of Energized Storage network topology.
+ *
+ * A topology is the set of connected ESNetworkMember blocks with refs to its controller(s), grids, disk
+ * housings and power consumers. It is built by one BFS on first lookup from any member, identified by its
+ * controller position, and dropped only when a network member is added or removed next to it.
+ * The controller tick, the grid UI and the housing display all resolve their network through here.
+ */
+public class ESTopologyManager {
+
+    private static final Vector3i[] DIRECTIONS = {
+            new Vector3i(0, 0, -1), new Vector3i(0, 0, 1),
+            new Vector3i(-1, 0, 0), new Vector3i(1, 0, 0),
+            new Vector3i(0, 1, 0),  new Vector3i(0, -1, 0)
+    };
+
+    public static final class ESTopology {
+        private final int id;
+        private final LongOpenHashSet members;
+        private final long controllerKey;
+        private final Ref<ChunkStore> controllerRef;
+        private final int controllerCount;
+        private final int gridCount;
+        private final List<Ref<ChunkStore>> housingRefs;
+        private final List<Ref<ChunkStore>> consumerRefs;
+        private final ESItemIndex itemIndex = new ESItemIndex();
+        private boolean prioritiesDirty = true;
+        private boolean valid = true;
+
+        ESTopology(int id, LongOpenHashSet members, long controllerKey, @Nullable Ref<ChunkStore> controllerRef,
+                   int controllerCount, int gridCount,
+                   List<Ref<ChunkStore>> housingRefs, List<Ref<ChunkStore>> consumerRefs) {
+            this.id = id;
+            this.members = members;
+            this.controllerKey = controllerKey;
+            this.controllerRef = controllerRef;
+            this.controllerCount = controllerCount;
+            this.gridCount = gridCount;
+            this.housingRefs = housingRefs;
+            this.consumerRefs = consumerRefs;
+        }
+
+        public int getId() { return id; }
+        public int getMemberCount() { return members.size(); }
+        public int getGridCount() { return gridCount; }
+        public int getControllerCount() { return controllerCount; }
+        public boolean isValid() { return valid; }
+
+        /**
+         * More than one controller on one network is a conflict; the network stays offline.
+         */
+        public boolean hasDuplicateController() { return controllerCount > 1; }
+
+        public long getControllerKey() { return controllerKey; }
+
+        @Nullable
+        public Ref<ChunkStore> getControllerRef() { return controllerRef; }
+
+        @Nullable
+        public ESControllerComponent getController() {
+            if (controllerRef == null || !controllerRef.isValid()) return null;
+            return controllerRef.getStore().getComponent(controllerRef,
+                    HytaleIndustriesPlugin.INSTANCE.getEsControllerType());
+        }
+
+        /**
+         * Members with ConsumesHE, including the controller itself.
+         */
+        @Nonnull
+        public List<Ref<ChunkStore>> getConsumerRefs() { return consumerRefs; }
+
+        /**
+         * Item index over this network's disk housings; attached when the topology is built.
+         */
+        @Nonnull
+        public ESItemIndex getItemIndex() { return itemIndex; }
+
+        /**
+         * Disk housing refs, highest ESNetworkMember priority first.
+         */
+        @Nonnull
+        public List<Ref<ChunkStore>> getHousingRefs() {
+            if (prioritiesDirty) {
+                var memberType = HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType();
+                var housingType = HytaleIndustriesPlugin.INSTANCE.getEsDiskHousingType();
+                for (Ref<ChunkStore> ref : housingRefs) {
+                    if (!ref.isValid()) continue;
+                    ESDiskHousingComponent housing = ref.getStore().getComponent(ref, housingType);
+                    ESNetworkMemberComponent member = ref.getStore().getComponent(ref, memberType);
+                    if (housing != null) housing.cachedPriority = member != null ? member.priority : 0;
+                }
+                housingRefs.sort((a, b) -> Integer.compare(priorityOf(b), priorityOf(a)));
+                prioritiesDirty = false;
+            }
+            return housingRefs;
+        }
+
+        /**
+         * Live disk housing components, highest priority first.
+         */
+        @Nonnull
+        public List<ESDiskHousingComponent> getHousings() {
+            var housingType = HytaleIndustriesPlugin.INSTANCE.getEsDiskHousingType();
+            List<ESDiskHousingComponent> result = new ArrayList<>(housingRefs.size());
+            for (Ref<ChunkStore> ref : getHousingRefs()) {
+                if (!ref.isValid()) continue;
+                ESDiskHousingComponent housing = ref.getStore().getComponent(ref, housingType);
+                if (housing != null) result.add(housing);
+            }
+            return result;
+        }
+
+        private static int priorityOf(Ref<ChunkStore> ref) {
+            if (!ref.isValid()) return Integer.MIN_VALUE;
+            ESNetworkMemberComponent member = ref.getStore().getComponent(ref,
+                    HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType());
+            return member != null ? member.priority : 0;
+        }
+    }
+
+    private static final class WorldTopologies {
+        final Long2ObjectOpenHashMap<ESTopology> byMember = new Long2ObjectOpenHashMap<>();
+        final Map<Integer, ESTopology> byId = new LinkedHashMap<>();
+        int nextId = 1;
+        long bfsRuns = 0;
+        long avoidedThisWindow = 0;
+        long windowStartMillis = System.currentTimeMillis();
+        double avoidedPerSecond = 0.0;
+    }
+
+    private final Map<String, WorldTopologies> worlds = new ConcurrentHashMap<>();
+
+    private WorldTopologies getOrCreate(@Nonnull World world) {
+        return worlds.computeIfAbsent(world.getName(), k -> new WorldTopologies());
+    }
+
+    /**
+     * Returns the topology of the network containing the ES member at the given position, building it on a miss.
+     * Returns null if there is no loaded network member there.
+     */
+    @Nullable
+    public ESTopology getTopology(@Nonnull World world, int x, int y, int z) {
+        WorldTopologies topologies = getOrCreate(world);
+        synchronized (topologies) {
+            ESTopology topology = topologies.byMember.get(packPos(x, y, z));
+            if (topology != null) {
+                recordAvoided(topologies);
+                return topology;
+            }
+            return build(world, topologies, x, y, z);
+        }
+    }
+
+    /**
+     * Drops any topology containing the given block or one of its six neighbours.
+     * Called when an ESNetworkMember block is added or removed.
+     */
+    public void invalidate(@Nonnull World world, int x, int y, int z) {
+        WorldTopologies topologies = worlds.get(world.getName());
+        if (topologies == null) return;
+        synchronized (topologies) {
+            if (topologies.byMember.isEmpty()) return;
+            dropAt(topologies, x, y, z);
+            for (Vector3i dir : DIRECTIONS) {
+                dropAt(topologies, x + dir.x, y + dir.y, z + dir.z);
+            }
+        }
+    }
+
+    /**
+     * A member's priority changed; re-sort the housing order of its network on next access.
+     */
+    public void onPriorityChanged(@Nonnull World world, int x, int y, int z) {
+        WorldTopologies topologies = worlds.get(world.getName());
+        if (topologies == null) return;
+        synchronized (topologies) {
+            ESTopology topology = topologies.byMember.get(packPos(x, y, z));
+            if (topology != null) topology.prioritiesDirty = true;
+        }
+    }
+
+    @Nonnull
+    public List<ESTopology> getTopologies(@Nonnull World world) {
+        WorldTopologies topologies = worlds.get(world.getName());
+        if (topologies == null) return Collections.emptyList();
+        synchronized (topologies) {
+            return new ArrayList<>(topologies.byId.values());
+        }
+    }
+
+    public long getBfsRuns(@Nonnull World world) {
+        WorldTopologies topologies = worlds.get(world.getName());
+        return topologies != null ? topologies.bfsRuns : 0L;
+    }
+
+    /**
+     * Cache hits over the last completed one-second window, i.e. BFS walks that did not have to run.
+     */
+    public double getBfsAvoidedPerSecond(@Nonnull World world) {
+        WorldTopologies topologies = worlds.get(world.getName());
+        if (topologies == null) return 0.0;
+        synchronized (topologies) {
+            rollWindow(topologies, System.currentTimeMillis());
+            return topologies.avoidedPerSecond;
+        }
+    }
+
+    private static void recordAvoided(@Nonnull WorldTopologies topologies) {
+        rollWindow(topologies, System.currentTimeMillis());
+        topologies.avoidedThisWindow++;
+    }
+
+    private static void rollWindow(@Nonnull WorldTopologies topologies, long now) {
+        long elapsed = now - topologies.windowStartMillis;
+        if (elapsed < 1000L) return;
+        topologies.avoidedPerSecond = topologies.avoidedThisWindow * 1000.0 / elapsed;
+        topologies.avoidedThisWindow = 0;
+        topologies.windowStartMillis = now;
+    }
+
+    private static void dropAt(@Nonnull WorldTopologies topologies, int x, int y, int z) {
+        ESTopology topology = topologies.byMember.get(packPos(x, y, z));
+        if (topology != null) drop(topologies, topology);
+    }
+
+    private static void drop(@Nonnull WorldTopologies topologies, @Nonnull ESTopology topology) {
+        if (topologies.byId.remove(topology.id) == null) return;
+        topology.valid = false;
+        topology.itemIndex.detachAll();
+        for (long key : topology.members) {
+            topologies.byMember.remove(key);
+        }
+        HytaleIndustriesPlugin.LOGGER.atFine().log(
+                "[ESTopology] dropped network #%d (%d members)", topology.id, topology.members.size());
+    }
+
+    @Nullable
+    private static ESTopology build(@Nonnull World world, @Nonnull WorldTopologies topologies,
+                                    int startX, int startY, int startZ) {
+        var memberType = HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType();
+        var controllerType = HytaleIndustriesPlugin.INSTANCE.getEsControllerType();
+        var housingType = HytaleIndustriesPlugin.INSTANCE.getEsDiskHousingType();
+        var gridType = HytaleIndustriesPlugin.INSTANCE.getEsGridType();
+        var consumesType = HytaleIndustriesPlugin.INSTANCE.getConsumesHeType();
+
+        Ref<ChunkStore> startRef = refAt(world, startX, startY, startZ);
+        if (startRef == null || startRef.getStore().getComponent(startRef, memberType) == null) {
+            return null;
+        }
+
+        LongOpenHashSet visited = new LongOpenHashSet();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        long startKey = packPos(startX, startY, startZ);
+        visited.add(startKey);
+        queue.enqueue(startKey);
+
+        long controllerKey = 0L;
+        Ref<ChunkStore> controllerRef = null;
+        int controllerCount = 0;
+        int gridCount = 0;
+        List<Ref<ChunkStore>> housingRefs = new ArrayList<>();
+        List<Ref<ChunkStore>> consumerRefs = new ArrayList<>();
+
+        while (!queue.isEmpty()) {
+            long current = queue.dequeueLong();
+            int cx = unpackX(current), cy = unpackY(current), cz = unpackZ(current);
+
+            Ref<ChunkStore> ref = current == startKey ? startRef : refAt(world, cx, cy, cz);
+            if (ref == null) continue;
+            var store = ref.getStore();
+
+            if (store.getComponent(ref, controllerType) != null) {
+                if (controllerRef == null) {
+                    controllerRef = ref;
+                    controllerKey = current;
+                }
+                controllerCount++;
+            }
+            if (store.getComponent(ref, housingType) != null) housingRefs.add(ref);
+            if (store.getComponent(ref, gridType) != null) gridCount++;
+            if (store.getComponent(ref, consumesType) != null) consumerRefs.add(ref);
+
+            for (Vector3i dir : DIRECTIONS) {
+                int nx = cx + dir.x, ny = cy + dir.y, nz = cz + dir.z;
+                if (ny < 0 || ny >= 320) continue;
+                long nkey = packPos(nx, ny, nz);
+                if (visited.contains(nkey)) continue;
+
+                Ref<ChunkStore> nRef = refAt(world, nx, ny, nz);
+                if (nRef == null || nRef.getStore().getComponent(nRef, memberType) == null) continue;
+
+                visited.add(nkey);
+                queue.enqueue(nkey);
+            }
+        }
+
+        // A rebuild may absorb members that still belonged to stale topologies (e.g. two networks just joined).
+        for (long key : visited) {
+            ESTopology stale = topologies.byMember.get(key);
+            if (stale != null) drop(topologies, stale);
+        }
+
+        ESTopology topology = new ESTopology(topologies.nextId++, visited, controllerKey, controllerRef,
+                controllerCount, gridCount, housingRefs, consumerRefs);
+        for (ESDiskHousingComponent housing : topology.getHousings()) {
+            topology.itemIndex.attach(housing);
+        }
+        topologies.byId.put(topology.id, topology);
+        for (long key : visited) {
+            topologies.byMember.put(key, topology);
+        }
+        topologies.bfsRuns++;
+
+        HytaleIndustriesPlugin.LOGGER.atFine().log(
+                "[ESTopology] built network #%d from (%d,%d,%d): %d members, %d housings, %d controllers",
+                topology.id, startX, startY, startZ, visited.size(), housingRefs.size(), controllerCount);
+        return topology;
+    }
+
+    @Nullable
+    private static Ref<ChunkStore> refAt(@Nonnull World world, int x, int y, int z) {
+        return BlockAccess.blockEntity(world, x, y, z);
+    }
+
+    public static long packPos(int x, int y, int z) { return BlockPos.pack(x, y, z); }
+    public static int unpackX(long packed) { return BlockPos.unpackX(packed); }
+    public static int unpackY(long packed) { return BlockPos.unpackY(packed); }
+    public static int unpackZ(long packed) { return BlockPos.unpackZ(packed); }
+}
@@ -0,0 +1,690 @@
+package dev.dukedarius.HytaleIndustries.Energy;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.Energy.CableEndpoint;
+import dev.dukedarius.HytaleIndustries.Components.PowerCables.BasicPowerCableComponent;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.joml.Vector3i;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world registry of power-cable networks.
+ *
+ * The cable graph of a network is built once by BFS and dropped when a cable is placed, broken or
+ * reconfigured. Sources (StoresHE on Extract faces) and sinks (StoresHE on Default faces) are tracked
+ * per cable and refreshed incrementally when an energy block next to a cable appears or disappears,
+ * without walking the network again.
+ */
+public class CableNetworkManager {
+
+    private static final int WORLD_MIN_Y = 0;
+    private static final int WORLD_MAX_Y_EXCLUSIVE = 320;
+    private static final Vector3i[] DIRS = {
+            new Vector3i(0, 0, -1),
+            new Vector3i(0, 0, 1),
+            new Vector3i(-1, 0, 0),
+            new Vector3i(1, 0, 0),
+            new Vector3i(0, 1, 0),
+            new Vector3i(0, -1, 0)
+    };
+
+    /**
+     * A StoresHE block attached to one face of a cable.
+     */
+    public static final class Terminal {
+        private final long key;
+        private final long cableKey;
+        private final Ref<ChunkStore> ref;
+        /** Fraction of an HE that reached this sink over a lossy path and is credited once it adds up to one */
+        private double pendingArrival;
+
+        Terminal(long key, long cableKey, @Nonnull Ref<ChunkStore> ref) {
+            this.key = key;
+            this.cableKey = cableKey;
+            this.ref = ref;
+        }
+
+        public long getKey() { return key; }
+        public long getCableKey() { return cableKey; }
+
+        @Nonnull
+        public Ref<ChunkStore> getRef() { return ref; }
+
+        public double getPendingArrival() { return pendingArrival; }
+        public void setPendingArrival(double pendingArrival) { this.pendingArrival = pendingArrival; }
+    }
+
+    /**
+     * The terminals attached to a single cable. Extract faces feed the network up to capacityPerTick.
+     */
+    public static final class CableNode {
+        private final long key;
+        private final long capacityPerTick;
+        private final List<Terminal> sources = new ArrayList<>(1);
+        private final List<Terminal> sinks = new ArrayList<>(1);
+
+        CableNode(long key, long capacityPerTick) {
+            this.key = key;
+            this.capacityPerTick = capacityPerTick;
+        }
+
+        public long getKey() { return key; }
+        public long getCapacityPerTick() { return capacityPerTick; }
+
+        @Nonnull
+        public List<Terminal> getSources() { return sources; }
+
+        boolean isEmpty() { return sources.isEmpty() && sinks.isEmpty(); }
+    }
+
+    /**
+     * Cable adjacency of a network in compressed rows, with the cost of entering each cable:
+     * -ln(1 - lossPerMeter), so summing costs along a path multiplies the fractions that get through.
+     */
+    static final class CableGraph {
+        final Long2IntOpenHashMap index;
+        final int[] start;
+        final int[] edges;
+        final float[] cost;
+
+        CableGraph(@Nonnull Long2IntOpenHashMap index, @Nonnull int[] start, @Nonnull int[] edges, @Nonnull float[] cost) {
+            this.index = index;
+            this.start = start;
+            this.edges = edges;
+            this.cost = cost;
+        }
+
+        /**
+         * Dijkstra from one cable: for every cable of the network, the fraction of energy that arrives over the
+         * least lossy path, or 0 if unreachable.
+         */
+        @Nonnull
+        float[] efficienciesFrom(long sourceKey) {
+            int n = cost.length;
+            float[] efficiency = new float[n];
+            int source = index.getOrDefault(sourceKey, -1);
+            if (source < 0) return efficiency;
+
+            float[] pathCost = new float[n];
+            Arrays.fill(pathCost, Float.POSITIVE_INFINITY);
+            boolean[] settled = new boolean[n];
+            LongHeapPriorityQueue queue = new LongHeapPriorityQueue();
+            pathCost[source] = 0f;
+            queue.enqueue(encode(0f, source));
+            while (!queue.isEmpty()) {
+                int u = (int) queue.dequeueLong();
+                if (settled[u]) continue;
+                settled[u] = true;
+                for (int e = start[u]; e < start[u + 1]; e++) {
+                    int v = edges[e];
+                    float c = pathCost[u] + cost[v];
+                    if (c < pathCost[v]) {
+                        pathCost[v] = c;
+                        queue.enqueue(encode(c, v));
+                    }
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                efficiency[i] = settled[i] ? (float) Math.exp(-pathCost[i]) : 0f;
+            }
+            return efficiency;
+        }
+
+        // Non-negative float bits sort like the floats, so the heap orders by cost
+        private static long encode(float pathCost, int cable) {
+            return ((long) Float.floatToIntBits(pathCost) << 32) | (cable & 0xFFFFFFFFL);
+        }
+    }
+
+    public static final class CableNetwork {
+        private final int id;
+        private final long driverKey;
+        private final LongOpenHashSet cables;
+        private final Long2ObjectOpenHashMap<CableNode> nodes;
+        private final Long2IntOpenHashMap sideConfigs;
+        private final CableGraph graph;
+        private final Long2ObjectOpenHashMap<float[]> efficiencyFrom = new Long2ObjectOpenHashMap<>();
+        private final LongOpenHashSet staleNodes = new LongOpenHashSet();
+        private final List<CableNode> sourceNodes = new ArrayList<>();
+        private final List<Terminal> sinks = new ArrayList<>();
+        private final List<Terminal> terminals = new ArrayList<>();
+        private boolean terminalsDirty = true;
+        private boolean valid = true;
+        private long lastTransferred;
+        private long lastLost;
+        private EnergyTelemetry telemetry;
+
+        CableNetwork(int id, long driverKey, @Nonnull LongOpenHashSet cables,
+                     @Nonnull Long2ObjectOpenHashMap<CableNode> nodes, @Nonnull Long2IntOpenHashMap sideConfigs,
+                     @Nonnull CableGraph graph) {
+            this.id = id;
+            this.driverKey = driverKey;
+            this.cables = cables;
+            this.nodes = nodes;
+            this.sideConfigs = sideConfigs;
+            this.graph = graph;
+        }
+
+        public int getId() { return id; }
+        public int getCableCount() { return cables.size(); }
+        public boolean isValid() { return valid; }
+
+        /**
+         * Key of the cable whose tick runs the distribution pass for the whole network.
+         */
+        public long getDriverKey() { return driverKey; }
+
+        public long getLastTransferred() { return lastTransferred; }
+        public void setLastTransferred(long lastTransferred) { this.lastTransferred = lastTransferred; }
+
+        public long getLastLost() { return lastLost; }
+        public void setLastLost(long lastLost) { this.lastLost = lastLost; }
+
+        /**
+         * Fraction of the energy leaving the source cable that reaches the sink cable over the least lossy path,
+         * 0 if it can't. Paths from a source cable are computed on first use and kept until the network is
+         * rebuilt, which happens whenever its cables change.
+         */
+        public double getEfficiency(long sourceCableKey, long sinkCableKey) {
+            if (sourceCableKey == sinkCableKey) return 1.0;
+            float[] efficiency = efficiencyFrom.get(sourceCableKey);
+            if (efficiency == null) {
+                efficiency = graph.efficienciesFrom(sourceCableKey);
+                efficiencyFrom.put(sourceCableKey, efficiency);
+            }
+            int sink = graph.index.getOrDefault(sinkCableKey, -1);
+            return sink >= 0 ? efficiency[sink] : 0.0;
+        }
+
+        /**
+         * Energy history of the network; carried over from the network(s) it was rebuilt from.
+         */
+        @Nonnull
+        public EnergyTelemetry getTelemetry() { return telemetry; }
+
+        /**
+         * Cables with at least one Extract source.
+         */
+        @Nonnull
+        public List<CableNode> getSourceNodes() {
+            rebuildTerminalLists();
+            return sourceNodes;
+        }
+
+        /**
+         * All sink terminals, de-duplicated so a block touching several Default faces is only weighted once.
+         */
+        @Nonnull
+        public List<Terminal> getSinks() {
+            rebuildTerminalLists();
+            return sinks;
+        }
+
+        /**
+         * Every source and sink terminal, each block listed once.
+         */
+        @Nonnull
+        public List<Terminal> getTerminals() {
+            rebuildTerminalLists();
+            return terminals;
+        }
+
+        public int getSourceCount() {
+            int count = 0;
+            for (CableNode node : getSourceNodes()) count += node.sources.size();
+            return count;
+        }
+
+        /**
+         * Flags the cable owning a terminal whose ref went invalid; it is rescanned before the next pass.
+         */
+        public void markStale(@Nonnull Terminal terminal) {
+            staleNodes.add(terminal.cableKey);
+        }
+
+        private void rebuildTerminalLists() {
+            if (!terminalsDirty) return;
+            sourceNodes.clear();
+            sinks.clear();
+            terminals.clear();
+            LongOpenHashSet sinkKeys = new LongOpenHashSet();
+            LongOpenHashSet terminalKeys = new LongOpenHashSet();
+            for (CableNode node : nodes.values()) {
+                if (!node.sources.isEmpty()) sourceNodes.add(node);
+                for (Terminal t : node.sources) {
+                    if (terminalKeys.add(t.key)) terminals.add(t);
+                }
+                for (Terminal t : node.sinks) {
+                    if (sinkKeys.add(t.key)) sinks.add(t);
+                    if (terminalKeys.add(t.key)) terminals.add(t);
+                }
+            }
+            terminalsDirty = false;
+        }
+    }
+
+    /** Dropped networks remembered so a rebuilt network can take over their telemetry */
+    private static final int RECENTLY_DROPPED = 8;
+
+    private static final class WorldNetworks {
+        final Long2ObjectOpenHashMap<CableNetwork> byCable = new Long2ObjectOpenHashMap<>();
+        final Map<Integer, CableNetwork> byId = new LinkedHashMap<>();
+        final ArrayDeque<CableNetwork> recentlyDropped = new ArrayDeque<>(RECENTLY_DROPPED);
+        int nextId = 1;
+        long rebuilds = 0;
+    }
+
+    private final Map<String, WorldNetworks> worlds = new ConcurrentHashMap<>();
+
+    private WorldNetworks getOrCreate(@Nonnull World world) {
+        return worlds.computeIfAbsent(world.getName(), k -> new WorldNetworks());
+    }
+
+    /**
+     * Returns the network containing the cable at the given position, building it if it is not cached.
+     * Stale terminals reported since the last call are rescanned first.
+     */
+    @Nullable
+    public CableNetwork getNetwork(@Nonnull World world, @Nonnull Store<ChunkStore> store, int x, int y, int z) {
+        WorldNetworks networks = getOrCreate(world);
+        CableNetwork network = networks.byCable.get(pack(x, y, z));
+        if (network == null) {
+            return rebuild(world, store, networks, x, y, z);
+        }
+        if (!network.staleNodes.isEmpty()) {
+            for (long cableKey : network.staleNodes) {
+                rescanNode(world, network, cableKey);
+            }
+            network.staleNodes.clear();
+        }
+        return network;
+    }
+
+    /**
+     * Drops any cached network touching the given block or one of its six neighbours.
+     * Called when a cable is placed, broken or has its side config recomputed.
+     */
+    public void invalidate(@Nonnull World world, int x, int y, int z) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null || networks.byCable.isEmpty()) {
+            return;
+        }
+        dropAt(networks, x, y, z);
+        for (Vector3i dir : DIRS) {
+            dropAt(networks, x + dir.x, y + dir.y, z + dir.z);
+        }
+    }
+
+    /**
+     * Called after a cable's side config was recomputed. If the config is the one the network was built with,
+     * only that cable's sources/sinks are rescanned; otherwise connectivity may have changed and the
+     * surrounding networks are dropped.
+     */
+    public void onCableUpdated(@Nonnull World world, int x, int y, int z, int sideConfig) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null) {
+            return;
+        }
+        long key = pack(x, y, z);
+        CableNetwork network = networks.byCable.get(key);
+        if (network != null && network.sideConfigs.containsKey(key) && network.sideConfigs.get(key) == sideConfig) {
+            rescanNode(world, network, key);
+            return;
+        }
+        invalidate(world, x, y, z);
+    }
+
+    /**
+     * Rescans the faces of every networked cable next to the given block, picking up a StoresHE block
+     * that was just placed or loaded there.
+     */
+    public void refreshTerminalsAt(@Nonnull World world, int x, int y, int z) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null || networks.byCable.isEmpty()) {
+            return;
+        }
+        for (Vector3i dir : DIRS) {
+            long cableKey = pack(x + dir.x, y + dir.y, z + dir.z);
+            CableNetwork network = networks.byCable.get(cableKey);
+            if (network != null) {
+                rescanNode(world, network, cableKey);
+            }
+        }
+    }
+
+    /**
+     * Removes the given block from the sources/sinks of every networked cable next to it.
+     */
+    public void removeTerminalsAt(@Nonnull World world, int x, int y, int z) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null || networks.byCable.isEmpty()) {
+            return;
+        }
+        long key = pack(x, y, z);
+        for (Vector3i dir : DIRS) {
+            long cableKey = pack(x + dir.x, y + dir.y, z + dir.z);
+            CableNetwork network = networks.byCable.get(cableKey);
+            if (network == null) continue;
+            CableNode node = network.nodes.get(cableKey);
+            if (node == null) continue;
+            boolean removed = node.sources.removeIf(t -> t.key == key);
+            removed |= node.sinks.removeIf(t -> t.key == key);
+            if (removed) {
+                if (node.isEmpty()) network.nodes.remove(cableKey);
+                network.terminalsDirty = true;
+            }
+        }
+    }
+
+    @Nonnull
+    public List<CableNetwork> getNetworks(@Nonnull World world) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(networks.byId.values());
+    }
+
+    /**
+     * Cached network of a cable next to the given block that has the block as a source or sink, without
+     * building anything; null if the block isn't attached to a network that has run since its last change.
+     */
+    @Nullable
+    public CableNetwork findAttachedNetwork(@Nonnull World world, int x, int y, int z) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null || networks.byCable.isEmpty()) {
+            return null;
+        }
+        long key = pack(x, y, z);
+        for (Vector3i dir : DIRS) {
+            long cableKey = pack(x + dir.x, y + dir.y, z + dir.z);
+            CableNetwork network = networks.byCable.get(cableKey);
+            if (network == null) continue;
+            CableNode node = network.nodes.get(cableKey);
+            if (node == null) continue;
+            for (Terminal t : node.sources) {
+                if (t.key == key) return network;
+            }
+            for (Terminal t : node.sinks) {
+                if (t.key == key) return network;
+            }
+        }
+        return null;
+    }
+
+    public long getRebuildCount(@Nonnull World world) {
+        WorldNetworks networks = worlds.get(world.getName());
+        return networks != null ? networks.rebuilds : 0L;
+    }
+
+    private static void dropAt(@Nonnull WorldNetworks networks, int x, int y, int z) {
+        CableNetwork network = networks.byCable.get(pack(x, y, z));
+        if (network != null) {
+            drop(networks, network);
+        }
+    }
+
+    private static void drop(@Nonnull WorldNetworks networks, @Nonnull CableNetwork network) {
+        if (networks.byId.remove(network.id) == null) {
+            return;
+        }
+        network.valid = false;
+        for (long key : network.cables) {
+            networks.byCable.remove(key);
+        }
+        if (networks.recentlyDropped.size() >= RECENTLY_DROPPED) {
+            networks.recentlyDropped.removeFirst();
+        }
+        networks.recentlyDropped.addLast(network);
+        HytaleIndustriesPlugin.LOGGER.atFine().log(
+                "[CableNetwork] dropped network #%d (%d cables)", network.id, network.cables.size());
+    }
+
+    @Nullable
+    private CableNetwork rebuild(@Nonnull World world, @Nonnull Store<ChunkStore> store, @Nonnull WorldNetworks networks,
+                                 int startX, int startY, int startZ) {
+        var cableType = HytaleIndustriesPlugin.INSTANCE.getBasicPowerCableComponentType();
+
+        Ref<ChunkStore> startRef = refAt(world, startX, startY, startZ);
+        if (startRef == null || store.getComponent(startRef, cableType) == null) {
+            return null;
+        }
+
+        LongOpenHashSet visited = new LongOpenHashSet();
+        Long2ObjectOpenHashMap<CableNode> nodes = new Long2ObjectOpenHashMap<>();
+        Long2IntOpenHashMap sideConfigs = new Long2IntOpenHashMap();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        Long2ObjectOpenHashMap<LongArrayList> links = new Long2ObjectOpenHashMap<>();
+        Long2FloatOpenHashMap losses = new Long2FloatOpenHashMap();
+        var endpointType = HytaleIndustriesPlugin.INSTANCE.getCableEndpointType();
+        long start = pack(startX, startY, startZ);
+        visited.add(start);
+        queue.enqueue(start);
+
+        while (!queue.isEmpty()) {
+            long current = queue.dequeueLong();
+            int x = unpackX(current);
+            int y = unpackY(current);
+            int z = unpackZ(current);
+
+            Ref<ChunkStore> ref = refAt(world, x, y, z);
+            if (ref == null) continue;
+            BasicPowerCableComponent cable = ref.getStore().getComponent(ref, cableType);
+            if (cable == null) continue;
+            sideConfigs.put(current, cable.getSideConfig());
+            CableEndpoint endpoint = ref.getStore().getComponent(ref, endpointType);
+            losses.put(current, endpoint != null ? endpoint.lossPerMeter : 0f);
+            LongArrayList currentLinks = new LongArrayList(2);
+            links.put(current, currentLinks);
+
+            for (Vector3i dir : DIRS) {
+                if (!cable.isSideConnected(dir)) continue;
+                long neighbor = resolveOrigin(world, x + dir.x, y + dir.y, z + dir.z);
+                if (neighbor == Long.MIN_VALUE) continue;
+                Ref<ChunkStore> nRef = refAt(world, unpackX(neighbor), unpackY(neighbor), unpackZ(neighbor));
+                if (nRef == null) continue;
+
+                BasicPowerCableComponent nCable = nRef.getStore().getComponent(nRef, cableType);
+                if (nCable != null) {
+                    Vector3i opposite = new Vector3i(-dir.x, -dir.y, -dir.z);
+                    if (nCable.isSideConnected(opposite)) {
+                        currentLinks.add(neighbor);
+                        if (visited.add(neighbor)) {
+                            queue.enqueue(neighbor);
+                        }
+                    }
+                }
+            }
+
+            CableNode node = scanNode(world, ref, cable, current, x, y, z);
+            if (node != null) {
+                nodes.put(current, node);
+            }
+        }
+
+        // A rebuild may absorb cables that still belonged to stale networks (e.g. two networks just merged).
+        for (long key : visited) {
+            CableNetwork stale = networks.byCable.get(key);
+            if (stale != null) {
+                drop(networks, stale);
+            }
+        }
+
+        CableNetwork network = new CableNetwork(networks.nextId++, start, visited, nodes, sideConfigs,
+                buildGraph(visited, links, losses));
+        network.telemetry = inheritTelemetry(networks, visited);
+        networks.byId.put(network.id, network);
+        for (long key : visited) {
+            networks.byCable.put(key, network);
+        }
+        networks.rebuilds++;
+
+        HytaleIndustriesPlugin.LOGGER.atFine().log(
+                "[CableNetwork] built network #%d from (%d,%d,%d): %d cables, %d terminal cables",
+                network.id, startX, startY, startZ, visited.size(), nodes.size());
+        return network;
+    }
+
+    @Nonnull
+    private static CableGraph buildGraph(@Nonnull LongOpenHashSet cables, @Nonnull Long2ObjectOpenHashMap<LongArrayList> links,
+                                         @Nonnull Long2FloatOpenHashMap losses) {
+        Long2IntOpenHashMap index = new Long2IntOpenHashMap(cables.size());
+        index.defaultReturnValue(-1);
+        long[] keys = cables.toLongArray();
+        for (int i = 0; i < keys.length; i++) {
+            index.put(keys[i], i);
+        }
+
+        int[] start = new int[keys.length + 1];
+        float[] cost = new float[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            LongArrayList l = links.get(keys[i]);
+            start[i + 1] = start[i] + (l != null ? l.size() : 0);
+            float loss = Math.max(0f, Math.min(0.999f, losses.get(keys[i])));
+            cost[i] = (float) -Math.log1p(-loss);
+        }
+        int[] edges = new int[start[keys.length]];
+        for (int i = 0; i < keys.length; i++) {
+            LongArrayList l = links.get(keys[i]);
+            if (l == null) continue;
+            int e = start[i];
+            for (int j = 0; j < l.size(); j++) {
+                // A link to a cable the walk didn't keep (unloaded meanwhile) just leads nowhere
+                int target = index.get(l.getLong(j));
+                edges[e++] = target >= 0 ? target : i;
+            }
+        }
+        return new CableGraph(index, start, edges, cost);
+    }
+
+    /**
+     * Takes over the telemetry of the largest recently dropped network sharing a cable with the new one, so
+     * placing or breaking a cable doesn't wipe the history.
+     */
+    @Nonnull
+    private static EnergyTelemetry inheritTelemetry(@Nonnull WorldNetworks networks, @Nonnull LongOpenHashSet cables) {
+        CableNetwork best = null;
+        for (CableNetwork dropped : networks.recentlyDropped) {
+            if (best != null && dropped.cables.size() <= best.cables.size()) continue;
+            LongOpenHashSet smaller = dropped.cables.size() < cables.size() ? dropped.cables : cables;
+            LongOpenHashSet larger = smaller == cables ? dropped.cables : cables;
+            for (long key : smaller) {
+                if (larger.contains(key)) {
+                    best = dropped;
+                    break;
+                }
+            }
+        }
+        if (best == null) {
+            return new EnergyTelemetry();
+        }
+        networks.recentlyDropped.remove(best);
+        return best.telemetry;
+    }
+
+    private void rescanNode(@Nonnull World world, @Nonnull CableNetwork network, long cableKey) {
+        int x = unpackX(cableKey);
+        int y = unpackY(cableKey);
+        int z = unpackZ(cableKey);
+        Ref<ChunkStore> ref = refAt(world, x, y, z);
+        BasicPowerCableComponent cable = ref != null
+                ? ref.getStore().getComponent(ref, HytaleIndustriesPlugin.INSTANCE.getBasicPowerCableComponentType())
+                : null;
+        CableNode node = cable != null ? scanNode(world, ref, cable, cableKey, x, y, z) : null;
+        if (node != null) {
+            network.nodes.put(cableKey, node);
+        } else {
+            network.nodes.remove(cableKey);
+        }
+        network.terminalsDirty = true;
+    }
+
+    @Nullable
+    private static CableNode scanNode(@Nonnull World world, @Nonnull Ref<ChunkStore> cableRef,
+                                      @Nonnull BasicPowerCableComponent cable, long cableKey, int x, int y, int z) {
+        var storesType = HytaleIndustriesPlugin.INSTANCE.getStoresHeType();
+        var cableType = HytaleIndustriesPlugin.INSTANCE.getBasicPowerCableComponentType();
+
+        CableEndpoint endpoint = cableRef.getStore().getComponent(cableRef, HytaleIndustriesPlugin.INSTANCE.getCableEndpointType());
+        CableNode node = new CableNode(cableKey, endpoint != null ? endpoint.capacityPerTick : 0L);
+
+        for (Vector3i dir : DIRS) {
+            var state = cable.getConnectionState(dir);
+            if (state == BasicPowerCableComponent.ConnectionState.None) continue;
+            long neighbor = resolveOrigin(world, x + dir.x, y + dir.y, z + dir.z);
+            if (neighbor == Long.MIN_VALUE) continue;
+            Ref<ChunkStore> nRef = refAt(world, unpackX(neighbor), unpackY(neighbor), unpackZ(neighbor));
+            if (nRef == null) continue;
+            if (nRef.getStore().getComponent(nRef, cableType) != null) continue;
+            if (nRef.getStore().getComponent(nRef, storesType) == null) continue;
+
+            if (state == BasicPowerCableComponent.ConnectionState.Extract) {
+                node.sources.add(new Terminal(neighbor, cableKey, nRef));
+            } else {
+                node.sinks.add(new Terminal(neighbor, cableKey, nRef));
+            }
+        }
+        return node.isEmpty() ? null : node;
+    }
+
+    @Nullable
+    private static Ref<ChunkStore> refAt(@Nonnull World world, int x, int y, int z) {
+        WorldChunk chunk = getLoadedChunk(world, x, z);
+        return chunk != null ? chunk.getBlockComponentEntity(x & 31, y, z & 31) : null;
+    }
+
+    /**
+     * Resolves a block to its filler origin and packs it, or returns Long.MIN_VALUE if out of range or unloaded.
+     */
+    private static long resolveOrigin(@Nonnull World world, int x, int y, int z) {
+        if (y < WORLD_MIN_Y || y >= WORLD_MAX_Y_EXCLUSIVE) return Long.MIN_VALUE;
+        WorldChunk chunk = getLoadedChunk(world, x, z);
+        if (chunk == null) return Long.MIN_VALUE;
+        return BlockAccess.resolveOrigin(chunk, x, y, z);
+    }
+
+    @Nullable
+    private static WorldChunk getLoadedChunk(@Nonnull World world, int x, int z) {
+        return BlockAccess.chunk(world, x, z);
+    }
+
+    // Position packing/unpacking, see BlockPos
+    public static long pack(int x, int y, int z) {
+        return BlockPos.pack(x, y, z);
+    }
+
+    public static int unpackX(long packed) {
+        return BlockPos.unpackX(packed);
+    }
+
+    public static int unpackZ(long packed) {
+        return BlockPos.unpackZ(packed);
+    }
+
+    public static int unpackY(long packed) {
+        return BlockPos.unpackY(packed);
+    }
+}
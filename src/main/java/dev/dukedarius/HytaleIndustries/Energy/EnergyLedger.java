@@ -0,0 +1,69 @@
+package dev.dukedarius.HytaleIndustries.Energy;
+
+import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change tracking for {@link StoresHE} write-back.
+ *
+ * Every system that moves energy changes {@code StoresHE.current} in place during the tick (production and
+ * consumption through {@link #produce}, {@link #fill} and {@link #request}; machines, cables and the quarry
+ * directly). None of them replaces the component; EnergyLedgerCommitSystem runs after all of them and calls
+ * {@link #commit}, which replaces StoresHE at most once per entity per tick and only when its value differs from
+ * the one last written back.
+ */
+public class EnergyLedger {
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    /**
+     * Adds energy produced this tick, capped at the store's free space.
+     */
+    public void produce(@Nonnull StoresHE energy, long amount) {
+        if (amount <= 0) return;
+        energy.addEnergy(amount);
+    }
+
+    /**
+     * Fills the store to its maximum (creative storage).
+     */
+    public void fill(@Nonnull StoresHE energy) {
+        energy.current = energy.max;
+    }
+
+    /**
+     * Consumes energy this tick; all or nothing, like ConsumesHE.consume.
+     *
+     * @return true if the whole amount was taken
+     */
+    public boolean request(@Nonnull StoresHE energy, long amount) {
+        if (amount <= 0) return true;
+        if (energy.current < amount) return false;
+        energy.current -= amount;
+        return true;
+    }
+
+    /**
+     * Reports whether the StoresHE value changed since it was last written back and records it as written; the
+     * caller replaces the component when this returns true.
+     */
+    public boolean commit(@Nonnull StoresHE energy) {
+        if (energy.lastCommitted == energy.current) {
+            skipped.incrementAndGet();
+            return false;
+        }
+        energy.lastCommitted = energy.current;
+        commits.incrementAndGet();
+        if (Tracer.isEnabled(Tracer.Channel.ENERGY)) {
+            Tracer.trace(Tracer.Channel.ENERGY, "commit", energy.current, energy.max);
+        }
+        return true;
+    }
+
+    public long getCommitCount() { return commits.get(); }
+    public long getSkippedCount() { return skipped.get(); }
+}
@@ -0,0 +1,178 @@
+package dev.dukedarius.HytaleIndustries.Energy;
+
+/**
+ * Energy history of one cable network, in fixed-size primitive ring buffers.
+ *
+ * The transfer pass reports each tick what the network's sources offered ({@link Metric#PRODUCED}), what reached
+ * the sinks ({@link Metric#TRANSFERRED}), what the cables lost on the way ({@link Metric#LOST}) and what the sinks
+ * could have taken on top of that within the cables' capacity ({@link Metric#UNMET}); {@link Metric#STORED} is
+ * the energy held by the attached storage, sampled once per second. Flow samples are HE per second averaged over the sample's span, stored samples are averages of the
+ * per-second snapshots. Nothing is allocated after construction.
+ */
+public final class EnergyTelemetry {
+
+    public enum Metric {
+        PRODUCED,
+        TRANSFERRED,
+        LOST,
+        STORED,
+        UNMET
+    }
+
+    public enum Resolution {
+        SECOND(1_000L, 60),
+        MINUTE(60_000L, 60),
+        HOUR(3_600_000L, 24);
+
+        public final long spanMillis;
+        public final int capacity;
+
+        Resolution(long spanMillis, int capacity) {
+            this.spanMillis = spanMillis;
+            this.capacity = capacity;
+        }
+    }
+
+    private static final int METRICS = Metric.values().length;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int MINUTES_PER_HOUR = 60;
+    /** Gaps longer than this (e.g. the network's chunks were unloaded) are not back-filled second by second */
+    private static final long MAX_GAP_SECONDS = 3_600L;
+
+    /** Ring per resolution, laid out as [sample * METRICS + metric] */
+    private final long[][] rings = new long[Resolution.values().length][];
+    private final int[] heads = new int[Resolution.values().length];
+    private final int[] counts = new int[Resolution.values().length];
+
+    private long currentSecond = Long.MIN_VALUE;
+    private final long[] secondAcc = new long[METRICS];
+    private final long[] minuteAcc = new long[METRICS];
+    private final long[] hourAcc = new long[METRICS];
+    private int secondsInMinute;
+    private int minutesInHour;
+    private long lastStored;
+
+    public EnergyTelemetry() {
+        for (Resolution r : Resolution.values()) {
+            rings[r.ordinal()] = new long[r.capacity * METRICS];
+        }
+    }
+
+    /**
+     * True if the next {@link #record} call closes the current second, i.e. the caller should measure the stored
+     * energy for it. Measuring storage means a component lookup per terminal, so it is only done once per second.
+     */
+    public synchronized boolean isStoredSampleDue(long nowMillis) {
+        return nowMillis / 1000L != currentSecond;
+    }
+
+    /**
+     * Adds one transfer pass. {@code stored} is only used if {@link #isStoredSampleDue} said so; pass -1 otherwise.
+     */
+    public synchronized void record(long nowMillis, long produced, long transferred, long lost, long unmet,
+                                    long stored) {
+        long second = nowMillis / 1000L;
+        if (second != currentSecond) {
+            if (currentSecond != Long.MIN_VALUE) {
+                closeSecond();
+                long gap = Math.min(second - currentSecond - 1, MAX_GAP_SECONDS);
+                for (long i = 0; i < gap; i++) {
+                    // Nothing ran in these seconds: no flow, storage unchanged
+                    secondAcc[Metric.STORED.ordinal()] = lastStored;
+                    closeSecond();
+                }
+            }
+            currentSecond = second;
+        }
+        secondAcc[Metric.PRODUCED.ordinal()] += produced;
+        secondAcc[Metric.TRANSFERRED.ordinal()] += transferred;
+        secondAcc[Metric.LOST.ordinal()] += lost;
+        secondAcc[Metric.UNMET.ordinal()] += unmet;
+        if (stored >= 0) {
+            lastStored = stored;
+        }
+        secondAcc[Metric.STORED.ordinal()] = lastStored;
+    }
+
+    private void closeSecond() {
+        push(Resolution.SECOND, secondAcc);
+        for (int m = 0; m < METRICS; m++) {
+            minuteAcc[m] += secondAcc[m];
+            secondAcc[m] = 0L;
+        }
+        if (++secondsInMinute < SECONDS_PER_MINUTE) return;
+
+        for (int m = 0; m < METRICS; m++) {
+            minuteAcc[m] /= SECONDS_PER_MINUTE;
+        }
+        push(Resolution.MINUTE, minuteAcc);
+        for (int m = 0; m < METRICS; m++) {
+            hourAcc[m] += minuteAcc[m];
+            minuteAcc[m] = 0L;
+        }
+        secondsInMinute = 0;
+        if (++minutesInHour < MINUTES_PER_HOUR) return;
+
+        for (int m = 0; m < METRICS; m++) {
+            hourAcc[m] /= MINUTES_PER_HOUR;
+        }
+        push(Resolution.HOUR, hourAcc);
+        for (int m = 0; m < METRICS; m++) {
+            hourAcc[m] = 0L;
+        }
+        minutesInHour = 0;
+    }
+
+    private void push(Resolution resolution, long[] sample) {
+        int r = resolution.ordinal();
+        long[] ring = rings[r];
+        System.arraycopy(sample, 0, ring, heads[r] * METRICS, METRICS);
+        heads[r] = (heads[r] + 1) % resolution.capacity;
+        if (counts[r] < resolution.capacity) counts[r]++;
+    }
+
+    /**
+     * Number of completed samples available at the resolution.
+     */
+    public synchronized int getSampleCount(Resolution resolution) {
+        return counts[resolution.ordinal()];
+    }
+
+    /**
+     * A completed sample; {@code age} 0 is the most recent one. Returns 0 for samples not recorded yet.
+     */
+    public synchronized long get(Resolution resolution, Metric metric, int age) {
+        int r = resolution.ordinal();
+        if (age < 0 || age >= counts[r]) return 0L;
+        int index = Math.floorMod(heads[r] - 1 - age, resolution.capacity);
+        return rings[r][index * METRICS + metric.ordinal()];
+    }
+
+    /**
+     * Copies the newest {@code out.length} samples of one metric into {@code out}, oldest first, zero-padded
+     * at the front when fewer samples exist. Returns the number of real samples copied.
+     */
+    public synchronized int copy(Resolution resolution, Metric metric, long[] out) {
+        int r = resolution.ordinal();
+        int available = Math.min(counts[r], out.length);
+        int pad = out.length - available;
+        for (int i = 0; i < out.length; i++) {
+            int age = out.length - 1 - i;
+            out[i] = i < pad ? 0L : get(resolution, metric, age);
+        }
+        return available;
+    }
+
+    /**
+     * Mean of the completed samples of one metric at the resolution, or 0 if there are none.
+     */
+    public synchronized long average(Resolution resolution, Metric metric) {
+        int n = counts[resolution.ordinal()];
+        if (n == 0) return 0L;
+        long sum = 0L;
+        for (int age = 0; age < n; age++) {
+            sum += get(resolution, metric, age);
+        }
+        return sum / n;
+    }
+}
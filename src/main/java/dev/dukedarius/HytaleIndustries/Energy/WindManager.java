@@ -51,6 +51,21 @@ public class WindManager {
         return clampSpeed(v);
     }
 
+    /**
+     * Average speed over the {@code seconds} leading up to now, in closed form: the mean of the speed sinusoid
+     * over that stretch of phase. Used to settle turbines whose chunk was unloaded.
+     */
+    public double getAverageSpeed(@Nonnull World world, double seconds) {
+        double span = SPEED_ANGULAR_VELOCITY * seconds;
+        if (span <= 1e-9) return getSpeed(world);
+        double phase = getOrCreate(world.getName()).phase;
+        double mid = (MIN_SPEED + MAX_SPEED) * 0.5;
+        double amp = (MAX_SPEED - MIN_SPEED) * 0.5;
+        // (1/span) * integral of sin over [phase - span, phase]
+        double meanSin = (Math.cos(phase - span) - Math.cos(phase)) / span;
+        return clampSpeed(mid + amp * meanSin);
+    }
+
     public double getDirection(@Nonnull World world) {
         return getDirection(world.getName());
     }
@@ -30,8 +30,17 @@ import dev.dukedarius.HytaleIndustries.Components.Energy.WindTurbineComponent;
 import dev.dukedarius.HytaleIndustries.Components.Processing.PoweredCrusherInventory;
 import dev.dukedarius.HytaleIndustries.Components.Processing.PoweredFurnaceInventory;
 import dev.dukedarius.HytaleIndustries.Components.Processing.AlloySmelterInventory;
+import dev.dukedarius.HytaleIndustries.Components.Processing.Hibernating;
 import dev.dukedarius.HytaleIndustries.Components.Storage.BasicItemCacheComponent;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESTopologyManager;
+import dev.dukedarius.HytaleIndustries.Energy.CableNetworkManager;
+import dev.dukedarius.HytaleIndustries.Energy.EnergyLedger;
 import dev.dukedarius.HytaleIndustries.Energy.WindManager;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeConnectionResolver;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeExtractionScheduler;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeNetworkManager;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeTierConfig;
+import dev.dukedarius.HytaleIndustries.Processing.MachineHibernation;
 import dev.dukedarius.HytaleIndustries.Interactions.ConfigurePipeInteraction;
 import dev.dukedarius.HytaleIndustries.Systems.WindTurbineSystem;
 
@@ -54,6 +63,7 @@ import dev.dukedarius.HytaleIndustries.Interactions.ESDiskHousingInteraction;
 import dev.dukedarius.HytaleIndustries.Interactions.ESControllerInteraction;
 import dev.dukedarius.HytaleIndustries.Systems.EnergizedStorage.ESDiskHousingBreakSystem;
 import dev.dukedarius.HytaleIndustries.Systems.EnergizedStorage.ESDiskHousingDisplaySystem;
+import dev.dukedarius.HytaleIndustries.Systems.EnergizedStorage.ESNetworkMemberSystem;
 import dev.dukedarius.HytaleIndustries.Systems.EnergizedStorage.ESNetworkSystem;
 
 import dev.dukedarius.HytaleIndustries.Systems.BasicItemCacheDisplaySystem;
@@ -106,8 +116,16 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
     public static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
 
     private final Config<ChunkLoaderRegistry> chunkLoaderConfig;
+    private final Config<PipeTierConfig> pipeTierConfig;
     private ChunkLoaderManager chunkLoaderManager;
     private final WindManager windManager = new WindManager();
+    private final PipeNetworkManager pipeNetworkManager = new PipeNetworkManager();
+    private final PipeExtractionScheduler pipeExtractionScheduler = new PipeExtractionScheduler();
+    private final PipeConnectionResolver pipeConnectionResolver = new PipeConnectionResolver();
+    private final CableNetworkManager cableNetworkManager = new CableNetworkManager();
+    private final EnergyLedger energyLedger = new EnergyLedger();
+    private MachineHibernation machineHibernation;
+    private final ESTopologyManager esTopologyManager = new ESTopologyManager();
 
     // ECS Component types for basic item pipes
     private ComponentType<ChunkStore, BasicItemPipeComponent> basicItemPipeComponentType;
@@ -126,6 +144,7 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
     private ComponentType<ChunkStore, PoweredFurnaceInventory> poweredFurnaceInventoryType;
     private ComponentType<ChunkStore, PoweredCrusherInventory> poweredCrusherInventoryType;
     private ComponentType<ChunkStore, AlloySmelterInventory> alloySmelterInventoryType;
+    private ComponentType<ChunkStore, Hibernating> hibernatingType;
     private ComponentType<ChunkStore, ChunkLoaderComponent> chunkLoaderComponentType;
     private ComponentType<ChunkStore, QuarryComponent> quarryComponentType;
     private ComponentType<ChunkStore, WindTurbineComponent> windTurbineComponentType;
@@ -147,6 +166,7 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
 
         // IMPORTANT: withConfig() must be called BEFORE setup().
         this.chunkLoaderConfig = this.withConfig("chunk_loaders", ChunkLoaderRegistry.CODEC);
+        this.pipeTierConfig = this.withConfig("pipe_tiers", PipeTierConfig.CODEC);
     }
 
     public ChunkLoaderManager getChunkLoaderManager() {
@@ -157,6 +177,34 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
         return windManager;
     }
 
+    public PipeNetworkManager getPipeNetworkManager() {
+        return pipeNetworkManager;
+    }
+
+    public PipeExtractionScheduler getPipeExtractionScheduler() {
+        return pipeExtractionScheduler;
+    }
+
+    public PipeConnectionResolver getPipeConnectionResolver() {
+        return pipeConnectionResolver;
+    }
+
+    public CableNetworkManager getCableNetworkManager() {
+        return cableNetworkManager;
+    }
+
+    public EnergyLedger getEnergyLedger() {
+        return energyLedger;
+    }
+
+    public MachineHibernation getMachineHibernation() {
+        return machineHibernation;
+    }
+
+    public ESTopologyManager getEsTopologyManager() {
+        return esTopologyManager;
+    }
+
     public ComponentType<ChunkStore, BasicItemPipeComponent> getBasicItemPipeComponentType() {
         return basicItemPipeComponentType;
     }
@@ -197,10 +245,29 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
 
         chunkLoaderManager = new ChunkLoaderManager(this, chunkLoaderConfig);
 
+        // Pipe tier throughput; saving back writes the defaults for any tier the file doesn't have
+        try {
+            pipeTierConfig.load().join();
+            pipeTierConfig.get().apply();
+            pipeTierConfig.save();
+        } catch (Throwable t) {
+            LOGGER.atWarning().withCause(t).log("Failed to load pipe tier config; using default tiers");
+        }
+
         this.getCommandRegistry().registerCommand(new dev.dukedarius.HytaleIndustries.Commands.DebugItemSelectorCommand());
 
         this.getCommandRegistry().registerCommand(new dev.dukedarius.HytaleIndustries.Commands.ShowChunksCommand());
 
+        this.getCommandRegistry().registerCommand(new dev.dukedarius.HytaleIndustries.Commands.PipeNetworksCommand());
+
+        this.getCommandRegistry().registerCommand(new dev.dukedarius.HytaleIndustries.Commands.ESNetworksCommand());
+
+        this.getCommandRegistry().registerCommand(new dev.dukedarius.HytaleIndustries.Commands.EnergyNetworksCommand());
+
+        this.getCommandRegistry().registerCommand(new dev.dukedarius.HytaleIndustries.Commands.MachinesCommand());
+
+        this.getCommandRegistry().registerCommand(new dev.dukedarius.HytaleIndustries.Commands.TraceCommand());
+
         // Register inventory adapters for pipes — cache adapter first so it wins over
         // BlockStateItemContainerAdapter (Debug_Model parent gives cache an ItemContainerBlock
         // with a CombinedItemContainer that shadows the real CacheItemContainer)
@@ -210,6 +277,8 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
         InventoryAdapters.register(new dev.dukedarius.HytaleIndustries.Inventory.adapters.PoweredFurnaceInventoryAdapter());
         InventoryAdapters.register(new dev.dukedarius.HytaleIndustries.Inventory.adapters.PoweredCrusherInventoryAdapter());
         InventoryAdapters.register(new AlloySmelterInventoryAdapter());
+        InventoryAdapters.register(new dev.dukedarius.HytaleIndustries.Inventory.adapters.ESNetworkInventoryAdapter());
+        dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier.addListener(this.pipeExtractionScheduler);
 
         // Register ECS components for basic item pipes
         this.basicItemPipeComponentType = this.getChunkStoreRegistry().registerComponent(
@@ -306,6 +375,13 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
                 "AlloySmelterInventory",
                 AlloySmelterInventory.CODEC
         );
+        // Runtime-only tag, deliberately without a codec: hibernation never survives a reload
+        this.hibernatingType = this.getChunkStoreRegistry().registerComponent(
+                Hibernating.class,
+                Hibernating::new
+        );
+        this.machineHibernation = new MachineHibernation(this.hibernatingType);
+        dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier.addListener(this.machineHibernation);
         this.basicItemCacheComponentType = this.getChunkStoreRegistry().registerComponent(
                 BasicItemCacheComponent.class,
                 "BasicItemCache",
@@ -366,6 +442,11 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
                         this.storesHeType
                 )
         );
+        this.getChunkStoreRegistry().registerSystem(
+                new dev.dukedarius.HytaleIndustries.Systems.Energy.EnergyLedgerCommitSystem(
+                        this.storesHeType
+                )
+        );
         this.getChunkStoreRegistry().registerSystem(
                 new BasicPowerCableTransferSystem(
                         this.basicPowerCableComponentType,
@@ -381,35 +462,70 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
                 )
         );
         this.getChunkStoreRegistry().registerSystem(
-                new dev.dukedarius.HytaleIndustries.Systems.PoweredFurnaceInitSystem()
+                new dev.dukedarius.HytaleIndustries.Systems.Energy.FuelCatchUpSystem(
+                        this.fuelInventoryType,
+                        this.producesHeType,
+                        this.storesHeType
+                )
         );
         this.getChunkStoreRegistry().registerSystem(
-                new dev.dukedarius.HytaleIndustries.Systems.PoweredFurnaceProcessingSystem(
-                        this.poweredFurnaceInventoryType,
-                        this.storesHeType,
-                        this.consumesHeType
-                )
+                new dev.dukedarius.HytaleIndustries.Systems.PoweredFurnaceInitSystem()
         );
+        var furnaceSystem = new dev.dukedarius.HytaleIndustries.Systems.PoweredProcessingSystem<>(
+                this.poweredFurnaceInventoryType,
+                this.storesHeType,
+                this.consumesHeType,
+                this.hibernatingType,
+                dev.dukedarius.HytaleIndustries.Processing.ProcessingSpec.builder("furnace")
+                        // Vanilla furnace bench first, then the ids a custom powered furnace bench might use
+                        .benches("Furnace", "poweredFurnace", "PoweredFurnace")
+                        .speedMultiplier(2.0f)
+                        .energyPerTick(20L)
+                        .batchSize(8)
+                        .build()
+        );
+        this.getChunkStoreRegistry().registerSystem(furnaceSystem);
+        this.getChunkStoreRegistry().registerSystem(
+                new dev.dukedarius.HytaleIndustries.Systems.ProcessingCatchUpSystem<>(
+                        this.poweredFurnaceInventoryType, this.storesHeType, furnaceSystem.getEngine()));
         this.getChunkStoreRegistry().registerSystem(
                 new dev.dukedarius.HytaleIndustries.Systems.PoweredCrusherInitSystem()
         );
+        var crusherSystem = new dev.dukedarius.HytaleIndustries.Systems.PoweredProcessingSystem<>(
+                this.poweredCrusherInventoryType,
+                this.storesHeType,
+                this.consumesHeType,
+                this.hibernatingType,
+                dev.dukedarius.HytaleIndustries.Processing.ProcessingSpec.builder("crusher")
+                        .benches("Crusher", "PoweredCrusher")
+                        .speedMultiplier(2.0f)
+                        .energyPerTick(20L)
+                        .batchSize(8)
+                        .build()
+        );
+        this.getChunkStoreRegistry().registerSystem(crusherSystem);
         this.getChunkStoreRegistry().registerSystem(
-                new dev.dukedarius.HytaleIndustries.Systems.PoweredCrusherProcessingSystem(
-                        this.poweredCrusherInventoryType,
-                        this.storesHeType,
-                        this.consumesHeType
-                )
-        );
+                new dev.dukedarius.HytaleIndustries.Systems.ProcessingCatchUpSystem<>(
+                        this.poweredCrusherInventoryType, this.storesHeType, crusherSystem.getEngine()));
         this.getChunkStoreRegistry().registerSystem(
                 new dev.dukedarius.HytaleIndustries.Systems.AlloySmelterInitSystem()
         );
+        var alloySystem = new dev.dukedarius.HytaleIndustries.Systems.PoweredProcessingSystem<>(
+                this.alloySmelterInventoryType,
+                this.storesHeType,
+                this.consumesHeType,
+                this.hibernatingType,
+                dev.dukedarius.HytaleIndustries.Processing.ProcessingSpec.builder("alloy")
+                        .benches("AlloySmelter", "alloySmelter")
+                        .speedMultiplier(2.0f)
+                        .energyPerTick(20L)
+                        .batchSize(4)
+                        .build()
+        );
+        this.getChunkStoreRegistry().registerSystem(alloySystem);
         this.getChunkStoreRegistry().registerSystem(
-                new dev.dukedarius.HytaleIndustries.Systems.AlloySmelterProcessingSystem(
-                        this.alloySmelterInventoryType,
-                        this.storesHeType,
-                        this.consumesHeType
-                )
-        );
+                new dev.dukedarius.HytaleIndustries.Systems.ProcessingCatchUpSystem<>(
+                        this.alloySmelterInventoryType, this.storesHeType, alloySystem.getEngine()));
 
         this.getEntityStoreRegistry().registerSystem(new BlockBreakSystem());
         this.getEntityStoreRegistry().registerSystem(new BlockPlaceSystem());
@@ -432,6 +548,10 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
                 this.windTurbineComponentType,
                 this.storesHeType
         ));
+        this.getChunkStoreRegistry().registerSystem(new dev.dukedarius.HytaleIndustries.Systems.WindTurbineCatchUpSystem(
+                this.windTurbineComponentType,
+                this.storesHeType
+        ));
         // Basic Item Cache logical counter system
         this.getChunkStoreRegistry().registerSystem(
                 new dev.dukedarius.HytaleIndustries.Systems.BasicItemCacheSystem(
@@ -447,6 +567,12 @@ public class HytaleIndustriesPlugin extends JavaPlugin {
                 this.esDiskHousingType, this.esNetworkMemberType, this.esControllerType));
         this.getChunkStoreRegistry().registerSystem(new ESDiskHousingBreakSystem(
                 this.esDiskHousingType));
+        this.getChunkStoreRegistry().registerSystem(new ESNetworkMemberSystem(
+                this.esNetworkMemberType));
+        this.getChunkStoreRegistry().registerSystem(
+                new dev.dukedarius.HytaleIndustries.Systems.BlockAccessInvalidationSystem());
+        this.getChunkStoreRegistry().registerSystem(
+                new dev.dukedarius.HytaleIndustries.Systems.PipeSideConfigUnloadSystem());
 
         // Initialize tooltip system and register providers
         dev.dukedarius.HytaleIndustries.Tooltips.lib.SimpleTooltipsLib.initialize(this);
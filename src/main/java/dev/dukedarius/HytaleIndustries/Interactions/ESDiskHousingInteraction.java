@@ -52,7 +52,10 @@ public class ESDiskHousingInteraction extends SimpleBlockInteraction {
                 blockEntity, HytaleIndustriesPlugin.INSTANCE.getEsDiskHousingType());
         if (housing == null) { ctx.getState().state = InteractionState.Skip; return; }
 
+        // Disks can be taken out through this window, so their metadata must stay current while it is open
+        housing.onWindowOpened();
         ContainerWindow win = new ContainerWindow(housing.diskSlots);
+        win.registerCloseEvent(event -> housing.onWindowClosed());
         player.getPageManager().setPageWithWindows(ref, ref.getStore(),
                 com.hypixel.hytale.protocol.packets.interface_.Page.Inventory, true, win);
     }
@@ -11,4 +11,13 @@ public interface InventoryAdapter {
     * @return list of inventories at the given block position or empty if unsupported.
     */
     List<MachineInventory> adapt(World world, Store<ChunkStore> store, int x, int y, int z);
+
+    /**
+    * Whether the result of {@link #adapt} stays valid for as long as the block entity at the position is unchanged.
+    * Adapters whose result depends on other state (e.g. a network coming online) return false and are asked again
+    * on every lookup.
+    */
+    default boolean isCacheable() {
+        return true;
+    }
 }
@@ -1,33 +1,167 @@
 package dev.dukedarius.HytaleIndustries.Inventory;
 
+import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Registry of {@link InventoryAdapter}s and the lookup pipes and machines use to find inventories.
+ *
+ * Resolution is cached per world by packed position: which adapter matched (or that none did) and, for
+ * adapters whose views stay valid while the block is unchanged, the views themselves. Entries are dropped when a
+ * block is placed or broken there, its block entity is added or removed, or a machine replaces one of its
+ * containers, and a hit is only used while the position still holds the same block entity, so adapters run once per block change instead of once per query.
+ * Adapters that are not {@link InventoryAdapter#isCacheable() cacheable} are still asked on every lookup.
+ */
 public final class InventoryAdapters {
 
     private static final CopyOnWriteArrayList<InventoryAdapter> ADAPTERS = new CopyOnWriteArrayList<>();
+    private static final CopyOnWriteArrayList<InventoryAdapter> UNCACHEABLE = new CopyOnWriteArrayList<>();
+
+    /** Entries kept per world before the cache is cleared and starts over */
+    private static final int MAX_ENTRIES = 32_768;
+
+    private static final class Entry {
+        final Ref<ChunkStore> entity;
+        final InventoryAdapter adapter;
+        final List<MachineInventory> views;
+
+        Entry(Ref<ChunkStore> entity, InventoryAdapter adapter, List<MachineInventory> views) {
+            this.entity = entity;
+            this.adapter = adapter;
+            this.views = views;
+        }
+    }
+
+    private static final class WorldCache {
+        final Long2ObjectOpenHashMap<Entry> entries = new Long2ObjectOpenHashMap<>();
+        long hits;
+        long misses;
+    }
+
+    private static final Map<String, WorldCache> CACHES = new ConcurrentHashMap<>();
 
     private InventoryAdapters() {}
 
     public static void register(InventoryAdapter adapter) {
         ADAPTERS.add(adapter);
+        if (!adapter.isCacheable()) {
+            UNCACHEABLE.add(adapter);
+        }
+        CACHES.clear();
     }
 
     public static List<MachineInventory> find(World world, Store<ChunkStore> store, int x, int y, int z) {
         if (ADAPTERS.isEmpty()) return Collections.emptyList();
+
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
+        if (chunk == null) return Collections.emptyList();
+        Ref<ChunkStore> entity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
+
+        long key = BlockPos.pack(x, y, z);
+        WorldCache cache = CACHES.computeIfAbsent(world.getName(), k -> new WorldCache());
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.entries.get(key);
+            if (entry != null && entry.entity == entity && (entity == null || entity.isValid())) {
+                cache.hits++;
+            } else {
+                entry = null;
+                cache.misses++;
+            }
+        }
+
+        if (entry != null) {
+            if (entry.adapter == null) {
+                for (InventoryAdapter adapter : UNCACHEABLE) {
+                    List<MachineInventory> adapted = adapter.adapt(world, store, x, y, z);
+                    if (adapted != null && !adapted.isEmpty()) {
+                        put(cache, key, new Entry(entity, adapter, null));
+                        return adapted;
+                    }
+                }
+                return Collections.emptyList();
+            }
+            if (entry.views != null) return entry.views;
+            List<MachineInventory> result = entry.adapter.adapt(world, store, x, y, z);
+            if (result != null && !result.isEmpty()) return result;
+            // The adapter no longer matches; resolve again below
+        }
+
+        InventoryAdapter matched = null;
+        List<MachineInventory> result = Collections.emptyList();
         for (InventoryAdapter adapter : ADAPTERS) {
-            List<MachineInventory> result = adapter.adapt(world, store, x, y, z);
-            if (result != null && !result.isEmpty()) {
-                return result;
+            List<MachineInventory> adapted = adapter.adapt(world, store, x, y, z);
+            if (adapted != null && !adapted.isEmpty()) {
+                matched = adapter;
+                result = adapted;
+                break;
             }
         }
-        return Collections.emptyList();
+
+        put(cache, key, new Entry(entity, matched, matched != null && matched.isCacheable() ? result : null));
+        return result;
+    }
+
+    private static void put(WorldCache cache, long key, Entry entry) {
+        synchronized (cache) {
+            if (cache.entries.size() >= MAX_ENTRIES) cache.entries.clear();
+            cache.entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Forget the cached resolution of one position; called when the block or its block entity changes.
+     */
+    public static void invalidate(World world, int x, int y, int z) {
+        if (world == null) return;
+        WorldCache cache = CACHES.get(world.getName());
+        if (cache == null) return;
+        synchronized (cache) {
+            cache.entries.remove(BlockPos.pack(x, y, z));
+        }
+    }
+
+    /**
+     * Forget the cached resolution of a block component entity's position; for code that swaps one of its
+     * containers in place.
+     */
+    public static void invalidate(Store<ChunkStore> store, Ref<ChunkStore> ref) {
+        long pos = BlockAccess.positionOf(store, ref);
+        if (pos == BlockAccess.NO_POSITION) return;
+        invalidate(store.getExternalData().getWorld(), BlockPos.unpackX(pos), BlockPos.unpackY(pos), BlockPos.unpackZ(pos));
+    }
+
+    public static int getCachedCount(World world) {
+        WorldCache cache = CACHES.get(world.getName());
+        if (cache == null) return 0;
+        synchronized (cache) {
+            return cache.entries.size();
+        }
+    }
+
+    /**
+     * Fraction of lookups in the world answered from the cache, or 0 before the first lookup.
+     */
+    public static double getHitRate(World world) {
+        WorldCache cache = CACHES.get(world.getName());
+        if (cache == null) return 0.0;
+        synchronized (cache) {
+            long total = cache.hits + cache.misses;
+            return total == 0 ? 0.0 : (double) cache.hits / total;
+        }
     }
 
     public static List<InventoryAdapter> getAdaptersSnapshot() {
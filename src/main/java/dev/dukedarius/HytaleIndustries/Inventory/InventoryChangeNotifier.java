@@ -0,0 +1,55 @@
+package dev.dukedarius.HytaleIndustries.Inventory;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Change notifications for the inventories pipes read and write.
+ *
+ * {@link MachineInventory} views don't know where they live, so whoever changes the contents of a block inventory
+ * (pipes moving items, machines finishing a cycle, the quarry depositing drops, a block being placed) reports the
+ * block position here. Listeners get the packed {@link BlockPos} of the inventory's origin block.
+ * Changes made outside the plugin (players moving items by hand) are not reported.
+ */
+public final class InventoryChangeNotifier {
+
+    public interface Listener {
+        void onInventoryChanged(@Nonnull World world, long packedPos);
+    }
+
+    private static final CopyOnWriteArrayList<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private InventoryChangeNotifier() {}
+
+    public static void addListener(@Nonnull Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void notifyChanged(@Nonnull World world, long packedPos) {
+        for (Listener listener : LISTENERS) {
+            listener.onInventoryChanged(world, packedPos);
+        }
+    }
+
+    public static void notifyChanged(@Nonnull World world, int x, int y, int z) {
+        notifyChanged(world, BlockPos.pack(x, y, z));
+    }
+
+    /**
+     * Reports a change to the inventory of a block entity, resolving its position from its BlockStateInfo.
+     */
+    public static void notifyChanged(@Nonnull Store<ChunkStore> store, @Nonnull Ref<ChunkStore> ref) {
+        if (LISTENERS.isEmpty()) return;
+
+        long pos = BlockAccess.positionOf(store, ref);
+        if (pos == BlockAccess.NO_POSITION) return;
+        notifyChanged(store.getExternalData().getWorld(), pos);
+    }
+}
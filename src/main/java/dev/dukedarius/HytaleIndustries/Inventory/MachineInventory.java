@@ -1,5 +1,6 @@
 package dev.dukedarius.HytaleIndustries.Inventory;
 
+import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 
 /**
@@ -28,4 +29,84 @@ public interface MachineInventory {
         }
         return false;
     }
+
+    /**
+     * Indices of the slots that accept input. Implementations with a fixed layout should return a cached array.
+     */
+    default int[] getInputSlots() {
+        int count = 0;
+        for (int i = 0; i < getSlotCount(); i++) {
+            if (getSlotIO(i).allowsInput()) count++;
+        }
+        int[] slots = new int[count];
+        int n = 0;
+        for (int i = 0; i < getSlotCount(); i++) {
+            if (getSlotIO(i).allowsInput()) slots[n++] = i;
+        }
+        return slots;
+    }
+
+    /**
+     * Maximum quantity a slot can hold of the given item.
+     */
+    default int getMaxStackForSlot(int slotIndex, ItemStack stack) {
+        return stack.getItem().getMaxStack();
+    }
+
+    /**
+     * How many of {@code min(stack.getQuantity(), maxCount)} would NOT fit into the input slots.
+     * Nothing is modified.
+     */
+    default int simulateInsert(ItemStack stack, int maxCount) {
+        if (stack == null || ItemStack.isEmpty(stack) || maxCount <= 0) return 0;
+        return fill(stack, Math.min(stack.getQuantity(), maxCount), true);
+    }
+
+    /**
+     * Insert up to {@code min(stack.getQuantity(), maxCount)} of the stack into the input slots, topping up
+     * matching stacks before filling empty slots.
+     *
+     * @return the remainder that did not fit
+     */
+    default int insert(ItemStack stack, int maxCount) {
+        if (stack == null || ItemStack.isEmpty(stack) || maxCount <= 0) return 0;
+        return fill(stack, Math.min(stack.getQuantity(), maxCount), false);
+    }
+
+    /**
+     * How many more of this item (id + metadata) the input slots could take, regardless of the stack's quantity.
+     */
+    default int getInsertCapacity(ItemStack stack) {
+        if (stack == null || ItemStack.isEmpty(stack)) return 0;
+        return Integer.MAX_VALUE - fill(stack, Integer.MAX_VALUE, true);
+    }
+
+    private int fill(ItemStack stack, int amount, boolean simulate) {
+        int remaining = amount;
+        ItemContainer container = getContainer();
+        if (container == null) return remaining;
+
+        int[] inputs = getInputSlots();
+        // Pass 1: top up stacks of the same item; pass 2: fill empty slots
+        for (int pass = 0; pass < 2 && remaining > 0; pass++) {
+            for (int i = 0; i < inputs.length && remaining > 0; i++) {
+                short slot = (short) inputs[i];
+                ItemStack existing = container.getItemStack(slot);
+                boolean empty = existing == null || ItemStack.isEmpty(existing);
+                if (pass == 0 && (empty || !stack.getItemId().equals(existing.getItemId()))) continue;
+                if (pass == 1 && !empty) continue;
+
+                int current = empty ? 0 : existing.getQuantity();
+                int space = getMaxStackForSlot(slot, stack) - current;
+                if (space <= 0) continue;
+
+                int move = Math.min(space, remaining);
+                if (!simulate) {
+                    container.setItemStackForSlot(slot, empty ? stack.withQuantity(move) : existing.withQuantity(current + move));
+                }
+                remaining -= move;
+            }
+        }
+        return remaining;
+    }
 }
@@ -10,6 +10,7 @@ import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
 import dev.dukedarius.HytaleIndustries.Inventory.SlotIO;
 import dev.dukedarius.HytaleIndustries.Inventory.containers.ContainerMachineInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 
 import java.util.Collections;
 import java.util.List;
@@ -21,8 +22,7 @@ import java.util.List;
 public class AlloySmelterInventoryAdapter implements InventoryAdapter {
     @Override
     public List<MachineInventory> adapt(World world, Store<ChunkStore> store, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) chunk = world.getChunkIfLoaded(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
         if (chunk == null) return Collections.emptyList();
 
         var entity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
@@ -38,6 +38,9 @@ public class AlloySmelterInventoryAdapter implements InventoryAdapter {
         short totalInputSlots = (short) (inputASlots + inputBSlots);
         short outputSlots = inv.output.getCapacity();
 
+        int[] inputSlots = new int[totalInputSlots];
+        for (int i = 0; i < totalInputSlots; i++) inputSlots[i] = i;
+
         var combinedInputs = new com.hypixel.hytale.server.core.inventory.container.CombinedItemContainer(inv.inputA, inv.inputB);
         var handler = new ContainerMachineInventory(
                 new com.hypixel.hytale.server.core.inventory.container.CombinedItemContainer(combinedInputs, inv.output),
@@ -45,7 +48,8 @@ public class AlloySmelterInventoryAdapter implements InventoryAdapter {
                     if (slot < totalInputSlots) return SlotIO.INPUT;
                     if (slot < totalInputSlots + outputSlots) return SlotIO.OUTPUT;
                     return SlotIO.NONE;
-                }
+                },
+                inputSlots
         );
         return Collections.singletonList(handler);
     }
@@ -10,6 +10,8 @@ import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
 import dev.dukedarius.HytaleIndustries.Inventory.SlotIO;
 import dev.dukedarius.HytaleIndustries.Inventory.containers.BasicItemCacheMachineInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
 
 import java.util.Collections;
 import java.util.List;
@@ -23,27 +25,19 @@ import java.util.List;
 public class BasicItemCacheInventoryAdapter implements InventoryAdapter {
     @Override
     public List<MachineInventory> adapt(World world, Store<ChunkStore> store, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
-        }
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
         if (chunk == null) return Collections.emptyList();
 
         var entity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
         if (entity == null) return Collections.emptyList();
 
-        var blockType = chunk.getBlockType(x & 31, y, z & 31);
-        String blockId = blockType != null ? blockType.getId() : "null";
-        HytaleIndustriesPlugin.LOGGER.atInfo().log("[CacheAdapter] adapting (%d,%d,%d) block=%s", x, y, z, blockId);
-
         BasicItemCacheComponent cache = store.getComponent(entity,
                 HytaleIndustriesPlugin.INSTANCE.getBasicItemCacheComponentType());
-        HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                "[CacheAdapter] at (%d,%d,%d) block=%s component=%s slot=%s slotEmpty=%s",
-                x, y, z, blockId,
-                cache != null ? "FOUND" : "NULL",
-                cache != null && cache.slot != null ? "exists(cap=" + cache.slot.getCapacity() + ",max=" + cache.slot.getMaxStackForSlot((short)0) + ")" : "null",
-                cache != null && cache.slot != null ? cache.slot.isEmpty() : "n/a");
+        if (Tracer.isEnabled(Tracer.Channel.CACHE)) {
+            var blockType = chunk.getBlockType(x & 31, y, z & 31);
+            Tracer.trace(Tracer.Channel.CACHE, "adapt", blockType != null ? blockType.getId() : "null",
+                    x, y, z, cache != null && cache.slot != null ? cache.slot.getCapacity() : -1);
+        }
         if (cache == null) return Collections.emptyList();
         ensureContainer(cache);
 
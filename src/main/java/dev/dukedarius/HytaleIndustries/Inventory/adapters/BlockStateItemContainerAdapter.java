@@ -14,6 +14,7 @@ import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
 import dev.dukedarius.HytaleIndustries.Inventory.SlotIO;
 import dev.dukedarius.HytaleIndustries.Inventory.containers.ContainerMachineInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 
 import java.util.Collections;
 import java.util.List;
@@ -21,10 +22,7 @@ import java.util.List;
 public class BlockStateItemContainerAdapter implements InventoryAdapter {
     @Override
     public List<MachineInventory> adapt(World world, Store<ChunkStore> store, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
-        }
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
         if (chunk == null) {
             return Collections.emptyList();
         }
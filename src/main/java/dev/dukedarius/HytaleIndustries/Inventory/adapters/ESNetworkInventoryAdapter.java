@@ -0,0 +1,49 @@
+package dev.dukedarius.HytaleIndustries.Inventory.adapters;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESControllerComponent;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESTopologyManager;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapter;
+import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
+import dev.dukedarius.HytaleIndustries.Inventory.containers.ESNetworkMachineInventory;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exposes an ES Grid as an insert-only inventory for its whole network, so pipes can feed Energized Storage.
+ * Only online networks (single, powered controller) accept items.
+ */
+public class ESNetworkInventoryAdapter implements InventoryAdapter {
+    @Override
+    public boolean isCacheable() {
+        // Network membership and controller power change without the grid block changing
+        return false;
+    }
+
+    @Override
+    public List<MachineInventory> adapt(World world, Store<ChunkStore> store, int x, int y, int z) {
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
+        if (chunk == null) return Collections.emptyList();
+
+        var entity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
+        if (entity == null) return Collections.emptyList();
+        if (store.getComponent(entity, HytaleIndustriesPlugin.INSTANCE.getEsGridType()) == null) {
+            return Collections.emptyList();
+        }
+
+        ESTopologyManager.ESTopology topology = HytaleIndustriesPlugin.INSTANCE.getEsTopologyManager()
+                .getTopology(world, x, y, z);
+        if (topology == null) return Collections.emptyList();
+        ESControllerComponent controller = topology.getController();
+        if (controller == null || !controller.networkOnline) return Collections.emptyList();
+
+        return Collections.singletonList(
+                new ESNetworkMachineInventory(topology.getItemIndex(), topology.getHousings()));
+    }
+}
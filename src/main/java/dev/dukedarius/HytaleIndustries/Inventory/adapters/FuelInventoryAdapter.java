@@ -10,6 +10,7 @@ import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapter;
 import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
 import dev.dukedarius.HytaleIndustries.Inventory.SlotIO;
 import dev.dukedarius.HytaleIndustries.Inventory.containers.ContainerMachineInventory;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 
 import java.util.Collections;
 import java.util.List;
@@ -17,10 +18,7 @@ import java.util.List;
 public class FuelInventoryAdapter implements InventoryAdapter {
     @Override
     public List<MachineInventory> adapt(World world, Store<ChunkStore> store, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
-        }
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
         if (chunk == null) return Collections.emptyList();
 
         var entity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
@@ -32,6 +30,6 @@ public class FuelInventoryAdapter implements InventoryAdapter {
         ItemContainer container = fuel.fuelContainer;
         if (container == null) return Collections.emptyList();
 
-        return Collections.singletonList(new ContainerMachineInventory(container, slot -> slot == 0 ? SlotIO.INPUT : SlotIO.NONE));
+        return Collections.singletonList(new ContainerMachineInventory(container, slot -> slot == 0 ? SlotIO.INPUT : SlotIO.NONE, 0));
     }
 }
@@ -10,6 +10,7 @@ import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
 import dev.dukedarius.HytaleIndustries.Inventory.SlotIO;
 import dev.dukedarius.HytaleIndustries.Inventory.containers.ContainerMachineInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 
 import java.util.Collections;
 import java.util.List;
@@ -17,8 +18,7 @@ import java.util.List;
 public class PoweredCrusherInventoryAdapter implements InventoryAdapter {
     @Override
     public List<MachineInventory> adapt(World world, Store<ChunkStore> store, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) chunk = world.getChunkIfLoaded(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z));
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
         if (chunk == null) return Collections.emptyList();
 
         var entity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
@@ -31,7 +31,8 @@ public class PoweredCrusherInventoryAdapter implements InventoryAdapter {
 
         var handler = new ContainerMachineInventory(
                 new com.hypixel.hytale.server.core.inventory.container.CombinedItemContainer(inv.input, inv.output),
-                slot -> slot == 0 ? SlotIO.INPUT : (slot == 1 ? SlotIO.OUTPUT : SlotIO.NONE)
+                slot -> slot == 0 ? SlotIO.INPUT : (slot == 1 ? SlotIO.OUTPUT : SlotIO.NONE),
+                0
         );
         return Collections.singletonList(handler);
     }
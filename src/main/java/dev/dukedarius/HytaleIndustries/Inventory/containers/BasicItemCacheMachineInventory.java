@@ -1,17 +1,25 @@
 package dev.dukedarius.HytaleIndustries.Inventory.containers;
 
+import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import dev.dukedarius.HytaleIndustries.Inventory.SlotIO;
 
 import java.util.function.IntFunction;
 
 /**
- * Marker MachineInventory wrapper for the Basic Item Cache.
- * Allows pipe logic to detect this inventory and apply special rules
- * (like 16x stack capacity for inserts).
+ * MachineInventory wrapper for the Basic Item Cache.
+ * Inserts use the cache container's own (overstacked) slot capacity instead of the item's max stack.
  */
 public class BasicItemCacheMachineInventory extends ContainerMachineInventory {
     public BasicItemCacheMachineInventory(ItemContainer container, IntFunction<SlotIO> slotMapper) {
         super(container, slotMapper);
     }
+
+    @Override
+    public int getMaxStackForSlot(int slotIndex, ItemStack stack) {
+        if (getContainer() instanceof CacheItemContainer cic) {
+            return cic.getMaxStackForSlot((short) slotIndex);
+        }
+        return super.getMaxStackForSlot(slotIndex, stack);
+    }
 }
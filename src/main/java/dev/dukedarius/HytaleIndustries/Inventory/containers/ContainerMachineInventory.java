@@ -9,12 +9,22 @@ import java.util.function.IntFunction;
 public class ContainerMachineInventory implements MachineInventory {
     private final ItemContainer container;
     private final IntFunction<SlotIO> slotMapper;
+    private int[] inputSlots;
 
     public ContainerMachineInventory(ItemContainer container, IntFunction<SlotIO> slotMapper) {
         this.container = container;
         this.slotMapper = slotMapper;
     }
 
+    /**
+     * For machines with a fixed layout: the input slot indices are known up front, so batch inserts
+     * don't have to probe every slot's IO role.
+     */
+    public ContainerMachineInventory(ItemContainer container, IntFunction<SlotIO> slotMapper, int... inputSlots) {
+        this(container, slotMapper);
+        this.inputSlots = inputSlots;
+    }
+
     @Override
     public ItemContainer getContainer() {
         return container;
@@ -24,4 +34,15 @@ public class ContainerMachineInventory implements MachineInventory {
     public SlotIO getSlotIO(int slotIndex) {
         return slotMapper.apply(slotIndex);
     }
+
+    @Override
+    public int[] getInputSlots() {
+        if (inputSlots == null) inputSlots = MachineInventory.super.getInputSlots();
+        return inputSlots;
+    }
+
+    @Override
+    public boolean hasInputSlots() {
+        return getInputSlots().length > 0;
+    }
 }
@@ -7,6 +7,8 @@ import com.hypixel.hytale.server.core.inventory.container.filter.FilterType;
 import com.hypixel.hytale.server.core.inventory.container.filter.SlotFilter;
 import com.hypixel.hytale.server.core.inventory.transaction.ClearTransaction;
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESDiskHousingComponent;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESGridView;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESItemIndex;
 import org.checkerframework.checker.nullness.compatqual.NullableDecl;
 
 import java.util.List;
@@ -14,26 +16,32 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
- * Virtual container that presents ES network items as slots.
+ * Virtual container that presents one page of an ES network view as slots.
  * Slot changes are routed to/from the connected Disk Housings.
  */
 public class ESNetworkContainer extends ItemContainer {
 
-    public static final short GRID_SLOTS = 54; // 9x6
+    public static final short GRID_SLOTS = ESGridView.PAGE_SIZE; // 9x6
     private final ItemStack[] slots;
+    private final ESItemIndex index;
     private final List<ESDiskHousingComponent> housings;
 
-    public ESNetworkContainer(List<ItemStack> itemIndex, List<ESDiskHousingComponent> housings) {
+    public ESNetworkContainer(ESItemIndex index, ESGridView view, List<ESDiskHousingComponent> housings) {
         super();
+        this.index = index;
         this.housings = housings;
         this.slots = new ItemStack[GRID_SLOTS];
         for (int i = 0; i < GRID_SLOTS; i++) slots[i] = ItemStack.EMPTY;
-        populateFromIndex(itemIndex);
+        populateFromView(view);
     }
 
-    private void populateFromIndex(List<ItemStack> itemIndex) {
-        for (int i = 0; i < Math.min(itemIndex.size(), GRID_SLOTS); i++) {
-            slots[i] = itemIndex.get(i);
+    /** Fill the slots from the view's current page (sorted/filtered; only that page is computed) */
+    private void populateFromView(ESGridView view) {
+        view.invalidateShown();
+        view.diffPage(index);
+        for (int i = 0; i < GRID_SLOTS; i++) {
+            ItemStack shown = view.getShown(i);
+            if (shown != null) slots[i] = shown;
         }
     }
 
@@ -82,7 +90,7 @@ public class ESNetworkContainer extends ItemContainer {
         // Player removed items from this slot (extraction)
         if (prevId != null && (newId == null || newQty < prevQty)) {
             int toExtract = newId != null && newId.equals(prevId) ? prevQty - newQty : prevQty;
-            for (ESDiskHousingComponent h : housings) {
+            for (ESDiskHousingComponent h : index.getHolders(prevId)) {
                 java.util.List<ItemStack> got = h.extractItem(prevId, toExtract);
                 for (ItemStack s : got) toExtract -= s.getQuantity();
                 if (toExtract <= 0) break;
@@ -114,7 +122,7 @@ public class ESNetworkContainer extends ItemContainer {
         if (prev != null && !ItemStack.isEmpty(prev)) {
             String itemId = prev.getItemId();
             int qty = prev.getQuantity();
-            for (ESDiskHousingComponent h : housings) {
+            for (ESDiskHousingComponent h : index.getHolders(itemId)) {
                 java.util.List<ItemStack> got = h.extractItem(itemId, qty);
                 for (ItemStack s : got) qty -= s.getQuantity();
                 if (qty <= 0) break;
@@ -127,14 +135,8 @@ public class ESNetworkContainer extends ItemContainer {
     @Override
     protected boolean cantAddToSlot(short slot, ItemStack existing, ItemStack toAdd) {
         if (toAdd == null || ItemStack.isEmpty(toAdd)) return false;
-        // Check if network has space
-        long totalCapacity = 0;
-        long totalStored = 0;
-        for (ESDiskHousingComponent h : housings) {
-            totalCapacity += h.getTotalCapacity();
-            totalStored += h.getTotalStored();
-        }
-        return totalStored + toAdd.getQuantity() > totalCapacity;
+        // Check if network has space (cached totals, no per-housing re-sum)
+        return !index.canAccept(toAdd.getQuantity());
     }
 
     @Override protected boolean cantRemoveFromSlot(short i) { return false; }
@@ -0,0 +1,79 @@
+package dev.dukedarius.HytaleIndustries.Inventory.containers;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESDiskHousingComponent;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESGridView;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESItemIndex;
+import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
+import dev.dukedarius.HytaleIndustries.Inventory.SlotIO;
+
+import java.util.List;
+
+/**
+ * Insert-only MachineInventory over an Energized Storage network.
+ * Batch inserts go straight to the disk housings (highest priority first) and capacity comes from the
+ * network's item index, so no virtual slots are touched.
+ */
+public class ESNetworkMachineInventory implements MachineInventory {
+    private final ESItemIndex index;
+    private final List<ESDiskHousingComponent> housings;
+    private ESNetworkContainer container;
+
+    public ESNetworkMachineInventory(ESItemIndex index, List<ESDiskHousingComponent> housings) {
+        this.index = index;
+        this.housings = housings;
+    }
+
+    @Override
+    public ItemContainer getContainer() {
+        if (container == null) container = new ESNetworkContainer(index, new ESGridView(), housings);
+        return container;
+    }
+
+    @Override
+    public SlotIO getSlotIO(int slotIndex) {
+        return SlotIO.INPUT;
+    }
+
+    @Override
+    public int getSlotCount() {
+        return ESNetworkContainer.GRID_SLOTS;
+    }
+
+    @Override
+    public boolean hasInputSlots() {
+        return true;
+    }
+
+    @Override
+    public boolean hasOutputSlots() {
+        return false;
+    }
+
+    @Override
+    public int simulateInsert(ItemStack stack, int maxCount) {
+        if (stack == null || ItemStack.isEmpty(stack) || maxCount <= 0) return 0;
+        int amount = Math.min(stack.getQuantity(), maxCount);
+        return (int) (amount - Math.min(amount, index.getFreeSpace()));
+    }
+
+    @Override
+    public int getInsertCapacity(ItemStack stack) {
+        if (stack == null || ItemStack.isEmpty(stack)) return 0;
+        return (int) Math.min(index.getFreeSpace(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int insert(ItemStack stack, int maxCount) {
+        if (stack == null || ItemStack.isEmpty(stack) || maxCount <= 0) return 0;
+        int remaining = Math.min(stack.getQuantity(), maxCount);
+        if (index.getFreeSpace() <= 0) return remaining;
+
+        for (ESDiskHousingComponent housing : housings) {
+            remaining -= housing.insertItem(stack.withQuantity(remaining));
+            if (remaining <= 0) break;
+        }
+        return remaining;
+    }
+}
@@ -0,0 +1,128 @@
+package dev.dukedarius.HytaleIndustries.Pipes;
+
+import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent.FilterMode;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One pipe face's filter, compiled from its saved entries when the filter changes.
+ *
+ * Entries are matched case-insensitively and may be:
+ * <ul>
+ *     <li>an exact item id, e.g. {@code Ore_Iron}</li>
+ *     <li>a prefix pattern, e.g. {@code Ore_*}</li>
+ *     <li>a tag, e.g. {@code #Ore}, matching any item whose id has that '_' separated segment
+ *     ({@code Ore_Iron}, {@code Ore_Copper_Deep}). Item assets expose no tag list here, so the id segments
+ *     stand in for categories.</li>
+ * </ul>
+ * Exact ids become a set of interned ints; pattern results are memoised per interned id, so each item id is
+ * string-matched at most once per compiled filter.
+ */
+public final class CompiledItemFilter {
+
+    /** Allows everything; shared by unfiltered faces. */
+    public static final CompiledItemFilter NONE = new CompiledItemFilter(FilterMode.None, null);
+
+    private final FilterMode mode;
+    private final IntOpenHashSet exact = new IntOpenHashSet();
+    private final String[] prefixes;
+    private final String[] tags;
+
+    // Memo over interned ids: decided[id] -> listed[id]
+    private final BitSet decided = new BitSet();
+    private final BitSet listed = new BitSet();
+
+    private CompiledItemFilter(@Nonnull FilterMode mode, @Nullable String[] entries) {
+        this.mode = mode;
+        List<String> prefixList = new ArrayList<>();
+        List<String> tagList = new ArrayList<>();
+        if (entries != null) {
+            for (String raw : entries) {
+                if (raw == null) continue;
+                String entry = raw.trim();
+                if (entry.isEmpty()) continue;
+                if (entry.startsWith("#") && entry.length() > 1) {
+                    tagList.add(entry.substring(1).toLowerCase(Locale.ROOT));
+                } else if (entry.endsWith("*")) {
+                    prefixList.add(entry.substring(0, entry.length() - 1).toLowerCase(Locale.ROOT));
+                } else {
+                    exact.add(ItemIdInterner.intern(entry));
+                }
+            }
+        }
+        this.prefixes = prefixList.toArray(new String[0]);
+        this.tags = tagList.toArray(new String[0]);
+    }
+
+    @Nonnull
+    public static CompiledItemFilter compile(@Nullable FilterMode mode, @Nullable String[] entries) {
+        if (mode == null || mode == FilterMode.None) {
+            return NONE;
+        }
+        return new CompiledItemFilter(mode, entries);
+    }
+
+    /** True for {@code prefix*} and {@code #tag} entries, false for plain item ids. */
+    public static boolean isPattern(@Nullable String entry) {
+        if (entry == null) return false;
+        String trimmed = entry.trim();
+        return (trimmed.startsWith("#") && trimmed.length() > 1) || trimmed.endsWith("*");
+    }
+
+    @Nonnull
+    public FilterMode getMode() {
+        return mode;
+    }
+
+    public boolean allows(@Nullable String itemId) {
+        if (mode == FilterMode.None || itemId == null) {
+            return true;
+        }
+        return allows(ItemIdInterner.intern(itemId), itemId);
+    }
+
+    /**
+     * @param internedId {@link ItemIdInterner#intern} of {@code itemId}
+     */
+    public boolean allows(int internedId, @Nonnull String itemId) {
+        if (mode == FilterMode.None) {
+            return true;
+        }
+        boolean isListed;
+        if (exact.contains(internedId)) {
+            isListed = true;
+        } else if (prefixes.length == 0 && tags.length == 0) {
+            isListed = false;
+        } else if (decided.get(internedId)) {
+            isListed = listed.get(internedId);
+        } else {
+            isListed = matchesPattern(itemId);
+            decided.set(internedId);
+            if (isListed) listed.set(internedId);
+        }
+        return mode == FilterMode.Whitelist ? isListed : !isListed;
+    }
+
+    private boolean matchesPattern(String itemId) {
+        String id = itemId.toLowerCase(Locale.ROOT);
+        for (String prefix : prefixes) {
+            if (id.startsWith(prefix)) return true;
+        }
+        for (String tag : tags) {
+            int from = 0;
+            while (from <= id.length()) {
+                int end = id.indexOf('_', from);
+                if (end < 0) end = id.length();
+                if (end - from == tag.length() && id.startsWith(tag, from)) return true;
+                from = end + 1;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package dev.dukedarius.HytaleIndustries.Pipes;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Process-wide mapping of item ids to small dense ints, so filters can memoise decisions in bitsets
+ * instead of comparing strings. Ids are never released; the item registry is finite.
+ */
+public final class ItemIdInterner {
+
+    private static final Object2IntOpenHashMap<String> IDS = new Object2IntOpenHashMap<>();
+
+    static {
+        IDS.defaultReturnValue(-1);
+    }
+
+    private ItemIdInterner() {
+    }
+
+    public static int intern(@Nonnull String itemId) {
+        synchronized (IDS) {
+            int id = IDS.getInt(itemId);
+            if (id < 0) {
+                id = IDS.size();
+                IDS.put(itemId, id);
+            }
+            return id;
+        }
+    }
+
+    public static int size() {
+        synchronized (IDS) {
+            return IDS.size();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package dev.dukedarius.HytaleIndustries.Pipes;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.joml.Vector3i;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recomputes item pipe connections in batches.
+ *
+ * Pipes whose neighbourhood may have changed are marked dirty; the positions are deduplicated per world and
+ * resolved together by one command buffer task, so placing or loading thousands of pipes resolves each pipe once
+ * per batch instead of once per neighbour change. Neighbour classification (pipe, inventory or nothing) is kept in
+ * a snapshot for the whole batch, so a block next to several dirty pipes is looked up once. A pipe's block state
+ * variant is only swapped when its side config differs from the one last applied ({@link PipeSideConfigStore}).
+ */
+public class PipeConnectionResolver {
+
+    public static final String ITEM_PIPE_BLOCK_ID = "HytaleIndustries_BasicItemPipe";
+
+    private static final int WORLD_MIN_Y = 0;
+    private static final int WORLD_MAX_Y_EXCLUSIVE = 320;
+
+    // ItemPipeBlockState direction order: North, South, West, East, Up, Down
+    private static final Vector3i[] DIRECTIONS = {
+            new Vector3i(0, 0, -1),
+            new Vector3i(0, 0, 1),
+            new Vector3i(-1, 0, 0),
+            new Vector3i(1, 0, 0),
+            new Vector3i(0, 1, 0),
+            new Vector3i(0, -1, 0)
+    };
+
+    private static final byte UNKNOWN = -1;
+    private static final byte EMPTY = 0;
+    private static final byte PIPE = 1;
+    private static final byte INVENTORY = 2;
+
+    private static final class WorldBatch {
+        final LongOpenHashSet dirty = new LongOpenHashSet();
+        boolean flushScheduled;
+    }
+
+    private final Map<String, WorldBatch> worlds = new ConcurrentHashMap<>();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong resolved = new AtomicLong();
+    private final AtomicLong variantSwaps = new AtomicLong();
+
+    /**
+     * Queues the pipe at the position for resolution and makes sure a flush is scheduled on the buffer.
+     * Positions that turn out not to hold a pipe are skipped.
+     */
+    public void markDirty(@Nonnull World world, int x, int y, int z, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        if (y < WORLD_MIN_Y || y >= WORLD_MAX_Y_EXCLUSIVE) return;
+        WorldBatch batch = worlds.computeIfAbsent(world.getName(), k -> new WorldBatch());
+        boolean schedule;
+        synchronized (batch) {
+            batch.dirty.add(BlockPos.pack(x, y, z));
+            schedule = !batch.flushScheduled;
+            batch.flushScheduled = true;
+        }
+        if (schedule) {
+            buffer.run(store -> flush(world, store));
+        }
+    }
+
+    /**
+     * Queues the six neighbours of the position, e.g. when a pipe next to them appeared or disappeared.
+     */
+    public void markNeighboursDirty(@Nonnull World world, int x, int y, int z,
+                                    @Nonnull CommandBuffer<ChunkStore> buffer) {
+        for (Vector3i dir : DIRECTIONS) {
+            markDirty(world, x + dir.x, y + dir.y, z + dir.z, buffer);
+        }
+    }
+
+    public long getBatchCount() { return batches.get(); }
+    public long getResolvedCount() { return resolved.get(); }
+    public long getVariantSwapCount() { return variantSwaps.get(); }
+
+    private void flush(@Nonnull World world, @Nonnull Store<ChunkStore> store) {
+        WorldBatch batch = worlds.get(world.getName());
+        if (batch == null) return;
+        long[] positions;
+        synchronized (batch) {
+            positions = batch.dirty.toLongArray();
+            batch.dirty.clear();
+            batch.flushScheduled = false;
+        }
+        if (positions.length == 0) return;
+        // Packed positions sort by X then Z, so neighbouring pipes land in the same chunks back to back
+        Arrays.sort(positions);
+
+        ComponentType<ChunkStore, BasicItemPipeComponent> pipeType =
+                HytaleIndustriesPlugin.INSTANCE.getBasicItemPipeComponentType();
+        Long2ByteOpenHashMap snapshot = new Long2ByteOpenHashMap(positions.length * 2);
+        snapshot.defaultReturnValue(UNKNOWN);
+
+        int count = 0;
+        int swaps = 0;
+        for (long pos : positions) {
+            int result = resolve(world, store, pipeType, snapshot, pos);
+            if (result >= 0) {
+                count++;
+                swaps += result;
+            }
+        }
+
+        batches.incrementAndGet();
+        resolved.addAndGet(count);
+        variantSwaps.addAndGet(swaps);
+        Tracer.trace(Tracer.Channel.PIPE_UPDATE, "batch", positions.length, count, swaps);
+    }
+
+    /**
+     * Reconciles one pipe against its neighbours.
+     *
+     * @return -1 if there is no loaded pipe at the position, 1 if its block state variant was swapped, 0 otherwise
+     */
+    private int resolve(@Nonnull World world, @Nonnull Store<ChunkStore> store,
+                        @Nonnull ComponentType<ChunkStore, BasicItemPipeComponent> pipeType,
+                        @Nonnull Long2ByteOpenHashMap snapshot, long pos) {
+        int x = BlockPos.unpackX(pos);
+        int y = BlockPos.unpackY(pos);
+        int z = BlockPos.unpackZ(pos);
+
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
+        if (chunk == null) return -1;
+        Ref<ChunkStore> entity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
+        if (entity == null || !entity.isValid()) return -1;
+        BasicItemPipeComponent pipe = store.getComponent(entity, pipeType);
+        if (pipe == null) return -1;
+        BlockType blockType = chunk.getBlockType(x & 31, y, z & 31);
+        if (blockType == null) {
+            Tracer.trace(Tracer.Channel.PIPE_UPDATE, "missing-blocktype", x, y, z);
+            return -1;
+        }
+
+        int pipeMask = 0;
+        int inventoryMask = 0;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            Vector3i dir = DIRECTIONS[i];
+            byte kind = classify(world, store, pipeType, snapshot, x + dir.x, y + dir.y, z + dir.z);
+            if (kind == PIPE) pipeMask |= 1 << i;
+            else if (kind == INVENTORY) inventoryMask |= 1 << i;
+        }
+
+        // Reconcile sideConfig based on connections (like ItemPipeBlockState.reconcileNeighborFaces)
+        // ONLY auto-adjusts Default state - respects Extract and manual None configuration
+        int occupiedMask = 0;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            Vector3i dir = DIRECTIONS[i];
+            boolean hasPipe = (pipeMask & (1 << i)) != 0;
+            boolean hasInv = (inventoryMask & (1 << i)) != 0;
+            BasicItemPipeComponent.ConnectionState currentState = pipe.getConnectionState(dir);
+            boolean isManual = pipe.isManuallyConfigured(dir);
+
+            // Rule 1: If Default and no neighbor (pipe or inventory), auto-set to None
+            if (currentState == BasicItemPipeComponent.ConnectionState.Default && !(hasPipe || hasInv)) {
+                pipe.setConnectionState(dir, BasicItemPipeComponent.ConnectionState.None, false);
+            }
+            // Rule 2/3: If None and a pipe or inventory neighbor exists, auto-restore to Default (unless manual)
+            else if (currentState == BasicItemPipeComponent.ConnectionState.None && (hasPipe || hasInv) && !isManual) {
+                pipe.setConnectionState(dir, BasicItemPipeComponent.ConnectionState.Default, false);
+            }
+
+            if ((hasPipe || hasInv) && pipe.isSideConnected(dir)) {
+                occupiedMask |= 1 << i;
+            }
+        }
+
+        int previousMask = pipe.getPipeState();
+        pipe.setDirectionalState(occupiedMask);
+        int sideConfig = pipe.getSideConfig();
+        int applied = PipeSideConfigStore.getOrDefault(world, x, y, z, PipeSideConfigStore.MISSING);
+        boolean swap = applied != sideConfig;
+
+        if (swap) {
+            String stateName = String.format("State%03d", sideConfig);
+            Tracer.trace(Tracer.Channel.PIPE_UPDATE, "set-state", stateName, x, y, z);
+
+            // Record first: the variant change may recreate the component, which restores from the store
+            PipeSideConfigStore.set(world, x, y, z, sideConfig);
+            chunk.setBlockInteractionState(x, y, z, blockType, stateName, true);
+
+            Ref<ChunkStore> current = chunk.getBlockComponentEntity(x & 31, y, z & 31);
+            if (current != null) {
+                BasicItemPipeComponent updatedPipe = current.getStore().getComponent(current, pipeType);
+                if (updatedPipe != null && updatedPipe != pipe) {
+                    updatedPipe.updateFrom(pipe);
+                }
+            }
+        }
+
+        if (swap || previousMask != occupiedMask) {
+            // Connections changed, so cached pipe networks around this pipe are stale
+            HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().invalidate(world, x, y, z);
+            HytaleIndustriesPlugin.INSTANCE.getPipeExtractionScheduler().wake(world, pos);
+        }
+        return swap ? 1 : 0;
+    }
+
+    private static byte classify(@Nonnull World world, @Nonnull Store<ChunkStore> store,
+                                 @Nonnull ComponentType<ChunkStore, BasicItemPipeComponent> pipeType,
+                                 @Nonnull Long2ByteOpenHashMap snapshot, int x, int y, int z) {
+        long key = BlockPos.pack(x, y, z);
+        byte kind = snapshot.get(key);
+        if (kind != UNKNOWN) return kind;
+
+        kind = EMPTY;
+        if (y >= WORLD_MIN_Y && y < WORLD_MAX_Y_EXCLUSIVE) {
+            // Loads the neighbour chunk if needed so pipes at chunk borders don't lose their connections
+            WorldChunk chunk = BlockAccess.chunkOrLoad(world, x, z);
+            if (chunk != null) {
+                Ref<ChunkStore> entity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
+                if (entity != null) {
+                    BlockType type = chunk.getBlockType(x & 31, y, z & 31);
+                    if (ITEM_PIPE_BLOCK_ID.equals(normalizeBlockId(type != null ? type.getId() : null))
+                            && store.getComponent(entity, pipeType) != null) {
+                        kind = PIPE;
+                    }
+                }
+                if (kind == EMPTY && hasInventoryAt(world, store, x, y, z)) {
+                    kind = INVENTORY;
+                }
+            }
+        }
+        snapshot.put(key, kind);
+        return kind;
+    }
+
+    private static boolean hasInventoryAt(@Nonnull World world, @Nonnull Store<ChunkStore> store, int x, int y, int z) {
+        // Resolve filler blocks to their origin
+        long origin = BlockAccess.resolveOrigin(world, x, y, z);
+        return !InventoryAdapters.find(world, store,
+                BlockPos.unpackX(origin), BlockPos.unpackY(origin), BlockPos.unpackZ(origin)).isEmpty();
+    }
+
+    /**
+     * Normalize a runtime block id (which may include leading '*' and state suffix) into
+     * the base asset id, e.g. "*HytaleIndustries_BasicItemPipe_State_Definitions_State000"
+     * → "HytaleIndustries_BasicItemPipe".
+     */
+    @Nullable
+    public static String normalizeBlockId(@Nullable String blockId) {
+        if (blockId == null) {
+            return null;
+        }
+        String base = blockId;
+        if (base.startsWith("*")) {
+            base = base.substring(1);
+        }
+        int stateIdx = base.indexOf("_State_");
+        if (stateIdx > 0) {
+            base = base.substring(0, stateIdx);
+        }
+        return base;
+    }
+}
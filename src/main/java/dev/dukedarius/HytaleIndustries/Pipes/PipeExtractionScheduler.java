@@ -0,0 +1,347 @@
+package dev.dukedarius.HytaleIndustries.Pipes;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides when extracting pipes run and tracks the throughput each pipe network achieves.
+ *
+ * Every pipe runs one operation per period of its {@link BasicItemPipeComponent.Tier}. The first time a pipe is
+ * seen after load its accumulator is given a phase derived from its position hash, so pipes on the same network
+ * spread their operations over the period instead of all firing on the same tick. Items moved are summed per
+ * network over one-second windows.
+ *
+ * A pipe whose passes find nothing to move {@value #IDLE_PASSES_BEFORE_SLEEP} times in a row goes to sleep: it
+ * registers the positions of its sources and destinations and is skipped until one of them reports a change
+ * through {@link InventoryChangeNotifier}, its network is rebuilt, or its sleep times out. The timeout doubles
+ * each time the pipe falls asleep again without moving anything, so changes nobody reports (players moving items
+ * by hand) are still picked up.
+ */
+public class PipeExtractionScheduler implements InventoryChangeNotifier.Listener {
+
+    private static final long WINDOW_MILLIS = 1000L;
+    private static final long STALE_MILLIS = 10_000L;
+
+    private static final int IDLE_PASSES_BEFORE_SLEEP = 4;
+    private static final long MIN_SLEEP_MILLIS = 1_000L;
+    private static final long MAX_SLEEP_MILLIS = 16_000L;
+
+    private static final class NetworkStats {
+        long movedThisWindow;
+        long operationsThisWindow;
+        double itemsPerSecond;
+        double operationsPerSecond;
+        long totalMoved;
+        long lastSeenMillis;
+    }
+
+    private static final class Sleeper {
+        final long wakeAtMillis;
+        final long[] watched;
+        @Nullable
+        final PipeNetworkManager.PipeNetwork network;
+
+        Sleeper(long wakeAtMillis, long[] watched, @Nullable PipeNetworkManager.PipeNetwork network) {
+            this.wakeAtMillis = wakeAtMillis;
+            this.watched = watched;
+            this.network = network;
+        }
+    }
+
+    private static final class WorldStats {
+        final Int2ObjectOpenHashMap<NetworkStats> byNetwork = new Int2ObjectOpenHashMap<>();
+        long windowStartMillis = System.currentTimeMillis();
+
+        final Long2IntOpenHashMap idlePasses = new Long2IntOpenHashMap();
+        // Next sleep length per pipe; absent means MIN_SLEEP_MILLIS
+        final Long2LongOpenHashMap nextSleepMillis = new Long2LongOpenHashMap();
+        final Long2ObjectOpenHashMap<Sleeper> sleeping = new Long2ObjectOpenHashMap<>();
+        // Inventory position -> sleeping pipes watching it
+        final Long2ObjectOpenHashMap<LongArrayList> watchers = new Long2ObjectOpenHashMap<>();
+        final LongOpenHashSet activeThisWindow = new LongOpenHashSet();
+        int activeLastWindow;
+    }
+
+    private final Map<String, WorldStats> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * Advances the pipe's accumulator and returns how many operations are due this tick (0 most ticks).
+     * After a lag spike at most one second's worth of operations is returned.
+     */
+    public int operationsDue(long pipeKey, @Nonnull BasicItemPipeComponent pipe, float dt) {
+        BasicItemPipeComponent.Tier tier = pipe.getTier();
+        float period = tier.getPeriodSeconds();
+
+        float acc = pipe.getSecondsAccumulator();
+        if (!pipe.isStaggered()) {
+            acc = phaseOf(pipeKey) * period;
+            pipe.setStaggered(true);
+        }
+        acc += dt;
+
+        if (acc < period) {
+            pipe.setSecondsAccumulator(acc);
+            return 0;
+        }
+
+        int ops = (int) (acc / period);
+        if (ops > tier.getOperationsPerSecond()) {
+            ops = tier.getOperationsPerSecond();
+            acc = acc % period;
+        } else {
+            acc -= ops * period;
+        }
+        pipe.setSecondsAccumulator(acc);
+        return ops;
+    }
+
+    /**
+     * Whether the pipe is asleep. A sleeper whose timeout passed or whose network was dropped is woken here.
+     */
+    public boolean isSleeping(@Nonnull World world, long pipeKey, long nowMillis) {
+        WorldStats stats = worlds.get(world.getName());
+        if (stats == null) return false;
+        synchronized (stats) {
+            Sleeper sleeper = stats.sleeping.get(pipeKey);
+            if (sleeper == null) return false;
+            if (nowMillis < sleeper.wakeAtMillis && (sleeper.network == null || sleeper.network.isValid())) {
+                return true;
+            }
+            wake(stats, pipeKey);
+            return false;
+        }
+    }
+
+    /**
+     * Records a pass that moved nothing. After enough of them in a row the pipe sleeps, watching the given
+     * inventory positions; {@code network} is the pipe's network, if it had one, so a rebuild wakes it.
+     */
+    public void recordIdle(@Nonnull World world, long pipeKey, @Nonnull long[] watched,
+                           @Nullable PipeNetworkManager.PipeNetwork network, long nowMillis) {
+        WorldStats stats = worlds.computeIfAbsent(world.getName(), k -> new WorldStats());
+        synchronized (stats) {
+            roll(stats, nowMillis);
+            stats.activeThisWindow.add(pipeKey);
+            int passes = stats.idlePasses.get(pipeKey) + 1;
+            if (passes < IDLE_PASSES_BEFORE_SLEEP) {
+                stats.idlePasses.put(pipeKey, passes);
+                return;
+            }
+            stats.idlePasses.remove(pipeKey);
+
+            long sleepMillis = stats.nextSleepMillis.containsKey(pipeKey)
+                    ? stats.nextSleepMillis.get(pipeKey) : MIN_SLEEP_MILLIS;
+            stats.nextSleepMillis.put(pipeKey, Math.min(sleepMillis * 2, MAX_SLEEP_MILLIS));
+
+            wake(stats, pipeKey);
+            stats.sleeping.put(pipeKey, new Sleeper(nowMillis + sleepMillis, watched, network));
+            for (long pos : watched) {
+                LongArrayList pipes = stats.watchers.get(pos);
+                if (pipes == null) {
+                    pipes = new LongArrayList(2);
+                    stats.watchers.put(pos, pipes);
+                }
+                pipes.add(pipeKey);
+            }
+        }
+    }
+
+    /**
+     * Records a pass that moved items; the pipe's idle count and sleep backoff start over.
+     */
+    public void recordBusy(@Nonnull World world, long pipeKey) {
+        WorldStats stats = worlds.computeIfAbsent(world.getName(), k -> new WorldStats());
+        synchronized (stats) {
+            stats.activeThisWindow.add(pipeKey);
+            stats.idlePasses.remove(pipeKey);
+            stats.nextSleepMillis.remove(pipeKey);
+        }
+    }
+
+    /**
+     * Wakes every pipe watching the inventory at the given position.
+     */
+    @Override
+    public void onInventoryChanged(@Nonnull World world, long packedPos) {
+        WorldStats stats = worlds.get(world.getName());
+        if (stats == null) return;
+        synchronized (stats) {
+            LongArrayList pipes = stats.watchers.get(packedPos);
+            if (pipes == null) return;
+            for (long pipeKey : pipes.toLongArray()) {
+                wake(stats, pipeKey);
+            }
+        }
+    }
+
+    /**
+     * Wakes one pipe, e.g. after its side configuration changed.
+     */
+    public void wake(@Nonnull World world, long pipeKey) {
+        WorldStats stats = worlds.get(world.getName());
+        if (stats == null) return;
+        synchronized (stats) {
+            wake(stats, pipeKey);
+            stats.idlePasses.remove(pipeKey);
+            stats.nextSleepMillis.remove(pipeKey);
+        }
+    }
+
+    /**
+     * Drops everything kept for a pipe that was broken or whose chunk unloaded, asleep or not.
+     */
+    public void forget(@Nonnull World world, long pipeKey) {
+        WorldStats stats = worlds.get(world.getName());
+        if (stats == null) return;
+        synchronized (stats) {
+            wake(stats, pipeKey);
+            stats.idlePasses.remove(pipeKey);
+            stats.nextSleepMillis.remove(pipeKey);
+        }
+    }
+
+    public int getSleepingCount(@Nonnull World world) {
+        WorldStats stats = worlds.get(world.getName());
+        if (stats == null) return 0;
+        synchronized (stats) {
+            return stats.sleeping.size();
+        }
+    }
+
+    /**
+     * Distinct pipes that ran an extraction pass over the last complete window.
+     */
+    public int getActiveCount(@Nonnull World world) {
+        WorldStats stats = worlds.get(world.getName());
+        if (stats == null) return 0;
+        synchronized (stats) {
+            roll(stats, System.currentTimeMillis());
+            return stats.activeLastWindow;
+        }
+    }
+
+    private static void wake(WorldStats stats, long pipeKey) {
+        Sleeper sleeper = stats.sleeping.remove(pipeKey);
+        if (sleeper == null) return;
+        for (long pos : sleeper.watched) {
+            LongArrayList pipes = stats.watchers.get(pos);
+            if (pipes == null) continue;
+            pipes.rem(pipeKey);
+            if (pipes.isEmpty()) {
+                stats.watchers.remove(pos);
+            }
+        }
+    }
+
+    /**
+     * Records one extraction pass of a pipe on the given network.
+     */
+    public void record(@Nonnull World world, int networkId, int operations, int moved) {
+        WorldStats stats = worlds.computeIfAbsent(world.getName(), k -> new WorldStats());
+        synchronized (stats) {
+            long now = System.currentTimeMillis();
+            roll(stats, now);
+            NetworkStats network = stats.byNetwork.get(networkId);
+            if (network == null) {
+                network = new NetworkStats();
+                stats.byNetwork.put(networkId, network);
+            }
+            network.movedThisWindow += moved;
+            network.operationsThisWindow += operations;
+            network.totalMoved += moved;
+            network.lastSeenMillis = now;
+        }
+    }
+
+    /**
+     * Items per second the network moved over the last complete window.
+     */
+    public double getItemsPerSecond(@Nonnull World world, int networkId) {
+        NetworkStats network = get(world, networkId);
+        return network != null ? network.itemsPerSecond : 0.0;
+    }
+
+    /**
+     * Extraction operations per second the network ran over the last complete window.
+     */
+    public double getOperationsPerSecond(@Nonnull World world, int networkId) {
+        NetworkStats network = get(world, networkId);
+        return network != null ? network.operationsPerSecond : 0.0;
+    }
+
+    /**
+     * Items moved on the network since its stats were first recorded.
+     */
+    public long getTotalMoved(@Nonnull World world, int networkId) {
+        NetworkStats network = get(world, networkId);
+        return network != null ? network.totalMoved : 0L;
+    }
+
+    private NetworkStats get(World world, int networkId) {
+        WorldStats stats = worlds.get(world.getName());
+        if (stats == null) return null;
+        synchronized (stats) {
+            roll(stats, System.currentTimeMillis());
+            return stats.byNetwork.get(networkId);
+        }
+    }
+
+    private static void roll(WorldStats stats, long now) {
+        long elapsed = now - stats.windowStartMillis;
+        if (elapsed < WINDOW_MILLIS) return;
+
+        double seconds = elapsed / 1000.0;
+        var it = stats.byNetwork.values().iterator();
+        while (it.hasNext()) {
+            NetworkStats network = it.next();
+            // Networks get a new id on rebuild; forget the old ones
+            if (now - network.lastSeenMillis > STALE_MILLIS) {
+                it.remove();
+                continue;
+            }
+            network.itemsPerSecond = network.movedThisWindow / seconds;
+            network.operationsPerSecond = network.operationsThisWindow / seconds;
+            network.movedThisWindow = 0;
+            network.operationsThisWindow = 0;
+        }
+
+        stats.activeLastWindow = stats.activeThisWindow.size();
+        stats.activeThisWindow.clear();
+        // Broken pipes are forgotten on removal; this catches sleepers whose removal was never reported
+        LongArrayList dead = null;
+        for (var entry : stats.sleeping.long2ObjectEntrySet()) {
+            Sleeper sleeper = entry.getValue();
+            if (sleeper.network != null ? !sleeper.network.isValid() : now - sleeper.wakeAtMillis > STALE_MILLIS) {
+                if (dead == null) dead = new LongArrayList();
+                dead.add(entry.getLongKey());
+            }
+        }
+        if (dead != null) {
+            for (long pipeKey : dead) {
+                wake(stats, pipeKey);
+                stats.idlePasses.remove(pipeKey);
+                stats.nextSleepMillis.remove(pipeKey);
+            }
+        }
+        stats.windowStartMillis = now;
+    }
+
+    /** Stable phase in [0, 1) from the pipe position. */
+    private static float phaseOf(long pipeKey) {
+        long h = pipeKey * 0x9E3779B97F4A7C15L;
+        h ^= (h >>> 32);
+        return (h & 0xFFFF) / 65536.0f;
+    }
+}
@@ -0,0 +1,500 @@
+package dev.dukedarius.HytaleIndustries.Pipes;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import org.joml.Vector3i;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world registry of item-pipe networks.
+ *
+ * A network is one connected component of item pipes together with every inventory it can deliver into.
+ * Networks are built lazily with a single BFS the first time one of their pipes asks for destinations and
+ * are dropped whenever a pipe, a block next to a pipe, or a pipe's side/filter config changes, so the next
+ * lookup rebuilds them from the world.
+ *
+ * Each network also keeps the routing state of its extracting pipes: per-pipe nearest-first endpoint orders,
+ * round-robin cursors and short-lived "full" marks for destinations that accepted nothing of an item.
+ */
+public class PipeNetworkManager {
+
+    private static final int WORLD_MIN_Y = 0;
+    private static final int WORLD_MAX_Y_EXCLUSIVE = 320;
+    private static final String POWER_CABLE_BLOCK_ID = "HytaleIndustries_BasicPowerCable";
+    private static final String ITEM_PIPE_BLOCK_ID = "HytaleIndustries_BasicItemPipe";
+    private static final Vector3i[] DIRECTIONS = {
+            new Vector3i(0, 0, -1),  // North
+            new Vector3i(0, 0, 1),   // South
+            new Vector3i(-1, 0, 0),  // West
+            new Vector3i(1, 0, 0),   // East
+            new Vector3i(0, 1, 0),   // Up
+            new Vector3i(0, -1, 0)   // Down
+    };
+
+    /**
+     * An inventory the network can insert into, with the compiled insert filter of the pipe face that reaches it.
+     */
+    public static final class Endpoint {
+        private final int x;
+        private final int y;
+        private final int z;
+        private final long key;
+        private final CompiledItemFilter insertFilter;
+
+        Endpoint(int x, int y, int z, @Nonnull CompiledItemFilter insertFilter) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.key = pack(x, y, z);
+            this.insertFilter = insertFilter;
+        }
+
+        public int getX() { return x; }
+        public int getY() { return y; }
+        public int getZ() { return z; }
+        public long getKey() { return key; }
+
+        @Nonnull
+        public CompiledItemFilter getInsertFilter() { return insertFilter; }
+    }
+
+    public static final class PipeNetwork {
+        /** How long a destination that accepted nothing of an item is skipped for that item */
+        private static final long FULL_BACKOFF_MILLIS = 2000L;
+
+        private final int id;
+        private final LongOpenHashSet pipes;
+        private final List<Endpoint> endpoints;
+        private final Long2ObjectOpenHashMap<long[]> links;
+        private final Long2ObjectOpenHashMap<int[]> endpointsByPipe;
+        private boolean valid = true;
+
+        // Routing state, lives as long as the network
+        private final Long2ObjectOpenHashMap<int[]> nearestOrder = new Long2ObjectOpenHashMap<>();
+        private final Long2IntOpenHashMap cursors = new Long2IntOpenHashMap();
+        private final Long2ObjectOpenHashMap<Object2LongOpenHashMap<String>> fullUntil = new Long2ObjectOpenHashMap<>();
+
+        PipeNetwork(int id, @Nonnull LongOpenHashSet pipes, @Nonnull List<Endpoint> endpoints,
+                    @Nonnull Long2ObjectOpenHashMap<long[]> links, @Nonnull Long2ObjectOpenHashMap<int[]> endpointsByPipe) {
+            this.id = id;
+            this.pipes = pipes;
+            this.endpoints = Collections.unmodifiableList(endpoints);
+            this.links = links;
+            this.endpointsByPipe = endpointsByPipe;
+        }
+
+        public int getId() { return id; }
+        public int getPipeCount() { return pipes.size(); }
+        public boolean isValid() { return valid; }
+
+        @Nonnull
+        public List<Endpoint> getEndpoints() { return endpoints; }
+
+        /**
+         * Endpoint indices ordered by pipe hops from the given pipe, nearest first. Computed once per pipe.
+         */
+        @Nonnull
+        public int[] getNearestOrder(long pipeKey) {
+            int[] order = nearestOrder.get(pipeKey);
+            if (order != null) {
+                return order;
+            }
+
+            order = new int[endpoints.size()];
+            int n = 0;
+            boolean[] placed = new boolean[endpoints.size()];
+            LongOpenHashSet visited = new LongOpenHashSet();
+            LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+            if (pipes.contains(pipeKey)) {
+                visited.add(pipeKey);
+                queue.enqueue(pipeKey);
+            }
+            while (!queue.isEmpty() && n < order.length) {
+                long current = queue.dequeueLong();
+                int[] touching = endpointsByPipe.get(current);
+                if (touching != null) {
+                    for (int index : touching) {
+                        if (!placed[index]) {
+                            placed[index] = true;
+                            order[n++] = index;
+                        }
+                    }
+                }
+                long[] next = links.get(current);
+                if (next != null) {
+                    for (long key : next) {
+                        if (visited.add(key)) {
+                            queue.enqueue(key);
+                        }
+                    }
+                }
+            }
+            // Anything unreachable from this pipe keeps discovery order at the end
+            for (int i = 0; i < placed.length && n < order.length; i++) {
+                if (!placed[i]) {
+                    order[n++] = i;
+                }
+            }
+
+            nearestOrder.put(pipeKey, order);
+            return order;
+        }
+
+        /** Round-robin position of an extracting pipe (an endpoint index). */
+        public int getCursor(long pipeKey) {
+            return cursors.get(pipeKey);
+        }
+
+        public void setCursor(long pipeKey, int endpointIndex) {
+            cursors.put(pipeKey, endpointIndex);
+        }
+
+        /** True if the endpoint recently accepted none of this item. */
+        public boolean isFull(long endpointKey, @Nonnull String itemId, long nowMillis) {
+            Object2LongOpenHashMap<String> items = fullUntil.get(endpointKey);
+            if (items == null) {
+                return false;
+            }
+            long until = items.getLong(itemId);
+            if (until == 0L) {
+                return false;
+            }
+            if (until <= nowMillis) {
+                items.removeLong(itemId);
+                if (items.isEmpty()) {
+                    fullUntil.remove(endpointKey);
+                }
+                return false;
+            }
+            return true;
+        }
+
+        public void markFull(long endpointKey, @Nonnull String itemId, long nowMillis) {
+            Object2LongOpenHashMap<String> items = fullUntil.get(endpointKey);
+            if (items == null) {
+                items = new Object2LongOpenHashMap<>(2);
+                fullUntil.put(endpointKey, items);
+            }
+            items.put(itemId, nowMillis + FULL_BACKOFF_MILLIS);
+        }
+
+        /** The endpoint's contents changed (e.g. items were pulled out of it); probe it again. */
+        public void clearFull(long endpointKey) {
+            fullUntil.remove(endpointKey);
+        }
+    }
+
+    private static final class WorldNetworks {
+        final Long2ObjectOpenHashMap<PipeNetwork> byPipe = new Long2ObjectOpenHashMap<>();
+        final Map<Integer, PipeNetwork> byId = new LinkedHashMap<>();
+        int nextId = 1;
+        long rebuilds = 0;
+    }
+
+    private final Map<String, WorldNetworks> worlds = new ConcurrentHashMap<>();
+
+    private WorldNetworks getOrCreate(@Nonnull World world) {
+        return worlds.computeIfAbsent(world.getName(), k -> new WorldNetworks());
+    }
+
+    /**
+     * Returns the network containing the pipe at the given position, building it if it is not cached.
+     * Returns null if there is no loaded item pipe at that position.
+     */
+    @Nullable
+    public PipeNetwork getNetwork(@Nonnull World world, @Nonnull Store<ChunkStore> store, int x, int y, int z) {
+        WorldNetworks networks = getOrCreate(world);
+        PipeNetwork network = networks.byPipe.get(pack(x, y, z));
+        if (network != null) {
+            return network;
+        }
+        return rebuild(world, store, networks, x, y, z);
+    }
+
+    /**
+     * Drops any cached network touching the given block or one of its six neighbours.
+     * Called whenever a pipe or a block next to a pipe is placed, broken or reconfigured.
+     */
+    public void invalidate(@Nonnull World world, int x, int y, int z) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null || networks.byPipe.isEmpty()) {
+            return;
+        }
+        dropAt(networks, x, y, z);
+        for (Vector3i dir : DIRECTIONS) {
+            dropAt(networks, x + dir.x, y + dir.y, z + dir.z);
+        }
+    }
+
+    /**
+     * Drops a network whose cached endpoints no longer match the world, e.g. an endpoint that
+     * could not be resolved any more because its chunk was unloaded.
+     */
+    public void invalidate(@Nonnull World world, @Nonnull PipeNetwork network) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks != null) {
+            drop(networks, network);
+        }
+    }
+
+    public void invalidateAll(@Nonnull World world) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null) {
+            return;
+        }
+        for (PipeNetwork network : networks.byId.values()) {
+            network.valid = false;
+        }
+        networks.byId.clear();
+        networks.byPipe.clear();
+    }
+
+    @Nonnull
+    public List<PipeNetwork> getNetworks(@Nonnull World world) {
+        WorldNetworks networks = worlds.get(world.getName());
+        if (networks == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(networks.byId.values());
+    }
+
+    public long getRebuildCount(@Nonnull World world) {
+        WorldNetworks networks = worlds.get(world.getName());
+        return networks != null ? networks.rebuilds : 0L;
+    }
+
+    private static void dropAt(@Nonnull WorldNetworks networks, int x, int y, int z) {
+        PipeNetwork network = networks.byPipe.get(pack(x, y, z));
+        if (network != null) {
+            drop(networks, network);
+        }
+    }
+
+    private static void drop(@Nonnull WorldNetworks networks, @Nonnull PipeNetwork network) {
+        if (networks.byId.remove(network.id) == null) {
+            return;
+        }
+        network.valid = false;
+        for (long key : network.pipes) {
+            networks.byPipe.remove(key);
+        }
+        HytaleIndustriesPlugin.LOGGER.atFine().log(
+                "[PipeNetwork] dropped network #%d (%d pipes)", network.id, network.pipes.size());
+    }
+
+    @Nullable
+    private PipeNetwork rebuild(@Nonnull World world, @Nonnull Store<ChunkStore> store, @Nonnull WorldNetworks networks,
+                                int startX, int startY, int startZ) {
+        var pipeComponentType = HytaleIndustriesPlugin.INSTANCE.getBasicItemPipeComponentType();
+
+        WorldChunk startChunk = getLoadedChunk(world, startX, startZ);
+        if (startChunk == null) {
+            return null;
+        }
+        var startEntity = startChunk.getBlockComponentEntity(startX & 31, startY, startZ & 31);
+        if (startEntity == null || store.getComponent(startEntity, pipeComponentType) == null) {
+            return null;
+        }
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        Long2IntOpenHashMap endpointIndex = new Long2IntOpenHashMap();
+        endpointIndex.defaultReturnValue(-1);
+        Long2ObjectOpenHashMap<LongArrayList> links = new Long2ObjectOpenHashMap<>();
+        Long2ObjectOpenHashMap<IntArrayList> touching = new Long2ObjectOpenHashMap<>();
+        LongOpenHashSet visited = new LongOpenHashSet();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+
+        long start = pack(startX, startY, startZ);
+        visited.add(start);
+        queue.enqueue(start);
+
+        while (!queue.isEmpty()) {
+            long current = queue.dequeueLong();
+            int x = unpackX(current);
+            int y = unpackY(current);
+            int z = unpackZ(current);
+
+            WorldChunk currentChunk = getLoadedChunk(world, x, z);
+            if (currentChunk == null) {
+                continue;
+            }
+
+            var currentEntity = currentChunk.getBlockComponentEntity(x & 31, y, z & 31);
+            BasicItemPipeComponent currentPipe = null;
+            if (currentEntity != null) {
+                currentPipe = store.getComponent(currentEntity, pipeComponentType);
+            }
+
+            for (Vector3i dir : DIRECTIONS) {
+                if (currentPipe != null && !currentPipe.isSideConnected(dir)) {
+                    continue;
+                }
+
+                int nx = x + dir.x;
+                int ny = y + dir.y;
+                int nz = z + dir.z;
+                if (ny < WORLD_MIN_Y || ny >= WORLD_MAX_Y_EXCLUSIVE) {
+                    continue;
+                }
+
+                WorldChunk fillerChunk = getLoadedChunk(world, nx, nz);
+                if (fillerChunk == null) {
+                    continue;
+                }
+                long origin = BlockAccess.resolveOrigin(fillerChunk, nx, ny, nz);
+                int ox = BlockPos.unpackX(origin), oy = BlockPos.unpackY(origin), oz = BlockPos.unpackZ(origin);
+
+                WorldChunk chunk = (ox >> 5) == (nx >> 5) && (oz >> 5) == (nz >> 5)
+                        ? fillerChunk
+                        : getLoadedChunk(world, ox, oz);
+                if (chunk == null) {
+                    continue;
+                }
+
+                // Items never travel through power cables, and conduits are never item destinations.
+                BlockType blockType = chunk.getBlockType(ox & 31, oy, oz & 31);
+                String baseId = normalizeBlockId(blockType != null ? blockType.getId() : null);
+                if (POWER_CABLE_BLOCK_ID.equals(baseId)) {
+                    continue;
+                }
+
+                var entity = chunk.getBlockComponentEntity(ox & 31, oy, oz & 31);
+                BasicItemPipeComponent neighborPipe = null;
+                if (entity != null) {
+                    neighborPipe = store.getComponent(entity, pipeComponentType);
+                }
+
+                if (neighborPipe != null) {
+                    Vector3i oppositeDir = new Vector3i(-dir.x, -dir.y, -dir.z);
+                    if (!neighborPipe.isSideConnected(oppositeDir)) {
+                        continue;
+                    }
+
+                    long nkey = pack(ox, oy, oz);
+                    links.computeIfAbsent(current, k -> new LongArrayList(2)).add(nkey);
+                    if (visited.add(nkey)) {
+                        queue.enqueue(nkey);
+                    }
+                    continue;
+                }
+
+                // Non-pipe: inventory target (only allow delivery on Default faces)
+                if (currentPipe == null
+                        || currentPipe.getConnectionState(dir) != BasicItemPipeComponent.ConnectionState.Default) {
+                    continue;
+                }
+                if (ITEM_PIPE_BLOCK_ID.equals(baseId)) {
+                    continue;
+                }
+
+                long invKey = pack(ox, oy, oz);
+                int known = endpointIndex.get(invKey);
+                if (known >= 0) {
+                    touching.computeIfAbsent(current, k -> new IntArrayList(1)).add(known);
+                    continue;
+                }
+
+                List<MachineInventory> inventories = InventoryAdapters.find(world, store, ox, oy, oz);
+                for (MachineInventory inv : inventories) {
+                    if (inv != null && inv.hasInputSlots()) {
+                        endpointIndex.put(invKey, endpoints.size());
+                        touching.computeIfAbsent(current, k -> new IntArrayList(1)).add(endpoints.size());
+                        endpoints.add(new Endpoint(ox, oy, oz, currentPipe.getCompiledFilter(dir)));
+                        break;
+                    }
+                }
+            }
+        }
+
+        // A rebuild may absorb pipes that still belonged to stale networks (e.g. two networks just merged).
+        for (long key : visited) {
+            PipeNetwork stale = networks.byPipe.get(key);
+            if (stale != null) {
+                drop(networks, stale);
+            }
+        }
+
+        Long2ObjectOpenHashMap<long[]> linkArrays = new Long2ObjectOpenHashMap<>(links.size());
+        for (var entry : links.long2ObjectEntrySet()) {
+            linkArrays.put(entry.getLongKey(), entry.getValue().toLongArray());
+        }
+        Long2ObjectOpenHashMap<int[]> touchingArrays = new Long2ObjectOpenHashMap<>(touching.size());
+        for (var entry : touching.long2ObjectEntrySet()) {
+            touchingArrays.put(entry.getLongKey(), entry.getValue().toIntArray());
+        }
+
+        PipeNetwork network = new PipeNetwork(networks.nextId++, visited, endpoints, linkArrays, touchingArrays);
+        networks.byId.put(network.id, network);
+        for (long key : visited) {
+            networks.byPipe.put(key, network);
+        }
+        networks.rebuilds++;
+
+        HytaleIndustriesPlugin.LOGGER.atFine().log(
+                "[PipeNetwork] built network #%d from (%d,%d,%d): %d pipes, %d endpoints",
+                network.id, startX, startY, startZ, visited.size(), endpoints.size());
+        return network;
+    }
+
+    @Nullable
+    private static WorldChunk getLoadedChunk(@Nonnull World world, int x, int z) {
+        return BlockAccess.chunk(world, x, z);
+    }
+
+    @Nullable
+    private static String normalizeBlockId(@Nullable String blockId) {
+        if (blockId == null) {
+            return null;
+        }
+        String base = blockId;
+        if (base.startsWith("*")) {
+            base = base.substring(1);
+        }
+        int stateIdx = base.indexOf("_State_");
+        if (stateIdx > 0) {
+            base = base.substring(0, stateIdx);
+        }
+        return base;
+    }
+
+    // Position packing/unpacking, see BlockPos
+    public static long pack(int x, int y, int z) {
+        return BlockPos.pack(x, y, z);
+    }
+
+    public static int unpackX(long packed) {
+        return BlockPos.unpackX(packed);
+    }
+
+    public static int unpackZ(long packed) {
+        return BlockPos.unpackZ(packed);
+    }
+
+    public static int unpackY(long packed) {
+        return BlockPos.unpackY(packed);
+    }
+}
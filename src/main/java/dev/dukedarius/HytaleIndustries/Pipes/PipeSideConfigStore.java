@@ -1,39 +1,97 @@
 package dev.dukedarius.HytaleIndustries.Pipes;
 
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.universe.world.World;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Temporary persistence for pipe per-side config.
+ * Copy of pipe per-side config for the pipes in loaded chunks.
  *
  * The engine recreates BlockState components when connected-block variants change, which wipes custom fields.
- * We keep the authoritative sideConfig here, keyed by block position.
+ * The persisted value is the pipe component's SideConfig field, saved with the chunk; this store mirrors it per
+ * world and chunk column (keyed by the block's index within the column) so a recreated component can be restored.
+ * A chunk's entries are filled as its pipes load and dropped when it unloads.
  */
 public final class PipeSideConfigStore {
     private PipeSideConfigStore() {}
 
-    private static final ConcurrentHashMap<Long, Integer> CONFIG = new ConcurrentHashMap<>();
+    /** Fallback for {@link #getOrDefault} that tells a missing entry apart; side configs are never negative */
+    public static final int MISSING = -1;
+
+    private static final class WorldConfig {
+        final Long2ObjectOpenHashMap<Int2IntOpenHashMap> chunks = new Long2ObjectOpenHashMap<>();
+    }
+
+    private static final Map<String, WorldConfig> WORLDS = new ConcurrentHashMap<>();
+
+    /** Index of the block within its chunk column: 5 bits X, 5 bits Z, Y above */
+    public static int key(int x, int y, int z) {
+        return (y << 10) | ((z & 31) << 5) | (x & 31);
+    }
+
+    public static int getOrDefault(World world, int x, int y, int z, int fallback) {
+        WorldConfig config = WORLDS.get(world.getName());
+        if (config == null) return fallback;
+        synchronized (config) {
+            Int2IntOpenHashMap chunk = config.chunks.get(ChunkUtil.indexChunkFromBlock(x, z));
+            return chunk != null ? chunk.getOrDefault(key(x, y, z), fallback) : fallback;
+        }
+    }
 
-    // Pack world coords into a single long (26-bit X/Z, 12-bit Y). Matches earlier pipe traversal packing.
-    public static long key(int x, int y, int z) {
-        long lx = (long) x & 0x3FFFFFFL;
-        long lz = (long) z & 0x3FFFFFFL;
-        long ly = (long) y & 0xFFFL;
-        return (lx << 38) | (lz << 12) | ly;
+    public static int get(World world, int x, int y, int z) {
+        return getOrDefault(world, x, y, z, 0);
     }
 
-    public static int getOrDefault(int x, int y, int z, int fallback) {
-        return CONFIG.getOrDefault(key(x, y, z), fallback);
+    public static void set(World world, int x, int y, int z, int sideConfig) {
+        WorldConfig config = WORLDS.computeIfAbsent(world.getName(), k -> new WorldConfig());
+        synchronized (config) {
+            Int2IntOpenHashMap chunk = config.chunks.get(ChunkUtil.indexChunkFromBlock(x, z));
+            if (chunk == null) {
+                chunk = new Int2IntOpenHashMap();
+                config.chunks.put(ChunkUtil.indexChunkFromBlock(x, z), chunk);
+            }
+            chunk.put(key(x, y, z), sideConfig);
+        }
     }
 
-    public static int get(int x, int y, int z) {
-        return CONFIG.getOrDefault(key(x, y, z), 0);
+    public static void clear(World world, int x, int y, int z) {
+        WorldConfig config = WORLDS.get(world.getName());
+        if (config == null) return;
+        synchronized (config) {
+            long index = ChunkUtil.indexChunkFromBlock(x, z);
+            Int2IntOpenHashMap chunk = config.chunks.get(index);
+            if (chunk == null) return;
+            chunk.remove(key(x, y, z));
+            if (chunk.isEmpty()) {
+                config.chunks.remove(index);
+            }
+        }
     }
 
-    public static void set(int x, int y, int z, int sideConfig) {
-        CONFIG.put(key(x, y, z), sideConfig);
+    /**
+     * Drop every entry of the chunk column containing the block; called when the chunk unloads.
+     */
+    public static void unloadChunk(World world, int blockX, int blockZ) {
+        WorldConfig config = WORLDS.get(world.getName());
+        if (config == null) return;
+        synchronized (config) {
+            config.chunks.remove(ChunkUtil.indexChunkFromBlock(blockX, blockZ));
+        }
     }
 
-    public static void clear(int x, int y, int z) {
-        CONFIG.remove(key(x, y, z));
+    public static int size(World world) {
+        WorldConfig config = WORLDS.get(world.getName());
+        if (config == null) return 0;
+        synchronized (config) {
+            int total = 0;
+            for (Int2IntOpenHashMap chunk : config.chunks.values()) {
+                total += chunk.size();
+            }
+            return total;
+        }
     }
 }
@@ -0,0 +1,97 @@
+package dev.dukedarius.HytaleIndustries.Pipes;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent.Tier;
+
+/**
+ * Plugin config ("pipe_tiers") holding the throughput of each item pipe {@link Tier} and the items it takes to
+ * upgrade a pipe to it.
+ *
+ * A tier missing from the file, a throughput value that is not positive, a missing upgrade item or a negative
+ * upgrade cost keeps the built-in default. An upgrade cost of 0 makes the upgrade free.
+ */
+public class PipeTierConfig {
+
+    public static class TierSettings {
+
+        public int itemsPerOperation;
+        public int operationsPerSecond;
+        public String upgradeItem;
+        // -1 until set, so a file without the key keeps the default instead of making the upgrade free
+        public int upgradeCost = -1;
+
+        public TierSettings() {
+            // codec
+        }
+
+        public TierSettings(int itemsPerOperation, int operationsPerSecond, String upgradeItem, int upgradeCost) {
+            this.itemsPerOperation = itemsPerOperation;
+            this.operationsPerSecond = operationsPerSecond;
+            this.upgradeItem = upgradeItem;
+            this.upgradeCost = upgradeCost;
+        }
+
+        public static final BuilderCodec<TierSettings> CODEC = BuilderCodec.builder(
+                TierSettings.class,
+                TierSettings::new
+        )
+                .append(new KeyedCodec<>("ItemsPerOperation", Codec.INTEGER),
+                        (s, v) -> s.itemsPerOperation = v != null ? v : 0, s -> s.itemsPerOperation)
+                .add()
+                .append(new KeyedCodec<>("OperationsPerSecond", Codec.INTEGER),
+                        (s, v) -> s.operationsPerSecond = v != null ? v : 0, s -> s.operationsPerSecond)
+                .add()
+                .append(new KeyedCodec<>("UpgradeItem", Codec.STRING),
+                        (s, v) -> s.upgradeItem = v, s -> s.upgradeItem)
+                .add()
+                .append(new KeyedCodec<>("UpgradeCost", Codec.INTEGER),
+                        (s, v) -> s.upgradeCost = v != null ? v : -1, s -> s.upgradeCost)
+                .add()
+                .build();
+    }
+
+    public TierSettings basic = defaults(Tier.Basic);
+    public TierSettings improved = defaults(Tier.Improved);
+    public TierSettings advanced = defaults(Tier.Advanced);
+
+    public PipeTierConfig() {
+        // codec
+    }
+
+    public static final BuilderCodec<PipeTierConfig> CODEC = BuilderCodec.builder(
+            PipeTierConfig.class,
+            PipeTierConfig::new
+    )
+            .append(new KeyedCodec<>("Basic", TierSettings.CODEC), (c, v) -> { if (v != null) c.basic = v; }, c -> c.basic)
+            .add()
+            .append(new KeyedCodec<>("Improved", TierSettings.CODEC), (c, v) -> { if (v != null) c.improved = v; }, c -> c.improved)
+            .add()
+            .append(new KeyedCodec<>("Advanced", TierSettings.CODEC), (c, v) -> { if (v != null) c.advanced = v; }, c -> c.advanced)
+            .add()
+            .build();
+
+    /**
+     * Pushes the loaded values into the {@link Tier} constants.
+     */
+    public void apply() {
+        apply(Tier.Basic, basic);
+        apply(Tier.Improved, improved);
+        apply(Tier.Advanced, advanced);
+    }
+
+    private static void apply(Tier tier, TierSettings settings) {
+        if (settings == null) {
+            tier.configure(0, 0, null, -1);
+            return;
+        }
+        tier.configure(settings.itemsPerOperation, settings.operationsPerSecond,
+                settings.upgradeItem, settings.upgradeCost);
+    }
+
+    private static TierSettings defaults(Tier tier) {
+        return new TierSettings(tier.getDefaultItemsPerOperation(), tier.getDefaultOperationsPerSecond(),
+                tier.getDefaultUpgradeItem(), tier.getDefaultUpgradeCost());
+    }
+}
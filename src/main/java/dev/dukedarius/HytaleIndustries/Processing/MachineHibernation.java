@@ -0,0 +1,225 @@
+package dev.dukedarius.HytaleIndustries.Processing;
+
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.HytaleServer;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.Processing.Hibernating;
+import dev.dukedarius.HytaleIndustries.Components.Processing.ProcessingInventory;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts blocked powered machines to sleep and wakes them again.
+ *
+ * A machine that could not make progress for {@value #BLOCKED_TICKS_BEFORE_HIBERNATING} ticks in a row (empty
+ * input, no recipe, full output, not enough energy) gets the {@link Hibernating} tag, which its processing system's
+ * query excludes, so it costs nothing per tick. The tag is removed when:
+ * - its inventory is reported changed through {@link InventoryChangeNotifier} (pipes, the quarry, block placement),
+ * - it was short of energy and its StoresHE changed (reported by the ledger commit),
+ * - a player opens or uses its UI,
+ * - or its timeout expires. The timeout starts at 1 s and doubles up to 16 s while the machine keeps falling back
+ *   asleep, so changes nobody reports (items moved by hand in the container window) are still picked up.
+ *
+ * Tags are added and removed through {@link World#execute}, never through a tick's command buffer, so both run
+ * on the world thread in the order they were asked for: a wake reported in the same tick as the hibernation
+ * (a pipe insert, energy arriving) always runs after the tag went on and takes it off again. The machine's
+ * hibernation state on its inventory component is likewise only written there.
+ */
+public class MachineHibernation implements InventoryChangeNotifier.Listener {
+
+    public enum Reason {
+        NO_INPUT,
+        NO_RECIPE,
+        OUTPUT_FULL,
+        LOW_ENERGY
+    }
+
+    public static final int BLOCKED_TICKS_BEFORE_HIBERNATING = HytaleIndustriesPlugin.TPS;
+    private static final long MIN_SLEEP_MILLIS = 1_000L;
+    private static final long MAX_SLEEP_MILLIS = 16_000L;
+    private static final long WINDOW_MILLIS = 1000L;
+
+    private static final class Sleeper {
+        final World world;
+        final long pos;
+        final Ref<ChunkStore> ref;
+        final ProcessingInventory inv;
+        final long sleepMillis;
+        ScheduledFuture<?> timeout;
+
+        Sleeper(World world, long pos, Ref<ChunkStore> ref, ProcessingInventory inv, long sleepMillis) {
+            this.world = world;
+            this.pos = pos;
+            this.ref = ref;
+            this.inv = inv;
+            this.sleepMillis = sleepMillis;
+        }
+    }
+
+    private static final class WorldMachines {
+        final Long2ObjectOpenHashMap<Sleeper> sleeping = new Long2ObjectOpenHashMap<>();
+        final ReferenceOpenHashSet<Ref<ChunkStore>> awakeThisWindow = new ReferenceOpenHashSet<>();
+        int awakeLastWindow;
+        long windowStartMillis;
+    }
+
+    private final ComponentType<ChunkStore, Hibernating> hibernatingType;
+    private final Map<String, WorldMachines> worlds = new ConcurrentHashMap<>();
+    // Machines asleep for lack of energy, woken when their StoresHE changes
+    private final Map<Ref<ChunkStore>, Sleeper> energyWaiters = new ConcurrentHashMap<>();
+
+    public MachineHibernation(@Nonnull ComponentType<ChunkStore, Hibernating> hibernatingType) {
+        this.hibernatingType = hibernatingType;
+    }
+
+    public ComponentType<ChunkStore, Hibernating> getHibernatingType() { return hibernatingType; }
+
+    /**
+     * Counts a ticked (awake) machine for {@link #getAwakeCount}.
+     */
+    public void recordAwake(@Nonnull World world, @Nonnull Ref<ChunkStore> ref) {
+        WorldMachines machines = worlds.computeIfAbsent(world.getName(), k -> new WorldMachines());
+        synchronized (machines) {
+            roll(machines, System.currentTimeMillis());
+            machines.awakeThisWindow.add(ref);
+        }
+    }
+
+    /**
+     * Tags the machine and arms its wake-ups. Machines whose position can't be resolved stay awake, since nothing
+     * could find them to wake them.
+     */
+    public void hibernate(@Nonnull World world, @Nonnull Store<ChunkStore> store,
+                          @Nonnull Ref<ChunkStore> ref, @Nonnull ProcessingInventory inv, @Nonnull Reason reason) {
+        long pos = BlockAccess.positionOf(store, ref);
+        if (pos == BlockAccess.NO_POSITION) return;
+
+        long sleepMillis = inv.nextSleepMillis > 0 ? inv.nextSleepMillis : MIN_SLEEP_MILLIS;
+        Sleeper sleeper = new Sleeper(world, pos, ref, inv, sleepMillis);
+        WorldMachines machines = worlds.computeIfAbsent(world.getName(), k -> new WorldMachines());
+        synchronized (machines) {
+            Sleeper previous = machines.sleeping.put(pos, sleeper);
+            if (previous != null && previous.timeout != null) previous.timeout.cancel(false);
+            machines.awakeThisWindow.remove(ref);
+        }
+        if (reason == Reason.LOW_ENERGY) {
+            energyWaiters.put(ref, sleeper);
+        }
+        world.execute(() -> {
+            if (!ref.isValid() || !isAsleep(sleeper)) return;
+            Store<ChunkStore> s = ref.getStore();
+            if (s.getComponent(ref, hibernatingType) == null) {
+                s.addComponent(ref, hibernatingType, new Hibernating());
+            }
+        });
+        sleeper.timeout = HytaleServer.SCHEDULED_EXECUTOR.schedule(
+                () -> wake(sleeper, true), sleepMillis, TimeUnit.MILLISECONDS);
+
+        if (Tracer.isEnabled(Tracer.Channel.MACHINES)) {
+            Tracer.trace(Tracer.Channel.MACHINES, "hibernate", reason, pos, sleepMillis);
+        }
+    }
+
+    @Override
+    public void onInventoryChanged(@Nonnull World world, long packedPos) {
+        wake(world, packedPos);
+    }
+
+    /**
+     * Called by the ledger commit when a StoresHE value changed.
+     */
+    public void onEnergyChanged(@Nonnull Ref<ChunkStore> ref) {
+        if (energyWaiters.isEmpty()) return;
+        Sleeper sleeper = energyWaiters.get(ref);
+        if (sleeper != null) wake(sleeper, false);
+    }
+
+    /**
+     * Wakes the machine at the position, if it is asleep (a player opened or used its UI).
+     */
+    public void wake(@Nonnull World world, int x, int y, int z) {
+        wake(world, BlockPos.pack(x, y, z));
+    }
+
+    private void wake(World world, long pos) {
+        WorldMachines machines = worlds.get(world.getName());
+        if (machines == null) return;
+        Sleeper sleeper;
+        synchronized (machines) {
+            sleeper = machines.sleeping.get(pos);
+        }
+        if (sleeper != null) wake(sleeper, false);
+    }
+
+    private void wake(Sleeper sleeper, boolean timedOut) {
+        WorldMachines machines = worlds.get(sleeper.world.getName());
+        if (machines == null) return;
+        synchronized (machines) {
+            if (machines.sleeping.get(sleeper.pos) != sleeper) return;
+            machines.sleeping.remove(sleeper.pos);
+        }
+        energyWaiters.remove(sleeper.ref, sleeper);
+        if (!timedOut && sleeper.timeout != null) sleeper.timeout.cancel(false);
+
+        sleeper.world.execute(() -> {
+            // Falling asleep again after a timeout means nothing changed: back off. A real wake-up starts over.
+            sleeper.inv.nextSleepMillis = timedOut ? Math.min(sleeper.sleepMillis * 2, MAX_SLEEP_MILLIS) : 0L;
+            sleeper.inv.blockedTicks = 0;
+            Ref<ChunkStore> ref = sleeper.ref;
+            if (!ref.isValid()) return;
+            Store<ChunkStore> store = ref.getStore();
+            if (store.getComponent(ref, hibernatingType) != null) {
+                store.removeComponent(ref, hibernatingType);
+            }
+        });
+    }
+
+    private boolean isAsleep(Sleeper sleeper) {
+        WorldMachines machines = worlds.get(sleeper.world.getName());
+        if (machines == null) return false;
+        synchronized (machines) {
+            return machines.sleeping.get(sleeper.pos) == sleeper;
+        }
+    }
+
+    public int getHibernatingCount(@Nonnull World world) {
+        WorldMachines machines = worlds.get(world.getName());
+        if (machines == null) return 0;
+        synchronized (machines) {
+            return machines.sleeping.size();
+        }
+    }
+
+    /**
+     * Machines ticked during the last full second.
+     */
+    public int getAwakeCount(@Nonnull World world) {
+        WorldMachines machines = worlds.get(world.getName());
+        if (machines == null) return 0;
+        synchronized (machines) {
+            roll(machines, System.currentTimeMillis());
+            return machines.awakeLastWindow;
+        }
+    }
+
+    private static void roll(WorldMachines machines, long now) {
+        if (now - machines.windowStartMillis < WINDOW_MILLIS) return;
+        machines.awakeLastWindow = machines.awakeThisWindow.size();
+        machines.awakeThisWindow.clear();
+        machines.windowStartMillis = now;
+    }
+}
@@ -0,0 +1,262 @@
+package dev.dukedarius.HytaleIndustries.Processing;
+
+import com.hypixel.hytale.builtin.crafting.component.CraftingManager;
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.ListTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.MaterialTransaction;
+import dev.dukedarius.HytaleIndustries.Components.Energy.ConsumesHE;
+import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.Components.Processing.ProcessingInventory;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processing logic shared by the powered machines, configured by a {@link ProcessingSpec}.
+ *
+ * Energy is drawn straight from {@link StoresHE} while working, so {@link ConsumesHE} is kept disabled and
+ * HEConsumptionSystem leaves these machines alone. When a cycle starts the engine plans how many lanes it can run:
+ * up to the spec's batch size, limited by how many times the recipe's inputs are present and its outputs fit.
+ * Each lane costs the per-tick energy; if storage runs short the cycle drops to the lanes it can still pay for.
+ * When the work completes every lane crafts once.
+ *
+ * {@link #tick} reports what it changed, so the caller only replaces the components that actually differ, and
+ * whether the machine is blocked, so the caller can let it hibernate. {@link #catchUp} settles the time a machine
+ * spent in an unloaded chunk in one step.
+ */
+public final class ProcessingEngine {
+
+    /** The inventory component's work state changed */
+    public static final int INVENTORY_CHANGED = 1;
+    /** The ConsumesHE component changed */
+    public static final int CONSUMER_CHANGED = 1 << 1;
+    /** Items were taken from the inputs and added to the output */
+    public static final int ITEMS_MOVED = 1 << 2;
+    /** No progress this tick, and why */
+    public static final int BLOCKED_NO_INPUT = 1 << 3;
+    public static final int BLOCKED_NO_RECIPE = 1 << 4;
+    public static final int BLOCKED_OUTPUT_FULL = 1 << 5;
+    public static final int BLOCKED_LOW_ENERGY = 1 << 6;
+    public static final int BLOCKED = BLOCKED_NO_INPUT | BLOCKED_NO_RECIPE | BLOCKED_OUTPUT_FULL | BLOCKED_LOW_ENERGY;
+
+    private final ProcessingSpec spec;
+    private final RecipeMatcher recipes;
+
+    public ProcessingEngine(@Nonnull ProcessingSpec spec) {
+        this.spec = spec;
+        this.recipes = new RecipeMatcher(spec.benchIds);
+    }
+
+    public ProcessingSpec getSpec() { return spec; }
+
+    public RecipeMatcher getRecipes() { return recipes; }
+
+    /**
+     * Advances one machine by {@code dt} seconds and returns a combination of the change flags.
+     */
+    public int tick(float dt, @Nonnull ProcessingInventory inv, @Nonnull StoresHE energy, @Nonnull ConsumesHE consume) {
+        float workBefore = inv.currentWork;
+        float requiredBefore = inv.workRequired;
+        boolean enabledBefore = consume.enabled;
+        long consumptionBefore = consume.heConsumption;
+
+        consume.heConsumption = 0;
+        consume.enabled = false;
+
+        int flags = process(dt, inv, energy);
+
+        if (inv.currentWork != workBefore || inv.workRequired != requiredBefore) flags |= INVENTORY_CHANGED;
+        if (consume.enabled != enabledBefore || consume.heConsumption != consumptionBefore) flags |= CONSUMER_CHANGED;
+        return flags;
+    }
+
+    private int process(float dt, ProcessingInventory inv, StoresHE energy) {
+        inv.ensureContainers();
+        ItemContainer input = inv.getProcessingInput();
+        SimpleItemContainer output = inv.getProcessingOutput();
+
+        if (isEmpty(input)) {
+            resetCycle(inv);
+            return BLOCKED_NO_INPUT;
+        }
+
+        CraftingRecipe recipe = recipes.find(inv, input);
+        if (recipe == null) {
+            Tracer.trace(Tracer.Channel.MACHINES, spec.eventNoRecipe);
+            resetCycle(inv);
+            return BLOCKED_NO_RECIPE;
+        }
+
+        List<MaterialQuantity> inputs = CraftingManager.getInputMaterials(recipe);
+        List<ItemStack> outputs = CraftingManager.getOutputItemStacks(recipe);
+
+        if (!output.canAddItemStacks(outputs, false, false)) {
+            Tracer.trace(Tracer.Channel.MACHINES, spec.eventOutputFull);
+            return BLOCKED_OUTPUT_FULL;
+        }
+
+        inv.workRequired = Math.max(0.0001f, recipe.getTimeSeconds() / spec.speedMultiplier);
+        if (inv.lanes <= 0) {
+            inv.lanes = planLanes(input, output, inputs, outputs);
+        }
+
+        long cost = spec.energyPerTick * inv.lanes;
+        if (energy.current < cost) {
+            int affordable = (int) (energy.current / spec.energyPerTick);
+            if (affordable < 1) {
+                Tracer.trace(Tracer.Channel.MACHINES, spec.eventLowEnergy, energy.current, cost);
+                return BLOCKED_LOW_ENERGY;
+            }
+            inv.lanes = affordable;
+            cost = spec.energyPerTick * affordable;
+        }
+
+        energy.current -= cost;
+        inv.currentWork += dt;
+        if (inv.currentWork + 1e-6 < inv.workRequired) {
+            return 0;
+        }
+
+        int crafted = craftLanes(input, output, inputs, outputs, inv.lanes);
+
+        resetCycle(inv);
+        if (crafted == 0) {
+            Tracer.trace(Tracer.Channel.MACHINES, spec.eventInputsMissing);
+            return 0;
+        }
+        Tracer.trace(Tracer.Channel.MACHINES, spec.eventCycle, crafted);
+        return ITEMS_MOVED | INVENTORY_CHANGED;
+    }
+
+    /**
+     * Advances a machine by {@code seconds} in one step, as if it had kept ticking on nothing but its own storage
+     * (cables don't run in unloaded chunks). Whole cycles are settled at once: each costs its ticks times the lanes'
+     * energy and crafts every lane, until time, energy, inputs or output space run out; what is left of the time
+     * goes into the current cycle's work. Lanes are dropped to what the storage can carry through a whole cycle
+     * rather than tick by tick, so the result is close to, not identical with, ticking.
+     *
+     * @return the number of crafts made
+     */
+    public int catchUp(@Nonnull ProcessingInventory inv, @Nonnull StoresHE energy, double seconds) {
+        inv.ensureContainers();
+        ItemContainer input = inv.getProcessingInput();
+        SimpleItemContainer output = inv.getProcessingOutput();
+        double tickSeconds = 1.0 / HytaleIndustriesPlugin.TPS;
+        long ticksLeft = (long) Math.floor(seconds * HytaleIndustriesPlugin.TPS);
+
+        int crafted = 0;
+        while (ticksLeft > 0) {
+            if (isEmpty(input)) {
+                resetCycle(inv);
+                break;
+            }
+            CraftingRecipe recipe = recipes.find(inv, input);
+            if (recipe == null) {
+                resetCycle(inv);
+                break;
+            }
+            List<MaterialQuantity> inputs = CraftingManager.getInputMaterials(recipe);
+            List<ItemStack> outputs = CraftingManager.getOutputItemStacks(recipe);
+            if (!output.canAddItemStacks(outputs, false, false)) break;
+
+            inv.workRequired = Math.max(0.0001f, recipe.getTimeSeconds() / spec.speedMultiplier);
+            int lanes = inv.lanes > 0 ? inv.lanes : planLanes(input, output, inputs, outputs);
+            long cycleTicks = Math.max(1L, (long) Math.ceil((inv.workRequired - 1e-6 - inv.currentWork) / tickSeconds));
+
+            long affordableLanes = energy.current / (spec.energyPerTick * cycleTicks);
+            if (affordableLanes < 1) {
+                // Not enough for a whole cycle: one lane works until the storage is empty
+                long ticks = Math.min(ticksLeft, energy.current / spec.energyPerTick);
+                energy.current -= ticks * spec.energyPerTick;
+                inv.currentWork += (float) (ticks * tickSeconds);
+                inv.lanes = 1;
+                break;
+            }
+            lanes = (int) Math.min(lanes, affordableLanes);
+
+            if (ticksLeft < cycleTicks) {
+                energy.current -= ticksLeft * spec.energyPerTick * lanes;
+                inv.currentWork += (float) (ticksLeft * tickSeconds);
+                inv.lanes = lanes;
+                break;
+            }
+
+            energy.current -= cycleTicks * spec.energyPerTick * lanes;
+            ticksLeft -= cycleTicks;
+            int made = craftLanes(input, output, inputs, outputs, lanes);
+            resetCycle(inv);
+            if (made == 0) break;
+            crafted += made;
+        }
+        return crafted;
+    }
+
+    /**
+     * Crafts the recipe up to {@code lanes} times, stopping at the first lane whose inputs are missing or whose
+     * outputs don't fit, and returns how many lanes crafted.
+     */
+    private int craftLanes(ItemContainer input, SimpleItemContainer output,
+                           List<MaterialQuantity> inputs, List<ItemStack> outputs, int lanes) {
+        int crafted = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (!RecipeMatcher.hasAllInputs(input, inputs)) break;
+            if (lane > 0 && !output.canAddItemStacks(outputs, false, false)) break;
+
+            ListTransaction<MaterialTransaction> removeTx = input.removeMaterials(inputs, true, true, true);
+            if (!removeTx.succeeded()) break;
+
+            ListTransaction<ItemStackTransaction> addTx = output.addItemStacks(outputs, false, false, false);
+            if (addTx == null || !addTx.succeeded()) {
+                // The inputs are already taken and cannot be put back; count the lane and stop
+                Tracer.trace(Tracer.Channel.MACHINES, spec.eventInsertFailed);
+                crafted++;
+                break;
+            }
+            crafted++;
+        }
+        return crafted;
+    }
+
+    /**
+     * Largest number of parallel crafts, up to the batch size, whose inputs are all present and whose outputs fit.
+     */
+    private int planLanes(ItemContainer input, SimpleItemContainer output,
+                          List<MaterialQuantity> inputs, List<ItemStack> outputs) {
+        int lanes = 1;
+        while (lanes < spec.batchSize
+                && RecipeMatcher.hasAllInputs(input, inputs, lanes + 1)
+                && output.canAddItemStacks(scale(outputs, lanes + 1), false, false)) {
+            lanes++;
+        }
+        return lanes;
+    }
+
+    private static List<ItemStack> scale(List<ItemStack> stacks, int times) {
+        List<ItemStack> scaled = new ArrayList<>(stacks.size());
+        for (ItemStack stack : stacks) {
+            scaled.add(stack.withQuantity(stack.getQuantity() * times));
+        }
+        return scaled;
+    }
+
+    private static void resetCycle(ProcessingInventory inv) {
+        inv.currentWork = 0f;
+        inv.lanes = 0;
+    }
+
+    private static boolean isEmpty(ItemContainer input) {
+        for (int i = 0; i < input.getCapacity(); i++) {
+            ItemStack s = input.getItemStack((short) i);
+            if (s != null && !ItemStack.isEmpty(s)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+package dev.dukedarius.HytaleIndustries.Processing;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Declarative description of a powered processing machine, consumed by {@link ProcessingEngine}.
+ *
+ * A machine crafts recipes from its Processing benches {@code speedMultiplier} times faster than the vanilla bench
+ * time and draws {@code energyPerTick} HE per tick and lane while working. With a {@code batchSize} above 1 it runs
+ * up to that many crafts of the same recipe in parallel lanes per cycle, as far as inputs and output space allow,
+ * paying the energy of every lane.
+ */
+public final class ProcessingSpec {
+
+    public final String name;
+    public final String[] benchIds;
+    public final float speedMultiplier;
+    public final long energyPerTick;
+    public final int batchSize;
+
+    // Tracer events, built once
+    final String eventNoRecipe;
+    final String eventOutputFull;
+    final String eventLowEnergy;
+    final String eventInputsMissing;
+    final String eventInsertFailed;
+    final String eventCycle;
+
+    private ProcessingSpec(Builder builder) {
+        this.name = builder.name;
+        this.benchIds = builder.benchIds;
+        this.speedMultiplier = builder.speedMultiplier;
+        this.energyPerTick = builder.energyPerTick;
+        this.batchSize = builder.batchSize;
+        this.eventNoRecipe = name + "-no-recipe";
+        this.eventOutputFull = name + "-output-full";
+        this.eventLowEnergy = name + "-low-energy";
+        this.eventInputsMissing = name + "-inputs-missing";
+        this.eventInsertFailed = name + "-insert-failed";
+        this.eventCycle = name + "-cycle";
+    }
+
+    /**
+     * @param name short machine name, used as the prefix of its tracer events
+     */
+    public static Builder builder(@Nonnull String name) {
+        return new Builder(name);
+    }
+
+    public static final class Builder {
+        private final String name;
+        private String[] benchIds = new String[0];
+        private float speedMultiplier = 1.0f;
+        private long energyPerTick = 0L;
+        private int batchSize = 1;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /** Processing bench ids to take recipes from; the first one with recipes is used. */
+        public Builder benches(@Nonnull String... benchIds) {
+            this.benchIds = benchIds;
+            return this;
+        }
+
+        public Builder speedMultiplier(float speedMultiplier) {
+            this.speedMultiplier = speedMultiplier;
+            return this;
+        }
+
+        public Builder energyPerTick(long energyPerTick) {
+            this.energyPerTick = energyPerTick;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public ProcessingSpec build() {
+            if (benchIds.length == 0) throw new IllegalStateException(name + ": no processing bench configured");
+            if (speedMultiplier <= 0f) throw new IllegalStateException(name + ": speed multiplier must be positive");
+            if (energyPerTick <= 0L) throw new IllegalStateException(name + ": energy per tick must be positive");
+            if (batchSize < 1) throw new IllegalStateException(name + ": batch size must be at least 1");
+            return new ProcessingSpec(this);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package dev.dukedarius.HytaleIndustries.Processing;
+
+import com.hypixel.hytale.builtin.crafting.CraftingPlugin;
+import com.hypixel.hytale.builtin.crafting.component.CraftingManager;
+import com.hypixel.hytale.protocol.BenchType;
+import com.hypixel.hytale.protocol.ItemResourceType;
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
+import com.hypixel.hytale.server.core.inventory.container.InternalContainerUtilMaterial;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recipe lookup for one kind of processing machine.
+ *
+ * The bench's recipes are indexed by the item ids and resource types of their inputs, so a lookup only tests the
+ * recipes that use something actually in the input container. The result is memoised per machine together with the
+ * item stacks it was resolved for; item stacks are immutable, so as long as every input slot still holds the same
+ * instance the memo is returned without touching the recipe list. Misses are memoised too, which keeps machines
+ * holding an unprocessable item quiet.
+ *
+ * The index is rebuilt when the bench's recipe list no longer matches the one it was built from (recipe assets
+ * were reloaded), and a rebuild invalidates every memo. The check runs on every lookup, hits included; while the
+ * bench hands out the same list instance it is a single reference comparison.
+ */
+public final class RecipeMatcher {
+
+    private static final CraftingRecipe[] NO_RECIPES = new CraftingRecipe[0];
+
+    private final String[] benchIds;
+
+    private final Object indexLock = new Object();
+    /** Recipe list the index was built from (or last found equal to it), to notice reloads */
+    private volatile List<CraftingRecipe> indexedFrom = Collections.emptyList();
+    private CraftingRecipe[] recipes = NO_RECIPES;
+    /** Input item id / resource type id -> ordinals into {@link #recipes}, ascending */
+    private final Object2ObjectOpenHashMap<String, IntArrayList> byItem = new Object2ObjectOpenHashMap<>();
+    private final Object2ObjectOpenHashMap<String, IntArrayList> byResource = new Object2ObjectOpenHashMap<>();
+    /** Recipes with an input that is neither an item nor a resource type; always tested */
+    private final IntArrayList unkeyed = new IntArrayList();
+    private volatile int generation;
+
+    private static final class Memo {
+        ItemStack[] stacks = new ItemStack[0];
+        int generation = -1;
+        CraftingRecipe recipe;
+    }
+
+    // Keyed by the machine's inventory component; dropped with it
+    private final Map<Object, Memo> memos = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+
+    /**
+     * @param benchIds Processing bench ids to read recipes from; the first one with recipes is used.
+     */
+    public RecipeMatcher(@Nonnull String... benchIds) {
+        this.benchIds = benchIds;
+    }
+
+    /**
+     * The first recipe (in bench order) whose inputs are all present in {@code input}, or null.
+     *
+     * @param machine identifies the machine for the memo, normally its inventory component
+     */
+    @Nullable
+    public CraftingRecipe find(@Nonnull Object machine, @Nullable ItemContainer input) {
+        if (input == null) return null;
+
+        // Checked before trusting the memo, so a recipe reload reaches machines whose inputs didn't change
+        int currentGeneration = refreshIndex();
+        Memo memo = memos.computeIfAbsent(machine, k -> new Memo());
+        synchronized (memo) {
+            if (memo.generation == currentGeneration && sameStacks(memo.stacks, input)) {
+                hits.incrementAndGet();
+                return memo.recipe;
+            }
+
+            CraftingRecipe recipe = lookup(input);
+            int capacity = input.getCapacity();
+            if (memo.stacks.length != capacity) {
+                memo.stacks = new ItemStack[capacity];
+            }
+            for (int i = 0; i < capacity; i++) {
+                memo.stacks[i] = input.getItemStack((short) i);
+            }
+            memo.generation = currentGeneration;
+            memo.recipe = recipe;
+            lookups.incrementAndGet();
+            return recipe;
+        }
+    }
+
+    private static boolean sameStacks(ItemStack[] stacks, ItemContainer input) {
+        if (stacks.length != input.getCapacity()) return false;
+        for (int i = 0; i < stacks.length; i++) {
+            if (stacks[i] != input.getItemStack((short) i)) return false;
+        }
+        return true;
+    }
+
+    private CraftingRecipe lookup(ItemContainer input) {
+        synchronized (indexLock) {
+            if (recipes.length == 0) return null;
+
+            IntArrayList candidates = new IntArrayList(unkeyed);
+            for (int i = 0; i < input.getCapacity(); i++) {
+                ItemStack stack = input.getItemStack((short) i);
+                if (stack == null || ItemStack.isEmpty(stack)) continue;
+                addAll(candidates, byItem.get(stack.getItemId()));
+                var item = stack.getItem();
+                ItemResourceType[] resourceTypes = item != null ? item.getResourceTypes() : null;
+                if (resourceTypes == null) continue;
+                for (ItemResourceType resourceType : resourceTypes) {
+                    if (resourceType != null && resourceType.id != null) {
+                        addAll(candidates, byResource.get(resourceType.id));
+                    }
+                }
+            }
+            if (candidates.isEmpty()) return null;
+
+            // Test in bench order so the same recipe wins as with a full scan
+            candidates.sort(null);
+            int previous = -1;
+            for (int i = 0; i < candidates.size(); i++) {
+                int ordinal = candidates.getInt(i);
+                if (ordinal == previous) continue;
+                previous = ordinal;
+                CraftingRecipe recipe = recipes[ordinal];
+                if (hasAllInputs(input, CraftingManager.getInputMaterials(recipe))) {
+                    return recipe;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static void addAll(IntArrayList target, @Nullable IntArrayList source) {
+        if (source != null) target.addAll(source);
+    }
+
+    /**
+     * Rebuilds the index if the bench's recipe list changed and returns the index generation.
+     */
+    private int refreshIndex() {
+        List<CraftingRecipe> current = benchRecipes();
+        if (current == indexedFrom) return generation;
+        synchronized (indexLock) {
+            if (sameRecipes(indexedFrom, current)) {
+                // Same recipes in a new list; remember it so the next check is a reference comparison again
+                indexedFrom = current;
+            } else {
+                rebuild(current);
+            }
+            return generation;
+        }
+    }
+
+    private List<CraftingRecipe> benchRecipes() {
+        for (String benchId : benchIds) {
+            List<CraftingRecipe> list = CraftingPlugin.getBenchRecipes(BenchType.Processing, benchId);
+            if (list != null && !list.isEmpty()) return list;
+        }
+        return Collections.emptyList();
+    }
+
+    private static boolean sameRecipes(List<CraftingRecipe> a, List<CraftingRecipe> b) {
+        if (a == b) return true;
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) return false;
+        }
+        return true;
+    }
+
+    private void rebuild(List<CraftingRecipe> source) {
+        indexedFrom = source;
+        recipes = source.toArray(NO_RECIPES);
+        byItem.clear();
+        byResource.clear();
+        unkeyed.clear();
+        for (int ordinal = 0; ordinal < recipes.length; ordinal++) {
+            List<MaterialQuantity> inputs = CraftingManager.getInputMaterials(recipes[ordinal]);
+            if (inputs == null || inputs.isEmpty()) {
+                unkeyed.add(ordinal);
+                continue;
+            }
+            // A matching container holds every input, so keying the recipe by its first input is enough
+            MaterialQuantity first = inputs.get(0);
+            if (first.getItemId() != null) {
+                byItem.computeIfAbsent(first.getItemId(), k -> new IntArrayList()).add(ordinal);
+            } else if (first.getResourceTypeId() != null) {
+                byResource.computeIfAbsent(first.getResourceTypeId(), k -> new IntArrayList()).add(ordinal);
+            } else {
+                unkeyed.add(ordinal);
+            }
+        }
+        generation++;
+    }
+
+    /**
+     * True if every requirement can be taken from a distinct slot of {@code input}.
+     */
+    public static boolean hasAllInputs(@Nullable ItemContainer input, @Nullable List<MaterialQuantity> requirements) {
+        return hasAllInputs(input, requirements, 1);
+    }
+
+    /**
+     * True if every requirement, multiplied by {@code times}, can be taken from a distinct slot of {@code input}.
+     */
+    public static boolean hasAllInputs(@Nullable ItemContainer input, @Nullable List<MaterialQuantity> requirements,
+                                       int times) {
+        if (input == null || requirements == null) return false;
+        int capacity = input.getCapacity();
+        boolean[] used = capacity > 64 ? new boolean[capacity] : null;
+        long usedMask = 0L;
+        for (MaterialQuantity mq : requirements) {
+            boolean matched = false;
+            for (int slot = 0; slot < capacity; slot++) {
+                if (used != null ? used[slot] : (usedMask & (1L << slot)) != 0) continue;
+                int out = InternalContainerUtilMaterial.testRemoveMaterialFromSlot(input, (short) slot, mq, mq.getQuantity() * times, true);
+                if (out == 0) {
+                    if (used != null) used[slot] = true;
+                    else usedMask |= 1L << slot;
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) return false;
+        }
+        return true;
+    }
+
+    public long getHitCount() { return hits.get(); }
+    public long getLookupCount() { return lookups.get(); }
+}
@@ -15,6 +15,7 @@ import dev.dukedarius.HytaleIndustries.Components.Energy.ConsumesHE;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.Components.Processing.AlloySmelterInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
 
 import javax.annotation.Nonnull;
 
@@ -100,6 +101,7 @@ public class AlloySmelterInitSystem extends RefSystem<ChunkStore> {
             }
             if (dirty) {
                 buffer.replaceComponent(ref, HytaleIndustriesPlugin.INSTANCE.getAlloySmelterInventoryType(), inv);
+                InventoryAdapters.invalidate(store.getExternalData().getWorld(), x, y, z);
             }
         }
     }
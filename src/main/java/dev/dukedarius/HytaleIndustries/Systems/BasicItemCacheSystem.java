@@ -16,7 +16,10 @@ import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import dev.dukedarius.HytaleIndustries.Components.Storage.BasicItemCacheComponent;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
 import dev.dukedarius.HytaleIndustries.Utils.CacheDisplayManager;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
 
 import javax.annotation.Nonnull;
 
@@ -98,9 +101,7 @@ public class BasicItemCacheSystem extends EntityTickingSystem<ChunkStore> {
                 // Same item: detect delta vs last exposed
                 int prev = cache.lastExposedCount;
                 if (stackQty != prev) {
-                    HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                            "[BasicItemCache] delta detected: slotQty=%d lastExposed=%d cachedCount=%d item=%s",
-                            stackQty, prev, cache.cachedCount, stackId);
+                    Tracer.trace(Tracer.Channel.CACHE, "delta", stackId, stackQty, prev, cache.cachedCount);
                 }
                 if (stackQty > prev) {
                     long added = stackQty - prev;
@@ -164,14 +165,16 @@ public class BasicItemCacheSystem extends EntityTickingSystem<ChunkStore> {
                         int yawIndex = 0;
                         var world = store.getExternalData().getWorld();
                         if (world != null) {
-                            var wc = world.getChunkIfInMemory(
-                                    ChunkUtil.indexChunkFromBlock(wx, wz));
+                            var wc = BlockAccess.chunk(world, wx, wz);
                             if (wc != null) {
                                 yawIndex = wc.getRotationIndex(wx & 31, wy, wz & 31) & 3;
                             }
                         }
                         CacheDisplayManager.markDirty(wx, wy, wz,
                                 cache.cachedItemId, cache.cachedCount, yawIndex);
+                        if (world != null) {
+                            InventoryChangeNotifier.notifyChanged(world, wx, wy, wz);
+                        }
                     }
                 }
             } catch (Throwable ignored) {}
@@ -10,24 +10,30 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import org.joml.Vector3i;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
-import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
-import com.hypixel.hytale.server.core.util.FillerBlockUtil;
 import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent;
-import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent.FilterMode;
 import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
 import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
-import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import dev.dukedarius.HytaleIndustries.Pipes.CompiledItemFilter;
+import dev.dukedarius.HytaleIndustries.Pipes.ItemIdInterner;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeExtractionScheduler;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeNetworkManager;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStore> {
@@ -43,9 +49,9 @@ public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStor
             new Vector3i(0, -1, 0)   // Down
     };
 
+    private static final Comparator<InventoryEndpoint> MOST_ROOM_FIRST = (a, b) -> Integer.compare(b.room, a.room);
+
     private final ComponentType<ChunkStore, BasicItemPipeComponent> pipeComponentType;
-    private static final String POWER_CABLE_BLOCK_ID = "HytaleIndustries_BasicPowerCable";
-    private static final String ITEM_PIPE_BLOCK_ID = "HytaleIndustries_BasicItemPipe";
     private final Query<ChunkStore> query;
 
     public BasicItemPipeExtractionSystem(ComponentType<ChunkStore, BasicItemPipeComponent> pipeComponentType) {
@@ -69,14 +75,6 @@ public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStor
             return;
         }
 
-        // Accumulate time - only run extraction once per second
-        float newTime = pipe.getSecondsAccumulator() + dt;
-        if (newTime < 1.0f) {
-            pipe.setSecondsAccumulator(newTime);
-            return;
-        }
-        pipe.setSecondsAccumulator(0.0f);
-
         // Only do work when at least one side is configured to Extract
         if (!hasAnyExtractSide(pipe)) {
             return;
@@ -97,16 +95,30 @@ public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStor
             return;
         }
 
-        var world = store.getExternalData().getWorld();
         int pipeX = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getX(),
                 ChunkUtil.xFromBlockInColumn(blockStateInfo.getIndex()));
         int pipeY = ChunkUtil.yFromBlockInColumn(blockStateInfo.getIndex());
         int pipeZ = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
                 ChunkUtil.zFromBlockInColumn(blockStateInfo.getIndex()));
 
+        // Run the operations the tier's schedule says are due (staggered per pipe)
+        PipeExtractionScheduler scheduler = HytaleIndustriesPlugin.INSTANCE.getPipeExtractionScheduler();
+        long pipeKey = BlockPos.pack(pipeX, pipeY, pipeZ);
+        var world = store.getExternalData().getWorld();
+        long now = System.currentTimeMillis();
+        if (scheduler.isSleeping(world, pipeKey, now)) {
+            return;
+        }
+        int operations = scheduler.operationsDue(pipeKey, pipe, dt);
+        if (operations <= 0) {
+            return;
+        }
+        int budget = operations * pipe.getTier().getItemsPerOperation();
+
         // Find all Extract-configured source inventories
         List<SourceInventory> sources = new ArrayList<>();
         LongOpenHashSet excludedKeys = new LongOpenHashSet();
+        LongArrayList extractSides = new LongArrayList(2);
 
         for (int i = 0; i < DIRECTIONS.length; i++) {
             Vector3i dir = DIRECTIONS[i];
@@ -116,72 +128,82 @@ public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStor
                 int sy = pipeY + dir.y;
                 int sz = pipeZ + dir.z;
                 if (sy < WORLD_MIN_Y || sy >= WORLD_MAX_Y_EXCLUSIVE) continue;
+                extractSides.add(BlockPos.pack(sx, sy, sz));
 
                 SourceInventory sourceInv = getInventoryIfLoaded(world, store, sx, sy, sz);
                 if (sourceInv != null) {
-                    HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                            "[PipeExtraction] found source at (%d,%d,%d) container=%s empty=%s",
-                            sx, sy, sz,
-                            sourceInv.inventory.getContainer().getClass().getSimpleName(),
-                            sourceInv.inventory.getContainer().isEmpty());
-                    FilterMode mode = pipe.getFilterMode(dir);
-                    String[] items = pipe.getFilterItems(dir);
-                    sources.add(new SourceInventory(sourceInv.inventory, sx, sy, sz, dir, mode, items));
-                    excludedKeys.add(packBlockPos(sourceInv.x, sourceInv.y, sourceInv.z));
+                    Tracer.trace(Tracer.Channel.PIPES, "source", sourceInv.inventory, sx, sy, sz);
+                    sources.add(new SourceInventory(sourceInv.inventory, sx, sy, sz, dir, pipe.getCompiledFilter(dir)));
+                    excludedKeys.add(BlockPos.pack(sourceInv.x, sourceInv.y, sourceInv.z));
                 } else {
-                    HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                            "[PipeExtraction] Extract side at (%d,%d,%d) but NO source inventory found", sx, sy, sz);
+                    Tracer.trace(Tracer.Channel.PIPES, "no-source", sx, sy, sz);
                 }
             }
         }
 
         if (sources.isEmpty()) {
-            HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                    "[PipeExtraction] pipe at (%d,%d,%d) has Extract sides but found 0 sources, sideConfig=%d",
-                    pipeX, pipeY, pipeZ, pipe.getSideConfig());
+            Tracer.trace(Tracer.Channel.PIPES, "no-sources", pipeX, pipeY, pipeZ, pipe.getSideConfig());
+            // Placing an inventory on an extract side reports that position
+            scheduler.recordIdle(world, pipeKey, extractSides.toLongArray(), null, now);
             return;
         }
 
-        // Find all reachable destination inventories through the pipe network
-        List<InventoryEndpoint> endpoints = findAllReachableInventories(world, store, pipeX, pipeY, pipeZ, excludedKeys);
+        // Look up the destinations of this pipe's network (built once, shared by every pipe on it)
+        var network = HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().getNetwork(world, store, pipeX, pipeY, pipeZ);
+        if (network == null) {
+            return;
+        }
+        List<InventoryEndpoint> endpoints = resolveEndpoints(world, store, network, excludedKeys);
         if (endpoints.isEmpty()) {
-            HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                    "[PipeExtraction] pipe at (%d,%d,%d) found %d sources but 0 destinations",
-                    pipeX, pipeY, pipeZ, sources.size());
+            Tracer.trace(Tracer.Channel.PIPES, "no-destinations", pipeX, pipeY, pipeZ, sources.size());
+            // New destinations rebuild the network, which wakes the pipe
+            scheduler.recordIdle(world, pipeKey, new long[0], network, now);
             return;
         }
 
-        HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                "[PipeExtraction] pipe at (%d,%d,%d) moving: %d sources -> %d destinations",
-                pipeX, pipeY, pipeZ, sources.size(), endpoints.size());
+        Tracer.trace(Tracer.Channel.PIPES, "extract", pipeKey, sources.size(), endpoints.size());
+
+        InventoryEndpoint[] byIndex = new InventoryEndpoint[network.getEndpoints().size()];
+        for (InventoryEndpoint ep : endpoints) {
+            byIndex[ep.index] = ep;
+        }
+        // Balanced ordering buffer, shared by every source and slot of this pass
+        InventoryEndpoint[] byRoom = new InventoryEndpoint[endpoints.size()];
 
-        // Move up to 4 items per tick from sources to destinations
+        // Move up to the operations' item budget from sources to destinations, in each side's routing order
         int totalMoved = 0;
         for (SourceInventory sourceInv : sources) {
-            if (totalMoved >= 4) break;
+            if (totalMoved >= budget) break;
 
             MachineInventory source = sourceInv.inventory;
             if (source == null || source.getContainer() == null || source.getContainer().isEmpty()) {
-                HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                        "[PipeExtraction] skipping source at (%d,%d,%d): null=%s emptyContainer=%s",
-                        sourceInv.x, sourceInv.y, sourceInv.z,
-                        source == null, source != null && source.getContainer() != null ? source.getContainer().isEmpty() : "n/a");
                 continue;
             }
 
+            BasicItemPipeComponent.RoutingMode mode = pipe.getRoutingMode(sourceInv.dir);
+            int count = extractFromSource(world, network, pipeKey, sourceInv, mode, byIndex, endpoints, byRoom,
+                    budget - totalMoved, now);
+            if (count > 0) {
+                totalMoved += count;
+                // The source may be a destination of other pipes on this network; it has room again
+                long sourceKey = BlockPos.pack(sourceInv.x, sourceInv.y, sourceInv.z);
+                network.clearFull(sourceKey);
+                InventoryChangeNotifier.notifyChanged(world, sourceKey);
+            }
+            Tracer.trace(Tracer.Channel.PIPES, "moved", mode, count, sourceInv.x, sourceInv.y, sourceInv.z);
+        }
+
+        scheduler.record(world, network.getId(), operations, totalMoved);
+        if (totalMoved > 0) {
+            scheduler.recordBusy(world, pipeKey);
+        } else {
+            // Wake when a source gains items or a destination frees space
+            LongArrayList watched = new LongArrayList(excludedKeys.size() + endpoints.size());
+            watched.addAll(excludedKeys);
             for (InventoryEndpoint ep : endpoints) {
-                HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                        "[PipeExtraction] attempting move from (%d,%d,%d) [%s] to dest [%s] maxToMove=%d",
-                        sourceInv.x, sourceInv.y, sourceInv.z,
-                        source.getContainer().getClass().getSimpleName(),
-                        ep.inventory.getContainer().getClass().getSimpleName(),
-                        256 - totalMoved);
-                int count = moveUpToNItems(sourceInv, ep, 4 - totalMoved);
-                if (count > 0) totalMoved += count;
-                HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                        "[PipeExtraction] moved %d items this pass, total=%d", count, totalMoved);
-                if (totalMoved >= 4) break;
+                watched.add(ep.packedPos);
             }
+            scheduler.recordIdle(world, pipeKey, watched.toLongArray(), network, now);
         }
     }
 
@@ -196,14 +218,12 @@ public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStor
 
     @Nullable
     private static SourceInventory getInventoryIfLoaded(@Nonnull World world, Store<ChunkStore> store, int x, int y, int z) {
-        int[] origin = resolveFillerOrigin(world, x, y, z);
-        int ox = origin[0], oy = origin[1], oz = origin[2];
+        long origin = BlockAccess.resolveOrigin(world, x, y, z);
+        int ox = BlockPos.unpackX(origin), oy = BlockPos.unpackY(origin), oz = BlockPos.unpackZ(origin);
 
         List<MachineInventory> inventories = InventoryAdapters.find(world, store, ox, oy, oz);
         if (inventories.isEmpty()) {
-            HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                    "[PipeExtraction] no inventory at (%d,%d,%d) from pipe (%d,%d,%d)",
-                    ox, oy, oz, x, y, z);
+            Tracer.trace(Tracer.Channel.PIPES, "no-inventory", ox, oy, oz);
         }
         for (MachineInventory inv : inventories) {
             if (inv != null && inv.hasOutputSlots()) {
@@ -213,26 +233,29 @@ public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStor
         return null;
     }
 
-    @Nonnull
-    private static int moveUpToNItems(@Nonnull SourceInventory sourceInv,
-                                      @Nonnull InventoryEndpoint dest,
-                                      int maxToMove) {
-        if (maxToMove <= 0) {
-            return 0;
-        }
-
+    /**
+     * Moves up to {@code maxToMove} items out of one source's output slots. Each slot's stack is offered to the
+     * destinations in the side's routing order; destinations recently found full for that item are skipped.
+     * Nearest and RoundRobin walk the network's order and cursor directly. Balanced probes every destination's room
+     * once per item id in this call, sorts {@code byRoom} by it and then only subtracts what it inserts.
+     */
+    private static int extractFromSource(@Nonnull World world,
+                                         @Nonnull PipeNetworkManager.PipeNetwork network,
+                                         long pipeKey,
+                                         @Nonnull SourceInventory sourceInv,
+                                         @Nonnull BasicItemPipeComponent.RoutingMode mode,
+                                         @Nonnull InventoryEndpoint[] byIndex,
+                                         @Nonnull List<InventoryEndpoint> endpoints,
+                                         @Nonnull InventoryEndpoint[] byRoom,
+                                         int maxToMove,
+                                         long now) {
         MachineInventory source = sourceInv.inventory;
-        MachineInventory destination = dest.inventory;
-        if (source == null || destination == null) {
-            return 0;
-        }
-
         var sourceContainer = source.getContainer();
-        var destContainer = destination.getContainer();
-        if (sourceContainer == null || destContainer == null) return 0;
+        if (sourceContainer == null || maxToMove <= 0) return 0;
 
+        int[] nearest = mode == BasicItemPipeComponent.RoutingMode.Nearest ? network.getNearestOrder(pipeKey) : null;
+        String byRoomItem = null;
         int totalMoved = 0;
-
         for (int i = 0; i < source.getSlotCount() && totalMoved < maxToMove; i++) {
             if (!source.getSlotIO(i).allowsOutput()) continue;
             short slot = (short) i;
@@ -242,247 +265,140 @@ public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStor
             }
 
             String itemId = stack.getItemId();
+            int internedId = ItemIdInterner.intern(itemId);
             // Extraction filter: only allow items matching this side's extract filter
-            if (!allowsFilter(sourceInv.extractMode, sourceInv.extractItems, itemId)) {
+            if (!sourceInv.extractFilter.allows(internedId, itemId)) {
                 continue;
             }
 
-            // Insertion filter: only allow items matching destination side's insert filter
-            if (!allowsFilter(dest.insertMode, dest.insertItems, itemId)) {
-                continue;
+            int count;
+            int start = 0;
+            switch (mode) {
+                case Nearest -> count = nearest.length;
+                case RoundRobin -> {
+                    count = byIndex.length;
+                    start = count == 0 ? 0 : Math.floorMod(network.getCursor(pipeKey), count);
+                }
+                default -> {
+                    if (!itemId.equals(byRoomItem)) {
+                        sortByRoom(endpoints, stack, byRoom);
+                        byRoomItem = itemId;
+                    }
+                    count = byRoom.length;
+                }
             }
 
-            int beforeCount = stack.getQuantity();
-            int toMove = Math.min(beforeCount, maxToMove - totalMoved);
-            if (!destination.hasInputSlots()) continue;
+            for (int k = 0; k < count; k++) {
+                InventoryEndpoint dest = switch (mode) {
+                    case Nearest -> nearest[k] < byIndex.length ? byIndex[nearest[k]] : null;
+                    case RoundRobin -> byIndex[(start + k) % count];
+                    default -> byRoom[k];
+                };
+                if (dest == null) {
+                    continue;
+                }
+                // Insertion filter: only allow items matching destination side's insert filter
+                if (!dest.insertFilter.allows(internedId, itemId)) {
+                    continue;
+                }
+                if (network.isFull(dest.packedPos, itemId, now)) {
+                    continue;
+                }
 
-            int movedNow = tryInsertRespectingIO(sourceContainer, slot, toMove, destination, destContainer);
-            if (movedNow > 0) {
+                int movedNow = transferFromSlot(sourceContainer, slot, maxToMove - totalMoved, dest.inventory);
+                if (movedNow <= 0) {
+                    network.markFull(dest.packedPos, itemId, now);
+                    continue;
+                }
                 totalMoved += movedNow;
+                dest.room -= movedNow;
+                InventoryChangeNotifier.notifyChanged(world, dest.packedPos);
+                if (mode == BasicItemPipeComponent.RoutingMode.RoundRobin) {
+                    network.setCursor(pipeKey, dest.index + 1);
+                }
+
+                ItemStack left = sourceContainer.getItemStack(slot);
+                if (totalMoved >= maxToMove || left == null || ItemStack.isEmpty(left)) {
+                    break;
+                }
             }
         }
 
         return totalMoved;
     }
 
-    private static boolean allowsFilter(FilterMode mode, String[] items, String itemId) {
-        if (mode == null || mode == FilterMode.None || itemId == null) {
-            return true;
-        }
-
-        boolean listed = false;
-        if (items != null && items.length > 0) {
-            for (String id : items) {
-                if (itemId.equals(id)) {
-                    listed = true;
-                    break;
-                }
-            }
+    /**
+     * Fills {@code byRoom} with the destinations, most free room for {@code stack} first.
+     */
+    private static void sortByRoom(@Nonnull List<InventoryEndpoint> endpoints, @Nonnull ItemStack stack,
+                                   @Nonnull InventoryEndpoint[] byRoom) {
+        for (int i = 0; i < byRoom.length; i++) {
+            InventoryEndpoint ep = endpoints.get(i);
+            ep.room = ep.inventory.getInsertCapacity(stack);
+            byRoom[i] = ep;
         }
-
-        return switch (mode) {
-            case Whitelist -> listed;
-            case Blacklist -> !listed;
-            case None -> true;
-        };
+        Arrays.sort(byRoom, MOST_ROOM_FIRST);
     }
 
-    private static int tryInsertRespectingIO(com.hypixel.hytale.server.core.inventory.container.ItemContainer sourceContainer,
-                                             short sourceSlot,
-                                             int requested,
-                                             MachineInventory destInv,
-                                             com.hypixel.hytale.server.core.inventory.container.ItemContainer destContainer) {
+    /**
+     * Moves up to {@code requested} items from a source slot with one batch insert into the destination,
+     * then takes exactly what was accepted from the source.
+     */
+    private static int transferFromSlot(com.hypixel.hytale.server.core.inventory.container.ItemContainer sourceContainer,
+                                        short sourceSlot,
+                                        int requested,
+                                        MachineInventory destInv) {
         ItemStack stack = sourceContainer.getItemStack(sourceSlot);
         if (stack == null || ItemStack.isEmpty(stack) || requested <= 0) return 0;
 
-        int remaining = Math.min(requested, stack.getQuantity());
-        int moved = 0;
-
-        for (int d = 0; d < destInv.getSlotCount() && remaining > 0; d++) {
-            if (!destInv.getSlotIO(d).allowsInput()) continue;
-            short dstSlot = (short) d;
-            ItemStack dst = destContainer.getItemStack(dstSlot);
-
-            if (dst == null || ItemStack.isEmpty(dst)) {
-                int move = remaining;
-                ItemStack placed = stack.withQuantity(move);
-                destContainer.setItemStackForSlot(dstSlot, placed);
-                remaining -= move;
-                moved += move;
-            } else if (stack.getItemId().equals(dst.getItemId())) {
-                // ponytail: use container's own max stack for CacheItemContainer, item's max otherwise
-                int maxStack;
-                if (destContainer instanceof dev.dukedarius.HytaleIndustries.Inventory.containers.CacheItemContainer cic) {
-                    maxStack = cic.getMaxStackForSlot(dstSlot);
-                } else {
-                    maxStack = stack.getItem().getMaxStack();
-                }
-
-                int space = maxStack - dst.getQuantity();
-                if (space > 0) {
-                    int move = Math.min(space, remaining);
-                    destContainer.setItemStackForSlot(dstSlot, dst.withQuantity(dst.getQuantity() + move));
-                    remaining -= move;
-                    moved += move;
-                }
-            }
-        }
+        int toMove = Math.min(requested, stack.getQuantity());
+        int moved = toMove - destInv.insert(stack, toMove);
 
         if (moved > 0) {
             int newQty = stack.getQuantity() - moved;
             sourceContainer.setItemStackForSlot(sourceSlot, newQty <= 0 ? ItemStack.EMPTY : stack.withQuantity(newQty));
-            HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                    "[PipeExtraction] inserted=%d item=%s srcSlot=%d dstSlots=%d maxStackUsed=%d",
-                    moved, stack.getItemId(), sourceSlot, destInv.getSlotCount(),
-                    stack.getItem().getMaxStack());
+            Tracer.trace(Tracer.Channel.PIPES, "inserted", stack.getItemId(), moved, sourceSlot);
         }
 
         return moved;
     }
 
-    private List<InventoryEndpoint> findAllReachableInventories(@Nonnull World world, Store<ChunkStore> store, int startPipeX, int startPipeY,
-                                                                 int startPipeZ, LongOpenHashSet excludedKeys) {
+    /**
+     * Resolves the cached endpoints of the pipe's network into live inventories, skipping the pipe's own sources.
+     * If an endpoint no longer resolves (block removed, chunk unloaded) the network is dropped so the next pass rebuilds it.
+     */
+    @Nonnull
+    private static List<InventoryEndpoint> resolveEndpoints(@Nonnull World world, Store<ChunkStore> store,
+                                                            @Nonnull PipeNetworkManager.PipeNetwork network,
+                                                            @Nonnull LongOpenHashSet excludedKeys) {
         List<InventoryEndpoint> found = new ArrayList<>();
-        LongOpenHashSet foundKeys = new LongOpenHashSet();
-        LongOpenHashSet visited = new LongOpenHashSet();
-        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
-
-        long start = packBlockPos(startPipeX, startPipeY, startPipeZ);
-        visited.add(start);
-        queue.enqueue(start);
-
-        while (!queue.isEmpty()) {
-            long current = queue.dequeueLong();
-            int x = unpackX(current);
-            int y = unpackY(current);
-            int z = unpackZ(current);
-
-            // Get pipe component at current position to check traversal rules
-            WorldChunk currentChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-            if (currentChunk == null) {
-                currentChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
-            }
-            if (currentChunk == null) {
-                continue;
-            }
+        boolean stale = false;
 
-            var currentEntity = currentChunk.getBlockComponentEntity(x & 31, y, z & 31);
-            BasicItemPipeComponent currentPipe = null;
-            if (currentEntity != null) {
-                currentPipe = store.getComponent(currentEntity, pipeComponentType);
+        List<PipeNetworkManager.Endpoint> networkEndpoints = network.getEndpoints();
+        for (int i = 0; i < networkEndpoints.size(); i++) {
+            PipeNetworkManager.Endpoint ep = networkEndpoints.get(i);
+            if (excludedKeys.contains(ep.getKey())) {
+                continue;
             }
 
-            for (int i = 0; i < DIRECTIONS.length; i++) {
-                Vector3i dir = DIRECTIONS[i];
-                
-                // Check if we can traverse from this pipe in this direction
-                if (currentPipe != null && !currentPipe.isSideConnected(dir)) {
-                    continue;
-                }
-
-                int nx = x + dir.x;
-                int ny = y + dir.y;
-                int nz = z + dir.z;
-                if (ny < WORLD_MIN_Y || ny >= WORLD_MAX_Y_EXCLUSIVE) {
-                    continue;
-                }
-
-                int[] origin = resolveFillerOrigin(world, nx, ny, nz);
-                int ox = origin[0], oy = origin[1], oz = origin[2];
-
-                WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(ox, oz));
-                if (chunk == null) {
-                    chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(ox, oz));
-                }
-                if (chunk == null) {
-                    continue;
-                }
-
-                // If this block is a power cable, treat it as non-traversable for items.
-                BlockType blockType = chunk.getBlockType(ox & 31, oy, oz & 31);
-                String blockId = blockType != null ? blockType.getId() : null;
-                // Normalize id to base block id (strip '*' + state suffix) before comparison,
-                // since runtime ids often look like "*HytaleIndustries_BasicPowerCable_State_...".
-                String normalizedId = blockId;
-                if (normalizedId != null) {
-                    if (normalizedId.startsWith("*")) {
-                        normalizedId = normalizedId.substring(1);
-                    }
-                    int stateIdx = normalizedId.indexOf("_State_");
-                    if (stateIdx > 0) {
-                        normalizedId = normalizedId.substring(0, stateIdx);
-                    }
-                }
-                if (POWER_CABLE_BLOCK_ID.equals(normalizedId)) {
-                    // Do not traverse into power cables at all from the item-pipe graph.
-                    continue;
-                }
-
-                var entity = chunk.getBlockComponentEntity(ox & 31, oy, oz & 31);
-                BasicItemPipeComponent neighborPipe = null;
-                if (entity != null) {
-                    neighborPipe = store.getComponent(entity, pipeComponentType);
-                }
-
-                if (neighborPipe != null) {
-                    // It's a pipe - check if we can traverse through it
-                    Vector3i oppositeDir = new Vector3i(-dir.x, -dir.y, -dir.z);
-                    if (!neighborPipe.isSideConnected(oppositeDir)) {
-                        continue;
-                    }
-
-                    long nkey = packBlockPos(ox, oy, oz);
-                    if (visited.add(nkey)) {
-                        queue.enqueue(nkey);
-                    }
-                    continue;
-                }
-
-                // Non-pipe: inventory target (only allow delivery on Default faces)
-                if (currentPipe != null && currentPipe.getConnectionState(dir) != BasicItemPipeComponent.ConnectionState.Default) {
-                    continue;
-                }
-
-                List<MachineInventory> inventories = InventoryAdapters.find(world, store, ox, oy, oz);
-                if (inventories.isEmpty()) {
-                    continue;
-                }
-
-                BlockType invBlockType = world.getBlockType(ox, oy, oz);
-                String invBlockId = invBlockType != null ? invBlockType.getId() : null;
-
-                String baseId = invBlockId;
-                if (baseId != null) {
-                    if (baseId.startsWith("*")) {
-                        baseId = baseId.substring(1);
-                    }
-                    int stateIdx = baseId.indexOf("_State_");
-                    if (stateIdx > 0) {
-                        baseId = baseId.substring(0, stateIdx);
-                    }
-                }
-
-                // Never treat our own conduits (item pipes or power cables) as item destinations,
-                // even if some adapter exposes an ItemContainer for them.
-                if (ITEM_PIPE_BLOCK_ID.equals(baseId) || POWER_CABLE_BLOCK_ID.equals(baseId)) {
-                    continue;
+            MachineInventory destination = null;
+            for (MachineInventory inv : InventoryAdapters.find(world, store, ep.getX(), ep.getY(), ep.getZ())) {
+                if (inv != null && inv.hasInputSlots()) {
+                    destination = inv;
+                    break;
                 }
+            }
 
-                for (MachineInventory inv : inventories) {
-                    long invKey = packBlockPos(ox, oy, oz);
-                    if (!inv.hasInputSlots()) {
-                        continue;
-                    }
-                    if (!excludedKeys.contains(invKey) && foundKeys.add(invKey)) {
-                        FilterMode insertMode = currentPipe != null ? currentPipe.getFilterMode(dir) : FilterMode.None;
-                        String[] insertItems = currentPipe != null ? currentPipe.getFilterItems(dir) : null;
-
-                        found.add(new InventoryEndpoint(inv, invKey, insertMode, insertItems));
-                    }
-                }
+            if (destination == null) {
+                stale = true;
+                continue;
             }
+            found.add(new InventoryEndpoint(destination, i, ep.getKey(), ep.getInsertFilter()));
         }
 
+        if (stale) {
+            HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().invalidate(world, network);
+        }
         return found;
     }
 
@@ -495,89 +411,40 @@ public class BasicItemPipeExtractionSystem extends EntityTickingSystem<ChunkStor
         final int y;
         final int z;
         final Vector3i dir;
-        final FilterMode extractMode;
-        final String[] extractItems;
+        final CompiledItemFilter extractFilter;
         SourceInventory(@Nonnull MachineInventory inventory,
                         int x, int y, int z,
                         @Nonnull Vector3i dir,
-                        @Nonnull FilterMode mode,
-                        @Nullable String[] items) {
+                        @Nonnull CompiledItemFilter extractFilter) {
             this.inventory = inventory;
             this.x = x;
             this.y = y;
             this.z = z;
             this.dir = new Vector3i(dir.x, dir.y, dir.z);
-            this.extractMode = mode;
-            this.extractItems = items != null ? items.clone() : null;
+            this.extractFilter = extractFilter;
         }
 
         // Convenience constructor used by getInventoryIfLoaded before filter data is attached
         SourceInventory(@Nonnull MachineInventory inventory, int x, int y, int z) {
-            this(inventory, x, y, z, new Vector3i(0, 0, 0), FilterMode.None, null);
+            this(inventory, x, y, z, new Vector3i(0, 0, 0), CompiledItemFilter.NONE);
         }
     }
 
     private static final class InventoryEndpoint {
         final MachineInventory inventory;
+        final int index;
         final long packedPos;
-        final FilterMode insertMode;
-        final String[] insertItems;
+        final CompiledItemFilter insertFilter;
+        // Scratch: free room for the stack being routed (Balanced mode)
+        int room;
         InventoryEndpoint(MachineInventory inventory,
+                          int index,
                           long packedPos,
-                          @Nonnull FilterMode mode,
-                          @Nullable String[] items) {
+                          @Nonnull CompiledItemFilter insertFilter) {
             this.inventory = inventory;
+            this.index = index;
             this.packedPos = packedPos;
-            this.insertMode = mode;
-            this.insertItems = items != null ? items.clone() : null;
-        }
-    }
-
-    // Position packing/unpacking (26-bit X/Z, 12-bit Y)
-    private static long packBlockPos(int x, int y, int z) {
-        long lx = (long) x & 0x3FFFFFFL;
-        long lz = (long) z & 0x3FFFFFFL;
-        long ly = (long) y & 0xFFFL;
-        return (lx << 38) | (lz << 12) | ly;
-    }
-
-    private static int unpackX(long packed) {
-        int x = (int) (packed >> 38);
-        // sign extend 26-bit
-        if (x >= 0x2000000) {
-            x -= 0x4000000;
-        }
-        return x;
-    }
-
-    private static int unpackZ(long packed) {
-        int z = (int) ((packed >> 12) & 0x3FFFFFFL);
-        if (z >= 0x2000000) {
-            z -= 0x4000000;
-        }
-        return z;
-    }
-
-    private static int unpackY(long packed) {
-        return (int) (packed & 0xFFFL);
-    }
-
-    @Nonnull
-    private static int[] resolveFillerOrigin(@Nonnull World world, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
-        }
-        if (chunk == null) {
-            return new int[]{x, y, z};
-        }
-        int filler = chunk.getFiller(x & 31, y, z & 31);
-        if (filler == 0) {
-            return new int[]{x, y, z};
+            this.insertFilter = insertFilter;
         }
-        int dx = FillerBlockUtil.unpackX(filler);
-        int dy = FillerBlockUtil.unpackY(filler);
-        int dz = FillerBlockUtil.unpackZ(filler);
-        return new int[]{x - dx, y - dy, z - dz};
     }
 }
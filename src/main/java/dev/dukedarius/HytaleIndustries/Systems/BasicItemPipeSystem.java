@@ -9,26 +9,21 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.RefSystem;
 import com.hypixel.hytale.math.util.ChunkUtil;
-import org.joml.Vector3i;
-import com.hypixel.hytale.math.vector.Vector3iUtil;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
-import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
-import com.hypixel.hytale.server.core.util.FillerBlockUtil;
 import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent;
 import dev.dukedarius.HytaleIndustries.Components.ItemPipes.UpdatePipeComponent;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
-
-import javax.annotation.Nonnull;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeConnectionResolver;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
 
 public class BasicItemPipeSystem extends RefSystem<ChunkStore> {
 
     public static final String PIPE_STATE_ID = "basicItemPipe";
-    private static final String ITEM_PIPE_BLOCK_ID = "HytaleIndustries_BasicItemPipe";
-    private static final String POWER_CABLE_BLOCK_ID = "HytaleIndustries_BasicPowerCable";
     
     private final ComponentType<ChunkStore, BasicItemPipeComponent> pipeComponentType;
     private final ComponentType<ChunkStore, UpdatePipeComponent> updateComponentType;
@@ -56,10 +51,6 @@ public class BasicItemPipeSystem extends RefSystem<ChunkStore> {
                               CommandBuffer<ChunkStore> commandBufferChunkStore) {
         HytaleIndustriesPlugin.LOGGER.atFiner().log("Basic pipe added");
 
-        if (addReason != AddReason.SPAWN) {
-            return;
-        }
-
         var blockStateInfo = storeChunkStore.getComponent(refChunkStore, BlockStateInfo.getComponentType());
         if (blockStateInfo == null) {
             return;
@@ -81,179 +72,77 @@ public class BasicItemPipeSystem extends RefSystem<ChunkStore> {
         int z = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
                 ChunkUtil.zFromBlockInColumn(blockStateInfo.getIndex()));
 
-        HytaleIndustriesPlugin.LOGGER.atFiner().log("Basic pipe spawned at: %s, %s, %s", x, y, z);
-
         var world = storeChunkStore.getExternalData().getWorld();
+
+        // Any pipe appearing (placed or chunk loaded) may join or merge networks
+        HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().invalidate(world, x, y, z);
+
         var pipeComponent = storeChunkStore.getComponent(refChunkStore, pipeComponentType);
 
+        if (addReason != AddReason.SPAWN) {
+            // Loaded from the chunk: its saved side config is authoritative
+            if (pipeComponent != null) {
+                PipeSideConfigStore.set(world, x, y, z, pipeComponent.getSideConfig());
+            }
+            return;
+        }
+
+        HytaleIndustriesPlugin.LOGGER.atFiner().log("Basic pipe spawned at: %s, %s, %s", x, y, z);
+
         if (pipeComponent == null) {
             return;
         }
 
-        Vector3i[] directions = {
-            new Vector3i(0, 0, -1),  // North
-            new Vector3i(0, 0, 1),   // South
-            new Vector3i(-1, 0, 0),  // West
-            new Vector3i(1, 0, 0),   // East
-            new Vector3i(0, 1, 0),   // Up
-            new Vector3i(0, -1, 0)   // Down
-        };
-        
-        int occupiedMask = 0;
-        boolean[] hasInventory = new boolean[6];
-        for (int i = 0; i < directions.length; i++) {
-            Vector3i dir = directions[i];
-            var currentX = x + dir.x();
-            var currentY = y + dir.y();
-            var currentZ = z + dir.z();
-
-            var chunkIndex = ChunkUtil.indexChunkFromBlock(currentX, currentZ);
-            var chunkForBlock = world.getChunk(chunkIndex);
-
-            if (chunkForBlock != null) {
-                var holder = chunkForBlock.getBlockComponentHolder(currentX, currentY, currentZ);
-                var entity = chunkForBlock.getBlockComponentEntity(currentX, currentY, currentZ);
-
-                if (holder != null && entity != null) {
-                    // Only treat actual item pipes as neighbors, never power cables or other blocks.
-                    BlockType neighborType = chunkForBlock.getBlockType(currentX & 31, currentY, currentZ & 31);
-                    String neighborId = neighborType != null ? neighborType.getId() : null;
-                    String baseId = normalizeBlockId(neighborId);
-                    if (ITEM_PIPE_BLOCK_ID.equals(baseId)) {
-                        var neighborPipe = storeChunkStore.getComponent(entity, pipeComponentType);
-                        if (neighborPipe != null) {
-                            // A pipe neighbor exists - this direction should connect
-                            occupiedMask |= 1 << i;
-                            HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                                "Found neighbor pipe at (%s,%s,%s) in direction %s",
-                                currentX, currentY, currentZ, dir
-                            );
-                        }
-                    }
-                }
-
-                if (hasInventoryAt(world, storeChunkStore, currentX, currentY, currentZ)) {
-                    hasInventory[i] = true;
-                }
-            }
+        // A component recreated for a variant change comes back blank; restore the side config it had
+        int storedSideConfig = PipeSideConfigStore.getOrDefault(world, x, y, z, PipeSideConfigStore.MISSING);
+        if (storedSideConfig != PipeSideConfigStore.MISSING) {
+            pipeComponent.setSideConfig(storedSideConfig);
         }
 
-        // Always update visual state on spawn (even if mask is 0)
-        if (pipeComponent != null) {
-            HytaleIndustriesPlugin.LOGGER.atFiner().log("Setting pipe state to mask: %s", Integer.toBinaryString(occupiedMask));
-
-            // Update pipeState (connection bitmask)
-            pipeComponent.setDirectionalState(occupiedMask);
-            pipeComponent.setPipeState(occupiedMask);
-            
-            // Reconcile sideConfig based on connections (like ItemPipeBlockState.reconcileNeighborFaces lines 258-269)
-            // ONLY auto-adjusts Default state - respects Extract and manual None configuration
-            for (int i = 0; i < directions.length; i++) {
-                Vector3i dir = directions[i];
-                boolean hasPipe = (occupiedMask & (1 << i)) != 0;
-                boolean hasInv = hasInventory[i];
-                BasicItemPipeComponent.ConnectionState currentState = pipeComponent.getConnectionState(dir);
-                
-                // Rule 1: If Default and no neighbor (pipe or inventory), auto-set to None
-                if (currentState == BasicItemPipeComponent.ConnectionState.Default && !(hasPipe || hasInv)) {
-                    pipeComponent.setConnectionState(dir, BasicItemPipeComponent.ConnectionState.None);
-                } 
-                // Rule 2: If None and pipe neighbor exists, auto-restore to Default
-                // (but respect manual None configuration when only inventory exists)
-                else if (currentState == BasicItemPipeComponent.ConnectionState.None && hasPipe) {
-                    pipeComponent.setConnectionState(dir, BasicItemPipeComponent.ConnectionState.Default);
-                }
-                // Extract state is NEVER touched by reconciliation - it's manual-only
+        // A new pipe changes its neighbours' connections too; a recreated component only needs itself resolved
+        PipeConnectionResolver resolver = HytaleIndustriesPlugin.INSTANCE.getPipeConnectionResolver();
+        resolver.markDirty(world, x, y, z, commandBufferChunkStore);
+        if (storedSideConfig == PipeSideConfigStore.MISSING) {
+            resolver.markNeighboursDirty(world, x, y, z, commandBufferChunkStore);
+        }
+
+        BlockType blockType = BlockType.getAssetMap().getAsset(
+                blockChunk.getBlock(
+                        ChunkUtil.xFromBlockInColumn(blockStateInfo.getIndex()),
+                        y,
+                        ChunkUtil.zFromBlockInColumn(blockStateInfo.getIndex())
+                )
+        );
+        if (blockType == null) {
+            return;
+        }
+
+        commandBufferChunkStore.run(_store -> {
+            WorldChunk wc = _store.getComponent(chunkRef, WorldChunk.getComponentType());
+            if (wc == null) {
+                return;
             }
 
-            BlockType blockType = BlockType.getAssetMap().getAsset(
-                    blockChunk.getBlock(
-                            ChunkUtil.xFromBlockInColumn(blockStateInfo.getIndex()),
-                            y,
-                            ChunkUtil.zFromBlockInColumn(blockStateInfo.getIndex())
-                    )
-            );
-
-            if (blockType != null) {
-                final int finalOccupiedMask = occupiedMask;
-                final int finalX = x;
-                final int finalY = y;
-                final int finalZ = z;
-                
-                commandBufferChunkStore.run(_store -> {
-                    WorldChunk wc = _store.getComponent(chunkRef, WorldChunk.getComponentType());
-                    if (wc == null) {
-                        return;
-                    }
-
-                    int lx = finalX & 31;
-                    int lz = finalZ & 31;
-                    
-                    // Force rotation to 0 (no rotation) - matches ItemPipeBlockState behavior
-                    int currentRot = wc.getRotationIndex(lx, finalY, lz);
-                    if (currentRot != 0) {
-                        int settings = 64 | 256 | 4 | 2;  // Settings flags
-                        int filler = wc.getFiller(lx, finalY, lz);
-                        int blockId = wc.getBlock(lx, finalY, lz);
-                        wc.setBlock(lx, finalY, lz, blockId, blockType, 0, filler, settings);
-                    }
-
-                    // Generate state name from sideConfig (like ItemPipeBlockState line 292-293)
-                    String stateName = String.format("State%03d", pipeComponent.getSideConfig());
-
-                    HytaleIndustriesPlugin.LOGGER.atFine().log(
-                            "Setting block state at (%s, %s, %s) to: %s (rot was: %s)",
-                            finalX, finalY, finalZ, stateName, currentRot
-                    );
-
-                    wc.setBlockInteractionState(finalX, finalY, finalZ, blockType, stateName, true);
-
-                    // Mark ALL neighboring pipes for update (not just connected ones)
-                    // because the neighbor's sideConfig needs to reconcile even if currently blocked
-                    for (int i = 0; i < directions.length; i++) {
-                        Vector3i dir = directions[i];
-
-                        var currentX = finalX + dir.x();
-                        var currentY = finalY + dir.y();
-                        var currentZ = finalZ + dir.z();
-
-                        var chunkIndex = ChunkUtil.indexChunkFromBlock(currentX, currentZ);
-                        var neighborChunk = world.getChunk(chunkIndex);
-
-                        if (neighborChunk != null) {
-                            var holder = neighborChunk.getBlockComponentHolder(currentX, currentY, currentZ);
-                            if (holder != null) {
-                                var entity = neighborChunk.getBlockComponentEntity(currentX, currentY, currentZ);
-                                var neighborPipe = holder.getComponent(pipeComponentType);
-
-                                if (neighborPipe != null) {
-                                    HytaleIndustriesPlugin.LOGGER.atFiner().log("Marking neighbor pipe for update at: %s, %s, %s", currentX, currentY, currentZ);
-                                    _store.ensureComponent(entity, updateComponentType);
-                                }
-                            }
-                        }
-                    }
-                });
+            int lx = x & 31;
+            int lz = z & 31;
+
+            // Force rotation to 0 (no rotation) - matches ItemPipeBlockState behavior
+            int currentRot = wc.getRotationIndex(lx, y, lz);
+            if (currentRot != 0) {
+                int settings = 64 | 256 | 4 | 2;  // Settings flags
+                int filler = wc.getFiller(lx, y, lz);
+                int blockId = wc.getBlock(lx, y, lz);
+                wc.setBlock(lx, y, lz, blockId, blockType, 0, filler, settings);
             }
-        }
+        });
     }
+
     @Override
     public void onEntityRemove(Ref<ChunkStore> refChunkStore, RemoveReason removeReason,
                                Store<ChunkStore> storeChunkStore,
                                CommandBuffer<ChunkStore> commandBufferChunkStore) {
         HytaleIndustriesPlugin.LOGGER.atFiner().log("Basic pipe removed: %s", removeReason);
 
-        if (removeReason != RemoveReason.REMOVE) {
-            HytaleIndustriesPlugin.LOGGER.atFiner().log("Basic pipe removal reason is not REMOVE: %s", removeReason);
-            return;
-        }
-
-        // Check if it's already being updated
-        if (storeChunkStore.getComponent(refChunkStore, updateComponentType) != null ||
-                commandBufferChunkStore.getComponent(refChunkStore, updateComponentType) != null) {
-            return;
-        }
-
         var blockStateInfo = storeChunkStore.getComponent(refChunkStore, BlockStateInfo.getComponentType());
         if (blockStateInfo == null) {
             return;
@@ -275,114 +164,28 @@ public class BasicItemPipeSystem extends RefSystem<ChunkStore> {
         int z = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
                 ChunkUtil.zFromBlockInColumn(blockStateInfo.getIndex()));
 
-        HytaleIndustriesPlugin.LOGGER.atFiner().log("Basic pipe removed at: %s, %s, %s", x, y, z);
-
         var world = commandBufferChunkStore.getExternalData().getWorld();
 
-        // Notify neighbors to update
-        for (var dir : Vector3iUtil.BLOCK_SIDES) {
-            var currentX = x + dir.x();
-            var currentY = y + dir.y();
-            var currentZ = z + dir.z();
-
-            var chunkIndex = ChunkUtil.indexChunkFromBlock(currentX, currentZ);
-            var neighborChunk = world.getChunk(chunkIndex);
-
-            if (neighborChunk != null) {
-                var holder = neighborChunk.getBlockComponentHolder(currentX, currentY, currentZ);
-                var entity = neighborChunk.getBlockComponentEntity(currentX, currentY, currentZ);
-
-                if (holder != null && entity != null) {
-                    BlockType neighborType = neighborChunk.getBlockType(currentX & 31, currentY, currentZ & 31);
-                    String neighborId = neighborType != null ? neighborType.getId() : null;
-                    String baseId = normalizeBlockId(neighborId);
-                    if (ITEM_PIPE_BLOCK_ID.equals(baseId)) {
-                        var neighborPipe = commandBufferChunkStore.getComponent(entity, pipeComponentType);
-                        if (neighborPipe != null && neighborPipe.canConnectTo(dir)) {
-                            HytaleIndustriesPlugin.LOGGER.atFiner().log("Notifying neighbor pipe to update at: %s, %s, %s", currentX, currentY, currentZ);
-                            commandBufferChunkStore.ensureComponent(entity, updateComponentType);
-                        }
-                    }
-                }
-            }
-        }
-    }
+        // Any pipe disappearing (broken or chunk unloaded) may split its network
+        HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().invalidate(world, x, y, z);
+        // Its idle count and sleep backoff would otherwise stay behind until the world is gone
+        HytaleIndustriesPlugin.INSTANCE.getPipeExtractionScheduler().forget(world, BlockPos.pack(x, y, z));
 
-    private static boolean hasInventoryAt(@Nonnull World world, Store<ChunkStore> store, int x, int y, int z) {
-        if (y < 0 || y >= 320) {
-            return false;
-        }
-
-        // Resolve filler blocks to their origin
-        int[] origin = resolveFillerOrigin(world, x, y, z);
-        int ox = origin[0], oy = origin[1], oz = origin[2];
-
-        if (ox != x || oy != y || oz != z) {
-            HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                "Resolved filler block at (%s,%s,%s) to origin (%s,%s,%s)",
-                x, y, z, ox, oy, oz
-            );
+        if (removeReason != RemoveReason.REMOVE) {
+            HytaleIndustriesPlugin.LOGGER.atFiner().log("Basic pipe removal reason is not REMOVE: %s", removeReason);
+            return;
         }
 
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(ox, oz));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(ox, oz));
-        }
-        if (chunk != null) {
-            BlockType type = chunk.getBlockType(ox & 31, oy, oz & 31);
-            String blockId = type != null ? type.getId() : null;
-            String baseId = normalizeBlockId(blockId);
-            if (ITEM_PIPE_BLOCK_ID.equals(baseId) || POWER_CABLE_BLOCK_ID.equals(baseId)) {
-                HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                    "Checking inventory at (%s,%s,%s): skipping conduit block baseId=%s",
-                    ox, oy, oz, baseId
-                );
-                return false;
-            }
+        // Check if it's already being updated
+        if (storeChunkStore.getComponent(refChunkStore, updateComponentType) != null ||
+                commandBufferChunkStore.getComponent(refChunkStore, updateComponentType) != null) {
+            return;
         }
 
-        boolean hasInventory = !dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters
-                .find(world, store, ox, oy, oz).isEmpty();
-
-        HytaleIndustriesPlugin.LOGGER.atFiner().log(
-            "Checking inventory at (%s,%s,%s): hasInventory=%s",
-            ox, oy, oz, hasInventory
-        );
-
-        return hasInventory;
-    }
-
-    @Nonnull
-    private static int[] resolveFillerOrigin(@Nonnull World world, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
-        }
-        if (chunk == null) {
-            return new int[]{x, y, z};
-        }
-        int filler = chunk.getFiller(x & 31, y, z & 31);
-        if (filler == 0) {
-            return new int[]{x, y, z};
-        }
-        int dx = FillerBlockUtil.unpackX(filler);
-        int dy = FillerBlockUtil.unpackY(filler);
-        int dz = FillerBlockUtil.unpackZ(filler);
-        return new int[]{x - dx, y - dy, z - dz};
-    }
+        HytaleIndustriesPlugin.LOGGER.atFiner().log("Basic pipe removed at: %s, %s, %s", x, y, z);
 
-    private static String normalizeBlockId(String blockId) {
-        if (blockId == null) {
-            return null;
-        }
-        String base = blockId;
-        if (base.startsWith("*")) {
-            base = base.substring(1);
-        }
-        int stateIdx = base.indexOf("_State_");
-        if (stateIdx > 0) {
-            base = base.substring(0, stateIdx);
-        }
-        return base;
+        // Notify neighbors to update
+        HytaleIndustriesPlugin.INSTANCE.getPipeConnectionResolver()
+                .markNeighboursDirty(world, x, y, z, commandBufferChunkStore);
     }
 }
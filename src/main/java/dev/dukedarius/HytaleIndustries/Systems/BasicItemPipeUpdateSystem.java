@@ -7,25 +7,22 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.math.util.ChunkUtil;
-import org.joml.Vector3i;
-import com.hypixel.hytale.protocol.Direction;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
-import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
-import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
-import com.hypixel.hytale.server.core.util.FillerBlockUtil;
 import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent;
 import dev.dukedarius.HytaleIndustries.Components.ItemPipes.UpdatePipeComponent;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeConnectionResolver;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
 
-import javax.annotation.Nonnull;
-
+/**
+ * Hands pipes marked with {@link UpdatePipeComponent} to the {@link PipeConnectionResolver}, which recomputes
+ * their connections in one batch per tick.
+ */
 public class BasicItemPipeUpdateSystem extends EntityTickingSystem<ChunkStore> {
 
     private final ComponentType<ChunkStore, BasicItemPipeComponent> pipeComponentType;
-    private static final String ITEM_PIPE_BLOCK_ID = "HytaleIndustries_BasicItemPipe";
     private final ComponentType<ChunkStore, UpdatePipeComponent> updateComponentType;
     private final Query<ChunkStore> query;
 
@@ -49,33 +46,29 @@ public class BasicItemPipeUpdateSystem extends EntityTickingSystem<ChunkStore> {
     public void tick(float dt, int index, ArchetypeChunk<ChunkStore> archetypeChunk,
                      Store<ChunkStore> store, CommandBuffer<ChunkStore> commandBuffer) {
 
-        HytaleIndustriesPlugin.LOGGER.atFine().log("[BasicItemPipeUpdateSystem] tick dt=" + dt + " pos=(" + index + ")");
-
         var pipe = archetypeChunk.getComponent(index, pipeComponentType);
         var ref = archetypeChunk.getReferenceTo(index);
 
         if (pipe == null || ref == null) {
-            HytaleIndustriesPlugin.LOGGER.atInfo().log("Pipe or ref is null");
+            Tracer.trace(Tracer.Channel.PIPE_UPDATE, "missing-pipe");
             return;
         }
 
-        HytaleIndustriesPlugin.LOGGER.atInfo().log("[BasicItemPipeUpdateSystem] Pipe: %s", pipe);
-
         var blockStateInfo = store.getComponent(ref, BlockStateInfo.getComponentType());
         if (blockStateInfo == null) {
-            HytaleIndustriesPlugin.LOGGER.atInfo().log("[BasicItemPipeUpdateSystem] Block state info is null");
+            Tracer.trace(Tracer.Channel.PIPE_UPDATE, "missing-blockstateinfo");
             return;
         }
 
         var chunkRef = blockStateInfo.getChunkRef();
         if (chunkRef == null || !chunkRef.isValid()) {
-            HytaleIndustriesPlugin.LOGGER.atInfo().log("[BasicItemPipeUpdateSystem] Chunk ref is null or invalid");
+            Tracer.trace(Tracer.Channel.PIPE_UPDATE, "invalid-chunkref");
             return;
         }
 
         var blockChunk = store.getComponent(chunkRef, BlockChunk.getComponentType());
         if (blockChunk == null) {
-            HytaleIndustriesPlugin.LOGGER.atInfo().log("[BasicItemPipeUpdateSystem] Block chunk is null");
+            Tracer.trace(Tracer.Channel.PIPE_UPDATE, "missing-blockchunk");
             return;
         }
 
@@ -85,206 +78,12 @@ public class BasicItemPipeUpdateSystem extends EntityTickingSystem<ChunkStore> {
         int y = ChunkUtil.yFromBlockInColumn(blockStateInfo.getIndex());
         int z = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
                 ChunkUtil.zFromBlockInColumn(blockStateInfo.getIndex()));
-        HytaleIndustriesPlugin.LOGGER.atFine().log("[BasicItemPipeUpdateSystem] Updating pipe at: %s, %s, %s", x, y, z);
-
-        // Recalculate connections using ItemPipeBlockState direction order:
-        // 0=North(0,0,-1), 1=South(0,0,1), 2=West(-1,0,0), 3=East(1,0,0), 4=Up(0,1,0), 5=Down(0,-1,0)
-        Vector3i[] directions = {
-            new Vector3i(0, 0, -1),  // North
-            new Vector3i(0, 0, 1),   // South
-            new Vector3i(-1, 0, 0),  // West
-            new Vector3i(1, 0, 0),   // East
-            new Vector3i(0, 1, 0),   // Up
-            new Vector3i(0, -1, 0)   // Down
-        };
-        
-        int occupiedMask = 0;
-        boolean[] hasInventory = new boolean[6];
-        for (int i = 0; i < directions.length; i++) {
-            Vector3i dir = directions[i];
-            var currentX = x + dir.x;
-            var currentY = y + dir.y;
-            var currentZ = z + dir.z;
-
-            var chunkIndex = ChunkUtil.indexChunkFromBlock(currentX, currentZ);
-            var chunkForBlock = world.getChunk(chunkIndex);
-
-            if (chunkForBlock != null) {
-                var holder = chunkForBlock.getBlockComponentHolder(currentX, currentY, currentZ);
-                var entity = chunkForBlock.getBlockComponentEntity(currentX, currentY, currentZ);
-
-                if (holder != null && entity != null) {
-                    BlockType neighborType = chunkForBlock.getBlockType(currentX & 31, currentY, currentZ & 31);
-                    String neighborId = neighborType != null ? neighborType.getId() : null;
-                    String baseId = normalizeBlockId(neighborId);
-                    if (ITEM_PIPE_BLOCK_ID.equals(baseId)) {
-                        var neighborPipe = store.getComponent(entity, pipeComponentType);
-                        if (neighborPipe != null) {
-                            // A pipe neighbor exists - this direction should connect
-                            occupiedMask |= 1 << i;
-                        }
-                    }
-                }
-                
-                // Check for inventory - blocks with Bench config or state ID "container"
-                if (hasInventoryAt(world, store, currentX, currentY, currentZ)) {
-                    hasInventory[i] = true;
-                }
-            }
-        }
-
-        // Reconcile sideConfig based on connections (like ItemPipeBlockState.reconcileNeighborFaces lines 258-269)
-        // ONLY auto-adjusts Default state - respects Extract and manual None configuration
-        for (int i = 0; i < directions.length; i++) {
-            Vector3i dir = directions[i];
-            boolean hasPipe = (occupiedMask & (1 << i)) != 0;
-            boolean hasInv = hasInventory[i];
-            BasicItemPipeComponent.ConnectionState currentState = pipe.getConnectionState(dir);
-            boolean isManual = pipe.isManuallyConfigured(dir);
-            
-            // Rule 1: If Default and no neighbor (pipe or inventory), auto-set to None
-            if (currentState == BasicItemPipeComponent.ConnectionState.Default && !(hasPipe || hasInv)) {
-                pipe.setConnectionState(dir, BasicItemPipeComponent.ConnectionState.None, false);
-            } 
-            // Rule 2: If None and pipe neighbor exists, auto-restore to Default (but NOT if manually configured)
-            else if (currentState == BasicItemPipeComponent.ConnectionState.None && hasPipe && !isManual) {
-                pipe.setConnectionState(dir, BasicItemPipeComponent.ConnectionState.Default, false);
-            }
-            // Rule 3: If None and inventory neighbor exists, auto-restore to Default (but NOT if manually configured)
-            else if (currentState == BasicItemPipeComponent.ConnectionState.None && hasInv && !isManual) {
-                pipe.setConnectionState(dir, BasicItemPipeComponent.ConnectionState.Default, false);
-            }
-            // Extract and manual None states are NEVER touched by reconciliation
-        }
-
-        // Recompute occupied mask after reconciliation using updated sideConfig
-        occupiedMask = 0;
-        for (int i = 0; i < directions.length; i++) {
-            Vector3i dir = directions[i];
-            boolean hasPipe = false;
-            boolean hasInv = hasInventory[i];
-            // recompute hasPipe using world data
-            var currentX = x + dir.x;
-            var currentY = y + dir.y;
-            var currentZ = z + dir.z;
-            var chunkIndex = ChunkUtil.indexChunkFromBlock(currentX, currentZ);
-            var chunkForBlock = world.getChunk(chunkIndex);
-            if (chunkForBlock != null) {
-                var entity = chunkForBlock.getBlockComponentEntity(currentX, currentY, currentZ);
-                if (entity != null) {
-                    BlockType neighborType = chunkForBlock.getBlockType(currentX & 31, currentY, currentZ & 31);
-                    String neighborId = neighborType != null ? neighborType.getId() : null;
-                    String baseId = normalizeBlockId(neighborId);
-                    if (ITEM_PIPE_BLOCK_ID.equals(baseId)) {
-                        var neighborPipe = store.getComponent(entity, pipeComponentType);
-                        if (neighborPipe != null) hasPipe = true;
-                    }
-                }
-            }
-            if ((hasPipe || hasInv) && pipe.isSideConnected(dir)) {
-                occupiedMask |= 1 << i;
-            }
-        }
-        HytaleIndustriesPlugin.LOGGER.atFine().log("[BasicItemPipeUpdateSystem] Occupied mask (recomputed): %s", occupiedMask);
-        pipe.setDirectionalState(occupiedMask);
-        BlockType blockType = BlockType.getAssetMap().getAsset(
-                blockChunk.getBlock(
-                        ChunkUtil.xFromBlockInColumn(blockStateInfo.getIndex()),
-                        y,
-                        ChunkUtil.zFromBlockInColumn(blockStateInfo.getIndex())
-                )
-        );
-        HytaleIndustriesPlugin.LOGGER.atFine().log("[BasicItemPipeUpdateSystem] Block type: %s", blockType.getId());
-
-        if (blockType == null) {
-            HytaleIndustriesPlugin.LOGGER.atInfo().log("[BasicItemPipeUpdateSystem] Block type is null during update");
-            return;
-        }
-
-        commandBuffer.run(_store -> {
-            var updateComp = _store.getComponent(ref, updateComponentType);
-            if (updateComp != null) {
-                updateComp.setHasUpdated(true);
-            }
-
-            WorldChunk wc = _store.getComponent(chunkRef, WorldChunk.getComponentType());
-            if (wc == null) {
-                return;
-            }
+        Tracer.trace(Tracer.Channel.PIPE_UPDATE, "update", x, y, z);
 
-            // Generate state name from sideConfig (like ItemPipeBlockState line 292-293)
-            String stateName = String.format("State%03d", pipe.getSideConfig());
+        // Resolved together with every other pipe marked this tick
+        HytaleIndustriesPlugin.INSTANCE.getPipeConnectionResolver().markDirty(world, x, y, z, commandBuffer);
 
-            HytaleIndustriesPlugin.LOGGER.atFine().log(
-                    "[BasicItemPipeUpdateSystem] Updating block state at (%s, %s, %s) to: %s",
-                    x, y, z, stateName
-            );
-
-            wc.setBlockInteractionState(x, y, z, blockType, stateName, true);
-
-            // Update the component's pipe state in the entity store
-            var entity = wc.getBlockComponentEntity(x, y, z);
-            if (entity != null) {
-                var entityStore = entity.getStore();
-                var updatedPipe = entityStore.getComponent(entity, pipeComponentType);
-                if (updatedPipe != null) {
-                    updatedPipe.updateFrom(pipe);
-                }
-            }
-
-            // Remove the update marker
-            _store.removeComponent(ref, updateComponentType);
-        });
-    }
-
-    private static boolean hasInventoryAt(@Nonnull World world, Store<ChunkStore> store, int x, int y, int z) {
-        if (y < 0 || y >= 320) {
-            return false;
-        }
-
-        // Resolve filler blocks to their origin
-        int[] origin = resolveFillerOrigin(world, x, y, z);
-        int ox = origin[0], oy = origin[1], oz = origin[2];
-
-        return !dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters.find(world, store, ox, oy, oz).isEmpty();
-    }
-
-    @Nonnull
-    private static int[] resolveFillerOrigin(@Nonnull World world, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
-        }
-        if (chunk == null) {
-            return new int[]{x, y, z};
-        }
-        int filler = chunk.getFiller(x & 31, y, z & 31);
-        if (filler == 0) {
-            return new int[]{x, y, z};
-        }
-        int dx = FillerBlockUtil.unpackX(filler);
-        int dy = FillerBlockUtil.unpackY(filler);
-        int dz = FillerBlockUtil.unpackZ(filler);
-        return new int[]{x - dx, y - dy, z - dz};
-    }
-
-    /**
-     * Normalize a runtime block id (which may include leading '*' and state suffix) into
-     * the base asset id, e.g. "*HytaleIndustries_BasicItemPipe_State_Definitions_State000"
-     * → "HytaleIndustries_BasicItemPipe".
-     */
-    private static String normalizeBlockId(String blockId) {
-        if (blockId == null) {
-            return null;
-        }
-        String base = blockId;
-        if (base.startsWith("*")) {
-            base = base.substring(1);
-        }
-        int stateIdx = base.indexOf("_State_");
-        if (stateIdx > 0) {
-            base = base.substring(0, stateIdx);
-        }
-        return base;
+        // Remove the update marker
+        commandBuffer.run(_store -> _store.removeComponent(ref, updateComponentType));
     }
 }
@@ -17,10 +17,11 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
-import com.hypixel.hytale.server.core.util.FillerBlockUtil;
 import dev.dukedarius.HytaleIndustries.Components.PowerCables.BasicPowerCableComponent;
 import dev.dukedarius.HytaleIndustries.Components.PowerCables.UpdatePowerCableComponent;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
 
 import javax.annotation.Nonnull;
 
@@ -54,10 +55,6 @@ public class BasicPowerCableSystem extends RefSystem<ChunkStore> {
     public void onEntityAdded(Ref<ChunkStore> refChunkStore, AddReason addReason,
                               Store<ChunkStore> storeChunkStore,
                               CommandBuffer<ChunkStore> commandBufferChunkStore) {
-        if (addReason != AddReason.SPAWN) {
-            return;
-        }
-
         var blockStateInfo = storeChunkStore.getComponent(refChunkStore, BlockStateInfo.getComponentType());
         if (blockStateInfo == null) {
             return;
@@ -80,6 +77,14 @@ public class BasicPowerCableSystem extends RefSystem<ChunkStore> {
                 ChunkUtil.zFromBlockInColumn(blockStateInfo.getIndex()));
 
         var world = storeChunkStore.getExternalData().getWorld();
+
+        // Any cable appearing (placed or chunk loaded) may join or merge networks
+        HytaleIndustriesPlugin.INSTANCE.getCableNetworkManager().invalidate(world, x, y, z);
+
+        if (addReason != AddReason.SPAWN) {
+            return;
+        }
+
         var cableComponent = storeChunkStore.getComponent(refChunkStore, cableComponentType);
 
         if (cableComponent == null) {
@@ -116,8 +121,7 @@ public class BasicPowerCableSystem extends RefSystem<ChunkStore> {
                 default -> "Unknown";
             };
 
-            var chunkIndex = ChunkUtil.indexChunkFromBlock(currentX, currentZ);
-            var chunkForBlock = world.getChunk(chunkIndex);
+            var chunkForBlock = BlockAccess.chunkOrLoad(world, currentX, currentZ);
 
                 if (chunkForBlock != null) {
                     var holder = chunkForBlock.getBlockComponentHolder(currentX, currentY, currentZ);
@@ -220,8 +224,7 @@ public class BasicPowerCableSystem extends RefSystem<ChunkStore> {
                         int ny = finalY + dir.y();
                         int nz = finalZ + dir.z();
 
-                        long nChunkIndex = ChunkUtil.indexChunkFromBlock(nx, nz);
-                        WorldChunk nChunk = wc.getWorld().getChunk(nChunkIndex);
+                        WorldChunk nChunk = BlockAccess.chunkOrLoad(wc.getWorld(), nx, nz);
 
                         if (nChunk != null) {
                             var nEntity = nChunk.getBlockComponentEntity(nx, ny, nz);
@@ -243,15 +246,6 @@ public class BasicPowerCableSystem extends RefSystem<ChunkStore> {
     public void onEntityRemove(Ref<ChunkStore> refChunkStore, RemoveReason removeReason,
                                Store<ChunkStore> storeChunkStore,
                                CommandBuffer<ChunkStore> commandBufferChunkStore) {
-        if (removeReason != RemoveReason.REMOVE) {
-            return;
-        }
-
-        if (storeChunkStore.getComponent(refChunkStore, updateComponentType) != null ||
-                commandBufferChunkStore.getComponent(refChunkStore, updateComponentType) != null) {
-            return;
-        }
-
         var blockStateInfo = storeChunkStore.getComponent(refChunkStore, BlockStateInfo.getComponentType());
         if (blockStateInfo == null) {
             return;
@@ -275,14 +269,25 @@ public class BasicPowerCableSystem extends RefSystem<ChunkStore> {
 
         var world = commandBufferChunkStore.getExternalData().getWorld();
 
+        // Any cable disappearing (broken or chunk unloaded) may split its network
+        HytaleIndustriesPlugin.INSTANCE.getCableNetworkManager().invalidate(world, x, y, z);
+
+        if (removeReason != RemoveReason.REMOVE) {
+            return;
+        }
+
+        if (storeChunkStore.getComponent(refChunkStore, updateComponentType) != null ||
+                commandBufferChunkStore.getComponent(refChunkStore, updateComponentType) != null) {
+            return;
+        }
+
         // Notify neighbors to update
         for (var dir : Vector3iUtil.BLOCK_SIDES) {
             var currentX = x + dir.x();
             var currentY = y + dir.y();
             var currentZ = z + dir.z();
 
-            var chunkIndex = ChunkUtil.indexChunkFromBlock(currentX, currentZ);
-            var neighborChunk = world.getChunk(chunkIndex);
+            var neighborChunk = BlockAccess.chunkOrLoad(world, currentX, currentZ);
 
             if (neighborChunk != null) {
                 var holder = neighborChunk.getBlockComponentHolder(currentX, currentY, currentZ);
@@ -304,13 +309,10 @@ public class BasicPowerCableSystem extends RefSystem<ChunkStore> {
         }
 
         // Resolve filler blocks to their origin
-        int[] origin = resolveFillerOrigin(world, x, y, z);
-        int ox = origin[0], oy = origin[1], oz = origin[2];
+        long origin = BlockAccess.resolveOrigin(world, x, y, z);
+        int ox = BlockPos.unpackX(origin), oy = BlockPos.unpackY(origin), oz = BlockPos.unpackZ(origin);
         
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(ox, oz));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(ox, oz));
-        }
+        WorldChunk chunk = BlockAccess.chunk(world, ox, oz);
         if (chunk == null) {
             return false;
         }
@@ -336,24 +338,6 @@ public class BasicPowerCableSystem extends RefSystem<ChunkStore> {
         return hasStore || hasConsume || hasProduce || hasCableEndpoint;
     }
 
-    @Nonnull
-    private static int[] resolveFillerOrigin(@Nonnull World world, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
-        }
-        if (chunk == null) {
-            return new int[]{x, y, z};
-        }
-        int filler = chunk.getFiller(x & 31, y, z & 31);
-        if (filler == 0) {
-            return new int[]{x, y, z};
-        }
-        int dx = FillerBlockUtil.unpackX(filler);
-        int dy = FillerBlockUtil.unpackY(filler);
-        int dz = FillerBlockUtil.unpackZ(filler);
-        return new int[]{x - dx, y - dy, z - dz};
-    }
 
     private static String normalizeBlockId(String blockId) {
         if (blockId == null) {
@@ -8,39 +8,30 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.math.util.ChunkUtil;
-import org.joml.Vector3i;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
-import com.hypixel.hytale.server.core.util.FillerBlockUtil;
 import dev.dukedarius.HytaleIndustries.Components.Energy.CableEndpoint;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.Components.PowerCables.BasicPowerCableComponent;
+import dev.dukedarius.HytaleIndustries.Energy.CableNetworkManager;
+import dev.dukedarius.HytaleIndustries.Energy.EnergyTelemetry;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 
-import javax.annotation.Nonnull;
 import java.util.*;
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 
 /**
  * Transfers HE from adjacent sources on Extract faces through the cable graph to reachable sinks.
- * Cables themselves do not store HE.
+ * Cables themselves do not store HE. Topology comes from {@link CableNetworkManager}; each network
+ * is distributed once per tick by its driver cable.
+ * Each cable entered on the way loses its CableEndpoint lossPerMeter; sinks are served from the sources with
+ * the least lossy path first, using the paths the network computed when it was built.
  */
 public class BasicPowerCableTransferSystem extends EntityTickingSystem<ChunkStore> {
 
-    private static final int WORLD_MIN_Y = 0;
-    private static final int WORLD_MAX_Y_EXCLUSIVE = 320;
-
-    private static final Vector3i[] DIRS = {
-            new Vector3i(0, 0, -1),
-            new Vector3i(0, 0, 1),
-            new Vector3i(-1, 0, 0),
-            new Vector3i(1, 0, 0),
-            new Vector3i(0, 1, 0),
-            new Vector3i(0, -1, 0)
-    };
-
     private final ComponentType<ChunkStore, BasicPowerCableComponent> cableType;
     private final ComponentType<ChunkStore, CableEndpoint> endpointType;
     private final ComponentType<ChunkStore, StoresHE> storesType;
@@ -67,6 +58,32 @@ public class BasicPowerCableTransferSystem extends EntityTickingSystem<ChunkStor
         Ref<ChunkStore> ref = chunk.getReferenceTo(index);
         if (cable == null || endpoint == null || ref == null) return;
 
+        // One distribution pass per network: only the network's driver cable does the work. Cables remember
+        // their network, so the others return here without a lookup until it is dropped
+        CableNetworkManager.CableNetwork cached = cable.getCachedNetwork();
+        if (cached != null && !cable.isDriver()) return;
+
+        World world = store.getExternalData().getWorld();
+        long key;
+        if (cached != null) {
+            key = cable.getCachedKey();
+        } else {
+            Pos pos = worldPos(store, ref);
+            if (pos == null) return;
+            key = BlockPos.pack(pos.x, pos.y, pos.z);
+        }
+
+        // The driver still asks the manager each pass, which rescans terminals reported stale
+        CableNetworkManager.CableNetwork network = HytaleIndustriesPlugin.INSTANCE.getCableNetworkManager()
+                .getNetwork(world, store, BlockPos.unpackX(key), BlockPos.unpackY(key), BlockPos.unpackZ(key));
+        if (network == null) {
+            cable.cacheNetwork(null, key, false);
+            return;
+        }
+        boolean driver = network.getDriverKey() == key;
+        cable.cacheNetwork(network, key, driver);
+        if (!driver) return;
+
         // rate limit
         float acc = cable.getSecondsAccumulator() + dt;
         // run every tick (~1 / TPS). Use small accumulator to handle lag gracefully.
@@ -75,148 +92,120 @@ public class BasicPowerCableTransferSystem extends EntityTickingSystem<ChunkStor
             return;
         }
         cable.setSecondsAccumulator(0f);
-        double budget = endpoint.capacityPerTick;
-        if (budget <= 0) return;
 
-        World world = store.getExternalData().getWorld();
-        Pos pos = worldPos(store, ref);
-        if (pos == null) return;
-
-        // gather sources (adjacent StoresHE on Extract faces)
+        // gather sources (StoresHE on Extract faces); each extracting cable moves at most its capacityPerTick
         List<Source> sources = new ArrayList<>();
-        for (Vector3i dir : DIRS) {
-            if (cable.getConnectionState(dir) != BasicPowerCableComponent.ConnectionState.Extract) continue;
-            Pos n = offset(pos, dir);
-            StoresHE sh = getStores(world, store, n);
-            if (sh != null && sh.current > 0) {
-                float loss = getLoss(world, store, n);
-                sources.add(new Source(n.ref, sh, loss));
+        long totalSend = 0;
+        long capacity = 0;
+        for (CableNetworkManager.CableNode node : network.getSourceNodes()) {
+            if (node.getCapacityPerTick() <= 0) continue;
+            capacity += node.getCapacityPerTick();
+            long[] budget = {node.getCapacityPerTick()};
+            long nodeAvailable = 0;
+            for (CableNetworkManager.Terminal t : node.getSources()) {
+                StoresHE sh = getStores(network, t);
+                if (sh != null && sh.current > 0) {
+                    sources.add(new Source(t.getRef(), node.getKey(), sh, budget));
+                    nodeAvailable += sh.current;
+                }
             }
+            totalSend += Math.min(budget[0], nodeAvailable);
         }
-        if (sources.isEmpty()) return;
-
-        // gather sinks reachable via cables (Default faces only)
-        List<Sink> sinks = gatherSinks(world, store, pos, cable);
-        if (sinks.isEmpty()) return;
-
-        // de-duplicate sinks by ref to prevent multiple faces weighting one sink
-        Map<Ref<ChunkStore>, Sink> dedup = new LinkedHashMap<>();
-        for (Sink s : sinks) dedup.putIfAbsent(s.ref, s);
-        List<Sink> uniqueSinks = new ArrayList<>(dedup.values());
 
+        // sinks are already de-duplicated per block by the network, so multiple faces never weight one sink
+        List<Sink> sinks = new ArrayList<>();
         long totalFree = 0;
-        for (Sink s : uniqueSinks) totalFree += s.free();
-        if (totalFree <= 0) return;
-
-        long totalAvailable = 0;
-        for (Source s : sources) totalAvailable += s.available();
-        if (totalAvailable <= 0) return;
+        for (CableNetworkManager.Terminal t : network.getSinks()) {
+            StoresHE sh = getStores(network, t);
+            if (sh == null || sh.current >= sh.max) continue;
+            Sink sink = new Sink(t, sh);
+            sinks.add(sink);
+            totalFree += sink.free();
+        }
 
-        long totalSend = (long) Math.min(budget, totalAvailable);
-        if (totalSend <= 0) return;
+        long sent = 0;
+        long lost = 0;
+        if (!sources.isEmpty() && totalSend > 0 && !sinks.isEmpty() && totalFree > 0) {
+            sent = distribute(network, sources, sinks, totalSend, totalFree);
+            long drawn = 0;
+            for (Source src : sources) drawn += src.drawn;
+            lost = drawn - sent;
+        }
+        network.setLastTransferred(sent);
+        network.setLastLost(lost);
+        // StoresHE values were changed in place; EnergyLedgerCommitSystem writes them back once per tick
 
+        // What the sinks would still have taken within the cables' capacity: supply, not cabling, was short
+        long unmet = Math.max(0L, Math.min(totalFree, capacity) - sent);
+        recordTelemetry(network, totalSend, sent, lost, unmet);
+    }
 
+    /**
+     * Splits {@code totalSend} across the sinks by free capacity and returns what was delivered.
+     */
+    private long distribute(CableNetworkManager.CableNetwork network, List<Source> sources, List<Sink> sinks,
+                            long totalSend, long totalFree) {
         // Compute desired shares by free capacity
-        long[] desired = new long[uniqueSinks.size()];
+        long[] desired = new long[sinks.size()];
         long totalDesired = 0;
-        for (int i = 0; i < uniqueSinks.size(); i++) {
-            long free = uniqueSinks.get(i).free();
+        for (int i = 0; i < sinks.size(); i++) {
+            long free = sinks.get(i).free();
             long share = Math.min(free, Math.round((double) totalSend * free / totalFree));
             desired[i] = share;
             totalDesired += share;
         }
-        if (totalDesired <= 0) return;
+        if (totalDesired <= 0) return 0L;
 
         double scale = totalSend < totalDesired ? (double) totalSend / totalDesired : 1.0;
 
+        // Scratch for ordering the sources per sink
+        int[] order = new int[sources.size()];
+        double[] efficiency = new double[sources.size()];
+
         long sentSoFar = 0;
-        for (int i = 0; i < uniqueSinks.size(); i++) {
-            Sink sink = uniqueSinks.get(i);
+        for (int i = 0; i < sinks.size(); i++) {
+            Sink sink = sinks.get(i);
             if (sink.free() <= 0) continue;
             long targetBase = (long) Math.floor(desired[i] * scale);
-            if (i == uniqueSinks.size() - 1) {
+            if (i == sinks.size() - 1) {
                 targetBase = Math.max(targetBase, totalSend - sentSoFar); // give remainder to last sink
             }
             long target = Math.min(targetBase, sink.free()); // never exceed sink capacity
             if (target <= 0) continue;
 
-            long delivered = pullFromSources(sources, target);
+            long delivered = pullFromSources(network, sources, sink, target, order, efficiency);
             if (delivered > 0) {
                 sink.store.current = Math.min(sink.store.max, sink.store.current + delivered);
-                sink.modified = true;
                 sentSoFar += delivered;
             }
             if (sentSoFar >= totalSend) break;
         }
-
-        // persist modified stores
-        for (Source s : sources) {
-            if (s.modified) buffer.replaceComponent(s.ref, storesType, s.store);
-        }
-        for (Sink s : uniqueSinks) {
-            if (s.modified) buffer.replaceComponent(s.ref, storesType, s.store);
-        }
-
+        return sentSoFar;
     }
 
-    private List<Sink> gatherSinks(World world, Store<ChunkStore> store, Pos start, BasicPowerCableComponent startCable) {
-        List<Sink> out = new ArrayList<>();
-        Queue<Pos> q = new ArrayDeque<>();
-        LongOpenHashSet visited = new LongOpenHashSet();
-        q.add(start);
-        visited.add(pack(start.x, start.y, start.z));
-
-        while (!q.isEmpty()) {
-            Pos cur = q.poll();
-            BasicPowerCableComponent cable = getCable(world, store, cur);
-
-            for (Vector3i dir : DIRS) {
-                int nx = cur.x + dir.x;
-                int ny = cur.y + dir.y;
-                int nz = cur.z + dir.z;
-                if (ny < WORLD_MIN_Y || ny >= WORLD_MAX_Y_EXCLUSIVE) continue;
-                Pos npos = resolve(world, nx, ny, nz);
-                if (npos == null) continue;
-
-                BasicPowerCableComponent nCable = getCable(world, store, npos);
-                if (nCable != null) {
-                    // traverse cable if both ends allow connection
-                    Vector3i opposite = new Vector3i(-dir.x, -dir.y, -dir.z);
-                    if (cable != null && cable.isSideConnected(dir) && nCable.isSideConnected(opposite)) {
-                        long key = pack(npos.x, npos.y, npos.z);
-                        if (visited.add(key)) q.add(npos);
-                    }
-                    continue;
-                }
-
-                // sink: only if our side is Default
-                if (cable != null && cable.getConnectionState(dir) != BasicPowerCableComponent.ConnectionState.Default) continue;
-                StoresHE sh = getStores(world, store, npos);
-                if (sh == null || sh.current >= sh.max) continue;
-                out.add(new Sink(npos.ref, sh));
+    private void recordTelemetry(CableNetworkManager.CableNetwork network, long produced, long transferred,
+                                 long lost, long unmet) {
+        EnergyTelemetry telemetry = network.getTelemetry();
+        long now = System.currentTimeMillis();
+        long stored = -1L;
+        if (telemetry.isStoredSampleDue(now)) {
+            stored = 0L;
+            for (CableNetworkManager.Terminal t : network.getTerminals()) {
+                StoresHE sh = getStores(network, t);
+                if (sh != null) stored += sh.current;
             }
         }
-        return out;
-    }
-
-    private StoresHE getStores(World world, Store<ChunkStore> store, Pos pos) {
-        if (pos == null || pos.ref == null) return null;
-        return pos.ref.getStore().getComponent(pos.ref, storesType);
+        telemetry.record(now, produced, transferred, lost, unmet, stored);
     }
 
-    private CableEndpoint getEndpoint(World world, Store<ChunkStore> store, Pos pos) {
-        if (pos == null || pos.ref == null) return null;
-        return pos.ref.getStore().getComponent(pos.ref, endpointType);
-    }
-
-    private BasicPowerCableComponent getCable(World world, Store<ChunkStore> store, Pos pos) {
-        if (pos == null || pos.ref == null) return null;
-        return pos.ref.getStore().getComponent(pos.ref, cableType);
-    }
-
-    private float getLoss(World world, Store<ChunkStore> store, Pos pos) {
-        CableEndpoint ep = getEndpoint(world, store, pos);
-        return ep != null ? ep.lossPerMeter : 0f;
+    private StoresHE getStores(CableNetworkManager.CableNetwork network, CableNetworkManager.Terminal terminal) {
+        Ref<ChunkStore> ref = terminal.getRef();
+        if (!ref.isValid()) {
+            // block went away without a remove notification; rescan that cable before the next pass
+            network.markStale(terminal);
+            return null;
+        }
+        return ref.getStore().getComponent(ref, storesType);
     }
 
     private Pos worldPos(Store<ChunkStore> store, Ref<ChunkStore> ref) {
@@ -232,38 +221,6 @@ public class BasicPowerCableTransferSystem extends EntityTickingSystem<ChunkStor
         return new Pos(x, y, z, wc.getBlockComponentEntity(x & 31, y, z & 31), store.getExternalData().getWorld());
     }
 
-    private Pos offset(Pos p, Vector3i dir) {
-        return resolve(p.world, p.x + dir.x, p.y + dir.y, p.z + dir.z);
-    }
-
-    private Pos resolve(World world, int x, int y, int z) {
-        int[] origin = resolveFillerOrigin(world, x, y, z);
-        WorldChunk chunk = world != null ? world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(origin[0], origin[2])) : null;
-        if (chunk == null && world != null) chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(origin[0], origin[2]));
-        if (chunk == null) return null;
-        Ref<ChunkStore> ref = chunk.getBlockComponentEntity(origin[0] & 31, origin[1], origin[2] & 31);
-        return new Pos(origin[0], origin[1], origin[2], ref, chunk.getWorld());
-    }
-
-    private static int[] resolveFillerOrigin(@Nonnull World world, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) return new int[]{x, y, z};
-        int filler = chunk.getFiller(x & 31, y, z & 31);
-        if (filler == 0) return new int[]{x, y, z};
-        int dx = FillerBlockUtil.unpackX(filler);
-        int dy = FillerBlockUtil.unpackY(filler);
-        int dz = FillerBlockUtil.unpackZ(filler);
-        return new int[]{x - dx, y - dy, z - dz};
-    }
-
-    private static long pack(int x, int y, int z) {
-        long lx = (long) x & 0x3FFFFFFL;
-        long lz = (long) z & 0x3FFFFFFL;
-        long ly = (long) y & 0xFFFL;
-        return (lx << 38) | (lz << 12) | ly;
-    }
-
     private static class Pos {
         final int x, y, z;
         final Ref<ChunkStore> ref;
@@ -277,32 +234,60 @@ public class BasicPowerCableTransferSystem extends EntityTickingSystem<ChunkStor
     private static class Source {
         final Ref<ChunkStore> ref;
         final StoresHE store;
-        final float loss;
-        boolean modified = false;
-        Source(Ref<ChunkStore> ref, StoresHE store, float loss) { this.ref = ref; this.store = store; this.loss = loss; }
-        long available() { return store.current; }
-        void draw(long amt) { store.current -= amt; modified = true; }
+        final long cableKey;
+        final long[] budget; // shared by all sources of the same extracting cable
+        long drawn;
+        Source(Ref<ChunkStore> ref, long cableKey, StoresHE store, long[] budget) {
+            this.ref = ref; this.cableKey = cableKey; this.store = store; this.budget = budget;
+        }
+        long available() { return Math.min(store.current, budget[0]); }
+        void draw(long amt) { store.current -= amt; budget[0] -= amt; drawn += amt; }
     }
 
     private static class Sink {
         final Ref<ChunkStore> ref;
+        final long cableKey;
+        final CableNetworkManager.Terminal terminal;
         final StoresHE store;
-        boolean modified = false;
-        Sink(Ref<ChunkStore> ref, StoresHE store) { this.ref = ref; this.store = store; }
+        Sink(CableNetworkManager.Terminal terminal, StoresHE store) {
+            this.ref = terminal.getRef(); this.cableKey = terminal.getCableKey(); this.terminal = terminal; this.store = store;
+        }
         long free() { return store.max - store.current; }
     }
 
-    private static long pullFromSources(List<Source> sources, long requested) {
+    /**
+     * Draws from the sources with the least lossy path to the sink first until {@code requested} HE arrived there,
+     * and returns what arrived. Each source is drawn for what it sends, before the path's loss; the fraction of an
+     * HE that arrives on top of the whole units is kept on the sink's terminal and credited on a later draw, and a
+     * source whose send wouldn't add up to a whole HE there is not drawn at all.
+     */
+    private static long pullFromSources(CableNetworkManager.CableNetwork network, List<Source> sources, Sink sink,
+                                        long requested, int[] order, double[] efficiency) {
+        int n = sources.size();
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            efficiency[i] = network.getEfficiency(sources.get(i).cableKey, sink.cableKey);
+        }
+        IntArrays.quickSort(order, 0, n, (a, b) -> Double.compare(efficiency[b], efficiency[a]));
+
         long remaining = requested;
-        for (Source src : sources) {
-            if (remaining <= 0) break;
+        double pending = sink.terminal.getPendingArrival();
+        for (int k = 0; k < n && remaining > 0; k++) {
+            double eff = efficiency[order[k]];
+            if (eff <= 0.0) break; // sorted, so no later source reaches the sink either
+            Source src = sources.get(order[k]);
             long avail = src.available();
             if (avail <= 0) continue;
-            long send = Math.min(avail, remaining);
-            // No loss; deliver exactly what is drawn
+            long send = Math.min(avail, (long) Math.ceil((remaining - pending) / eff));
+            double reached = send * eff + pending;
+            long arrived = Math.min(remaining, (long) Math.floor(reached));
+            if (arrived <= 0) continue; // less than one HE would arrive; leave the source as it is
             src.draw(send);
-            remaining -= send;
+            // send was rounded up for at most remaining, so less than one HE is left over
+            pending = reached - arrived;
+            remaining -= arrived;
         }
+        sink.terminal.setPendingArrival(pending);
         return requested - remaining;
     }
 }
@@ -14,10 +14,12 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
-import com.hypixel.hytale.server.core.util.FillerBlockUtil;
 import dev.dukedarius.HytaleIndustries.Components.PowerCables.BasicPowerCableComponent;
 import dev.dukedarius.HytaleIndustries.Components.PowerCables.UpdatePowerCableComponent;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
 
 import javax.annotation.Nonnull;
 
@@ -54,7 +56,7 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
             return;
         }
         
-        dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log("[BasicPowerCable Update] Starting update for cable");
+        Tracer.trace(Tracer.Channel.CABLES, "update");
 
         var blockStateInfo = store.getComponent(ref, BlockStateInfo.getComponentType());
         if (blockStateInfo == null) {
@@ -97,8 +99,7 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
             var currentY = y + dir.y;
             var currentZ = z + dir.z;
 
-            var chunkIndex = ChunkUtil.indexChunkFromBlock(currentX, currentZ);
-            var chunkForBlock = world.getChunk(chunkIndex);
+            var chunkForBlock = BlockAccess.chunkOrLoad(world, currentX, currentZ);
 
             if (chunkForBlock != null) {
                 var holder = chunkForBlock.getBlockComponentHolder(currentX, currentY, currentZ);
@@ -119,10 +120,8 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
                         Vector3i oppositeDir = new Vector3i(-dir.x, -dir.y, -dir.z);
                         boolean neighborAllows = neighborCable.isSideConnected(oppositeDir);
                         boolean thisAllows = cable.isSideConnected(dir);
-                        dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log(
-                            "    Checking connection: dir=(%d,%d,%d), this side allows: %b, neighbor opposite allows: %b, neighbor sideConfig: %d",
-                            dir.x, dir.y, dir.z, thisAllows, neighborAllows, neighborCable.getSideConfig()
-                        );
+                        Tracer.trace(Tracer.Channel.CABLES, "check-connection", i,
+                                thisAllows ? 1 : 0, neighborAllows ? 1 : 0, neighborCable.getSideConfig());
                         if (thisAllows && neighborAllows) {
                             hasCable = true;
                         }
@@ -138,7 +137,7 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
         }
         
         // Reconcile sideConfig based on connections
-        dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log("[BasicPowerCable Update] Reconciling at (%d,%d,%d), sideConfig before: %d", x, y, z, cable.getSideConfig());
+        Tracer.trace(Tracer.Channel.CABLES, "reconcile", x, y, z, cable.getSideConfig());
         for (int i = 0; i < directions.length; i++) {
             Vector3i dir = directions[i];
             boolean neighborCableExists = hasCableNeighbor[i];
@@ -159,23 +158,22 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
             
             // Rule 1: If Default and no neighbor (cable or energy), auto-set to None
             if (currentState == BasicPowerCableComponent.ConnectionState.Default && !(neighborCableExists || hasEnergyBlock)) {
-                dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log("  [%s] Rule 1: Default → None", dirName);
+                Tracer.trace(Tracer.Channel.CABLES, "rule1-default-to-none", dirName);
                 cable.setConnectionState(dir, BasicPowerCableComponent.ConnectionState.None, false);
             }
             // Rule 2: If None and cable neighbor exists, auto-restore to Default (but NOT if manually configured)
             else if (currentState == BasicPowerCableComponent.ConnectionState.None && neighborCableExists && !isManual) {
-                dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log("  [%s] Rule 2: None → Default (neighborExists: %b, manual: %b)", dirName, neighborCableExists, isManual);
+                Tracer.trace(Tracer.Channel.CABLES, "rule2-none-to-default", dirName);
                 cable.setConnectionState(dir, BasicPowerCableComponent.ConnectionState.Default, false);
             }
             // Rule 3: If None and energy block exists, auto-restore to Default (unless manually blocked)
             else if (currentState == BasicPowerCableComponent.ConnectionState.None && hasEnergyBlock && !isManual) {
-                dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log("  [%s] Rule 3: None → Default (energy block present)", dirName);
+                Tracer.trace(Tracer.Channel.CABLES, "rule3-none-to-default", dirName);
                 cable.setConnectionState(dir, BasicPowerCableComponent.ConnectionState.Default, false);
             }
             // Extract and manual None states are NEVER touched by reconciliation
         }
-        dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log("[BasicPowerCable Update] After reconciliation, sideConfig: %d, pipeState: %d (binary: %s)",
-            cable.getSideConfig(), cable.getPipeState(), Integer.toBinaryString(cable.getPipeState()));
+        Tracer.trace(Tracer.Channel.CABLES, "reconciled", cable.getSideConfig(), cable.getPipeState());
 
         // Recompute connection mask now that sideConfig may have changed
         int occupiedMask = 0;
@@ -216,10 +214,7 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
             int lz = z & 31;
             
             String stateName = String.format("State%03d", cable.getSideConfig());
-            dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log(
-                "[BasicPowerCable Update] Setting state at (%d,%d,%d) to: %s (sideConfig: %d, pipeState: %d)",
-                x, y, z, stateName, cable.getSideConfig(), cable.getPipeState()
-            );
+            Tracer.trace(Tracer.Channel.CABLES, "set-state", stateName, x, y, z);
             wc.setBlockInteractionState(x, y, z, blockType, stateName, true);
 
             // Update the component's pipe state in the entity store
@@ -232,6 +227,10 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
                     entityStore.replaceComponent(entity, cableComponentType, updatedCable);
                 }
             }
+
+            // Rescan this cable's sources/sinks, or drop the network if its connections changed
+            dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.INSTANCE.getCableNetworkManager()
+                    .onCableUpdated(world, x, y, z, cable.getSideConfig());
         });
     }
 
@@ -241,14 +240,11 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
         }
 
         // Resolve filler blocks to their origin
-        int[] origin = resolveFillerOrigin(world, x, y, z);
-        int ox = origin[0], oy = origin[1], oz = origin[2];
+        long origin = BlockAccess.resolveOrigin(world, x, y, z);
+        int ox = BlockPos.unpackX(origin), oy = BlockPos.unpackY(origin), oz = BlockPos.unpackZ(origin);
 
         // Check if block has energy capability, but never treat our own conduits (pipes or cables)
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(ox, oz));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(ox, oz));
-        }
+        WorldChunk chunk = BlockAccess.chunk(world, ox, oz);
         if (chunk == null) {
             return false;
         }
@@ -271,31 +267,13 @@ public class BasicPowerCableUpdateSystem extends EntityTickingSystem<ChunkStore>
         boolean hasProduce = entityStore.getComponent(entity, HytaleIndustriesPlugin.INSTANCE.getProducesHeType()) != null;
         boolean hasCableEndpoint = entityStore.getComponent(entity, HytaleIndustriesPlugin.INSTANCE.getCableEndpointType()) != null;
         if (hasStore || hasConsume || hasProduce || hasCableEndpoint) {
-            dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin.LOGGER.atFine().log("[BasicPowerCable Update] Found energy block at (%d,%d,%d)", ox, oy, oz);
+            Tracer.trace(Tracer.Channel.CABLES, "energy-block", ox, oy, oz);
             return true;
         }
 
         return false;
     }
 
-    @Nonnull
-    private static int[] resolveFillerOrigin(@Nonnull World world, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
-        }
-        if (chunk == null) {
-            return new int[]{x, y, z};
-        }
-        int filler = chunk.getFiller(x & 31, y, z & 31);
-        if (filler == 0) {
-            return new int[]{x, y, z};
-        }
-        int dx = FillerBlockUtil.unpackX(filler);
-        int dy = FillerBlockUtil.unpackY(filler);
-        int dz = FillerBlockUtil.unpackZ(filler);
-        return new int[]{x - dx, y - dy, z - dz};
-    }
 
     /**
      * Normalize a runtime block id (which may include leading '*' and state suffix) into
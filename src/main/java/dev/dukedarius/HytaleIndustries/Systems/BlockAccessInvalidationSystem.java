@@ -0,0 +1,37 @@
+package dev.dukedarius.HytaleIndustries.Systems;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Drops the {@link BlockAccess} chunk memo whenever a chunk is removed, so it never hands out an unloaded chunk.
+ */
+public class BlockAccessInvalidationSystem extends RefSystem<ChunkStore> {
+
+    private final Query<ChunkStore> query = Query.and(WorldChunk.getComponentType());
+
+    @Override
+    public Query<ChunkStore> getQuery() { return query; }
+
+    @Override
+    public void onEntityAdded(@Nonnull Ref<ChunkStore> ref, @Nonnull AddReason addReason,
+                              @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        // no-op on add; misses are never memoised
+    }
+
+    @Override
+    public void onEntityRemove(@Nonnull Ref<ChunkStore> ref, @Nonnull RemoveReason removeReason,
+                               @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        BlockAccess.invalidate();
+    }
+}
@@ -6,7 +6,6 @@ import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.math.util.ChunkUtil;
 import org.joml.Vector3i;
 import com.hypixel.hytale.math.vector.Vector3iUtil;
 import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
@@ -15,6 +14,9 @@ import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 import org.checkerframework.checker.nullness.compatqual.NullableDecl;
 
@@ -34,6 +36,11 @@ public class BlockBreakSystem extends EntityEventSystem<EntityStore, BreakBlockE
         var world = store.getExternalData().getWorld();
         var pos = event.getTargetBlock();
 
+        // Inventories appearing/disappearing next to pipes change network endpoints
+        HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().invalidate(world, pos.x, pos.y, pos.z);
+        InventoryAdapters.invalidate(world, pos.x, pos.y, pos.z);
+        PipeSideConfigStore.clear(world, pos.x, pos.y, pos.z);
+
 
         var cableComponentType = HytaleIndustriesPlugin.INSTANCE.getBasicPowerCableComponentType();
         var updateComponentType = HytaleIndustriesPlugin.INSTANCE.getUpdatePowerCableComponentType();
@@ -49,10 +56,7 @@ public class BlockBreakSystem extends EntityEventSystem<EntityStore, BreakBlockE
 
             if (ny < 0 || ny >= 320) continue;
 
-            var nChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(nx, nz));
-            if (nChunk == null) {
-                nChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(nx, nz));
-            }
+            var nChunk = BlockAccess.chunk(world, nx, nz);
 
             if (nChunk != null) {
                 var nEntity = nChunk.getBlockComponentEntity(nx & 31, ny, nz & 31);
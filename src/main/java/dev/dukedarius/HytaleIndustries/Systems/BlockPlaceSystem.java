@@ -6,13 +6,15 @@ import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.math.util.ChunkUtil;
 import org.joml.Vector3i;
 import com.hypixel.hytale.math.vector.Vector3iUtil;
 import com.hypixel.hytale.server.core.event.events.ecs.PlaceBlockEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
 public class BlockPlaceSystem extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
@@ -31,6 +33,12 @@ public class BlockPlaceSystem extends EntityEventSystem<EntityStore, PlaceBlockE
         var world = store.getExternalData().getWorld();
         var pos = event.getTargetBlock();
 
+        // Inventories appearing/disappearing next to pipes change network endpoints
+        HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().invalidate(world, pos.x, pos.y, pos.z);
+        InventoryAdapters.invalidate(world, pos.x, pos.y, pos.z);
+        // Wakes pipes waiting for an inventory on one of their extract sides
+        InventoryChangeNotifier.notifyChanged(world, pos.x, pos.y, pos.z);
+
         var cableComponentType = HytaleIndustriesPlugin.INSTANCE.getBasicPowerCableComponentType();
         var updateCableType = HytaleIndustriesPlugin.INSTANCE.getUpdatePowerCableComponentType();
 
@@ -44,10 +52,7 @@ public class BlockPlaceSystem extends EntityEventSystem<EntityStore, PlaceBlockE
 
             if (ny < 0 || ny >= 320) continue;
 
-            var nChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(nx, nz));
-            if (nChunk == null) {
-                nChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(nx, nz));
-            }
+            var nChunk = BlockAccess.chunk(world, nx, nz);
 
             if (nChunk != null) {
                 var nEntity = nChunk.getBlockComponentEntity(nx & 31, ny, nz & 31);
@@ -15,6 +15,7 @@ import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import dev.dukedarius.HytaleIndustries.Components.ChunkLoading.ChunkLoaderComponent;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
 
 import javax.annotation.Nonnull;
 
@@ -54,18 +55,18 @@ public class ChunkLoaderSystem extends EntityTickingSystem<ChunkStore> {
 
         var info = store.getComponent(ref, BlockStateInfo.getComponentType());
         if (info == null) {
-            HytaleIndustriesPlugin.LOGGER.atFine().log("[ChunkLoader] missing BlockStateInfo");
+            Tracer.trace(Tracer.Channel.CHUNK_LOADER, "missing-blockstateinfo");
             return;
         }
         var chunkRef = info.getChunkRef();
         if (chunkRef == null || !chunkRef.isValid()) {
-            HytaleIndustriesPlugin.LOGGER.atFine().log("[ChunkLoader] invalid chunkRef");
+            Tracer.trace(Tracer.Channel.CHUNK_LOADER, "invalid-chunkref");
             return;
         }
         WorldChunk wc = store.getComponent(chunkRef, WorldChunk.getComponentType());
         BlockChunk blockChunk = store.getComponent(chunkRef, BlockChunk.getComponentType());
         if (wc == null || blockChunk == null) {
-            HytaleIndustriesPlugin.LOGGER.atFine().log("[ChunkLoader] missing worldchunk/blockchunk");
+            Tracer.trace(Tracer.Channel.CHUNK_LOADER, "missing-chunk");
             return;
         }
 
@@ -82,8 +83,7 @@ public class ChunkLoaderSystem extends EntityTickingSystem<ChunkStore> {
             if (world != null && HytaleIndustriesPlugin.INSTANCE != null && HytaleIndustriesPlugin.INSTANCE.getChunkLoaderManager() != null) {
                 HytaleIndustriesPlugin.INSTANCE.getChunkLoaderManager()
                         .registerLoader(world.getName(), x, y, z);
-                HytaleIndustriesPlugin.LOGGER.atInfo().log("[ChunkLoader] registered at %s (%d,%d,%d)",
-                        world.getName(), x, y, z);
+                Tracer.trace(Tracer.Channel.CHUNK_LOADER, "registered", world.getName(), x, y, z);
             }
             comp.lastRegisterNanos = now;
             buffer.replaceComponent(ref, loaderType, comp);
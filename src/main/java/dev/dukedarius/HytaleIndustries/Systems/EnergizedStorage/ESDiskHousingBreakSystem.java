@@ -65,7 +65,8 @@ public class ESDiskHousingBreakSystem extends RefSystem<ChunkStore> {
 
         Vector3i pos = new Vector3i(wx, wy, wz);
 
-        // Save disk contents to their ItemStack metadata before dropping
+        // Save disk contents to their ItemStack metadata before dropping; on unload this is also what brings the
+        // saved disks up to date, since the component's codec only reads them
         housing.saveAllDisksMetadata();
 
         // Drop all disks as item entities
@@ -13,6 +13,7 @@ import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESControllerC
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESDiskHousingComponent;
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESNetworkMemberComponent;
 import dev.dukedarius.HytaleIndustries.Utils.DiskHousingDisplayManager;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 import org.joml.Vector3i;
 
 import javax.annotation.Nonnull;
@@ -48,6 +49,8 @@ public class ESDiskHousingDisplaySystem extends EntityTickingSystem<ChunkStore>
 
         // Detect disk insertions/removals and sync metadata
         housing.syncDiskSlotTransitions();
+        // Write back disks changed by inserts/extracts (coalesced, at most once per FLUSH_INTERVAL_TICKS)
+        housing.tickPendingFlush();
 
         // Throttle network state checks — BFS is expensive, only do it periodically
         housing.networkCheckCounter++;
@@ -100,7 +103,7 @@ public class ESDiskHousingDisplaySystem extends EntityTickingSystem<ChunkStore>
         housing.lastDisplayMask = combinedState;
 
         int yawIndex = 0;
-        WorldChunk wc = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(wx, wz));
+        WorldChunk wc = BlockAccess.chunk(world, wx, wz);
         if (wc != null) {
             yawIndex = wc.getRotationIndex(wx & 31, wy, wz & 31) & 3;
         }
@@ -0,0 +1,62 @@
+package dev.dukedarius.HytaleIndustries.Systems.EnergizedStorage;
+
+import com.hypixel.hytale.component.*;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESNetworkMemberComponent;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+
+import javax.annotation.Nonnull;
+
+/**
+ * RefSystem that invalidates cached ES network topology whenever a network member
+ * (controller, grid, disk housing, ...) is placed, broken, loaded or unloaded.
+ */
+public class ESNetworkMemberSystem extends RefSystem<ChunkStore> {
+
+    private final Query<ChunkStore> query;
+
+    public ESNetworkMemberSystem(ComponentType<ChunkStore, ESNetworkMemberComponent> memberType) {
+        this.query = Query.and(memberType);
+    }
+
+    @Override
+    public Query<ChunkStore> getQuery() { return query; }
+
+    @Override
+    public void onEntityAdded(@Nonnull Ref<ChunkStore> ref, @Nonnull AddReason addReason,
+                              @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        invalidate(ref, store);
+    }
+
+    @Override
+    public void onEntityRemove(@Nonnull Ref<ChunkStore> ref, @Nonnull RemoveReason removeReason,
+                               @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        invalidate(ref, store);
+    }
+
+    private static void invalidate(@Nonnull Ref<ChunkStore> ref, @Nonnull Store<ChunkStore> store) {
+        World world = store.getExternalData().getWorld();
+        if (world == null) return;
+
+        var info = store.getComponent(ref, BlockStateInfo.getComponentType());
+        if (info == null) return;
+        var chunkRef = info.getChunkRef();
+        if (chunkRef == null || !chunkRef.isValid()) return;
+        var blockChunk = store.getComponent(chunkRef, BlockChunk.getComponentType());
+        if (blockChunk == null) return;
+
+        int wx = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getX(),
+                ChunkUtil.xFromBlockInColumn(info.getIndex()));
+        int wy = ChunkUtil.yFromBlockInColumn(info.getIndex());
+        int wz = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
+                ChunkUtil.zFromBlockInColumn(info.getIndex()));
+
+        HytaleIndustriesPlugin.INSTANCE.getEsTopologyManager().invalidate(world, wx, wy, wz);
+    }
+}
@@ -7,34 +7,25 @@ import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
-import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import dev.dukedarius.HytaleIndustries.Components.Energy.ConsumesHE;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
-import com.hypixel.hytale.server.core.inventory.ItemStack;
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESControllerComponent;
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESDiskHousingComponent;
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESGridComponent;
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESNetworkMemberComponent;
-import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
-import org.joml.Vector3i;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESItemIndex;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESTopologyManager;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class ESNetworkSystem extends EntityTickingSystem<ChunkStore> {
 
     private static final long CONTROLLER_BASE_POWER = 10;
-    private static final Vector3i[] DIRECTIONS = {
-            new Vector3i(0, 0, -1), new Vector3i(0, 0, 1),
-            new Vector3i(-1, 0, 0), new Vector3i(1, 0, 0),
-            new Vector3i(0, 1, 0),  new Vector3i(0, -1, 0)
-    };
 
     private final ComponentType<ChunkStore, ESControllerComponent> controllerType;
     private final ComponentType<ChunkStore, ESNetworkMemberComponent> networkMemberType;
@@ -80,7 +71,7 @@ public class ESNetworkSystem extends EntityTickingSystem<ChunkStore> {
         if (!powered) {
             if (controller.networkOnline) {
                 controller.networkOnline = false;
-                controller.itemIndex.clear();
+                controller.itemIndex = ESItemIndex.EMPTY;
                 controller.totalStored = 0;
                 controller.maxCapacity = 0;
                 buffer.replaceComponent(ref, controllerType, controller);
@@ -102,102 +93,45 @@ public class ESNetworkSystem extends EntityTickingSystem<ChunkStore> {
         int wz = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
                 ChunkUtil.zFromBlockInColumn(info.getIndex()));
 
-        // 3) BFS to find all connected devices (and check for duplicate controllers)
-        List<ESDiskHousingComponent> housings = new ArrayList<>();
-        boolean duplicateController = false;
-        int gridCount = 0;
-        int totalDisks = 0;
-        long totalPowerUsage = CONTROLLER_BASE_POWER;
-        LongOpenHashSet visited = new LongOpenHashSet();
-        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
-        long startKey = packPos(wx, wy, wz);
-        visited.add(startKey);
-        queue.enqueue(startKey);
-
-        while (!queue.isEmpty()) {
-            long current = queue.dequeueLong();
-            int cx = unpackX(current), cy = unpackY(current), cz = unpackZ(current);
-
-            for (Vector3i dir : DIRECTIONS) {
-                int nx = cx + dir.x, ny = cy + dir.y, nz = cz + dir.z;
-                if (ny < 0 || ny >= 320) continue;
-                long nkey = packPos(nx, ny, nz);
-                if (!visited.add(nkey)) continue;
-
-                WorldChunk wc = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(nx, nz));
-                if (wc == null) wc = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(nx, nz));
-                if (wc == null) continue;
-
-                var nEntity = wc.getBlockComponentEntity(nx & 31, ny, nz & 31);
-                if (nEntity == null) continue;
-
-                var nStore = nEntity.getStore();
-                if (nStore.getComponent(nEntity, networkMemberType) == null) continue;
-
-                queue.enqueue(nkey);
-
-                // Check for disk housing
-                ESDiskHousingComponent housing = nStore.getComponent(nEntity, diskHousingType);
-                if (housing != null) {
-                    housings.add(housing);
-                    totalDisks += housing.getActiveDiskCount();
-                }
-
-                // Check for grid
-                if (nStore.getComponent(nEntity, gridType) != null) gridCount++;
+        // 3) Resolve the cached network topology (rebuilt only after a member is added/removed)
+        ESTopologyManager.ESTopology topology = HytaleIndustriesPlugin.INSTANCE.getEsTopologyManager()
+                .getTopology(world, wx, wy, wz);
+        if (topology == null) return;
 
-                // Sum power usage from this device
-                ConsumesHE nCons = nStore.getComponent(nEntity, consumesHeType);
-                if (nCons != null) totalPowerUsage += nCons.heConsumption;
+        List<ESDiskHousingComponent> housings = topology.getHousings();
+        int gridCount = topology.getGridCount();
+        int totalDisks = 0;
+        for (ESDiskHousingComponent h : housings) totalDisks += h.getActiveDiskCount();
 
-                // Check for duplicate controller
-                ESControllerComponent otherController = nStore.getComponent(nEntity, controllerType);
-                if (otherController != null && !(nx == wx && ny == wy && nz == wz)) {
-                    duplicateController = true;
-                }
-            }
+        long totalPowerUsage = CONTROLLER_BASE_POWER;
+        for (Ref<ChunkStore> consumerRef : topology.getConsumerRefs()) {
+            if (consumerRef == topology.getControllerRef() || !consumerRef.isValid()) continue;
+            ConsumesHE nCons = consumerRef.getStore().getComponent(consumerRef, consumesHeType);
+            if (nCons != null) totalPowerUsage += nCons.heConsumption;
         }
 
         // 4) Duplicate controller = conflict, go offline
-        if (duplicateController) {
+        if (topology.hasDuplicateController()) {
             controller.networkOnline = false;
-            controller.itemIndex.clear();
+            controller.itemIndex = ESItemIndex.EMPTY;
             controller.totalStored = 0;
             controller.maxCapacity = 0;
             buffer.replaceComponent(ref, controllerType, controller);
             return;
         }
 
-        // 5) Aggregate from all housings
-        List<ItemStack> newIndex = new ArrayList<>();
-        long newTotalStored = 0;
-        long newMaxCapacity = 0;
-        for (ESDiskHousingComponent h : housings) {
-            newMaxCapacity += h.getTotalCapacity();
-            newTotalStored += h.getTotalStored();
-            for (ItemStack stack : h.aggregateItems()) {
-                boolean merged = false;
-                for (int ai = 0; ai < newIndex.size(); ai++) {
-                    ItemStack existing = newIndex.get(ai);
-                    if (existing.isStackableWith(stack)) {
-                        newIndex.set(ai, existing.withQuantity(existing.getQuantity() + stack.getQuantity()));
-                        merged = true;
-                        break;
-                    }
-                }
-                if (!merged) newIndex.add(stack);
-            }
-        }
+        // 5) Network item index — maintained by housing deltas, nothing to aggregate here
+        ESItemIndex index = topology.getItemIndex();
 
         // 6) Drain total network power from controller's energy buffer
         if (energy != null && !energy.creative) {
+            // Written back by EnergyLedgerCommitSystem
             energy.current = Math.max(0, energy.current - totalPowerUsage);
-            buffer.replaceComponent(ref, storesHeType, energy);
         }
 
-        controller.itemIndex = newIndex;
-        controller.totalStored = newTotalStored;
-        controller.maxCapacity = newMaxCapacity;
+        controller.itemIndex = index;
+        controller.totalStored = index.getTotalStored();
+        controller.maxCapacity = index.getMaxCapacity();
         controller.networkOnline = true;
         controller.gridCount = gridCount;
         controller.diskHousingCount = housings.size();
@@ -209,54 +143,18 @@ public class ESNetworkSystem extends EntityTickingSystem<ChunkStore> {
     }
 
     /**
-     * BFS from a position to find the nearest ESControllerComponent.
+     * Finds the controller of the network containing the given ES member.
      * Used by the Grid interaction to locate the network's controller.
+     * Resolved through {@link ESTopologyManager}; only walks the network if its topology is not cached.
      */
     @Nullable
     public static ESControllerComponent findController(World world, Store<ChunkStore> store,
                                                         int startX, int startY, int startZ,
                                                         ComponentType<ChunkStore, ESNetworkMemberComponent> memberType,
                                                         ComponentType<ChunkStore, ESControllerComponent> ctrlType) {
-        LongOpenHashSet visited = new LongOpenHashSet();
-        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
-        long startKey = packPos(startX, startY, startZ);
-        visited.add(startKey);
-        queue.enqueue(startKey);
-
-        while (!queue.isEmpty()) {
-            long current = queue.dequeueLong();
-            int cx = unpackX(current), cy = unpackY(current), cz = unpackZ(current);
-
-            // Check current position for controller
-            WorldChunk curChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(cx, cz));
-            if (curChunk == null) curChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(cx, cz));
-            if (curChunk != null) {
-                var curEntity = curChunk.getBlockComponentEntity(cx & 31, cy, cz & 31);
-                if (curEntity != null) {
-                    ESControllerComponent ctrl = curEntity.getStore().getComponent(curEntity, ctrlType);
-                    if (ctrl != null) return ctrl;
-                }
-            }
-
-            for (Vector3i dir : DIRECTIONS) {
-                int nx = cx + dir.x, ny = cy + dir.y, nz = cz + dir.z;
-                if (ny < 0 || ny >= 320) continue;
-                long nkey = packPos(nx, ny, nz);
-                if (!visited.add(nkey)) continue;
-
-                WorldChunk wc = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(nx, nz));
-                if (wc == null) wc = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(nx, nz));
-                if (wc == null) continue;
-
-                var nEntity = wc.getBlockComponentEntity(nx & 31, ny, nz & 31);
-                if (nEntity == null) continue;
-                var nStore = nEntity.getStore();
-                if (nStore.getComponent(nEntity, memberType) == null) continue;
-
-                queue.enqueue(nkey);
-            }
-        }
-        return null;
+        ESTopologyManager.ESTopology topology = HytaleIndustriesPlugin.INSTANCE.getEsTopologyManager()
+                .getTopology(world, startX, startY, startZ);
+        return topology != null ? topology.getController() : null;
     }
 
     // Also need to find Disk Housings for insert/extract operations from the Grid
@@ -265,62 +163,8 @@ public class ESNetworkSystem extends EntityTickingSystem<ChunkStore> {
             int startX, int startY, int startZ,
             ComponentType<ChunkStore, ESNetworkMemberComponent> memberType,
             ComponentType<ChunkStore, ESDiskHousingComponent> housingType) {
-        List<ESDiskHousingComponent> result = new ArrayList<>();
-        LongOpenHashSet visited = new LongOpenHashSet();
-        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
-        long startKey = packPos(startX, startY, startZ);
-        visited.add(startKey);
-        queue.enqueue(startKey);
-
-        while (!queue.isEmpty()) {
-            long current = queue.dequeueLong();
-            int cx = unpackX(current), cy = unpackY(current), cz = unpackZ(current);
-
-            // Check current position for disk housing
-            WorldChunk curChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(cx, cz));
-            if (curChunk == null) curChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(cx, cz));
-            if (curChunk != null) {
-                var curEntity = curChunk.getBlockComponentEntity(cx & 31, cy, cz & 31);
-                if (curEntity != null) {
-                    ESDiskHousingComponent housing = curEntity.getStore().getComponent(curEntity, housingType);
-                    if (housing != null) {
-                        ESNetworkMemberComponent member = curEntity.getStore().getComponent(curEntity, memberType);
-                        housing.cachedPriority = member != null ? member.priority : 0;
-                        result.add(housing);
-                    }
-                }
-            }
-
-            for (Vector3i dir : DIRECTIONS) {
-                int nx = cx + dir.x, ny = cy + dir.y, nz = cz + dir.z;
-                if (ny < 0 || ny >= 320) continue;
-                long nkey = packPos(nx, ny, nz);
-                if (!visited.add(nkey)) continue;
-
-                WorldChunk wc = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(nx, nz));
-                if (wc == null) wc = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(nx, nz));
-                if (wc == null) continue;
-
-                var nEntity = wc.getBlockComponentEntity(nx & 31, ny, nz & 31);
-                if (nEntity == null) continue;
-                var nStore = nEntity.getStore();
-                if (nStore.getComponent(nEntity, memberType) == null) continue;
-
-                queue.enqueue(nkey);
-            }
-        }
-        result.sort((a, b) -> Integer.compare(b.cachedPriority, a.cachedPriority));
-        return result;
-    }
-
-    private static long packPos(int x, int y, int z) {
-        return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | ((long) z & 0x3FFFFFFL);
-    }
-    private static int unpackX(long packed) {
-        int x = (int)(packed >> 38); return x >= 0x2000000 ? x - 0x4000000 : x;
-    }
-    private static int unpackY(long packed) { return (int)(packed >> 26) & 0xFFF; }
-    private static int unpackZ(long packed) {
-        int z = (int)(packed & 0x3FFFFFFL); return z >= 0x2000000 ? z - 0x4000000 : z;
+        ESTopologyManager.ESTopology topology = HytaleIndustriesPlugin.INSTANCE.getEsTopologyManager()
+                .getTopology(world, startX, startY, startZ);
+        return topology != null ? topology.getHousings() : new ArrayList<>();
     }
 }
@@ -0,0 +1,72 @@
+package dev.dukedarius.HytaleIndustries.Systems.Energy;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.dependency.Dependency;
+import com.hypixel.hytale.component.dependency.Order;
+import com.hypixel.hytale.component.dependency.SystemDependency;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Systems.BasicPowerCableTransferSystem;
+import dev.dukedarius.HytaleIndustries.Systems.EnergizedStorage.ESNetworkSystem;
+import dev.dukedarius.HytaleIndustries.Systems.PoweredProcessingSystem;
+import dev.dukedarius.HytaleIndustries.Systems.QuarrySystem;
+import dev.dukedarius.HytaleIndustries.Systems.WindTurbineSystem;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+/**
+ * Single writer of {@link StoresHE}: runs after every system that moves energy and replaces the component only for
+ * entities whose stored energy changed since the last write-back (see
+ * {@link dev.dukedarius.HytaleIndustries.Energy.EnergyLedger#commit}). A change is also what wakes a machine
+ * hibernating for lack of energy.
+ */
+public class EnergyLedgerCommitSystem extends EntityTickingSystem<ChunkStore> {
+    private final ComponentType<ChunkStore, StoresHE> storeType;
+    private final Query<ChunkStore> query;
+
+    public EnergyLedgerCommitSystem(ComponentType<ChunkStore, StoresHE> storeType) {
+        this.storeType = storeType;
+        this.query = Query.and(storeType);
+    }
+
+    @Override
+    public Query<ChunkStore> getQuery() { return query; }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Set<Dependency<ChunkStore>> getDependencies() {
+        // Everything that changes StoresHE.current in place; written back in the same tick
+        return Set.of(
+                new SystemDependency<>(Order.AFTER, HEProductionSystem.class),
+                new SystemDependency<>(Order.AFTER, HEConsumptionSystem.class),
+                new SystemDependency<>(Order.AFTER, WindTurbineSystem.class),
+                new SystemDependency<>(Order.AFTER, BasicPowerCableTransferSystem.class),
+                // Generic system; its class literal is raw
+                new SystemDependency<>(Order.AFTER, (Class) PoweredProcessingSystem.class),
+                new SystemDependency<>(Order.AFTER, QuarrySystem.class),
+                new SystemDependency<>(Order.AFTER, ESNetworkSystem.class)
+        );
+    }
+
+    @Override
+    public void tick(float dt, int index, ArchetypeChunk<ChunkStore> chunk,
+                     Store<ChunkStore> store,
+                     CommandBuffer<ChunkStore> buffer) {
+        StoresHE energy = chunk.getComponent(index, storeType);
+        var ref = chunk.getReferenceTo(index);
+        if (energy == null || ref == null) return;
+        if (HytaleIndustriesPlugin.INSTANCE.getEnergyLedger().commit(energy)) {
+            buffer.replaceComponent(ref, storeType, energy);
+            // Machines hibernating for lack of energy wake when some arrives
+            HytaleIndustriesPlugin.INSTANCE.getMachineHibernation().onEnergyChanged(ref);
+        }
+    }
+}
@@ -15,9 +15,13 @@ import dev.dukedarius.HytaleIndustries.Components.Energy.FuelInventory;
 import dev.dukedarius.HytaleIndustries.Components.Energy.ProducesHE;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
+
+import javax.annotation.Nonnull;
 
 /**
- * Burns fuel items into HE production per tick.
+ * Burns fuel items into HE production per tick. {@link #catchUp} does the same for a stretch of time in one step.
  */
 public class FuelBurnSystem extends EntityTickingSystem<ChunkStore> {
     private static final double FUEL_BURN_RATE_PER_SECOND = 1.0; // 1 fuel value per second
@@ -54,6 +58,7 @@ public class FuelBurnSystem extends EntityTickingSystem<ChunkStore> {
             fuel.fuelContainer = new com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer((short) 1);
             container = fuel.fuelContainer;
             buffer.replaceComponent(ref, fuelInvType, fuel);
+            InventoryAdapters.invalidate(store, ref);
         }
         ItemStack stack;
         try {
@@ -62,6 +67,7 @@ public class FuelBurnSystem extends EntityTickingSystem<ChunkStore> {
             // container has zero slots; recreate with one slot
             fuel.fuelContainer = new com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer((short) 1);
             buffer.replaceComponent(ref, fuelInvType, fuel);
+            InventoryAdapters.invalidate(store, ref);
             prod.enabled = false;
             buffer.replaceComponent(ref, produceType, prod);
             return;
@@ -120,7 +126,70 @@ public class FuelBurnSystem extends EntityTickingSystem<ChunkStore> {
                 container.setItemStackForSlot((short) 0, stack.withQuantity(newQty));
                 fuel.fuelValueRemaining = fuelQuality; // next item
             }
+            // A fuel slot has room again for pipes feeding it
+            InventoryChangeNotifier.notifyChanged(store, ref);
         }
         buffer.replaceComponent(ref, fuelInvType, fuel);
     }
+
+    /**
+     * Burns what the generator would have burnt over {@code seconds} with the per-tick rules above: fuel at
+     * {@value #FUEL_BURN_RATE_PER_SECOND} value per second, each tick yielding the generator's per-tick production,
+     * stopping once storage is full or the fuel is gone. Changes the components in place.
+     *
+     * @return the HE added to storage
+     */
+    static long catchUp(@Nonnull FuelInventory fuel, @Nonnull ProducesHE prod, @Nonnull StoresHE energy, double seconds) {
+        if (energy.creative || fuel.fuelContainer == null || fuel.fuelContainer.getCapacity() <= 0) return 0L;
+        ItemStack stack = fuel.fuelContainer.getItemStack((short) 0);
+        if (stack == null || ItemStack.isEmpty(stack) || stack.getItem() == null) return 0L;
+        double fuelQuality = stack.getItem().getFuelQuality();
+        if (fuelQuality <= 0.0) return 0L;
+
+        double eff = prod.efficiency > 0 ? prod.efficiency : 1.0;
+        double mult = prod.productionMultiplier > 0 ? prod.productionMultiplier : 1.0;
+        long perTick = (long) Math.floor(Math.max(0, prod.producedPerTick) * eff * mult);
+        long room = energy.max - energy.current;
+        if (perTick <= 0 || room <= 0) return 0L;
+
+        // Burning ticks: bounded by the time away and by the ticks it takes to fill the storage
+        long ticks = Math.min((long) Math.floor(seconds * HytaleIndustriesPlugin.TPS), (room + perTick - 1) / perTick);
+        double budget = ticks * FUEL_BURN_RATE_PER_SECOND / HytaleIndustriesPlugin.TPS;
+
+        int quantity = stack.getQuantity();
+        double remaining = fuel.fuelValueRemaining > 0.0 ? fuel.fuelValueRemaining : fuelQuality;
+        double burned = Math.min(remaining, budget);
+        remaining -= burned;
+        budget -= burned;
+        if (remaining <= 1e-6) {
+            quantity--;
+            // Whole items, then a part of the next one
+            long whole = quantity > 0 ? Math.min(quantity, (long) Math.floor(budget / fuelQuality)) : 0L;
+            quantity -= (int) whole;
+            budget -= whole * fuelQuality;
+            burned += whole * fuelQuality;
+            if (quantity > 0) {
+                double partial = Math.min(fuelQuality, budget);
+                remaining = fuelQuality - partial;
+                burned += partial;
+            } else {
+                remaining = 0.0;
+            }
+        }
+
+        if (quantity <= 0) {
+            fuel.fuelContainer.setItemStackForSlot((short) 0, ItemStack.EMPTY);
+            fuel.fuelValueRemaining = 0.0;
+        } else {
+            if (quantity != stack.getQuantity()) {
+                fuel.fuelContainer.setItemStackForSlot((short) 0, stack.withQuantity(quantity));
+            }
+            fuel.fuelValueRemaining = remaining;
+        }
+
+        long burnedTicks = Math.round(burned / FUEL_BURN_RATE_PER_SECOND * HytaleIndustriesPlugin.TPS);
+        long produced = Math.min(room, burnedTicks * perTick);
+        energy.current += produced;
+        return produced;
+    }
 }
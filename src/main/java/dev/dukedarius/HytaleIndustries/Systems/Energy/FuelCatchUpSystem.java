@@ -0,0 +1,73 @@
+package dev.dukedarius.HytaleIndustries.Systems.Energy;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.Energy.FuelInventory;
+import dev.dukedarius.HytaleIndustries.Components.Energy.ProducesHE;
+import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
+import dev.dukedarius.HytaleIndustries.Utils.OfflineClock;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * When a fuel generator's chunk loads, burns the fuel it would have burnt since the chunk was saved through
+ * {@link FuelBurnSystem#catchUp}.
+ */
+public class FuelCatchUpSystem extends RefSystem<ChunkStore> {
+
+    private final ComponentType<ChunkStore, FuelInventory> fuelInvType;
+    private final ComponentType<ChunkStore, ProducesHE> produceType;
+    private final ComponentType<ChunkStore, StoresHE> storeType;
+    private final Query<ChunkStore> query;
+
+    public FuelCatchUpSystem(ComponentType<ChunkStore, FuelInventory> fuelInvType,
+                             ComponentType<ChunkStore, ProducesHE> produceType,
+                             ComponentType<ChunkStore, StoresHE> storeType) {
+        this.fuelInvType = fuelInvType;
+        this.produceType = produceType;
+        this.storeType = storeType;
+        this.query = Query.and(fuelInvType, produceType, storeType);
+    }
+
+    @Override
+    public Query<ChunkStore> getQuery() {
+        return query;
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull Ref<ChunkStore> ref, @Nonnull AddReason reason,
+                              @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        if (reason != AddReason.LOAD) return;
+        FuelInventory fuel = store.getComponent(ref, fuelInvType);
+        ProducesHE prod = store.getComponent(ref, produceType);
+        StoresHE energy = store.getComponent(ref, storeType);
+        if (fuel == null || prod == null || energy == null || fuel.savedAtMillis <= 0L) return;
+
+        double seconds = OfflineClock.elapsedSeconds(fuel.savedAtMillis);
+        fuel.savedAtMillis = 0L;
+        long produced = FuelBurnSystem.catchUp(fuel, prod, energy, seconds);
+
+        buffer.replaceComponent(ref, fuelInvType, fuel);
+        if (produced > 0) {
+            buffer.replaceComponent(ref, storeType, energy);
+            // Fuel was used up, so the slot may take more from pipes
+            InventoryChangeNotifier.notifyChanged(store, ref);
+        }
+        Tracer.trace(Tracer.Channel.ENERGY, "fuel-catch-up", (long) seconds, produced);
+    }
+
+    @Override
+    public void onEntityRemove(@Nonnull Ref<ChunkStore> ref, @Nonnull RemoveReason reason,
+                               @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        // Nothing to stamp here: the component's codec writes the save time whenever the chunk is saved
+    }
+}
@@ -8,6 +8,7 @@ import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import dev.dukedarius.HytaleIndustries.Components.Energy.ConsumesHE;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
 
 public class HEConsumptionSystem extends EntityTickingSystem<ChunkStore> {
     private final ComponentType<ChunkStore, ConsumesHE> consumeType;
@@ -30,10 +31,8 @@ public class HEConsumptionSystem extends EntityTickingSystem<ChunkStore> {
                      CommandBuffer<ChunkStore> buffer) {
         ConsumesHE cons = chunk.getComponent(index, consumeType);
         StoresHE energy = chunk.getComponent(index, storeType);
-        if (cons == null || energy == null) return;
-        boolean consumed = cons.consume(energy);
-        if (consumed) {
-            buffer.replaceComponent(chunk.getReferenceTo(index), storeType, energy);
-        }
+        if (cons == null || energy == null || !cons.enabled) return;
+        // Written back by EnergyLedgerCommitSystem
+        HytaleIndustriesPlugin.INSTANCE.getEnergyLedger().request(energy, cons.heConsumption);
     }
 }
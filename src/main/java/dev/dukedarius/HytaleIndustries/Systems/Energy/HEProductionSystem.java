@@ -8,6 +8,8 @@ import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import dev.dukedarius.HytaleIndustries.Components.Energy.ProducesHE;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.Energy.EnergyLedger;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
 
 public class HEProductionSystem extends EntityTickingSystem<ChunkStore> {
     private final ComponentType<ChunkStore, ProducesHE> prodType;
@@ -31,21 +33,21 @@ public class HEProductionSystem extends EntityTickingSystem<ChunkStore> {
         ProducesHE prod = chunk.getComponent(index, prodType);
         StoresHE energy = chunk.getComponent(index, storeType);
 
-        if(energy != null && energy.creative){
-            energy.current = energy.max;
-            buffer.replaceComponent(chunk.getReferenceTo(index), storeType, energy);
+        if (energy == null) return;
+        EnergyLedger ledger = HytaleIndustriesPlugin.INSTANCE.getEnergyLedger();
+
+        if (energy.creative) {
+            ledger.fill(energy);
             return;
         }
 
-        if (prod == null || energy == null || !prod.enabled) return;
+        if (prod == null || !prod.enabled) return;
         double eff = prod.efficiency > 0 ? prod.efficiency : 1.0;
         double mult = prod.productionMultiplier > 0 ? prod.productionMultiplier : 1.0;
         long base = Math.max(0, prod.producedPerTick);
         long perTick = (long) Math.floor(base * eff * mult);
         if (perTick <= 0) return;
-        long remaining = energy.addEnergy(perTick);
-        if (remaining != perTick) {
-            buffer.replaceComponent(chunk.getReferenceTo(index), storeType, energy);
-        }
+        // Written back by EnergyLedgerCommitSystem
+        ledger.produce(energy, perTick);
     }
 }
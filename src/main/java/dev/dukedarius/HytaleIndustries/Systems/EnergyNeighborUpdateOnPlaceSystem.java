@@ -15,6 +15,7 @@ import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 
 import javax.annotation.Nonnull;
 
@@ -36,8 +37,6 @@ public class EnergyNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore> {
                               @Nonnull AddReason addReason,
                               @Nonnull Store<ChunkStore> store,
                               @Nonnull CommandBuffer<ChunkStore> commandBuffer) {
-        if (addReason != AddReason.SPAWN) return;
-
         var info = store.getComponent(refChunkStore, BlockStateInfo.getComponentType());
         if (info == null) return;
 
@@ -63,6 +62,12 @@ public class EnergyNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore> {
                 store.getComponent(refChunkStore, HytaleIndustriesPlugin.INSTANCE.getCableEndpointType()) != null;
         if (!isEnergy) return;
 
+        // Placed or loaded next to a networked cable: pick it up as a source/sink without a rebuild
+        commandBuffer.run(_store -> HytaleIndustriesPlugin.INSTANCE.getCableNetworkManager()
+                .refreshTerminalsAt(world, x, y, z));
+
+        if (addReason != AddReason.SPAWN) return;
+
         var cableComponentType = HytaleIndustriesPlugin.INSTANCE.getBasicPowerCableComponentType();
         var updateComponentType = HytaleIndustriesPlugin.INSTANCE.getUpdatePowerCableComponentType();
 
@@ -72,10 +77,7 @@ public class EnergyNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore> {
             int nz = z + dir.z();
             if (ny < 0 || ny >= 320) continue;
 
-            WorldChunk nChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(nx, nz));
-            if (nChunk == null) {
-                nChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(nx, nz));
-            }
+            WorldChunk nChunk = BlockAccess.chunk(world, nx, nz);
             if (nChunk == null) continue;
 
             var nEntity = nChunk.getBlockComponentEntity(nx & 31, ny, nz & 31);
@@ -92,6 +94,25 @@ public class EnergyNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore> {
     @Override
     public void onEntityRemove(@Nonnull Ref<ChunkStore> ref, @Nonnull RemoveReason removeReason,
                                @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> commandBuffer) {
-        // no-op
+        if (store.getComponent(ref, HytaleIndustriesPlugin.INSTANCE.getStoresHeType()) == null) return;
+
+        var info = store.getComponent(ref, BlockStateInfo.getComponentType());
+        if (info == null) return;
+
+        var chunkRef = info.getChunkRef();
+        if (chunkRef == null || !chunkRef.isValid()) return;
+
+        var blockChunk = store.getComponent(chunkRef, BlockChunk.getComponentType());
+        if (blockChunk == null) return;
+
+        int x = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getX(),
+                ChunkUtil.xFromBlockInColumn(info.getIndex()));
+        int y = ChunkUtil.yFromBlockInColumn(info.getIndex());
+        int z = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
+                ChunkUtil.zFromBlockInColumn(info.getIndex()));
+
+        // Broken or unloaded: drop it from the sources/sinks of neighbouring cables
+        HytaleIndustriesPlugin.INSTANCE.getCableNetworkManager()
+                .removeTerminalsAt(store.getExternalData().getWorld(), x, y, z);
     }
 }
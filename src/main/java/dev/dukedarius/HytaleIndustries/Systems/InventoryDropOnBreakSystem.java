@@ -9,7 +9,6 @@ import com.hypixel.hytale.component.ComponentAccessor;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
 import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
-import com.hypixel.hytale.math.util.ChunkUtil;
 import org.joml.Vector3d;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
@@ -24,6 +23,7 @@ import dev.dukedarius.HytaleIndustries.Components.Processing.PoweredFurnaceInven
 import dev.dukedarius.HytaleIndustries.Components.Processing.PoweredCrusherInventory;
 import dev.dukedarius.HytaleIndustries.Components.Processing.AlloySmelterInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
 import javax.annotation.Nonnull;
 
 /**
@@ -46,10 +46,7 @@ public class InventoryDropOnBreakSystem extends EntityEventSystem<EntityStore, B
         // Resolve the block state being broken.
         var world = store.getExternalData().getWorld();
         var pos = event.getTargetBlock();
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(pos.x, pos.z));
-        if (chunk == null) {
-            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(pos.x, pos.z));
-        }
+        WorldChunk chunk = BlockAccess.chunk(world, pos.x, pos.z);
         if (chunk == null) {
             return;
         }
@@ -16,14 +16,20 @@ import com.hypixel.hytale.server.core.modules.block.components.ItemContainerBloc
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
 
 import javax.annotation.Nonnull;
 
 /**
  * When an inventory block is placed, mark adjacent item pipes for update so they auto-connect.
+ * Also drops the cached inventory adapter resolution whenever a block entity is added or removed.
  */
 public class InventoryNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore> {
 
+    private static final long NO_POSITION = Long.MIN_VALUE;
+
     private final Query<ChunkStore> query = Query.and(BlockStateInfo.getComponentType());
 
     @Override
@@ -36,24 +42,16 @@ public class InventoryNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore>
                               @Nonnull AddReason addReason,
                               @Nonnull Store<ChunkStore> store,
                               @Nonnull CommandBuffer<ChunkStore> commandBuffer) {
-        if (addReason != AddReason.SPAWN) return;
-
-        var info = store.getComponent(refChunkStore, BlockStateInfo.getComponentType());
-        if (info == null) return;
-
-        var chunkRef = info.getChunkRef();
-        if (chunkRef == null || !chunkRef.isValid()) return;
-
-        var blockChunk = store.getComponent(chunkRef, BlockChunk.getComponentType());
-        if (blockChunk == null) return;
+        long pos = position(refChunkStore, store);
+        if (pos == NO_POSITION) return;
 
         var world = store.getExternalData().getWorld();
+        int x = BlockPos.unpackX(pos);
+        int y = BlockPos.unpackY(pos);
+        int z = BlockPos.unpackZ(pos);
+        InventoryAdapters.invalidate(world, x, y, z);
 
-        int x = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getX(),
-                ChunkUtil.xFromBlockInColumn(info.getIndex()));
-        int y = ChunkUtil.yFromBlockInColumn(info.getIndex());
-        int z = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
-                ChunkUtil.zFromBlockInColumn(info.getIndex()));
+        if (addReason != AddReason.SPAWN) return;
 
         // Only continue if this block is an inventory container
         if (!isInventory(world, x, y, z)) return;
@@ -67,8 +65,7 @@ public class InventoryNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore>
             int nz = z + dir.z();
             if (ny < 0 || ny >= 320) continue;
 
-            WorldChunk nChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(nx, nz));
-            if (nChunk == null) nChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(nx, nz));
+            WorldChunk nChunk = BlockAccess.chunk(world, nx, nz);
             if (nChunk == null) continue;
 
             var nEntity = nChunk.getBlockComponentEntity(nx & 31, ny, nz & 31);
@@ -81,8 +78,7 @@ public class InventoryNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore>
     }
 
     private static boolean isInventory(@Nonnull com.hypixel.hytale.server.core.universe.world.World world, int x, int y, int z) {
-        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
+        WorldChunk chunk = BlockAccess.chunk(world, x, z);
         if (chunk == null) return false;
         var blockEntity = chunk.getBlockComponentEntity(x & 31, y, z & 31);
         if (blockEntity == null) return false;
@@ -94,6 +90,27 @@ public class InventoryNeighborUpdateOnPlaceSystem extends RefSystem<ChunkStore>
     @Override
     public void onEntityRemove(@Nonnull Ref<ChunkStore> ref, @Nonnull RemoveReason removeReason,
                                @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> commandBuffer) {
-        // no-op
+        long pos = position(ref, store);
+        if (pos == NO_POSITION) return;
+        InventoryAdapters.invalidate(store.getExternalData().getWorld(),
+                BlockPos.unpackX(pos), BlockPos.unpackY(pos), BlockPos.unpackZ(pos));
+    }
+
+    private static long position(Ref<ChunkStore> ref, Store<ChunkStore> store) {
+        var info = store.getComponent(ref, BlockStateInfo.getComponentType());
+        if (info == null) return NO_POSITION;
+
+        var chunkRef = info.getChunkRef();
+        if (chunkRef == null || !chunkRef.isValid()) return NO_POSITION;
+
+        var blockChunk = store.getComponent(chunkRef, BlockChunk.getComponentType());
+        if (blockChunk == null) return NO_POSITION;
+
+        int x = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getX(),
+                ChunkUtil.xFromBlockInColumn(info.getIndex()));
+        int y = ChunkUtil.yFromBlockInColumn(info.getIndex());
+        int z = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(),
+                ChunkUtil.zFromBlockInColumn(info.getIndex()));
+        return BlockPos.pack(x, y, z);
     }
 }
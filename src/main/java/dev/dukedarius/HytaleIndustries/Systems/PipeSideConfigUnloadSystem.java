@@ -0,0 +1,44 @@
+package dev.dukedarius.HytaleIndustries.Systems;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Drops a chunk's entries from {@link PipeSideConfigStore} when the chunk is removed; its pipes refill them
+ * from their saved components when it loads again.
+ */
+public class PipeSideConfigUnloadSystem extends RefSystem<ChunkStore> {
+
+    private final Query<ChunkStore> query = Query.and(WorldChunk.getComponentType());
+
+    @Override
+    public Query<ChunkStore> getQuery() { return query; }
+
+    @Override
+    public void onEntityAdded(@Nonnull Ref<ChunkStore> ref, @Nonnull AddReason addReason,
+                              @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        // no-op on add; pipes register themselves as they load
+    }
+
+    @Override
+    public void onEntityRemove(@Nonnull Ref<ChunkStore> ref, @Nonnull RemoveReason removeReason,
+                               @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        BlockChunk blockChunk = store.getComponent(ref, BlockChunk.getComponentType());
+        if (blockChunk == null) return;
+        PipeSideConfigStore.unloadChunk(store.getExternalData().getWorld(),
+                ChunkUtil.worldCoordFromLocalCoord(blockChunk.getX(), 0),
+                ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(), 0));
+    }
+}
@@ -15,6 +15,7 @@ import dev.dukedarius.HytaleIndustries.Components.Energy.ConsumesHE;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.Components.Processing.PoweredCrusherInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
 
 import javax.annotation.Nonnull;
 
@@ -82,6 +83,7 @@ public class PoweredCrusherInitSystem extends RefSystem<ChunkStore> {
             }
             if (dirty) {
                 buffer.replaceComponent(ref, HytaleIndustriesPlugin.INSTANCE.getPoweredCrusherInventoryType(), inv);
+                InventoryAdapters.invalidate(store.getExternalData().getWorld(), x, y, z);
             }
         }
     }
@@ -15,6 +15,7 @@ import dev.dukedarius.HytaleIndustries.Components.Energy.ConsumesHE;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.Components.Processing.PoweredFurnaceInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
 
 import javax.annotation.Nonnull;
 
@@ -93,6 +94,7 @@ public class PoweredFurnaceInitSystem extends RefSystem<ChunkStore> {
             }
             if (dirty) {
                 buffer.replaceComponent(ref, HytaleIndustriesPlugin.INSTANCE.getPoweredFurnaceInventoryType(), inv);
+                InventoryAdapters.invalidate(store.getExternalData().getWorld(), x, y, z);
             }
         }
     }
@@ -0,0 +1,101 @@
+package dev.dukedarius.HytaleIndustries.Systems;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.Energy.ConsumesHE;
+import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.Components.Processing.Hibernating;
+import dev.dukedarius.HytaleIndustries.Components.Processing.ProcessingInventory;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
+import dev.dukedarius.HytaleIndustries.Processing.MachineHibernation;
+import dev.dukedarius.HytaleIndustries.Processing.ProcessingEngine;
+import dev.dukedarius.HytaleIndustries.Processing.ProcessingSpec;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+
+/**
+ * Drives one kind of powered processing machine (furnace, crusher, alloy smelter) through a
+ * {@link ProcessingEngine}. Components are only replaced when the engine reports a change, and machines that stay
+ * blocked are handed to {@link MachineHibernation}.
+ */
+public class PoweredProcessingSystem<T extends ProcessingInventory> extends EntityTickingSystem<ChunkStore> {
+
+    private final ComponentType<ChunkStore, T> invType;
+    private final ComponentType<ChunkStore, StoresHE> storeType;
+    private final ComponentType<ChunkStore, ConsumesHE> consumeType;
+    private final Query<ChunkStore> query;
+    private final ProcessingEngine engine;
+
+    public PoweredProcessingSystem(ComponentType<ChunkStore, T> invType,
+                                   ComponentType<ChunkStore, StoresHE> storeType,
+                                   ComponentType<ChunkStore, ConsumesHE> consumeType,
+                                   ComponentType<ChunkStore, Hibernating> hibernatingType,
+                                   ProcessingSpec spec) {
+        this.invType = invType;
+        this.storeType = storeType;
+        this.consumeType = consumeType;
+        // Hibernating machines are skipped entirely until MachineHibernation wakes them
+        this.query = Query.and(invType, storeType, consumeType, Query.not(hibernatingType));
+        this.engine = new ProcessingEngine(spec);
+    }
+
+    @Override
+    public Query<ChunkStore> getQuery() {
+        return query;
+    }
+
+    public ProcessingEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public void tick(float dt, int index, ArchetypeChunk<ChunkStore> chunk,
+                     Store<ChunkStore> store,
+                     CommandBuffer<ChunkStore> buffer) {
+        T inv = chunk.getComponent(index, invType);
+        StoresHE energy = chunk.getComponent(index, storeType);
+        ConsumesHE consume = chunk.getComponent(index, consumeType);
+        if (inv == null || energy == null || consume == null) {
+            Tracer.trace(Tracer.Channel.MACHINES, "processing-missing-components", engine.getSpec().name);
+            return;
+        }
+
+        int changes = engine.tick(dt, inv, energy, consume);
+        var ref = chunk.getReferenceTo(index);
+        MachineHibernation hibernation = HytaleIndustriesPlugin.INSTANCE.getMachineHibernation();
+        World world = store.getExternalData().getWorld();
+        hibernation.recordAwake(world, ref);
+
+        if ((changes & ProcessingEngine.INVENTORY_CHANGED) != 0) {
+            buffer.replaceComponent(ref, invType, inv);
+        }
+        if ((changes & ProcessingEngine.CONSUMER_CHANGED) != 0) {
+            buffer.replaceComponent(ref, consumeType, consume);
+        }
+        if ((changes & ProcessingEngine.ITEMS_MOVED) != 0) {
+            InventoryChangeNotifier.notifyChanged(store, ref);
+        }
+
+        if ((changes & ProcessingEngine.BLOCKED) == 0) {
+            inv.blockedTicks = 0;
+            inv.nextSleepMillis = 0L;
+        } else if (++inv.blockedTicks >= MachineHibernation.BLOCKED_TICKS_BEFORE_HIBERNATING) {
+            inv.blockedTicks = 0;
+            hibernation.hibernate(world, store, ref, inv, reasonOf(changes));
+        }
+        // StoresHE was changed in place; EnergyLedgerCommitSystem writes it back
+    }
+
+    private static MachineHibernation.Reason reasonOf(int changes) {
+        if ((changes & ProcessingEngine.BLOCKED_NO_INPUT) != 0) return MachineHibernation.Reason.NO_INPUT;
+        if ((changes & ProcessingEngine.BLOCKED_NO_RECIPE) != 0) return MachineHibernation.Reason.NO_RECIPE;
+        if ((changes & ProcessingEngine.BLOCKED_OUTPUT_FULL) != 0) return MachineHibernation.Reason.OUTPUT_FULL;
+        return MachineHibernation.Reason.LOW_ENERGY;
+    }
+}
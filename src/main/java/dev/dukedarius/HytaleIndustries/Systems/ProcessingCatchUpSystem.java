@@ -0,0 +1,75 @@
+package dev.dukedarius.HytaleIndustries.Systems;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.Components.Processing.ProcessingInventory;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
+import dev.dukedarius.HytaleIndustries.Processing.ProcessingEngine;
+import dev.dukedarius.HytaleIndustries.Utils.OfflineClock;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * When a processing machine's chunk loads, lets its {@link ProcessingEngine} settle the time since the chunk was
+ * saved in one step.
+ */
+public class ProcessingCatchUpSystem<T extends ProcessingInventory> extends RefSystem<ChunkStore> {
+
+    private final ComponentType<ChunkStore, T> invType;
+    private final ComponentType<ChunkStore, StoresHE> storeType;
+    private final Query<ChunkStore> query;
+    private final ProcessingEngine engine;
+
+    public ProcessingCatchUpSystem(ComponentType<ChunkStore, T> invType,
+                                   ComponentType<ChunkStore, StoresHE> storeType,
+                                   ProcessingEngine engine) {
+        this.invType = invType;
+        this.storeType = storeType;
+        this.query = Query.and(invType, storeType);
+        this.engine = engine;
+    }
+
+    @Override
+    public Query<ChunkStore> getQuery() {
+        return query;
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull Ref<ChunkStore> ref, @Nonnull AddReason reason,
+                              @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        if (reason != AddReason.LOAD) return;
+        T inv = store.getComponent(ref, invType);
+        StoresHE energy = store.getComponent(ref, storeType);
+        if (inv == null || energy == null || inv.savedAtMillis <= 0L) return;
+
+        double seconds = OfflineClock.elapsedSeconds(inv.savedAtMillis);
+        inv.savedAtMillis = 0L;
+        long energyBefore = energy.current;
+        int crafted = engine.catchUp(inv, energy, seconds);
+
+        buffer.replaceComponent(ref, invType, inv);
+        if (energy.current != energyBefore) {
+            buffer.replaceComponent(ref, storeType, energy);
+        }
+        if (crafted > 0) {
+            InventoryChangeNotifier.notifyChanged(store, ref);
+        }
+        Tracer.trace(Tracer.Channel.MACHINES, "catch-up", engine.getSpec().name,
+                (long) seconds, crafted, energyBefore - energy.current);
+    }
+
+    @Override
+    public void onEntityRemove(@Nonnull Ref<ChunkStore> ref, @Nonnull RemoveReason reason,
+                               @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        // Nothing to stamp here: the component's codec writes the save time whenever the chunk is saved
+    }
+}
@@ -40,8 +40,11 @@ import dev.dukedarius.HytaleIndustries.Components.Quarry.QuarryComponent;
 import dev.dukedarius.HytaleIndustries.Components.Quarry.QuarryProjectileComponent;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
 import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryChangeNotifier;
 import dev.dukedarius.HytaleIndustries.Inventory.MachineInventory;
 import it.unimi.dsi.fastutil.objects.ObjectList;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -52,7 +55,8 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
 
     private static final double HE_CONSUMPTION_PER_TICK = 200.0;  // 200 HE/t
     private static final double HE_PER_BLOCK = 600.0;  // 600 HE to mine solid
-    private static final double HE_PER_AIR = 60.0;  // 60 HE to skip air
+    private static final double HE_PER_AIR = 60.0;  // 60 HE to skip air, or a run of empty layers per section
+    private static final int SECTION_SHIFT = 5;  // chunk sections are 32 blocks tall
 
     /**
      * Particle system used when the quarry mines a solid block.
@@ -187,8 +191,7 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
         // Keep current mining chunk loaded/ticking
         if (quarry.hasCurrentPos()) {
             buffer.run(consumer -> {
-                var workChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(quarry.currentX, quarry.currentZ));
-                if (workChunk == null) workChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(quarry.currentX, quarry.currentZ));
+                var workChunk = BlockAccess.chunk(world, quarry.currentX, quarry.currentZ);
                 if (workChunk == null) return;
 
                 workChunk.addKeepLoaded();
@@ -201,10 +204,7 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
         // Get output container above quarry - REQUIRED to mine
         ItemContainer outputContainer = getOutputContainerAbove(world, store, quarryX, quarryY, quarryZ);
         if (outputContainer == null) {
-            HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                    "[Quarry] No output container above at (%d,%d,%d); skipping tick.",
-                    quarryX, quarryY + 1, quarryZ
-            );
+            Tracer.trace(Tracer.Channel.QUARRY, "no-output", quarryX, quarryY + 1, quarryZ);
             return;  // No output container, cannot mine
         }
 
@@ -214,10 +214,7 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
 
         double heCost = (HE_CONSUMPTION_PER_TICK * dt) / effMul;
         if (energy.current < heCost) {
-            HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                    "[Quarry] Insufficient HE for tick: have=%d need=%.2f",
-                    energy.current, heCost
-            );
+            Tracer.trace(Tracer.Channel.QUARRY, "low-energy", energy.current, (long) Math.ceil(heCost));
             return;
         }
 
@@ -228,16 +225,38 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
         // Air blocks should consume only 0.1 progress (10x faster scan through air)
         while (quarry.progress >= 0.1f && energy.current >= HE_PER_AIR) {
             // Get current target chunk; must already be loaded (do not trigger new chunk loads here)
-            var targetChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(quarry.currentX, quarry.currentZ));
-            if (targetChunk == null) targetChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(quarry.currentX, quarry.currentZ));
+            var targetChunk = BlockAccess.chunk(world, quarry.currentX, quarry.currentZ);
             if (targetChunk == null) {
-                HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                        "[Quarry] Target chunk not loaded for (%d,%d); stopping.",
-                        quarry.currentX, quarry.currentZ
-                );
+                Tracer.trace(Tracer.Channel.QUARRY, "chunk-unloaded", quarry.currentX, quarry.currentZ);
                 break;  // Can't access chunk
             }
 
+            // Jump over layers that are empty across the whole scan area in one step, charged per section
+            if (quarry.skipCheckedY != quarry.currentY) {
+                int occupiedY = highestOccupiedY(world, quarry, quarry.currentY);
+                if (occupiedY < quarry.currentY) {
+                    float requiredProgress = 0.1f / speedMul;
+                    double hePerSection = HE_PER_AIR / effMul;
+                    int sections = (quarry.currentY >> SECTION_SHIFT) - ((occupiedY + 1) >> SECTION_SHIFT) + 1;
+                    int affordable = (int) Math.min(sections, Math.floor(energy.current / hePerSection));
+                    if (quarry.progress < requiredProgress || affordable < 1) {
+                        break; // not enough accumulated work yet
+                    }
+                    // Short of energy for the whole run: stop at the bottom of the last section paid for
+                    int landingY = Math.max(occupiedY,
+                            (((quarry.currentY >> SECTION_SHIFT) - affordable + 1) << SECTION_SHIFT) - 1);
+                    energy.current -= affordable * hePerSection;
+                    quarry.progress -= requiredProgress;
+                    Tracer.trace(Tracer.Channel.QUARRY, "skip-air", quarry.currentY, landingY, affordable);
+                    if (!skipToLayer(quarry, landingY, landingY == occupiedY, quarryX, quarryY, quarryZ)) {
+                        finishScan(quarry, quarryX, quarryY, quarryZ);
+                        break;
+                    }
+                    continue;
+                }
+                quarry.skipCheckedY = quarry.currentY;
+            }
+
             int lx = quarry.currentX & 31;
             int lz = quarry.currentZ & 31;
             int blockId = targetChunk.getBlock(lx, quarry.currentY, lz);
@@ -246,19 +265,10 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
 
             // Do not mine bedrock
             if (!isAir && targetBlock != null && "Rock_Bedrock".equals(targetBlock.getId())) {
-                HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                        "[Quarry] Skipping bedrock at (%d,%d,%d)",
-                        quarry.currentX, quarry.currentY, quarry.currentZ
-                );
+                Tracer.trace(Tracer.Channel.QUARRY, "skip-bedrock", quarry.currentX, quarry.currentY, quarry.currentZ);
                 // Advance without consuming energy/progress beyond this loop iteration
                 if (!advancePosition(quarry, quarryX, quarryY, quarryZ)) {
-                    HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                            "[Quarry] Finished scan volume for quarry at (%d,%d,%d)",
-                            quarryX, quarryY, quarryZ
-                    );
-                    quarry.currentStatus = QuarryComponent.QuarryStatus.IDLE;
-                    quarry.clearMiningState(true);
-                    quarry.progress = 0.0f;
+                    finishScan(quarry, quarryX, quarryY, quarryZ);
                     break;
                 }
                 continue;
@@ -275,22 +285,16 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
             }
 
             if (energy.current < heCostPerBlock) {
-                HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                        "[Quarry] Not enough HE for block at (%d,%d,%d): have=%d need=%.2f (air=%s)",
-                        quarry.currentX, quarry.currentY, quarry.currentZ,
-                        energy.current, heCostPerBlock, isAir
-                );
+                Tracer.trace(Tracer.Channel.QUARRY, "low-energy-block", quarry.currentX, quarry.currentY, quarry.currentZ,
+                        energy.current);
                 break;  // Insufficient energy for next block
             }
 
             energy.current -= heCostPerBlock;
             quarry.progress -= requiredProgress;
 
-            HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                    "[Quarry] Mining block at (%d,%d,%d) air=%s cost=%.2f remainingHE=%d progress=%.3f block=%s",
-                    quarry.currentX, quarry.currentY, quarry.currentZ,
-                    isAir, heCostPerBlock, energy.current, quarry.progress, targetBlock != null ? targetBlock.getId() : "null"
-            );
+            Tracer.trace(Tracer.Channel.QUARRY, "mine", targetBlock != null ? targetBlock.getId() : null,
+                    quarry.currentX, quarry.currentY, quarry.currentZ, energy.current);
 
             if (!isAir && targetBlock != null) {
 
@@ -301,20 +305,15 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
                         : getBlockDrops(targetBlock); // normal (using gathering config)
                 if (!drops.isEmpty()) {
                     if (!outputContainer.canAddItemStacks(drops, false, false)) {
-                        HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                                "[Quarry] Output full; cannot add drops at (%d,%d,%d)",
-                                quarry.currentX, quarry.currentY, quarry.currentZ
-                        );
+                        Tracer.trace(Tracer.Channel.QUARRY, "output-full", quarry.currentX, quarry.currentY, quarry.currentZ);
                         break;
                     }
                     ListTransaction<ItemStackTransaction> addTx = outputContainer.addItemStacks(drops, false, false, false);
                     if (addTx == null || !addTx.succeeded()) {
-                        HytaleIndustriesPlugin.LOGGER.atFiner().log(
-                                "[Quarry] Failed to add drops at (%d,%d,%d)",
-                                quarry.currentX, quarry.currentY, quarry.currentZ
-                        );
+                        Tracer.trace(Tracer.Channel.QUARRY, "add-drops-failed", quarry.currentX, quarry.currentY, quarry.currentZ);
                         break;
                     }
+                    InventoryChangeNotifier.notifyChanged(world, quarryX, quarryY + 1, quarryZ);
                 }
 
                 // Defer block breaking via CommandBuffer.run so it happens outside Store processing.
@@ -324,8 +323,7 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
                 buffer.run(_store -> {
                     World w = _store.getExternalData().getWorld();
                     if (w == null) return;
-                    WorldChunk ch = w.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(fx, fz));
-                    if (ch == null) ch = w.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(fx, fz));
+                    WorldChunk ch = BlockAccess.chunk(w, fx, fz);
                     if (ch == null) return;
                     int lx2 = fx & 31;
                     int lz2 = fz & 31;
@@ -337,19 +335,12 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
             // Advance to next block
             if (!advancePosition(quarry, quarryX, quarryY, quarryZ)) {
                 // Finished mining
-                HytaleIndustriesPlugin.LOGGER.atInfo().log(
-                        "[Quarry] Finished scan volume for quarry at (%d,%d,%d)",
-                        quarryX, quarryY, quarryZ
-                );
-                quarry.currentStatus = QuarryComponent.QuarryStatus.IDLE;
-                quarry.clearMiningState(true);
-                quarry.progress = 0.0f;
+                finishScan(quarry, quarryX, quarryY, quarryZ);
                 break;
             }
         }
 
         buffer.replaceComponent(chunk.getReferenceTo(index), quarryType, quarry);
-        buffer.replaceComponent(chunk.getReferenceTo(index), storesHeType, energy);
     }
 
     @Nonnull
@@ -455,6 +446,87 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
         return true;
     }
 
+    private static void finishScan(QuarryComponent quarry, int quarryX, int quarryY, int quarryZ) {
+        HytaleIndustriesPlugin.LOGGER.atInfo().log(
+                "[Quarry] Finished scan volume for quarry at (%d,%d,%d)",
+                quarryX, quarryY, quarryZ
+        );
+        quarry.currentStatus = QuarryComponent.QuarryStatus.IDLE;
+        quarry.clearMiningState(true);
+        quarry.progress = 0.0f;
+    }
+
+    /**
+     * Moves the scan to the start of layer {@code y}. Returns false if that is below the scan volume.
+     *
+     * @param occupied the layer is known to hold a block, so it needn't be checked for skipping again
+     */
+    private boolean skipToLayer(QuarryComponent quarry, int y, boolean occupied, int quarryX, int quarryY, int quarryZ) {
+        if (y < 0) return false;
+        quarry.currentX = quarry.startX;
+        quarry.currentY = y;
+        quarry.currentZ = quarry.startZ;
+        if (occupied) {
+            quarry.skipCheckedY = y;
+        }
+
+        // Same safety check as advancePosition
+        if (quarry.currentX == quarryX && quarry.currentZ == quarryZ &&
+            (quarry.currentY == quarryY || quarry.currentY == quarryY + 1)) {
+            return advancePosition(quarry, quarryX, quarryY, quarryZ);
+        }
+        return true;
+    }
+
+    /**
+     * Highest layer at or below {@code y} that may hold a block anywhere in the scan area, or -1 if there is none.
+     * Each chunk under the area contributes the top of its heightmap over the area's columns, lowered past any
+     * sections that are entirely air. Returns {@code y} as soon as one chunk may have a block there, and when a
+     * chunk isn't loaded, so nothing is skipped without looking; layers below the returned one are scanned block
+     * by block as before.
+     */
+    private static int highestOccupiedY(World world, QuarryComponent quarry, int y) {
+        int best = -1;
+        for (int cx = quarry.startX >> 5; cx <= (quarry.endX - 1) >> 5; cx++) {
+            for (int cz = quarry.startZ >> 5; cz <= (quarry.endZ - 1) >> 5; cz++) {
+                WorldChunk chunk = BlockAccess.chunk(world, cx << 5, cz << 5);
+                BlockChunk blocks = chunk != null ? chunk.getBlockChunk() : null;
+                if (blocks == null) return y;
+
+                int top = columnTop(blocks,
+                        Math.max(quarry.startX, cx << 5), Math.min(quarry.endX, (cx + 1) << 5),
+                        Math.max(quarry.startZ, cz << 5), Math.min(quarry.endZ, (cz + 1) << 5), y);
+                // The heightmap doesn't see empty sections below the surface (caves, floating islands)
+                while (top > best && isEmptySection(blocks, top)) {
+                    top = ((top >> SECTION_SHIFT) << SECTION_SHIFT) - 1;
+                }
+                if (top >= y) return y;
+                best = Math.max(best, top);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Highest heightmap value over the columns [minX, maxX) x [minZ, maxZ) of one chunk, capped at {@code cap}.
+     */
+    private static int columnTop(BlockChunk blocks, int minX, int maxX, int minZ, int maxZ, int cap) {
+        int top = -1;
+        for (int x = minX; x < maxX; x++) {
+            for (int z = minZ; z < maxZ; z++) {
+                top = Math.max(top, blocks.getHeight(x & 31, z & 31));
+                if (top >= cap) return cap;
+            }
+        }
+        return top;
+    }
+
+    private static boolean isEmptySection(BlockChunk blocks, int y) {
+        if (y < 0) return false;
+        var section = blocks.getSectionAtBlockY(y);
+        return section != null && section.isSolidAir();
+    }
+
     @Nullable
     private ItemContainer getOutputContainerAbove(World world, Store<ChunkStore> store, int quarryX, int quarryY, int quarryZ) {
         int aboveY = quarryY + 1;
@@ -472,8 +544,7 @@ public class QuarrySystem extends EntityTickingSystem<ChunkStore> {
     // No world.getBlockType here to avoid loading chunks while a Store is processing.
     private boolean isAir(World world, int x, int y, int z) {
         if (y < 0 || y >= 320) return true;
-        var chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-        if (chunk == null) chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
+        var chunk = BlockAccess.chunk(world, x, z);
         if (chunk == null) return true;
         int lx = x & 31;
         int lz = z & 31;
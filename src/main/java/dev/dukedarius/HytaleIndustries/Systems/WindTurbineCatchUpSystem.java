@@ -0,0 +1,87 @@
+package dev.dukedarius.HytaleIndustries.Systems;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefSystem;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.Components.Energy.WindTurbineComponent;
+import dev.dukedarius.HytaleIndustries.Energy.WindManager;
+import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.BlockPos;
+import dev.dukedarius.HytaleIndustries.Utils.OfflineClock;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * When a wind turbine's chunk loads, adds what it would have generated since the chunk was saved: its height-based rate times the wind's average speed over that time ({@link WindManager#getAverageSpeed}),
+ * capped at the free storage.
+ */
+public class WindTurbineCatchUpSystem extends RefSystem<ChunkStore> {
+
+    private final ComponentType<ChunkStore, WindTurbineComponent> turbineType;
+    private final ComponentType<ChunkStore, StoresHE> storesType;
+    private final Query<ChunkStore> query;
+
+    public WindTurbineCatchUpSystem(ComponentType<ChunkStore, WindTurbineComponent> turbineType,
+                                    ComponentType<ChunkStore, StoresHE> storesType) {
+        this.turbineType = turbineType;
+        this.storesType = storesType;
+        this.query = Query.and(turbineType, storesType);
+    }
+
+    @Override
+    public Query<ChunkStore> getQuery() {
+        return query;
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull Ref<ChunkStore> ref, @Nonnull AddReason reason,
+                              @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        if (reason != AddReason.LOAD) return;
+        WindTurbineComponent turbine = store.getComponent(ref, turbineType);
+        StoresHE energy = store.getComponent(ref, storesType);
+        if (turbine == null || energy == null || turbine.savedAtMillis <= 0L) return;
+
+        double seconds = OfflineClock.elapsedSeconds(turbine.savedAtMillis);
+        turbine.savedAtMillis = 0L;
+        buffer.replaceComponent(ref, turbineType, turbine);
+        // Not yet set up turbines don't generate; full storage has no room
+        if (!turbine.initialized || energy.max <= 0 || energy.current >= energy.max) return;
+
+        long pos = BlockAccess.positionOf(store, ref);
+        World world = store.getExternalData().getWorld();
+        if (pos == BlockAccess.NO_POSITION || world == null) return;
+
+        double windSpeed = 1.0;
+        WindManager wind = HytaleIndustriesPlugin.INSTANCE.getWindManager();
+        if (wind != null) {
+            windSpeed = wind.getAverageSpeed(world, seconds);
+        }
+
+        double generated = WindTurbineSystem.generationPerSecond(BlockPos.unpackY(pos)) * windSpeed * seconds
+                + turbine.energyRemainder;
+        long toAdd = (long) Math.floor(generated);
+        turbine.energyRemainder = generated - toAdd;
+        toAdd = Math.min(toAdd, energy.max - energy.current);
+        if (toAdd > 0) {
+            energy.current += toAdd;
+            buffer.replaceComponent(ref, storesType, energy);
+        }
+        Tracer.trace(Tracer.Channel.ENERGY, "turbine-catch-up", (long) seconds, toAdd);
+    }
+
+    @Override
+    public void onEntityRemove(@Nonnull Ref<ChunkStore> ref, @Nonnull RemoveReason reason,
+                               @Nonnull Store<ChunkStore> store, @Nonnull CommandBuffer<ChunkStore> buffer) {
+        // Nothing to stamp here: the component's codec writes the save time whenever the chunk is saved
+    }
+}
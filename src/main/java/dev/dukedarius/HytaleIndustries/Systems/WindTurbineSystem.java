@@ -18,6 +18,8 @@ import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.Components.Energy.WindTurbineComponent;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Utils.BlockAccess;
+import dev.dukedarius.HytaleIndustries.Utils.Tracer;
 
 import javax.annotation.Nonnull;
 
@@ -92,7 +94,7 @@ public class WindTurbineSystem extends EntityTickingSystem<ChunkStore> {
                 )
         );
         if (blockType == null) {
-            HytaleIndustriesPlugin.LOGGER.atFine().log("BlockType is null");
+            Tracer.trace(Tracer.Channel.ENERGY, "turbine-no-blocktype", x, y, z);
             return;
         }
 
@@ -125,17 +127,8 @@ public class WindTurbineSystem extends EntityTickingSystem<ChunkStore> {
             return;
         }
 
-        // 1. Compute generation rate (HE per second), matching old BlockState logic,
-        //    then apply global wind speed modifier.
-        double baseGeneration = 10.0; // HE/s at or below Y=120
-        double currentGeneration = baseGeneration;
-        if (y > 120) {
-            currentGeneration += (y - 120) / 10.0; // +1 HE/s per 10 blocks above 120
-        }
-        if (currentGeneration < 0.0) {
-            currentGeneration = 0.0;
-        }
-        currentGeneration *= windSpeed;
+        // 1. Compute generation rate (HE per second), then apply global wind speed modifier.
+        double currentGeneration = generationPerSecond(y) * windSpeed;
         turbine.lastProductionPerSecond = currentGeneration;
 
         if (energy.max <= 0) {
@@ -149,19 +142,25 @@ public class WindTurbineSystem extends EntityTickingSystem<ChunkStore> {
         long toAdd = (long) Math.floor(turbine.energyRemainder);
         if (toAdd > 0) {
             turbine.energyRemainder -= toAdd;
-            long space = energy.max - energy.current;
-            if (space > 0) {
-                long added = Math.min(space, toAdd);
-                if (added > 0) {
-                    energy.current += added;
-                    buffer.replaceComponent(ref, storesType, energy);
-                }
-            }
+            // Capped at the free space and written back by EnergyLedgerCommitSystem
+            HytaleIndustriesPlugin.INSTANCE.getEnergyLedger().produce(energy, toAdd);
         }
 
         buffer.replaceComponent(ref, turbineType, turbine);
     }
 
+    /**
+     * Generation rate in HE per second at wind speed 1, matching old BlockState logic.
+     */
+    static double generationPerSecond(int y) {
+        double baseGeneration = 10.0; // HE/s at or below Y=120
+        double currentGeneration = baseGeneration;
+        if (y > 120) {
+            currentGeneration += (y - 120) / 10.0; // +1 HE/s per 10 blocks above 120
+        }
+        return Math.max(0.0, currentGeneration);
+    }
+
     private static void setupFillers(@Nonnull World world, int x, int y, int z) {
         // Wind turbine is 4 blocks tall.
         // Origin is at the bottom (y).
@@ -170,10 +169,7 @@ public class WindTurbineSystem extends EntityTickingSystem<ChunkStore> {
             int targetY = y + dy;
             if (targetY >= WORLD_MAX_Y_EXCLUSIVE) continue;
 
-            WorldChunk targetChunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
-            if (targetChunk == null) {
-                targetChunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
-            }
+            WorldChunk targetChunk = BlockAccess.chunk(world, x, z);
             if (targetChunk == null) continue;
 
             int filler = FillerBlockUtil.pack(0, dy, 0);
@@ -23,6 +23,7 @@ import com.hypixel.hytale.server.core.inventory.ItemStack;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.Components.Processing.AlloySmelterInventory;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
 
 import javax.annotation.Nonnull;
 import java.util.concurrent.ScheduledFuture;
@@ -62,6 +63,8 @@ public class AlloySmelterUIPage extends InteractiveCustomUIPage<AlloySmelterUIPa
         lastWorld = store.getExternalData().getWorld();
 
         ensureTimerStarted();
+        // The player may be about to change the machine's contents by hand, which nothing reports
+        HytaleIndustriesPlugin.INSTANCE.getMachineHibernation().wake(lastWorld, x, y, z);
 
         cmd.append("Pages/HytaleIndustries_AlloySmelter.ui");
         render(cmd, events, store);
@@ -81,6 +84,7 @@ public class AlloySmelterUIPage extends InteractiveCustomUIPage<AlloySmelterUIPa
         if (player == null) return;
 
         World world = store.getExternalData().getWorld();
+        HytaleIndustriesPlugin.INSTANCE.getMachineHibernation().wake(world, x, y, z);
         var ctx = resolve(world);
         if (ctx == null || ctx.inv == null) return;
 
@@ -263,6 +267,7 @@ public class AlloySmelterUIPage extends InteractiveCustomUIPage<AlloySmelterUIPa
             }
             if (dirty) {
                 entity.getStore().replaceComponent(entity, HytaleIndustriesPlugin.INSTANCE.getAlloySmelterInventoryType(), inv);
+                InventoryAdapters.invalidate(world, x, y, z);
             }
         }
         Context ctx = new Context();
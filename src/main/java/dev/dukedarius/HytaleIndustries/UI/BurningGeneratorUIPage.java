@@ -25,6 +25,7 @@ import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import dev.dukedarius.HytaleIndustries.Components.Energy.FuelInventory;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
 import java.util.concurrent.ScheduledFuture;
@@ -109,6 +110,7 @@ public class BurningGeneratorUIPage extends InteractiveCustomUIPage<BurningGener
         if (fuel.fuelContainer == null) {
             fuel.fuelContainer = new com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer((short) 1);
             entity.getStore().replaceComponent(entity, HytaleIndustriesPlugin.INSTANCE.getFuelInventoryType(), fuel);
+            InventoryAdapters.invalidate(world, x, y, z);
         }
 
         var genWin = new ContainerWindow(fuel.fuelContainer);
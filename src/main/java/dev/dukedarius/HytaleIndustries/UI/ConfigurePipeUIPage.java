@@ -12,7 +12,11 @@ import org.joml.Vector3i;
 import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
 import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
 import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
+import com.hypixel.hytale.server.core.inventory.InventoryComponent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.CombinedItemContainer;
 import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
@@ -77,7 +81,6 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
         ConnectionState cycleConnectionState(Direction dir);
         boolean isSideConnected(Direction dir);
         int getRawSideConfig();
-        void setRawSideConfig(int raw);
     }
 
     @Override
@@ -92,6 +95,18 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
 
     @Override
     public void handleDataEvent(@NonNullDecl Ref<EntityStore> ref, @NonNullDecl Store<EntityStore> store, @NonNullDecl ConfigurePipeUIEventData data) {
+        if (ConfigurePipeUIEventData.ACTION_UPGRADE_TIER.equals(data.action)) {
+            upgradeTier(ref, store);
+            return;
+        }
+        if (ConfigurePipeUIEventData.ACTION_CYCLE_ROUTING.equals(data.action) && data.side != null) {
+            try {
+                cycleRouting(store, Direction.valueOf(data.side));
+            } catch (IllegalArgumentException ignored) {
+            }
+            return;
+        }
+
         if (data.side == null) {
             return;
         }
@@ -157,7 +172,7 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
 
         WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
         if (chunk == null) {
-            dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore.clear(x, y, z);
+            dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore.clear(world, x, y, z);
             return;
         }
 
@@ -342,7 +357,7 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
 
         WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
         if (chunk == null) {
-            dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore.clear(x, y, z);
+            dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore.clear(world, x, y, z);
             return;
         }
 
@@ -386,7 +401,176 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
         if(isBasicPowerCable){
             cmd.set("#PageTitle.Text", "Basic Power Cable Configuration");
             cmd.set("#FilterHelp.Visible", false);
+            cmd.set("#TierRow.Visible", false);
+            cmd.set("#RoutingRow.Visible", false);
+            cmd.set("#RoutingInfo.Visible", false);
+        } else {
+            BasicItemPipeComponent basicPipe = stateRef.getStore().getComponent(stateRef,
+                    HytaleIndustriesPlugin.INSTANCE.getBasicItemPipeComponentType());
+            if (basicPipe != null) {
+                BasicItemPipeComponent.Tier tier = basicPipe.getTier();
+                BasicItemPipeComponent.Tier upgrade = tier.upgrade();
+                String tierText = tier.name() + ": " + tier.getItemsPerOperation() + " items x "
+                        + tier.getOperationsPerSecond() + "/s = " + tier.getItemsPerSecond() + " items/s";
+                if (upgrade != null) {
+                    tierText += "  |  " + upgrade.name() + " (" + upgrade.getItemsPerSecond() + " items/s): "
+                            + (upgrade.getUpgradeItem() != null
+                            ? upgrade.getUpgradeCost() + "x " + upgrade.getUpgradeItem() : "free");
+                }
+                cmd.set("#TierLabel.Text", tierText);
+                cmd.set("#TierButton.Visible", upgrade != null);
+                events.addEventBinding(
+                        CustomUIEventBindingType.Activating,
+                        "#TierButton",
+                        new EventData().append(ConfigurePipeUIEventData.KEY_ACTION, ConfigurePipeUIEventData.ACTION_UPGRADE_TIER),
+                        false
+                );
+
+                // Routing applies to Extract sides; list those with their current mode
+                StringBuilder routing = new StringBuilder();
+                for (Direction dir : Direction.values()) {
+                    events.addEventBinding(
+                            CustomUIEventBindingType.Activating,
+                            "#Route" + dir.name() + "Button",
+                            new EventData()
+                                    .append(ConfigurePipeUIEventData.KEY_ACTION, ConfigurePipeUIEventData.ACTION_CYCLE_ROUTING)
+                                    .append(ConfigurePipeUIEventData.KEY_SIDE, dir.name()),
+                            false
+                    );
+                    Vector3i dirVec = directionToVector(dir);
+                    if (basicPipe.getConnectionState(dirVec) == BasicItemPipeComponent.ConnectionState.Extract) {
+                        if (routing.length() > 0) routing.append(", ");
+                        routing.append(dir.name()).append(": ").append(basicPipe.getRoutingMode(dirVec));
+                    }
+                }
+                cmd.set("#RoutingLabel.Text", routing.length() > 0 ? routing.toString() : "No Extract sides");
+            }
+        }
+    }
+
+    /** Cycle the routing mode of one side (Nearest -> RoundRobin -> Balanced). */
+    private void cycleRouting(@NonNullDecl Store<EntityStore> store, @NonNullDecl Direction dir) {
+        World world = store.getExternalData().getWorld();
+        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
+        if (chunk == null) {
+            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
+        }
+        if (chunk == null) {
+            return;
+        }
+
+        Ref<ChunkStore> stateRef = chunk.getBlockComponentEntity(x & 31, y, z & 31);
+        if (stateRef == null) {
+            return;
+        }
+
+        ComponentType<ChunkStore, BasicItemPipeComponent> basicPipeType = HytaleIndustriesPlugin.INSTANCE.getBasicItemPipeComponentType();
+        BasicItemPipeComponent basicPipe = stateRef.getStore().getComponent(stateRef, basicPipeType);
+        if (basicPipe == null) {
+            return;
         }
+
+        Vector3i dirVec = directionToVector(dir);
+        basicPipe.setRoutingMode(dirVec, basicPipe.getRoutingMode(dirVec).next());
+        stateRef.getStore().replaceComponent(stateRef, basicPipeType, basicPipe);
+        chunk.markNeedsSaving();
+        LOGGER.atFine().log("BasicItemPipe routing " + dir + " at (" + x + "," + y + "," + z + ") now "
+                + basicPipe.getRoutingMode(dirVec));
+
+        UICommandBuilder commands = new UICommandBuilder();
+        UIEventBuilder events = new UIEventBuilder();
+        render(commands, events, store);
+        this.sendUpdate(commands, events, false);
+    }
+
+    /**
+     * Upgrade the item pipe to its next throughput tier (Basic -> Improved -> Advanced), taking the new tier's
+     * upgrade items from the player's inventory. Nothing changes if the player doesn't carry enough of them.
+     */
+    private void upgradeTier(@NonNullDecl Ref<EntityStore> ref, @NonNullDecl Store<EntityStore> store) {
+        World world = store.getExternalData().getWorld();
+        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
+        if (chunk == null) {
+            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
+        }
+        if (chunk == null) {
+            return;
+        }
+
+        Ref<ChunkStore> stateRef = chunk.getBlockComponentEntity(x & 31, y, z & 31);
+        if (stateRef == null) {
+            return;
+        }
+
+        ComponentType<ChunkStore, BasicItemPipeComponent> basicPipeType = HytaleIndustriesPlugin.INSTANCE.getBasicItemPipeComponentType();
+        BasicItemPipeComponent basicPipe = stateRef.getStore().getComponent(stateRef, basicPipeType);
+        if (basicPipe == null) {
+            return;
+        }
+
+        BasicItemPipeComponent.Tier upgrade = basicPipe.getTier().upgrade();
+        if (upgrade == null) {
+            return;
+        }
+        if (!takeUpgradeItems(ref, store, upgrade)) {
+            PlayerRef player = store.getComponent(ref, PlayerRef.getComponentType());
+            if (player != null) {
+                player.sendMessage(Message.raw("Upgrading to " + upgrade.name() + " needs "
+                        + upgrade.getUpgradeCost() + "x " + upgrade.getUpgradeItem() + "."));
+            }
+            return;
+        }
+
+        basicPipe.setTier(upgrade);
+        // Re-phase against the new period on the next tick
+        basicPipe.setSecondsAccumulator(0.0f);
+        basicPipe.setStaggered(false);
+        stateRef.getStore().replaceComponent(stateRef, basicPipeType, basicPipe);
+        chunk.markNeedsSaving();
+        LOGGER.atFine().log("BasicItemPipe tier at (" + x + "," + y + "," + z + ") now " + basicPipe.getTier());
+
+        UICommandBuilder commands = new UICommandBuilder();
+        UIEventBuilder events = new UIEventBuilder();
+        render(commands, events, store);
+        this.sendUpdate(commands, events, false);
+    }
+
+    /** Removes the tier's upgrade items from the player's inventory; false (and nothing taken) if they're short. */
+    private static boolean takeUpgradeItems(@NonNullDecl Ref<EntityStore> ref, @NonNullDecl Store<EntityStore> store,
+                                            @NonNullDecl BasicItemPipeComponent.Tier tier) {
+        String itemId = tier.getUpgradeItem();
+        int cost = tier.getUpgradeCost();
+        if (itemId == null || cost <= 0) {
+            return true;
+        }
+        CombinedItemContainer inv = InventoryComponent.getCombined(store, ref, InventoryComponent.STORAGE_FIRST);
+        if (inv == null) {
+            return false;
+        }
+
+        int held = 0;
+        for (short s = 0; s < inv.getCapacity() && held < cost; s++) {
+            ItemStack stack = inv.getItemStack(s);
+            if (stack != null && !ItemStack.isEmpty(stack) && itemId.equals(stack.getItemId())) {
+                held += stack.getQuantity();
+            }
+        }
+        if (held < cost) {
+            return false;
+        }
+
+        int remaining = cost;
+        for (short s = 0; s < inv.getCapacity() && remaining > 0; s++) {
+            ItemStack stack = inv.getItemStack(s);
+            if (stack == null || ItemStack.isEmpty(stack) || !itemId.equals(stack.getItemId())) {
+                continue;
+            }
+            int take = Math.min(remaining, stack.getQuantity());
+            int left = stack.getQuantity() - take;
+            inv.setItemStackForSlot(s, left <= 0 ? ItemStack.EMPTY : stack.withQuantity(left));
+            remaining -= take;
+        }
+        return true;
     }
 
     private static void bindSlot(@NonNullDecl UIEventBuilder events, @NonNullDecl String selector, @NonNullDecl Direction dir) {
@@ -466,7 +650,7 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
 
         Ref<ChunkStore> stateRef = chunk.getBlockComponentEntity(lx, y, lz);
         if (stateRef == null) {
-            dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore.clear(x, y, z);
+            dev.dukedarius.HytaleIndustries.Pipes.PipeSideConfigStore.clear(world, x, y, z);
             return null;
         }
         
@@ -501,11 +685,6 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
                 public int getRawSideConfig() {
                     return basicPipe.getSideConfig();
                 }
-                
-                @Override
-                public void setRawSideConfig(int raw) {
-                    basicPipe.setSideConfig(raw);
-                }
             };
         }
         
@@ -540,11 +719,6 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
                 public int getRawSideConfig() {
                     return basicCable.getSideConfig();
                 }
-                
-                @Override
-                public void setRawSideConfig(int raw) {
-                    basicCable.setSideConfig(raw);
-                }
             };
         }
 
@@ -616,6 +790,8 @@ public class ConfigurePipeUIPage extends InteractiveCustomUIPage<ConfigurePipeUI
 
         static final String ACTION_TOGGLE_SIDE = "ToggleSide";
         static final String ACTION_OPEN_FILTER = "OpenFilter";
+        static final String ACTION_UPGRADE_TIER = "UpgradeTier";
+        static final String ACTION_CYCLE_ROUTING = "CycleRouting";
 
         public static final BuilderCodec<ConfigurePipeUIEventData> CODEC = BuilderCodec.builder(ConfigurePipeUIEventData.class, ConfigurePipeUIEventData::new)
                 .append(new KeyedCodec<>(KEY_ACTION, Codec.STRING), (d, v) -> d.action = v, d -> d.action)
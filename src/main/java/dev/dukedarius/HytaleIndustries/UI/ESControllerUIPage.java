@@ -99,7 +99,7 @@ public class ESControllerUIPage extends InteractiveCustomUIPage<ESControllerUIPa
         cmd.set("#GridsValue.Text", String.valueOf(ctrl.gridCount));
         cmd.set("#HousingsValue.Text", String.valueOf(ctrl.diskHousingCount));
         cmd.set("#DisksValue.Text", String.valueOf(ctrl.totalDiskCount));
-        cmd.set("#ItemTypesValue.Text", String.valueOf(ctrl.itemIndex.size()));
+        cmd.set("#ItemTypesValue.Text", String.valueOf(ctrl.itemIndex.getTypeCount()));
     }
 
     public static final class EventData {
@@ -7,6 +7,7 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
 import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+import com.hypixel.hytale.server.core.HytaleServer;
 import com.hypixel.hytale.server.core.asset.type.item.config.Item;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
@@ -22,17 +23,30 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESControllerComponent;
 import dev.dukedarius.HytaleIndustries.Components.EnergizedStorage.ESDiskHousingComponent;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESGridView;
+import dev.dukedarius.HytaleIndustries.EnergizedStorage.ESItemIndex;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
 import dev.dukedarius.HytaleIndustries.Systems.EnergizedStorage.ESNetworkSystem;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
-import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class ESGridUIPage extends InteractiveCustomUIPage<ESGridUIPage.ESGridEventData> {
+    private static final long AUTO_UPDATE_PERIOD_MS = 500L;
+
     private final int x, y, z;
+    private final ESGridView view = new ESGridView();
+
+    private transient Ref<EntityStore> lastRef;
+    private transient Store<EntityStore> lastStore;
+    private transient World lastWorld;
+    private transient ScheduledFuture<?> autoUpdateTask;
+
+    // What the network section last reflected, to skip refreshes when nothing changed
+    private transient ESItemIndex lastSentIndex;
+    private transient long lastSentVersion = -1;
 
     public ESGridUIPage(@NonNullDecl PlayerRef playerRef, @NonNullDecl org.joml.Vector3i pos) {
         super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, ESGridEventData.CODEC);
@@ -44,8 +58,51 @@ public class ESGridUIPage extends InteractiveCustomUIPage<ESGridUIPage.ESGridEve
                       @NonNullDecl UICommandBuilder cmd,
                       @NonNullDecl UIEventBuilder events,
                       @NonNullDecl Store<EntityStore> store) {
+        this.lastRef = ref;
+        this.lastStore = store;
+        this.lastWorld = store.getExternalData().getWorld();
+
         cmd.append("Pages/HytaleIndustries_ESGrid.ui");
-        render(ref, cmd, events, store);
+
+        // Fixed page of network slots; clicks resolve the item from the view, so bindings never change
+        for (int i = 0; i < ESGridView.PAGE_SIZE; i++) {
+            cmd.append("#NetworkContainer", "Pages/HytaleIndustries_ESGridSlot.ui");
+            String sel = "#NetworkContainer[" + i + "] ";
+            events.addEventBinding(CustomUIEventBindingType.Activating, sel + "#SlotButton",
+                    new EventData()
+                            .append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_EXTRACT)
+                            .append(ESGridEventData.KEY_SLOT_INDEX, String.valueOf(i))
+                            .append(ESGridEventData.KEY_SHIFT, "false"),
+                    false);
+            events.addEventBinding(CustomUIEventBindingType.RightClicking, sel + "#SlotButton",
+                    new EventData()
+                            .append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_EXTRACT)
+                            .append(ESGridEventData.KEY_SLOT_INDEX, String.valueOf(i))
+                            .append(ESGridEventData.KEY_SHIFT, "true"),
+                    false);
+        }
+
+        events.addEventBinding(CustomUIEventBindingType.ValueChanged, "#SearchBox",
+                EventData.of(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_SEARCH)
+                        .append(ESGridEventData.KEY_SEARCH_TEXT, "#SearchBox.Value"),
+                false);
+        events.addEventBinding(CustomUIEventBindingType.Activating, "#SortButton",
+                new EventData().append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_SORT), false);
+        events.addEventBinding(CustomUIEventBindingType.Activating, "#PrevPageButton",
+                new EventData().append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_PREV_PAGE), false);
+        events.addEventBinding(CustomUIEventBindingType.Activating, "#NextPageButton",
+                new EventData().append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_NEXT_PAGE), false);
+
+        view.invalidateShown();
+        renderNetwork(cmd, store);
+        renderInventory(ref, cmd, events, store);
+        ensureTimerStarted();
+    }
+
+    @Override
+    public void onDismiss(@NonNullDecl Ref<EntityStore> ref, @NonNullDecl Store<EntityStore> store) {
+        stopTimer();
+        super.onDismiss(ref, store);
     }
 
     @Override
@@ -54,6 +111,21 @@ public class ESGridUIPage extends InteractiveCustomUIPage<ESGridUIPage.ESGridEve
                                 @NonNullDecl ESGridEventData data) {
         if (data.action == null) return;
 
+        // View-only actions: recompute the visible page and send the slots that changed
+        switch (data.action) {
+            case ESGridEventData.ACTION_SEARCH -> view.setSearch(data.searchText);
+            case ESGridEventData.ACTION_SORT -> view.cycleSortMode();
+            case ESGridEventData.ACTION_PREV_PAGE -> view.previousPage();
+            case ESGridEventData.ACTION_NEXT_PAGE -> view.nextPage();
+            default -> { }
+        }
+        if (!ESGridEventData.ACTION_EXTRACT.equals(data.action) && !ESGridEventData.ACTION_INSERT.equals(data.action)) {
+            UICommandBuilder cmd = new UICommandBuilder();
+            renderNetwork(cmd, store);
+            sendUpdate(cmd, new UIEventBuilder(), false);
+            return;
+        }
+
         World world = store.getExternalData().getWorld();
         if (world == null) return;
         var chunkStore = world.getChunkStore().getStore();
@@ -64,32 +136,39 @@ public class ESGridUIPage extends InteractiveCustomUIPage<ESGridUIPage.ESGridEve
                 HytaleIndustriesPlugin.INSTANCE.getEsControllerType());
         if (controller == null || !controller.networkOnline) return;
 
-        List<ESDiskHousingComponent> housings = ESNetworkSystem.findDiskHousings(
-                world, chunkStore, x, y, z,
-                HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType(),
-                HytaleIndustriesPlugin.INSTANCE.getEsDiskHousingType());
-
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) return;
 
-        if (ESGridEventData.ACTION_EXTRACT.equals(data.action) && data.itemId != null) {
-            int amount = data.isShift() ? resolveMaxStack(data.itemId) : 1;
-            for (ESDiskHousingComponent h : housings) {
-                List<ItemStack> got = h.extractItem(data.itemId, amount);
+        ESItemIndex index = controller.itemIndex;
+
+        if (ESGridEventData.ACTION_EXTRACT.equals(data.action)) {
+            ItemStack shown = view.getShown(data.getSlotIndex());
+            if (shown == null) return;
+            String itemId = shown.getItemId();
+            int amount = (int) Math.min(data.isShift() ? resolveMaxStack(itemId) : 1, index.getCount(itemId));
+            // Only visit housings that actually hold the item
+            for (ESDiskHousingComponent h : index.getHolders(itemId)) {
+                List<ItemStack> got = h.extractItem(itemId, amount);
                 for (ItemStack extracted : got) {
                     Player.giveItem(extracted, ref, store);
                     amount -= extracted.getQuantity();
                 }
                 if (amount <= 0) break;
             }
-        } else if (ESGridEventData.ACTION_INSERT.equals(data.action) && data.getSlotIndex() >= 0) {
+        } else if (data.getSlotIndex() >= 0) {
             CombinedItemContainer inv = InventoryComponent.getCombined(store, ref, InventoryComponent.STORAGE_FIRST);
             if (inv == null) return;
             short slot = (short) data.getSlotIndex();
             ItemStack stack = inv.getItemStack(slot);
             if (stack == null || ItemStack.isEmpty(stack)) return;
 
-            int amount = data.isShift() ? stack.getQuantity() : 1;
+            int amount = (int) Math.min(data.isShift() ? stack.getQuantity() : 1, index.getFreeSpace());
+            if (amount <= 0) return;
+
+            List<ESDiskHousingComponent> housings = ESNetworkSystem.findDiskHousings(
+                    world, chunkStore, x, y, z,
+                    HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType(),
+                    HytaleIndustriesPlugin.INSTANCE.getEsDiskHousingType());
             ItemStack toInsert = stack.withQuantity(amount);
             int inserted = 0;
             for (ESDiskHousingComponent h : housings) {
@@ -102,103 +181,152 @@ public class ESGridUIPage extends InteractiveCustomUIPage<ESGridUIPage.ESGridEve
             }
         }
 
-        // Rebuild controller cache from housings so re-render shows current state
-        controller.itemIndex.clear();
-        controller.totalStored = 0;
-        controller.maxCapacity = 0;
-        for (ESDiskHousingComponent h : housings) {
-            controller.maxCapacity += h.getTotalCapacity();
-            controller.totalStored += h.getTotalStored();
-            controller.itemIndex.addAll(h.aggregateItems());
-        }
+        // The index was updated by the housing deltas; refresh the controller's totals for the re-render
+        controller.totalStored = index.getTotalStored();
+        controller.maxCapacity = index.getMaxCapacity();
 
-        // Re-render with updated state
+        // Re-render: changed network slots + the player inventory
         UICommandBuilder cmd = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
-        render(ref, cmd, events, store);
+        renderNetwork(cmd, store);
+        renderInventory(ref, cmd, events, store);
         sendUpdate(cmd, events, false);
     }
 
-    private void render(@NonNullDecl Ref<EntityStore> ref,
-                        @NonNullDecl UICommandBuilder cmd,
-                        @NonNullDecl UIEventBuilder events,
-                        @NonNullDecl Store<EntityStore> store) {
+    /**
+     * Updates the header, paging labels and only those network slots whose content changed since the last send.
+     */
+    private void renderNetwork(@NonNullDecl UICommandBuilder cmd, @NonNullDecl Store<EntityStore> store) {
+        ESItemIndex index = ESItemIndex.EMPTY;
+        ESControllerComponent controller = null;
         World world = store.getExternalData().getWorld();
-        if (world == null) {
-            cmd.set("#StorageLabel.Text", "No world");
-            return;
+        if (world != null) {
+            controller = ESNetworkSystem.findController(
+                    world, world.getChunkStore().getStore(), x, y, z,
+                    HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType(),
+                    HytaleIndustriesPlugin.INSTANCE.getEsControllerType());
+            if (controller != null && controller.networkOnline) index = controller.itemIndex;
         }
 
-        var chunkStore = world.getChunkStore().getStore();
-        ESControllerComponent controller = ESNetworkSystem.findController(
-                world, chunkStore, x, y, z,
-                HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType(),
-                HytaleIndustriesPlugin.INSTANCE.getEsControllerType());
-
-        if (controller == null || !controller.networkOnline) {
+        if (world == null) {
+            cmd.set("#StorageLabel.Text", "No world");
+        } else if (index == ESItemIndex.EMPTY) {
             cmd.set("#StorageLabel.Text", "Network Offline");
-            return;
+        } else {
+            cmd.set("#StorageLabel.Text",
+                    String.format("Storage: %d / %d  (%d types)", index.getTotalStored(), index.getMaxCapacity(),
+                            index.getTypeCount()));
         }
 
-        cmd.set("#StorageLabel.Text",
-                String.format("Storage: %d / %d", controller.totalStored, controller.maxCapacity));
+        for (int slot : view.diffPage(index)) {
+            ItemStack entry = view.getShown(slot);
+            String sel = "#NetworkContainer[" + slot + "] ";
+            cmd.set(sel + "#SlotIcon.ItemId", entry != null ? entry.getItemId() : "");
+            cmd.set(sel + "#SlotQty.Text", entry != null ? formatQty(entry.getQuantity()) : "");
+        }
 
-        // Populate network items grid
-        cmd.clear("#NetworkContainer");
-        List<ItemStack> items = controller.itemIndex;
-        for (int i = 0; i < items.size(); i++) {
-            ItemStack entry = items.get(i);
-            cmd.append("#NetworkContainer", "Pages/HytaleIndustries_ESGridSlot.ui");
-            String sel = "#NetworkContainer[" + i + "] ";
-            cmd.set(sel + "#SlotIcon.ItemId", entry.getItemId());
-            cmd.set(sel + "#SlotQty.Text", formatQty(entry.getQuantity()));
+        cmd.set("#SortLabel.Text", "Sort: " + view.getSortMode().getLabel());
+        cmd.set("#PageLabel.Text", String.format("Page %d / %d  (%d shown)",
+                view.getPage() + 1, view.getPageCount(index), view.getMatchCount(index)));
 
-            events.addEventBinding(CustomUIEventBindingType.Activating, sel + "#SlotButton",
-                    new EventData()
-                            .append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_EXTRACT)
-                            .append(ESGridEventData.KEY_ITEM_ID, entry.getItemId())
-                            .append(ESGridEventData.KEY_SHIFT, "false"),
-                    false);
-            events.addEventBinding(CustomUIEventBindingType.RightClicking, sel + "#SlotButton",
-                    new EventData()
-                            .append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_EXTRACT)
-                            .append(ESGridEventData.KEY_ITEM_ID, entry.getItemId())
-                            .append(ESGridEventData.KEY_SHIFT, "true"),
-                    false);
-        }
+        lastSentIndex = index;
+        lastSentVersion = index.getVersion();
+    }
 
-        // Populate player inventory grid
+    private void renderInventory(@NonNullDecl Ref<EntityStore> ref,
+                                 @NonNullDecl UICommandBuilder cmd,
+                                 @NonNullDecl UIEventBuilder events,
+                                 @NonNullDecl Store<EntityStore> store) {
         cmd.clear("#InventoryContainer");
         Player player = store.getComponent(ref, Player.getComponentType());
-        if (player != null) {
-            CombinedItemContainer inv = InventoryComponent.getCombined(store, ref, InventoryComponent.STORAGE_FIRST);
-            if (inv != null) {
-                for (short s = 0; s < inv.getCapacity(); s++) {
-                    ItemStack stack = inv.getItemStack(s);
-                    cmd.append("#InventoryContainer", "Pages/HytaleIndustries_ESGridSlot.ui");
-                    String sel = "#InventoryContainer[" + s + "] ";
-                    if (stack != null && !ItemStack.isEmpty(stack)) {
-                        cmd.set(sel + "#SlotIcon.ItemId", stack.getItemId());
-                        cmd.set(sel + "#SlotQty.Text", formatQty(stack.getQuantity()));
-
-                        events.addEventBinding(CustomUIEventBindingType.Activating, sel + "#SlotButton",
-                                new EventData()
-                                        .append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_INSERT)
-                                        .append(ESGridEventData.KEY_SLOT_INDEX, String.valueOf(s))
-                                        .append(ESGridEventData.KEY_SHIFT, "false"),
-                                false);
-                        events.addEventBinding(CustomUIEventBindingType.RightClicking, sel + "#SlotButton",
-                                new EventData()
-                                        .append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_INSERT)
-                                        .append(ESGridEventData.KEY_SLOT_INDEX, String.valueOf(s))
-                                        .append(ESGridEventData.KEY_SHIFT, "true"),
-                                false);
-                    }
-                }
+        if (player == null) return;
+        CombinedItemContainer inv = InventoryComponent.getCombined(store, ref, InventoryComponent.STORAGE_FIRST);
+        if (inv == null) return;
+        for (short s = 0; s < inv.getCapacity(); s++) {
+            ItemStack stack = inv.getItemStack(s);
+            cmd.append("#InventoryContainer", "Pages/HytaleIndustries_ESGridSlot.ui");
+            String sel = "#InventoryContainer[" + s + "] ";
+            if (stack != null && !ItemStack.isEmpty(stack)) {
+                cmd.set(sel + "#SlotIcon.ItemId", stack.getItemId());
+                cmd.set(sel + "#SlotQty.Text", formatQty(stack.getQuantity()));
+
+                events.addEventBinding(CustomUIEventBindingType.Activating, sel + "#SlotButton",
+                        new EventData()
+                                .append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_INSERT)
+                                .append(ESGridEventData.KEY_SLOT_INDEX, String.valueOf(s))
+                                .append(ESGridEventData.KEY_SHIFT, "false"),
+                        false);
+                events.addEventBinding(CustomUIEventBindingType.RightClicking, sel + "#SlotButton",
+                        new EventData()
+                                .append(ESGridEventData.KEY_ACTION, ESGridEventData.ACTION_INSERT)
+                                .append(ESGridEventData.KEY_SLOT_INDEX, String.valueOf(s))
+                                .append(ESGridEventData.KEY_SHIFT, "true"),
+                        false);
             }
         }
     }
 
+    private void ensureTimerStarted() {
+        if (autoUpdateTask != null) return;
+
+        autoUpdateTask = HytaleServer.SCHEDULED_EXECUTOR.scheduleAtFixedRate(
+                () -> {
+                    try {
+                        World world = lastWorld;
+                        if (world == null) return;
+
+                        world.execute(() -> {
+                            try {
+                                timerTickOnWorldThread();
+                            } catch (Throwable t) {
+                                HytaleIndustriesPlugin.LOGGER.atWarning().withCause(t).log("ESGridUI: timer tick crashed");
+                            }
+                        });
+                    } catch (Throwable t) {
+                        HytaleIndustriesPlugin.LOGGER.atWarning().withCause(t).log("ESGridUI: timer scheduling crashed");
+                    }
+                },
+                AUTO_UPDATE_PERIOD_MS,
+                AUTO_UPDATE_PERIOD_MS,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    private void stopTimer() {
+        ScheduledFuture<?> t = autoUpdateTask;
+        autoUpdateTask = null;
+        if (t != null) t.cancel(false);
+        lastRef = null;
+        lastStore = null;
+        lastWorld = null;
+    }
+
+    /**
+     * Pushes network changes made by others (pipes, other players) while the grid is open.
+     * Skipped entirely when the index is unchanged; otherwise only changed slots are sent.
+     */
+    private void timerTickOnWorldThread() {
+        Ref<EntityStore> ref = lastRef;
+        Store<EntityStore> store = lastStore;
+        World world = lastWorld;
+        if (ref == null || store == null || world == null) return;
+
+        Player player = store.getComponent(ref, Player.getComponentType());
+        if (player == null) return;
+        if (player.getPageManager().getCustomPage() != this) return;
+
+        ESControllerComponent controller = ESNetworkSystem.findController(
+                world, world.getChunkStore().getStore(), x, y, z,
+                HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType(),
+                HytaleIndustriesPlugin.INSTANCE.getEsControllerType());
+        ESItemIndex index = controller != null && controller.networkOnline ? controller.itemIndex : ESItemIndex.EMPTY;
+        if (index == lastSentIndex && index.getVersion() == lastSentVersion) return;
+
+        UICommandBuilder cmd = new UICommandBuilder();
+        renderNetwork(cmd, store);
+        sendUpdate(cmd, new UIEventBuilder(), false);
+    }
+
     private static String formatQty(long qty) {
         if (qty >= 1_000_000) return String.format("%.1fM", qty / 1_000_000.0);
         if (qty >= 10_000) return String.format("%.1fK", qty / 1_000.0);
@@ -219,14 +347,20 @@ public class ESGridUIPage extends InteractiveCustomUIPage<ESGridUIPage.ESGridEve
         static final String KEY_ITEM_ID = "ItemId";
         static final String KEY_SLOT_INDEX = "SlotIndex";
         static final String KEY_SHIFT = "Shift";
+        static final String KEY_SEARCH_TEXT = "@Search";
 
         static final String ACTION_EXTRACT = "extract";
         static final String ACTION_INSERT = "insert";
+        static final String ACTION_SEARCH = "search";
+        static final String ACTION_SORT = "sort";
+        static final String ACTION_PREV_PAGE = "prevPage";
+        static final String ACTION_NEXT_PAGE = "nextPage";
 
         public String action;
         public String itemId;
         public String slotIndexStr;
         public String shiftStr;
+        public String searchText;
 
         public int getSlotIndex() {
             try { return slotIndexStr != null ? Integer.parseInt(slotIndexStr) : -1; }
@@ -247,6 +381,8 @@ public class ESGridUIPage extends InteractiveCustomUIPage<ESGridUIPage.ESGridEve
                                 (o, v) -> o.slotIndexStr = v, o -> o.slotIndexStr).add()
                         .append(new KeyedCodec<>(KEY_SHIFT, Codec.STRING),
                                 (o, v) -> o.shiftStr = v, o -> o.shiftStr).add()
+                        .append(new KeyedCodec<>(KEY_SEARCH_TEXT, Codec.STRING),
+                                (o, v) -> o.searchText = v, o -> o.searchText).add()
                         .build();
     }
 }
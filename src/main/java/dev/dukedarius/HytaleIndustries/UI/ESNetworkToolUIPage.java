@@ -59,6 +59,7 @@ public class ESNetworkToolUIPage extends InteractiveCustomUIPage<ESNetworkToolUI
 
         resolved.blockStore.replaceComponent(resolved.entity,
                 HytaleIndustriesPlugin.INSTANCE.getEsNetworkMemberType(), resolved.member);
+        HytaleIndustriesPlugin.INSTANCE.getEsTopologyManager().onPriorityChanged(world, x, y, z);
 
         UICommandBuilder cmd = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
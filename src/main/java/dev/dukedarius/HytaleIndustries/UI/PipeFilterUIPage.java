@@ -23,6 +23,7 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent;
 import dev.dukedarius.HytaleIndustries.Components.ItemPipes.BasicItemPipeComponent.FilterMode;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Pipes.CompiledItemFilter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -89,6 +90,9 @@ public class PipeFilterUIPage extends InteractiveCustomUIPage<PipeFilterUIPage.P
                 changed = true;
                 updateFilterMode(store, mode, null);
             }
+            case PipeFilterUIEventData.ACTION_ADD_PATTERN -> {
+                changed = addPattern(store, data.pattern);
+            }
             case PipeFilterUIEventData.ACTION_EDIT_ITEMS -> {
                 openItemSelector(ref, store);
             }
@@ -140,18 +144,24 @@ public class PipeFilterUIPage extends InteractiveCustomUIPage<PipeFilterUIPage.P
         }
 
         // Side label and summary
+        List<String> patterns = new ArrayList<>();
+        for (String entry : items) {
+            if (CompiledItemFilter.isPattern(entry)) patterns.add(entry);
+        }
         cmd.set("#SideLabel.Text", "Side: " + sideName + ", Filter: " + mode.name());
-        cmd.set("#ItemsSummary.Text", "Items: " + items.length);
+        cmd.set("#ItemsSummary.Text", "Items: " + (items.length - patterns.size()));
+        cmd.set("#PatternsLabel.Text", patterns.isEmpty() ? "Patterns: none" : "Patterns: " + String.join(", ", patterns));
 
         // Rebuild the visual list of items (clear first so removed items disappear immediately)
         cmd.clear("#ItemsListContainer");
-        for (int i = 0; i < items.length; i++) {
-            var itemId = items[i];
-            cmd.append("#ItemsListContainer", "Pages/HytaleIndustries_ItemSelectorSlot.ui");
-
+        int shown = 0;
+        for (String itemId : items) {
+            if (CompiledItemFilter.isPattern(itemId)) continue;
             var item = Item.getAssetMap().getAsset(itemId);
-            if(item == null) continue;
-            String selector = "#ItemsListContainer[" + i + "] ";
+            if (item == null) continue;
+
+            cmd.append("#ItemsListContainer", "Pages/HytaleIndustries_ItemSelectorSlot.ui");
+            String selector = "#ItemsListContainer[" + shown++ + "] ";
             cmd.set(selector + "#ItemSlot.ItemId", itemId);
             cmd.set(selector + "#ItemBorder.Background", "#00000000");
         }
@@ -168,6 +178,15 @@ public class PipeFilterUIPage extends InteractiveCustomUIPage<PipeFilterUIPage.P
                 false
         );
 
+        events.addEventBinding(
+                CustomUIEventBindingType.Activating,
+                "#AddPatternButton",
+                new EventData()
+                        .append(PipeFilterUIEventData.KEY_ACTION, PipeFilterUIEventData.ACTION_ADD_PATTERN)
+                        .append(PipeFilterUIEventData.KEY_PATTERN, "#PatternBox.Value"),
+                false
+        );
+
         events.addEventBinding(
                 CustomUIEventBindingType.Activating,
                 "#ClearButton",
@@ -228,6 +247,43 @@ public class PipeFilterUIPage extends InteractiveCustomUIPage<PipeFilterUIPage.P
         pipe.setFilter(dirVec, mode, items);
         stateRef.getStore().replaceComponent(stateRef, BasicItemPipeComponent.getComponentType(), pipe);
         chunk.markNeedsSaving();
+        HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().invalidate(world, x, y, z);
+    }
+
+    /**
+     * Append a {@code prefix*} or {@code #tag} entry to this side's filter.
+     */
+    private boolean addPattern(@Nonnull Store<EntityStore> store, @Nullable String pattern) {
+        if (!CompiledItemFilter.isPattern(pattern)) {
+            return false;
+        }
+        String entry = pattern.trim();
+
+        World world = store.getExternalData().getWorld();
+        WorldChunk chunk = world.getChunkIfInMemory(ChunkUtil.indexChunkFromBlock(x, z));
+        if (chunk == null) {
+            chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(x, z));
+        }
+        if (chunk == null) {
+            return false;
+        }
+        Ref<ChunkStore> stateRef = chunk.getBlockComponentEntity(x & 31, y, z & 31);
+        if (stateRef == null) {
+            return false;
+        }
+        BasicItemPipeComponent pipe = stateRef.getStore().getComponent(stateRef, BasicItemPipeComponent.getComponentType());
+        if (pipe == null) {
+            return false;
+        }
+
+        String[] existing = pipe.getFilterItems(dirVec);
+        List<String> entries = existing != null ? new ArrayList<>(Arrays.asList(existing)) : new ArrayList<>();
+        if (entries.contains(entry)) {
+            return false;
+        }
+        entries.add(entry);
+        updateFilterMode(store, pipe.getFilterMode(dirVec), entries.toArray(new String[0]));
+        return true;
     }
 
     private void openItemSelector(@Nonnull Ref<EntityStore> playerEntityRef,
@@ -249,7 +305,9 @@ public class PipeFilterUIPage extends InteractiveCustomUIPage<PipeFilterUIPage.P
                 if (pipe != null) {
                     String[] existing = pipe.getFilterItems(dirVec);
                     if (existing != null) {
-                        preselected.addAll(Arrays.asList(existing));
+                        for (String entry : existing) {
+                            if (!CompiledItemFilter.isPattern(entry)) preselected.add(entry);
+                        }
                     }
                 }
             }
@@ -285,10 +343,19 @@ public class PipeFilterUIPage extends InteractiveCustomUIPage<PipeFilterUIPage.P
                     }
 
                     FilterMode mode = pipe.getFilterMode(dirVec);
-                    String[] arr = selected.toArray(new String[0]);
+                    // The selector only knows item ids; keep the side's pattern entries
+                    List<String> entries = new ArrayList<>(selected);
+                    String[] previous = pipe.getFilterItems(dirVec);
+                    if (previous != null) {
+                        for (String entry : previous) {
+                            if (CompiledItemFilter.isPattern(entry) && !entries.contains(entry)) entries.add(entry);
+                        }
+                    }
+                    String[] arr = entries.toArray(new String[0]);
                     pipe.setFilter(dirVec, mode, arr);
                     stateRef.getStore().replaceComponent(stateRef, BasicItemPipeComponent.getComponentType(), pipe);
                     c.markNeedsSaving();
+                    HytaleIndustriesPlugin.INSTANCE.getPipeNetworkManager().invalidate(w, x, y, z);
                 },
                 playerRef -> {
                     // Reopen this PipeFilter page after the selector closes (confirm or cancel)
@@ -309,17 +376,21 @@ public class PipeFilterUIPage extends InteractiveCustomUIPage<PipeFilterUIPage.P
     public static final class PipeFilterUIEventData {
         static final String KEY_ACTION = "Action";
         static final String KEY_MODE = "Mode";
+        static final String KEY_PATTERN = "@Pattern";
 
         static final String ACTION_SET_MODE = "SetMode";
         static final String ACTION_EDIT_ITEMS = "EditItems";
         static final String ACTION_CLEAR = "Clear";
         static final String ACTION_BACK = "Back";
+        static final String ACTION_ADD_PATTERN = "AddPattern";
 
         public static final BuilderCodec<PipeFilterUIEventData> CODEC = BuilderCodec.builder(PipeFilterUIEventData.class, PipeFilterUIEventData::new)
                 .append(new KeyedCodec<>(KEY_ACTION, Codec.STRING), (d, v) -> d.action = v, d -> d.action)
                 .add()
                 .append(new KeyedCodec<>(KEY_MODE, Codec.STRING), (d, v) -> d.mode = v, d -> d.mode)
                 .add()
+                .append(new KeyedCodec<>(KEY_PATTERN, Codec.STRING), (d, v) -> d.pattern = v, d -> d.pattern)
+                .add()
                 .build();
 
         @Nullable
@@ -327,5 +398,8 @@ public class PipeFilterUIPage extends InteractiveCustomUIPage<PipeFilterUIPage.P
 
         @Nullable
         String mode;
+
+        @Nullable
+        String pattern;
     }
 }
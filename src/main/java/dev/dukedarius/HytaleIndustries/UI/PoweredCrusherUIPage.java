@@ -20,6 +20,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.Components.Processing.PoweredCrusherInventory;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
@@ -58,6 +59,8 @@ public class PoweredCrusherUIPage extends InteractiveCustomUIPage<PoweredCrusher
         lastWorld = store.getExternalData().getWorld();
 
         ensureTimerStarted();
+        // The player may be about to change the machine's contents by hand, which nothing reports
+        HytaleIndustriesPlugin.INSTANCE.getMachineHibernation().wake(lastWorld, x, y, z);
 
         cmd.append("Pages/HytaleIndustries_PoweredCrusher.ui");
         render(cmd, events, store);
@@ -77,6 +80,7 @@ public class PoweredCrusherUIPage extends InteractiveCustomUIPage<PoweredCrusher
         if (player == null) return;
 
         World world = store.getExternalData().getWorld();
+        HytaleIndustriesPlugin.INSTANCE.getMachineHibernation().wake(world, x, y, z);
         var ctx = resolve(world);
         if (ctx == null || ctx.inv == null) return;
 
@@ -236,6 +240,7 @@ public class PoweredCrusherUIPage extends InteractiveCustomUIPage<PoweredCrusher
             }
             if (dirty) {
                 entity.getStore().replaceComponent(entity, HytaleIndustriesPlugin.INSTANCE.getPoweredCrusherInventoryType(), inv);
+                InventoryAdapters.invalidate(world, x, y, z);
             }
         }
         var stores = entity.getStore().getComponent(entity, HytaleIndustriesPlugin.INSTANCE.getStoresHeType());
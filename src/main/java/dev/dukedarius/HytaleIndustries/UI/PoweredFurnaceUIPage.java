@@ -20,6 +20,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
+import dev.dukedarius.HytaleIndustries.Inventory.InventoryAdapters;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
 import dev.dukedarius.HytaleIndustries.Components.Processing.PoweredFurnaceInventory;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
@@ -58,6 +59,8 @@ public class PoweredFurnaceUIPage extends InteractiveCustomUIPage<PoweredFurnace
         lastWorld = store.getExternalData().getWorld();
 
         ensureTimerStarted();
+        // The player may be about to change the machine's contents by hand, which nothing reports
+        HytaleIndustriesPlugin.INSTANCE.getMachineHibernation().wake(lastWorld, x, y, z);
 
         cmd.append("Pages/HytaleIndustries_PoweredFurnace.ui");
         render(cmd, events, store);
@@ -77,6 +80,7 @@ public class PoweredFurnaceUIPage extends InteractiveCustomUIPage<PoweredFurnace
         if (player == null) return;
 
         World world = store.getExternalData().getWorld();
+        HytaleIndustriesPlugin.INSTANCE.getMachineHibernation().wake(world, x, y, z);
         var ctx = resolve(world);
         if (ctx == null || ctx.inv == null) return;
 
@@ -219,10 +223,12 @@ public class PoweredFurnaceUIPage extends InteractiveCustomUIPage<PoweredFurnace
             if (inv.input == null || inv.input.getCapacity() <= 0) {
                 inv.input = new com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer((short) 1);
                 entity.getStore().replaceComponent(entity, HytaleIndustriesPlugin.INSTANCE.getPoweredFurnaceInventoryType(), inv);
+                InventoryAdapters.invalidate(world, x, y, z);
             }
             if (inv.output == null || inv.output.getCapacity() <= 0) {
                 inv.output = new com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer((short) 1);
                 entity.getStore().replaceComponent(entity, HytaleIndustriesPlugin.INSTANCE.getPoweredFurnaceInventoryType(), inv);
+                InventoryAdapters.invalidate(world, x, y, z);
             }
         }
         Context ctx = new Context();
@@ -15,6 +15,8 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.dukedarius.HytaleIndustries.Components.Energy.StoresHE;
+import dev.dukedarius.HytaleIndustries.Energy.CableNetworkManager;
+import dev.dukedarius.HytaleIndustries.Energy.EnergyTelemetry;
 import dev.dukedarius.HytaleIndustries.Energy.PowerUtils;
 import dev.dukedarius.HytaleIndustries.HytaleIndustriesPlugin;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
@@ -26,6 +28,8 @@ public class SmallBatteryUIPage extends InteractiveCustomUIPage<SmallBatteryUIPa
 
 
     private static final long AUTO_UPDATE_PERIOD_MS = 33L; // ~30 Hz (every tick)
+    // One bar per second of the attached network's history
+    private static final int GRAPH_BARS = 30;
 
     private final int x;
     private final int y;
@@ -39,6 +43,12 @@ public class SmallBatteryUIPage extends InteractiveCustomUIPage<SmallBatteryUIPa
 
     private transient ScheduledFuture<?> autoUpdateTask;
     private transient long lastSentHeInt = Long.MIN_VALUE;
+    private transient long lastGraphSecond = Long.MIN_VALUE;
+
+    // Reused for every graph refresh
+    private final long[] graphProduced = new long[GRAPH_BARS];
+    private final long[] graphTransferred = new long[GRAPH_BARS];
+    private final long[] graphUnmet = new long[GRAPH_BARS];
 
     public SmallBatteryUIPage(@NonNullDecl PlayerRef playerRef, @NonNullDecl Vector3i pos) {
         super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, SmallBatteryUIEventData.CODEC);
@@ -59,6 +69,9 @@ public class SmallBatteryUIPage extends InteractiveCustomUIPage<SmallBatteryUIPa
         ensureTimerStarted();
 
         uiCommandBuilder.append("Pages/HytaleIndustries_SmallBattery.ui");
+        for (int i = 0; i < GRAPH_BARS; i++) {
+            uiCommandBuilder.append("#GraphContainer", "Pages/HytaleIndustries_EnergyGraphBar.ui");
+        }
         render(uiCommandBuilder, uiEventBuilder, store);
     }
 
@@ -73,6 +86,51 @@ public class SmallBatteryUIPage extends InteractiveCustomUIPage<SmallBatteryUIPa
                         @NonNullDecl Store<EntityStore> store) {
         double he = readHe(store);
         setHeText(cmd, he);
+        renderNetwork(cmd, store.getExternalData().getWorld());
+    }
+
+    /**
+     * Graph of the attached cable network over the last {@link #GRAPH_BARS} seconds: bar height is the energy
+     * transferred relative to the busiest second, the tooltip adds what the sources offered and what went unmet.
+     */
+    private void renderNetwork(@NonNullDecl UICommandBuilder cmd, @NonNullDecl World world) {
+        CableNetworkManager.CableNetwork network =
+                HytaleIndustriesPlugin.INSTANCE.getCableNetworkManager().findAttachedNetwork(world, x, y, z);
+        if (network == null) {
+            cmd.set("#NetText.Text", "Not connected to a cable network");
+            for (int i = 0; i < GRAPH_BARS; i++) {
+                cmd.set("#GraphContainer[" + i + "] #Bar.Value", 0.0);
+                cmd.set("#GraphContainer[" + i + "] #Bar.TooltipText", "");
+            }
+            return;
+        }
+
+        EnergyTelemetry telemetry = network.getTelemetry();
+        int samples = telemetry.copy(EnergyTelemetry.Resolution.SECOND, EnergyTelemetry.Metric.PRODUCED, graphProduced);
+        telemetry.copy(EnergyTelemetry.Resolution.SECOND, EnergyTelemetry.Metric.TRANSFERRED, graphTransferred);
+        telemetry.copy(EnergyTelemetry.Resolution.SECOND, EnergyTelemetry.Metric.UNMET, graphUnmet);
+
+        long peak = 1L;
+        for (int i = 0; i < GRAPH_BARS; i++) {
+            peak = Math.max(peak, graphTransferred[i]);
+        }
+        for (int i = 0; i < GRAPH_BARS; i++) {
+            String sel = "#GraphContainer[" + i + "] #Bar";
+            cmd.set(sel + ".Value", (double) graphTransferred[i] / peak);
+            if (i < GRAPH_BARS - samples) {
+                cmd.set(sel + ".TooltipText", "");
+            } else {
+                cmd.set(sel + ".TooltipText", (GRAPH_BARS - i) + "s ago: "
+                        + PowerUtils.formatCompact(graphTransferred[i]) + " HE/s transferred, "
+                        + PowerUtils.formatCompact(graphProduced[i]) + " offered, "
+                        + PowerUtils.formatCompact(graphUnmet[i]) + " unmet");
+            }
+        }
+        cmd.set("#NetText.Text", "Network (1 min): "
+                + PowerUtils.formatCompact(telemetry.average(EnergyTelemetry.Resolution.SECOND,
+                        EnergyTelemetry.Metric.TRANSFERRED)) + " HE/s, "
+                + PowerUtils.formatCompact(telemetry.average(EnergyTelemetry.Resolution.SECOND,
+                        EnergyTelemetry.Metric.UNMET)) + " unmet");
     }
 
     private double readHe(@NonNullDecl Store<EntityStore> store) {
@@ -153,12 +211,20 @@ public class SmallBatteryUIPage extends InteractiveCustomUIPage<SmallBatteryUIPa
 
         double he = readHe(store);
         long heInt = toDisplayHeInt(he);
-        if (heInt == lastSentHeInt) return;
-        lastSentHeInt = heInt;
+        // The telemetry gains a sample once per second
+        long second = System.currentTimeMillis() / 1000L;
+        if (heInt == lastSentHeInt && second == lastGraphSecond) return;
 
         UICommandBuilder cmd = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
-        cmd.set("#HeText.Text", "HE: " + PowerUtils.formatCompact(heInt) + " / " + PowerUtils.formatCompact(MAX_HE));
+        if (heInt != lastSentHeInt) {
+            lastSentHeInt = heInt;
+            cmd.set("#HeText.Text", "HE: " + PowerUtils.formatCompact(heInt) + " / " + PowerUtils.formatCompact(MAX_HE));
+        }
+        if (second != lastGraphSecond) {
+            lastGraphSecond = second;
+            renderNetwork(cmd, world);
+        }
         sendUpdate(cmd, events, false);
     }
 
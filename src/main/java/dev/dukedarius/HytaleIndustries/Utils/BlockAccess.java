@@ -0,0 +1,174 @@
+package dev.dukedarius.HytaleIndustries.Utils;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.modules.block.BlockModule.BlockStateInfo;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
+import com.hypixel.hytale.server.core.util.FillerBlockUtil;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared block lookups for systems that scan neighbours (pipes, cables, ES, quarry).
+ *
+ * Chunk lookups go through a small per-thread memo keyed by chunk index, so the many neighbour checks a tick
+ * makes into the same few chunks hit a local array instead of the world's chunk map. The memo only holds chunks
+ * that were loaded when looked up, and is dropped whenever any chunk unloads
+ * ({@link dev.dukedarius.HytaleIndustries.Systems.BlockAccessInvalidationSystem}) or a different world is queried.
+ * Filler resolution returns a packed {@link BlockPos} instead of allocating.
+ */
+public final class BlockAccess {
+
+    private static final int SLOTS = 64; // power of two
+
+    private static final class Memo {
+        World world;
+        int generation;
+        final long[] keys = new long[SLOTS];
+        final WorldChunk[] chunks = new WorldChunk[SLOTS];
+
+        void reset(World world, int generation) {
+            this.world = world;
+            this.generation = generation;
+            Arrays.fill(chunks, null);
+        }
+    }
+
+    private static final ThreadLocal<Memo> MEMO = ThreadLocal.withInitial(Memo::new);
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    private BlockAccess() {}
+
+    /** Forget every memoised chunk; called when a chunk unloads. */
+    public static void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * The loaded chunk containing the block column, or null if it isn't loaded. Never loads a chunk.
+     */
+    @Nullable
+    public static WorldChunk chunk(@Nonnull World world, int x, int z) {
+        long index = ChunkUtil.indexChunkFromBlock(x, z);
+        Memo memo = memo(world);
+        int slot = slot(index);
+        WorldChunk chunk = memo.chunks[slot];
+        if (chunk != null && memo.keys[slot] == index) {
+            return chunk;
+        }
+
+        chunk = world.getChunkIfInMemory(index);
+        if (chunk == null) {
+            chunk = world.getChunkIfLoaded(index);
+        }
+        if (chunk != null) {
+            memo.keys[slot] = index;
+            memo.chunks[slot] = chunk;
+        }
+        return chunk;
+    }
+
+    /**
+     * Like {@link #chunk} but falls back to {@link World#getChunk}, which loads the chunk if needed.
+     */
+    @Nullable
+    public static WorldChunk chunkOrLoad(@Nonnull World world, int x, int z) {
+        WorldChunk chunk = chunk(world, x, z);
+        if (chunk != null) {
+            return chunk;
+        }
+        long index = ChunkUtil.indexChunkFromBlock(x, z);
+        chunk = world.getChunk(index);
+        if (chunk != null) {
+            Memo memo = memo(world);
+            int slot = slot(index);
+            memo.keys[slot] = index;
+            memo.chunks[slot] = chunk;
+        }
+        return chunk;
+    }
+
+    /**
+     * Packed position of the block's filler origin (the block itself if it isn't a filler or isn't loaded).
+     */
+    public static long resolveOrigin(@Nonnull World world, int x, int y, int z) {
+        WorldChunk chunk = chunk(world, x, z);
+        if (chunk == null) {
+            return BlockPos.pack(x, y, z);
+        }
+        return resolveOrigin(chunk, x, y, z);
+    }
+
+    /**
+     * Packed position of the block's filler origin within an already resolved chunk.
+     */
+    public static long resolveOrigin(@Nonnull WorldChunk chunk, int x, int y, int z) {
+        int filler = chunk.getFiller(x & 31, y, z & 31);
+        if (filler == 0) {
+            return BlockPos.pack(x, y, z);
+        }
+        return BlockPos.pack(x - FillerBlockUtil.unpackX(filler),
+                y - FillerBlockUtil.unpackY(filler),
+                z - FillerBlockUtil.unpackZ(filler));
+    }
+
+    /**
+     * Block component entity at the position, or null if there is none or the chunk isn't loaded.
+     */
+    @Nullable
+    public static Ref<ChunkStore> blockEntity(@Nonnull World world, int x, int y, int z) {
+        WorldChunk chunk = chunk(world, x, z);
+        return chunk != null ? chunk.getBlockComponentEntity(x & 31, y, z & 31) : null;
+    }
+
+    /**
+     * Block type at the position, or null if the chunk isn't loaded.
+     */
+    @Nullable
+    public static BlockType blockType(@Nonnull World world, int x, int y, int z) {
+        WorldChunk chunk = chunk(world, x, z);
+        return chunk != null ? chunk.getBlockType(x & 31, y, z & 31) : null;
+    }
+
+    /** Returned by {@link #positionOf} when the entity's position can't be resolved */
+    public static final long NO_POSITION = Long.MIN_VALUE;
+
+    /**
+     * Packed position of a block component entity, from its {@link BlockStateInfo}, or {@link #NO_POSITION}.
+     */
+    public static long positionOf(@Nonnull Store<ChunkStore> store, @Nonnull Ref<ChunkStore> ref) {
+        var info = store.getComponent(ref, BlockStateInfo.getComponentType());
+        if (info == null) return NO_POSITION;
+        var chunkRef = info.getChunkRef();
+        if (chunkRef == null || !chunkRef.isValid()) return NO_POSITION;
+        var blockChunk = store.getComponent(chunkRef, BlockChunk.getComponentType());
+        if (blockChunk == null) return NO_POSITION;
+
+        int x = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getX(), ChunkUtil.xFromBlockInColumn(info.getIndex()));
+        int y = ChunkUtil.yFromBlockInColumn(info.getIndex());
+        int z = ChunkUtil.worldCoordFromLocalCoord(blockChunk.getZ(), ChunkUtil.zFromBlockInColumn(info.getIndex()));
+        return BlockPos.pack(x, y, z);
+    }
+
+    private static Memo memo(World world) {
+        Memo memo = MEMO.get();
+        int current = generation.get();
+        if (memo.world != world || memo.generation != current) {
+            memo.reset(world, current);
+        }
+        return memo;
+    }
+
+    private static int slot(long index) {
+        long h = index * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 58) & (SLOTS - 1);
+    }
+}
@@ -0,0 +1,42 @@
+package dev.dukedarius.HytaleIndustries.Utils;
+
+/**
+ * Canonical packing of a block position into a single long: 26-bit X, 26-bit Z, 12-bit Y, laid out as
+ * {@code X << 38 | Z << 12 | Y}. Every position-keyed map in the plugin (pipe/cable/ES networks, pipe side
+ * config, caches) uses this layout so keys can be shared between them.
+ */
+public final class BlockPos {
+
+    private BlockPos() {}
+
+    public static long pack(int x, int y, int z) {
+        long lx = (long) x & 0x3FFFFFFL;
+        long lz = (long) z & 0x3FFFFFFL;
+        long ly = (long) y & 0xFFFL;
+        return (lx << 38) | (lz << 12) | ly;
+    }
+
+    public static int unpackX(long packed) {
+        int x = (int) (packed >> 38);
+        if (x >= 0x2000000) {
+            x -= 0x4000000;
+        }
+        return x;
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed & 0xFFFL);
+    }
+
+    public static int unpackZ(long packed) {
+        int z = (int) ((packed >> 12) & 0x3FFFFFFL);
+        if (z >= 0x2000000) {
+            z -= 0x4000000;
+        }
+        return z;
+    }
+
+    public static long offset(long packed, int dx, int dy, int dz) {
+        return pack(unpackX(packed) + dx, unpackY(packed) + dy, unpackZ(packed) + dz);
+    }
+}
@@ -204,9 +204,7 @@ public final class CacheDisplayManager {
     // --- utils ---
 
     private static long packPos(Vector3i pos) {
-        return ((long) pos.x & 0x3FFFFFFL) << 38
-                | ((long) pos.y & 0xFFFL) << 26
-                | ((long) pos.z & 0x3FFFFFFL);
+        return BlockPos.pack(pos.x, pos.y, pos.z);
     }
 
     private static String friendlyName(String itemId) {
@@ -0,0 +1,33 @@
+package dev.dukedarius.HytaleIndustries.Utils;
+
+/**
+ * Time bookkeeping for the catch-up of machines whose chunk was unloaded.
+ *
+ * Machine component codecs write the wall-clock time whenever their chunk is saved, so the last save before an
+ * unload (or a shutdown) carries the moment the machine stopped. When the chunk loads again, the machine advances by
+ * the elapsed time in one closed-form step instead of ticking, and the decoded stamp is cleared. Stamping in the
+ * codec doesn't depend on how removal callbacks and serialization are ordered during an unload.
+ */
+public final class OfflineClock {
+
+    /** Longest stretch a machine catches up; anything beyond is lost */
+    public static final double MAX_CATCH_UP_SECONDS = 24.0 * 60.0 * 60.0;
+
+    private OfflineClock() {
+    }
+
+    public static long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Seconds since {@code savedAtMillis}, capped at {@link #MAX_CATCH_UP_SECONDS}; 0 if there is no stamp or
+     * the clock went backwards.
+     */
+    public static double elapsedSeconds(long savedAtMillis) {
+        if (savedAtMillis <= 0L) return 0.0;
+        long elapsed = now() - savedAtMillis;
+        if (elapsed <= 0L) return 0.0;
+        return Math.min(elapsed / 1000.0, MAX_CATCH_UP_SECONDS);
+    }
+}
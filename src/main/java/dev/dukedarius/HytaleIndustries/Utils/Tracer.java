@@ -0,0 +1,186 @@
+package dev.dukedarius.HytaleIndustries.Utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Low-overhead tracing for tick systems, replacing per-tick logger calls.
+ *
+ * Events go into a fixed-size ring buffer of primitive columns and are only turned into text when dumped
+ * (/hi_trace dump). Every {@code trace} overload takes an event label (a string constant), an optional detail
+ * reference and up to four {@code long} values, so a call never allocates a varargs array, boxes a value or
+ * builds a string. With the channel off, a call is a single mask test. Each channel can be sampled so that only
+ * every Nth event is kept.
+ */
+public final class Tracer {
+
+    public enum Channel {
+        PIPES,
+        PIPE_UPDATE,
+        CABLES,
+        CACHE,
+        MACHINES,
+        QUARRY,
+        CHUNK_LOADER,
+        ENERGY;
+
+        final int bit = 1 << ordinal();
+    }
+
+    private static final int CAPACITY = 4096; // power of two
+    private static final int MASK = CAPACITY - 1;
+    private static final int CHANNELS = Channel.values().length;
+
+    private static volatile int enabledMask = 0;
+    private static final int[] sampleEvery = new int[CHANNELS];
+    private static final int[] sampleCounters = new int[CHANNELS];
+
+    private static final AtomicLong cursor = new AtomicLong();
+    private static final long[] times = new long[CAPACITY];
+    private static final byte[] channels = new byte[CAPACITY];
+    private static final String[] events = new String[CAPACITY];
+    private static final Object[] details = new Object[CAPACITY];
+    private static final byte[] argCounts = new byte[CAPACITY];
+    private static final long[] args = new long[CAPACITY * 4];
+
+    static {
+        java.util.Arrays.fill(sampleEvery, 1);
+    }
+
+    private Tracer() {}
+
+    public static boolean isEnabled(@Nonnull Channel channel) {
+        return (enabledMask & channel.bit) != 0;
+    }
+
+    public static synchronized void setEnabled(@Nonnull Channel channel, boolean enabled) {
+        enabledMask = enabled ? (enabledMask | channel.bit) : (enabledMask & ~channel.bit);
+    }
+
+    public static synchronized void setAllEnabled(boolean enabled) {
+        enabledMask = enabled ? (1 << CHANNELS) - 1 : 0;
+    }
+
+    /** Keep only every {@code every}-th event of the channel (1 keeps all). */
+    public static void setSampling(@Nonnull Channel channel, int every) {
+        sampleEvery[channel.ordinal()] = Math.max(1, every);
+    }
+
+    public static int getSampling(@Nonnull Channel channel) {
+        return sampleEvery[channel.ordinal()];
+    }
+
+    public static long getRecordedCount() {
+        return cursor.get();
+    }
+
+    public static void clear() {
+        cursor.set(0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, null, 0, 0, 0, 0, 0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, long a) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, null, 1, a, 0, 0, 0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, long a, long b) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, null, 2, a, b, 0, 0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, long a, long b, long c) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, null, 3, a, b, c, 0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, long a, long b, long c, long d) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, null, 4, a, b, c, d);
+    }
+
+    /**
+     * @param detail an existing object (item id, block id, ...) stored by reference and only rendered on dump
+     */
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, @Nullable Object detail) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, detail, 0, 0, 0, 0, 0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, @Nullable Object detail, long a) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, detail, 1, a, 0, 0, 0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, @Nullable Object detail,
+                             long a, long b) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, detail, 2, a, b, 0, 0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, @Nullable Object detail,
+                             long a, long b, long c) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, detail, 3, a, b, c, 0);
+    }
+
+    public static void trace(@Nonnull Channel channel, @Nonnull String event, @Nullable Object detail,
+                             long a, long b, long c, long d) {
+        if ((enabledMask & channel.bit) == 0) return;
+        record(channel, event, detail, 4, a, b, c, d);
+    }
+
+    private static void record(Channel channel, String event, Object detail, int argCount,
+                               long a, long b, long c, long d) {
+        int ch = channel.ordinal();
+        int every = sampleEvery[ch];
+        if (every > 1 && (++sampleCounters[ch] % every) != 0) return;
+
+        int slot = (int) (cursor.getAndIncrement() & MASK);
+        times[slot] = System.nanoTime();
+        channels[slot] = (byte) ch;
+        events[slot] = event;
+        details[slot] = detail;
+        argCounts[slot] = (byte) argCount;
+        int base = slot * 4;
+        args[base] = a;
+        args[base + 1] = b;
+        args[base + 2] = c;
+        args[base + 3] = d;
+    }
+
+    /**
+     * Renders the newest {@code limit} records, oldest first. Slots being written concurrently may show torn values.
+     */
+    @Nonnull
+    public static List<String> dump(int limit) {
+        long end = cursor.get();
+        long start = Math.max(0, Math.max(end - CAPACITY, end - limit));
+        long nowNanos = System.nanoTime();
+        Channel[] all = Channel.values();
+
+        List<String> lines = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            int slot = (int) (i & MASK);
+            StringBuilder sb = new StringBuilder(64);
+            sb.append(String.format(Locale.ROOT, "-%.3fs ", (nowNanos - times[slot]) / 1_000_000_000.0));
+            sb.append(all[channels[slot]].name()).append(' ').append(events[slot]);
+            if (details[slot] != null) sb.append(' ').append(details[slot]);
+            int base = slot * 4;
+            for (int k = 0; k < argCounts[slot]; k++) {
+                sb.append(k == 0 ? " [" : ", ").append(args[base + k]);
+                if (k == argCounts[slot] - 1) sb.append(']');
+            }
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+}